@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * {@link OutputStream} over a {@link FileChannel} staging bytes in a direct buffer.
+ * <br/>
+ * {@link #flush()} is deliberately a no-op so that generators flushing after each record
+ * do not trigger a system call; bytes only reach the channel when the buffer is full
+ * or when {@link #drain()} is called explicitly
+ */
+class ChannelOutputStream extends OutputStream {
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private long position;
+
+    ChannelOutputStream(FileChannel channel, int bufferSize, long startPosition) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+        this.position = startPosition;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (!buffer.hasRemaining()) drain();
+        buffer.put((byte) b);
+        position++;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        int remaining = length;
+        int current = offset;
+        while (remaining > 0) {
+            if (!buffer.hasRemaining()) drain();
+            final int chunk = Math.min(remaining, buffer.remaining());
+            buffer.put(bytes, current, chunk);
+            current += chunk;
+            remaining -= chunk;
+        }
+        position += length;
+    }
+
+    @Override
+    public void flush() {
+        // Intentionally left empty, see drain()
+    }
+
+    /**
+     * Write all buffered bytes to the underlying channel
+     */
+    void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Force the bytes already written to the channel to the storage device. Call {@link #drain()} first
+     */
+    void force() throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * @return the logical file size, including bytes still buffered
+     */
+    long position() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        drain();
+        channel.close();
+    }
+}
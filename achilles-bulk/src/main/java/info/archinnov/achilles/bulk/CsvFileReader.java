@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Streams a RFC 4180 CSV file whose first record is the header of CQL column names.
+ * <br/>
+ * Quoted fields may span several lines, so a CSV file is always parsed by a single thread
+ */
+class CsvFileReader {
+
+    private static final int QUOTE = '"';
+    private static final int SEPARATOR = ',';
+
+    private final Path file;
+    private final ObjectMapper mapper;
+    private final RecordBinder<?> binder;
+    private int line = 1;
+
+    CsvFileReader(Path file, ObjectMapper mapper, RecordBinder<?> binder) {
+        this.file = file;
+        this.mapper = mapper;
+        this.binder = binder;
+    }
+
+    void read(Consumer<InputRecord> consumer) throws IOException {
+        final String fileName = file.getFileName().toString();
+        try (BufferedReader reader = Files.newBufferedReader(file, UTF_8)) {
+            final StringBuilder raw = new StringBuilder();
+            final List<String> header = nextRecord(reader, raw);
+            if (header == null) return;
+
+            List<String> fields;
+            int recordLine = line;
+            while ((fields = nextRecord(reader, raw)) != null) {
+                final String source = fileName + ":" + recordLine;
+                recordLine = line;
+                if (fields.size() == 1 && fields.get(0).isEmpty()) continue;
+                if (fields.size() != header.size()) {
+                    consumer.accept(InputRecord.unparseable(source, raw.toString(),
+                            String.format("Expected %d fields but found %d", header.size(), fields.size())));
+                    continue;
+                }
+                try {
+                    final ObjectNode values = mapper.createObjectNode();
+                    for (int i = 0; i < fields.size(); i++) {
+                        values.set(header.get(i), binder.csvFieldToNode(header.get(i), fields.get(i)));
+                    }
+                    consumer.accept(InputRecord.parsed(source, values, null));
+                } catch (IOException e) {
+                    consumer.accept(InputRecord.unparseable(source, raw.toString(), "Invalid field value : " + e.getMessage()));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the fields of the next record, or null at the end of the file
+     */
+    private List<String> nextRecord(BufferedReader reader, StringBuilder raw) throws IOException {
+        raw.setLength(0);
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        int c = reader.read();
+        if (c == -1) return null;
+        while (c != -1) {
+            if (inQuotes) {
+                if (c == QUOTE) {
+                    reader.mark(1);
+                    final int next = reader.read();
+                    if (next == QUOTE) {
+                        field.append('"');
+                        raw.append("\"\"");
+                    } else {
+                        raw.append('"');
+                        inQuotes = false;
+                        if (next != -1) reader.reset();
+                    }
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                    raw.append((char) c);
+                }
+            } else if (c == QUOTE) {
+                inQuotes = true;
+                raw.append('"');
+            } else if (c == SEPARATOR) {
+                fields.add(field.toString());
+                field.setLength(0);
+                raw.append(',');
+            } else if (c == '\n') {
+                line++;
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+                raw.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes records as RFC 4180 CSV lines.
+ * <br/>
+ * Scalar values are written with their natural text form, blobs are Base64-encoded
+ * and collections, UDTs or any other complex value are written as JSON text
+ */
+class CsvRecordWriter extends RecordWriter {
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final String LINE_END = "\r\n";
+
+    private final ObjectMapper mapper;
+    private final StringBuilder line = new StringBuilder(256);
+
+    CsvRecordWriter(Path file, int bufferSize, long offset, ObjectMapper mapper) throws IOException {
+        super(file, bufferSize, offset);
+        this.mapper = mapper;
+    }
+
+    @Override
+    void writeHeader(List<String> columns) throws IOException {
+        line.setLength(0);
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) line.append(SEPARATOR);
+            appendEscaped(columns.get(i));
+        }
+        writeLine();
+    }
+
+    @Override
+    void writeRecord(List<String> columns, Object[] values) throws IOException {
+        line.setLength(0);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) line.append(SEPARATOR);
+            appendEscaped(format(exportableValue(values[i])));
+        }
+        writeLine();
+    }
+
+    String format(Object value) throws IOException {
+        if (value == null) {
+            return "";
+        } else if (value instanceof String) {
+            return (String) value;
+        } else if (value instanceof Number || value instanceof Boolean || value instanceof UUID || value instanceof Character) {
+            return value.toString();
+        } else if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        } else if (value instanceof byte[]) {
+            return Base64.getEncoder().encodeToString((byte[]) value);
+        } else if (value instanceof InetAddress) {
+            return ((InetAddress) value).getHostAddress();
+        } else {
+            return mapper.writeValueAsString(value);
+        }
+    }
+
+    private void appendEscaped(String text) {
+        boolean mustQuote = false;
+        for (int i = 0; i < text.length() && !mustQuote; i++) {
+            final char c = text.charAt(i);
+            mustQuote = c == SEPARATOR || c == QUOTE || c == '\n' || c == '\r';
+        }
+        if (!mustQuote) {
+            line.append(text);
+            return;
+        }
+        line.append(QUOTE);
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (c == QUOTE) line.append(QUOTE);
+            line.append(c);
+        }
+        line.append(QUOTE);
+    }
+
+    private void writeLine() throws IOException {
+        line.append(LINE_END);
+        final byte[] bytes = line.toString().getBytes(UTF_8);
+        out.write(bytes, 0, bytes.length);
+    }
+}
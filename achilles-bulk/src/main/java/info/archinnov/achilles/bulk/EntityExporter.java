@@ -0,0 +1,360 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static info.archinnov.achilles.validation.Validator.validateNotBlank;
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+
+/**
+ * Parallel dump of all the rows of an entity table to NDJSON and/or CSV files.
+ * <br/>
+ * <br/>
+ * The Murmur3 token ring is split into N ranges, each range being scanned with a paged
+ * <em>SELECT ... WHERE token(partition keys) &gt; ? AND token(partition keys) &lt;= ?</em> query
+ * and written to its own file(s) through a {@link java.nio.channels.FileChannel} and a direct buffer.
+ * Columns are read from the entity meta data and decoded with the entity codecs, so the meta
+ * instance should come from a bootstrapped manager:
+ * <pre class="code"><code class="java">
+ * ExportStats stats = EntityExporter
+ *      .builder(session, manager.meta)
+ *      .withOutputDirectory(Paths.get("/tmp/export"))
+ *      .withFormat(ExportFormat.BOTH)
+ *      .withSplits(64)
+ *      .withThreads(8)
+ *      .withMaxRowsPerSecond(20_000)
+ *      .resumeFromCheckpoints()
+ *      .build()
+ *      .export();
+ * </code></pre>
+ * Each split <em>i</em> produces the files <em>table-i.ndjson</em>, <em>table-i.csv</em> and
+ * <em>table-i.checkpoint</em>. When resuming, splits whose checkpoint is complete are skipped and
+ * the other ones restart after the last partition fully written
+ */
+public class EntityExporter<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityExporter.class);
+    private static final String MURMUR3_PARTITIONER = "Murmur3Partitioner";
+
+    final Session session;
+    final AbstractEntityProperty<T> meta;
+    final Path outputDirectory;
+    final ExportFormat format;
+    final int splits;
+    final int threads;
+    final int fetchSize;
+    final int bufferSize;
+    final long checkpointInterval;
+    final boolean resume;
+    final Optional<Double> maxRowsPerSecond;
+    final Optional<ConsistencyLevel> consistencyLevel;
+    final ObjectMapper mapper;
+    final Optional<Consumer<ExportStats>> progressListener;
+
+    private EntityExporter(Builder<T> builder) {
+        this.session = builder.session;
+        this.meta = builder.meta;
+        this.outputDirectory = builder.outputDirectory;
+        this.format = builder.format;
+        this.splits = builder.splits;
+        this.threads = builder.threads;
+        this.fetchSize = builder.fetchSize;
+        this.bufferSize = builder.bufferSize;
+        this.checkpointInterval = builder.checkpointInterval;
+        this.resume = builder.resume;
+        this.maxRowsPerSecond = builder.maxRowsPerSecond;
+        this.consistencyLevel = builder.consistencyLevel;
+        this.mapper = builder.mapper;
+        this.progressListener = builder.progressListener;
+    }
+
+    public static <T> Builder<T> builder(Session session, AbstractEntityProperty<T> meta) {
+        return new Builder<>(session, meta);
+    }
+
+    /**
+     * Run the export and block until all splits are written
+     *
+     * @return ExportStats
+     */
+    public ExportStats export() {
+        final String partitioner = session.getCluster().getMetadata().getPartitioner();
+        validateTrue(partitioner != null && partitioner.endsWith(MURMUR3_PARTITIONER),
+                "The entity exporter only supports the Murmur3Partitioner, found '%s'", partitioner);
+
+        final String keyspace = meta.getKeyspace().orElse(session.getLoggedKeyspace());
+        validateNotBlank(keyspace, "No keyspace found for entity '%s' and the session is not logged into any keyspace",
+                meta.entityClass.getCanonicalName());
+        final String table = meta.getTableOrViewName();
+
+        try {
+            Files.createDirectories(outputDirectory);
+        } catch (IOException e) {
+            throw new AchillesException(format("Cannot create export directory '%s'", outputDirectory), e);
+        }
+
+        final List<String> columns = meta.allColumns.stream().map(x -> x.fieldInfo.cqlColumn).collect(toList());
+        final PreparedStatement ps = session.prepare(buildSelectQuery(keyspace, table));
+        final ConsistencyLevel cl = meta.readConsistency(consistencyLevel);
+        final Optional<RateLimiter> rateLimiter = maxRowsPerSecond.map(RateLimiter::create);
+        final List<TokenRange> ranges = TokenRange.splitRing(splits);
+        final ExportProgress progress = new ExportProgress(ranges.size());
+        final String filePrefix = table.replace("\"", "");
+
+        LOGGER.info("Exporting {}.{} to {} as {} using {} splits and {} threads",
+                keyspace, table, outputDirectory, format, splits, Math.min(threads, splits));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, splits), new ExportThreadFactory());
+        try {
+            final List<Future<Boolean>> futures = new ArrayList<>(ranges.size());
+            for (TokenRange range : ranges) {
+                futures.add(executor.submit(new SplitExporter<>(this, ps, cl, columns, range,
+                        format("%s-%04d", filePrefix, range.index), rateLimiter, progress)));
+            }
+            for (Future<Boolean> future : futures) {
+                Uninterruptibles.getUninterruptibly(future);
+            }
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof AchillesException) {
+                throw (AchillesException) cause;
+            }
+            throw new AchillesException(format("Error while exporting table %s.%s : %s", keyspace, table, cause.getMessage()), cause);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        final ExportStats stats = progress.snapshot();
+        LOGGER.info("Export of {}.{} done : {}", keyspace, table, stats);
+        return stats;
+    }
+
+    String buildSelectQuery(String keyspace, String table) {
+        final String token = meta.partitionKeys
+                .stream()
+                .map(x -> x.fieldInfo.quotedCqlColumn)
+                .collect(joining(",", "token(", ")"));
+        final String selectedColumns = meta.allColumns
+                .stream()
+                .map(x -> x.fieldInfo.quotedCqlColumn)
+                .collect(joining(","));
+        return format("SELECT %s,%s FROM %s.%s WHERE %s > ? AND %s <= ?", token, selectedColumns, keyspace, table, token, token);
+    }
+
+    private static class ExportThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(0);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread = new Thread(r);
+            thread.setName("achilles-export-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    public static class Builder<T> {
+        private final Session session;
+        private final AbstractEntityProperty<T> meta;
+        private Path outputDirectory;
+        private ExportFormat format = ExportFormat.NDJSON;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int splits = 4 * threads;
+        private int fetchSize = 1000;
+        private int bufferSize = 1024 * 1024;
+        private long checkpointInterval = 10_000L;
+        private boolean resume = false;
+        private Optional<Double> maxRowsPerSecond = Optional.empty();
+        private Optional<ConsistencyLevel> consistencyLevel = Optional.empty();
+        private ObjectMapper mapper = new ObjectMapper();
+        private Optional<Consumer<ExportStats>> progressListener = Optional.empty();
+
+        private Builder(Session session, AbstractEntityProperty<T> meta) {
+            validateNotNull(session, "The session for the entity exporter should not be null");
+            validateNotNull(meta, "The entity meta for the entity exporter should not be null");
+            validateTrue(!meta.partitionKeys.isEmpty(), "The entity '%s' has no partition key to split the token ring on",
+                    meta.entityClass.getCanonicalName());
+            this.session = session;
+            this.meta = meta;
+        }
+
+        /**
+         * Directory in which the data and checkpoint files are written. Created if it does not exist
+         *
+         * @return Builder
+         */
+        public Builder<T> withOutputDirectory(Path outputDirectory) {
+            this.outputDirectory = outputDirectory;
+            return this;
+        }
+
+        /**
+         * Output format, default = {@link ExportFormat#NDJSON}
+         *
+         * @return Builder
+         */
+        public Builder<T> withFormat(ExportFormat format) {
+            this.format = format;
+            return this;
+        }
+
+        /**
+         * Number of token ranges, and thus of files per format, default = 4 x <em>threads</em>
+         *
+         * @return Builder
+         */
+        public Builder<T> withSplits(int splits) {
+            this.splits = splits;
+            return this;
+        }
+
+        /**
+         * Number of splits exported in parallel, default = number of available processors
+         *
+         * @return Builder
+         */
+        public Builder<T> withThreads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Page size of the token range scans, default = 1000
+         *
+         * @return Builder
+         */
+        public Builder<T> withFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+            return this;
+        }
+
+        /**
+         * Size of the direct buffer allocated for each file, default = 1 MiB
+         *
+         * @return Builder
+         */
+        public Builder<T> withBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Minimum number of rows written between two checkpoints of a split, default = 10 000.
+         * Checkpoints are only taken on partition boundaries
+         *
+         * @return Builder
+         */
+        public Builder<T> withCheckpointInterval(long checkpointInterval) {
+            this.checkpointInterval = checkpointInterval;
+            return this;
+        }
+
+        /**
+         * Throttle the export to at most <em>maxRowsPerSecond</em> rows per second, across all threads
+         *
+         * @return Builder
+         */
+        public Builder<T> withMaxRowsPerSecond(double maxRowsPerSecond) {
+            this.maxRowsPerSecond = Optional.of(maxRowsPerSecond);
+            return this;
+        }
+
+        /**
+         * Consistency level of the scans. Default to the read consistency of the entity
+         *
+         * @return Builder
+         */
+        public Builder<T> withConsistencyLevel(ConsistencyLevel consistencyLevel) {
+            this.consistencyLevel = Optional.ofNullable(consistencyLevel);
+            return this;
+        }
+
+        /**
+         * Jackson mapper used to serialize values to JSON, and complex values to CSV
+         *
+         * @return Builder
+         */
+        public Builder<T> withObjectMapper(ObjectMapper mapper) {
+            this.mapper = mapper;
+            return this;
+        }
+
+        /**
+         * Listener notified with the current {@link ExportStats} each time a split checkpoint is saved
+         *
+         * @return Builder
+         */
+        public Builder<T> withProgressListener(Consumer<ExportStats> progressListener) {
+            this.progressListener = Optional.ofNullable(progressListener);
+            return this;
+        }
+
+        /**
+         * Resume a previous export from the checkpoint files found in the output directory.
+         * Without this option, existing files are overwritten
+         *
+         * @return Builder
+         */
+        public Builder<T> resumeFromCheckpoints() {
+            this.resume = true;
+            return this;
+        }
+
+        public EntityExporter<T> build() {
+            validateNotNull(outputDirectory, "The output directory for the entity exporter should not be null");
+            validateNotNull(format, "The export format should not be null");
+            validateNotNull(mapper, "The Jackson object mapper for the entity exporter should not be null");
+            validateTrue(splits > 0, "The number of splits should be strictly positive");
+            validateTrue(threads > 0, "The number of export threads should be strictly positive");
+            validateTrue(fetchSize > 0, "The export fetch size should be strictly positive");
+            validateTrue(bufferSize > 0, "The export buffer size should be strictly positive");
+            validateTrue(checkpointInterval > 0, "The export checkpoint interval should be strictly positive");
+            maxRowsPerSecond.ifPresent(rate -> validateTrue(rate > 0, "The maximum export rate should be strictly positive"));
+            return new EntityExporter<>(this);
+        }
+    }
+}
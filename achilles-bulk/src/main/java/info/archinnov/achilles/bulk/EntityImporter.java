@@ -0,0 +1,410 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static info.archinnov.achilles.validation.Validator.validateNotBlank;
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.Configuration;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.Session;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.dsl.crud.InsertJSONWithOptions;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+
+/**
+ * Parallel load of NDJSON and/or CSV files into an entity table, the counterpart of the {@link EntityExporter}.
+ * <br/>
+ * <br/>
+ * NDJSON files are memory-mapped and cut into segments parsed in parallel, CSV files are streamed
+ * (one thread per file). The input format is detected from the file extension:
+ * <em>.ndjson</em>, <em>.jsonl</em> or <em>.json</em> for NDJSON and <em>.csv</em> for CSV.
+ * <br/>
+ * Records are bound to an INSERT statement by decoding each column with the entity meta data,
+ * or passed as text to <em>INSERT JSON</em> when {@link Builder#withInsertJSON(Function)} is used.
+ * Writes are then grouped by partition into UNLOGGED batches and sent asynchronously within
+ * a bounded window of in-flight requests:
+ * <pre class="code"><code class="java">
+ * ImportStats stats = EntityImporter
+ *      .builder(session, manager.meta)
+ *      .withInputFiles(Files.list(exportDirectory).filter(x -> x.toString().endsWith(".ndjson")).collect(toList()))
+ *      .withThreads(8)
+ *      .withBatchSize(20)
+ *      .withMaxInFlightRequests(128)
+ *      .withMaxRecordsPerSecond(50_000)
+ *      .withErrorFile(Paths.get("/tmp/import-errors.ndjson"))
+ *      .build()
+ *      .importFiles();
+ * </code></pre>
+ * Records that cannot be parsed, mapped or written are sent to the error file and never abort the import
+ */
+public class EntityImporter<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EntityImporter.class);
+
+    private final Session session;
+    private final AbstractEntityProperty<T> meta;
+    private final List<Path> inputFiles;
+    private final int threads;
+    private final int batchSize;
+    private final int maxPendingPerThread;
+    private final int maxInFlightRequests;
+    private final long segmentSize;
+    private final Optional<Double> maxRecordsPerSecond;
+    private final Optional<ConsistencyLevel> consistencyLevel;
+    private final Optional<Path> errorFile;
+    private final Optional<Function<String, InsertJSONWithOptions>> insertJSON;
+    private final ObjectMapper mapper;
+
+    private EntityImporter(Builder<T> builder) {
+        this.session = builder.session;
+        this.meta = builder.meta;
+        this.inputFiles = builder.inputFiles;
+        this.threads = builder.threads;
+        this.batchSize = builder.batchSize;
+        this.maxPendingPerThread = builder.maxPendingPerThread;
+        this.maxInFlightRequests = builder.maxInFlightRequests;
+        this.segmentSize = builder.segmentSize;
+        this.maxRecordsPerSecond = builder.maxRecordsPerSecond;
+        this.consistencyLevel = builder.consistencyLevel;
+        this.errorFile = builder.errorFile;
+        this.insertJSON = builder.insertJSON;
+        this.mapper = builder.mapper;
+    }
+
+    public static <T> Builder<T> builder(Session session, AbstractEntityProperty<T> meta) {
+        return new Builder<>(session, meta);
+    }
+
+    /**
+     * Run the import and block until all records are written or rejected
+     *
+     * @return ImportStats
+     */
+    public ImportStats importFiles() {
+        final long startNanos = System.nanoTime();
+        final Configuration configuration = session.getCluster().getConfiguration();
+
+        final Optional<PreparedStatement> insert;
+        if (insertJSON.isPresent()) {
+            insert = Optional.empty();
+        } else {
+            final String keyspace = meta.getKeyspace().orElse(session.getLoggedKeyspace());
+            validateNotBlank(keyspace, "No keyspace found for entity '%s' and the session is not logged into any keyspace",
+                    meta.entityClass.getCanonicalName());
+            insert = Optional.of(session.prepare(RecordBinder.buildInsertQuery(keyspace, meta.getTableOrViewName(), meta.allColumns)));
+        }
+
+        final RecordBinder<T> binder = new RecordBinder<>(meta, mapper, insert, insertJSON,
+                configuration.getProtocolOptions().getProtocolVersion(), configuration.getCodecRegistry());
+        final LongAdder records = new LongAdder();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads, new ImportThreadFactory("achilles-import-"));
+        final ExecutorService rejectionExecutor = Executors.newSingleThreadExecutor(new ImportThreadFactory("achilles-import-rejection-"));
+
+        try (RejectedRecordSink rejectedSink = new RejectedRecordSink(errorFile, mapper)) {
+            final WriteWindow window = new WriteWindow(session, meta.writeConsistency(consistencyLevel),
+                    maxInFlightRequests, maxRecordsPerSecond.map(RateLimiter::create), rejectedSink, rejectionExecutor);
+
+            final List<Future<Void>> futures = new ArrayList<>();
+            for (Path file : inputFiles) {
+                if (isCsv(file)) {
+                    final CsvFileReader reader = new CsvFileReader(file, mapper, binder);
+                    futures.add(executor.submit(importTask(consumer -> reader.read(consumer), binder, window, rejectedSink, records)));
+                } else {
+                    for (NdjsonSegmentReader reader : NdjsonSegmentReader.split(file, segmentSize, mapper, insertJSON.isPresent())) {
+                        futures.add(executor.submit(importTask(consumer -> reader.read(consumer), binder, window, rejectedSink, records)));
+                    }
+                }
+            }
+
+            try {
+                for (Future<Void> future : futures) {
+                    Uninterruptibles.getUninterruptibly(future);
+                }
+            } finally {
+                window.awaitCompletion();
+            }
+
+            final ImportStats stats = new ImportStats(records.sum(), window.writtenCount(), rejectedSink.rejectedCount(),
+                    window.requestCount(), System.nanoTime() - startNanos);
+            if (stats.getRejected() > 0) {
+                LOGGER.warn("Import of {} done with {} rejected records{}", meta.entityClass.getSimpleName(),
+                        stats.getRejected(), errorFile.map(file -> ", see " + file).orElse(""));
+            }
+            LOGGER.info("Import of {} done : {}", meta.entityClass.getSimpleName(), stats);
+            return stats;
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof AchillesException) {
+                throw (AchillesException) cause;
+            }
+            throw new AchillesException(format("Error while importing into %s : %s", meta.getTableOrViewName(), cause.getMessage()), cause);
+        } catch (IOException e) {
+            throw new AchillesException(format("Error while importing into %s : %s", meta.getTableOrViewName(), e.getMessage()), e);
+        } finally {
+            executor.shutdownNow();
+            rejectionExecutor.shutdown();
+        }
+    }
+
+    private Callable<Void> importTask(RecordSource source, RecordBinder<T> binder, WriteWindow window,
+                                      RejectedRecordSink rejectedSink, LongAdder records) {
+        return () -> {
+            final PartitionBatcher batcher = new PartitionBatcher(window, batchSize, maxPendingPerThread);
+            source.read(record -> {
+                records.increment();
+                if (!record.isParsed()) {
+                    rejectedSink.reject(record, record.parseError);
+                    return;
+                }
+                try {
+                    final ByteBuffer routingKey = binder.routingKey(record.values);
+                    batcher.add(routingKey, new PendingWrite(binder.bind(record, routingKey), record));
+                } catch (Exception e) {
+                    rejectedSink.reject(record, "Mapping failure : " + e.getMessage());
+                }
+            });
+            batcher.flushAll();
+            return null;
+        };
+    }
+
+    private static boolean isCsv(Path file) {
+        return file.getFileName().toString().toLowerCase().endsWith(".csv");
+    }
+
+    private static boolean isNdjson(Path file) {
+        final String name = file.getFileName().toString().toLowerCase();
+        return name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json");
+    }
+
+    @FunctionalInterface
+    private interface RecordSource {
+        void read(Consumer<InputRecord> consumer) throws IOException;
+    }
+
+    private static class ImportThreadFactory implements ThreadFactory {
+        private final String namePrefix;
+        private final AtomicInteger threadNumber = new AtomicInteger(0);
+
+        private ImportThreadFactory(String namePrefix) {
+            this.namePrefix = namePrefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread = new Thread(r);
+            thread.setName(namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    public static class Builder<T> {
+        private final Session session;
+        private final AbstractEntityProperty<T> meta;
+        private List<Path> inputFiles = new ArrayList<>();
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int batchSize = 20;
+        private int maxPendingPerThread = 2000;
+        private int maxInFlightRequests = 128;
+        private long segmentSize = 64L * 1024 * 1024;
+        private Optional<Double> maxRecordsPerSecond = Optional.empty();
+        private Optional<ConsistencyLevel> consistencyLevel = Optional.empty();
+        private Optional<Path> errorFile = Optional.empty();
+        private Optional<Function<String, InsertJSONWithOptions>> insertJSON = Optional.empty();
+        private ObjectMapper mapper = new ObjectMapper();
+
+        private Builder(Session session, AbstractEntityProperty<T> meta) {
+            validateNotNull(session, "The session for the entity importer should not be null");
+            validateNotNull(meta, "The entity meta for the entity importer should not be null");
+            validateTrue(!meta.isCounter(), "Cannot import into the counter entity '%s'", meta.entityClass.getCanonicalName());
+            this.session = session;
+            this.meta = meta;
+        }
+
+        /**
+         * Input files. The format of each file is detected from its extension
+         *
+         * @return Builder
+         */
+        public Builder<T> withInputFiles(List<Path> inputFiles) {
+            this.inputFiles = new ArrayList<>(inputFiles);
+            return this;
+        }
+
+        /**
+         * Input files. The format of each file is detected from its extension
+         *
+         * @return Builder
+         */
+        public Builder<T> withInputFiles(Path... inputFiles) {
+            return withInputFiles(Arrays.asList(inputFiles));
+        }
+
+        /**
+         * Number of parsing threads, default = number of available processors
+         *
+         * @return Builder
+         */
+        public Builder<T> withThreads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Maximum number of records of the same partition sent in a single UNLOGGED batch, default = 20
+         *
+         * @return Builder
+         */
+        public Builder<T> withBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Maximum number of records waiting for their partition batch to fill up, per parsing thread.
+         * Default = 2000
+         *
+         * @return Builder
+         */
+        public Builder<T> withMaxPendingRecordsPerThread(int maxPendingPerThread) {
+            this.maxPendingPerThread = maxPendingPerThread;
+            return this;
+        }
+
+        /**
+         * Maximum number of write requests in flight, across all threads. Default = 128
+         *
+         * @return Builder
+         */
+        public Builder<T> withMaxInFlightRequests(int maxInFlightRequests) {
+            this.maxInFlightRequests = maxInFlightRequests;
+            return this;
+        }
+
+        /**
+         * Size of the NDJSON segments parsed in parallel, default = 64 MiB
+         *
+         * @return Builder
+         */
+        public Builder<T> withSegmentSize(long segmentSize) {
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * Throttle the import to at most <em>maxRecordsPerSecond</em> records written per second
+         *
+         * @return Builder
+         */
+        public Builder<T> withMaxRecordsPerSecond(double maxRecordsPerSecond) {
+            this.maxRecordsPerSecond = Optional.of(maxRecordsPerSecond);
+            return this;
+        }
+
+        /**
+         * Consistency level of the writes. Default to the write consistency of the entity
+         *
+         * @return Builder
+         */
+        public Builder<T> withConsistencyLevel(ConsistencyLevel consistencyLevel) {
+            this.consistencyLevel = Optional.ofNullable(consistencyLevel);
+            return this;
+        }
+
+        /**
+         * File receiving the rejected records, one JSON line per record. Overwritten if it exists
+         *
+         * @return Builder
+         */
+        public Builder<T> withErrorFile(Path errorFile) {
+            this.errorFile = Optional.ofNullable(errorFile);
+            return this;
+        }
+
+        /**
+         * Write each record with <em>INSERT JSON</em> instead of binding its columns one by one:
+         * <pre class="code"><code class="java">
+         * .withInsertJSON(json -&gt; manager.crud().insertJSON(json))
+         * </code></pre>
+         * The keys of the records should then be the CQL column names expected by Cassandra
+         *
+         * @return Builder
+         */
+        public Builder<T> withInsertJSON(Function<String, InsertJSONWithOptions> insertJSON) {
+            this.insertJSON = Optional.ofNullable(insertJSON);
+            return this;
+        }
+
+        /**
+         * Jackson mapper used to parse the records and convert values to the entity field types
+         *
+         * @return Builder
+         */
+        public Builder<T> withObjectMapper(ObjectMapper mapper) {
+            this.mapper = mapper;
+            return this;
+        }
+
+        public EntityImporter<T> build() {
+            validateTrue(inputFiles != null && !inputFiles.isEmpty(), "The entity importer needs at least one input file");
+            for (Path file : inputFiles) {
+                validateTrue(Files.isRegularFile(file), "The input file '%s' does not exist", file);
+                validateTrue(isCsv(file) || isNdjson(file),
+                        "Cannot detect the format of input file '%s', expecting .ndjson, .jsonl, .json or .csv extension", file);
+            }
+            validateNotNull(mapper, "The Jackson object mapper for the entity importer should not be null");
+            validateTrue(threads > 0, "The number of import threads should be strictly positive");
+            validateTrue(batchSize > 0, "The import batch size should be strictly positive");
+            validateTrue(maxPendingPerThread >= batchSize, "The maximum pending records per thread should be at least the batch size");
+            validateTrue(maxInFlightRequests > 0, "The maximum in-flight import requests should be strictly positive");
+            validateTrue(segmentSize > 0 && segmentSize <= Integer.MAX_VALUE, "The NDJSON segment size should be between 1 and %s", Integer.MAX_VALUE);
+            maxRecordsPerSecond.ifPresent(rate -> validateTrue(rate > 0, "The maximum import rate should be strictly positive"));
+            return new EntityImporter<>(this);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+/**
+ * Output format of the {@link EntityExporter}
+ */
+public enum ExportFormat {
+    /**
+     * One JSON object per line, keyed by CQL column name
+     */
+    NDJSON,
+    /**
+     * RFC 4180 CSV with a header line of CQL column names
+     */
+    CSV,
+    /**
+     * Both NDJSON and CSV files are written for each split
+     */
+    BOTH;
+
+    boolean includesNdjson() {
+        return this == NDJSON || this == BOTH;
+    }
+
+    boolean includesCsv() {
+        return this == CSV || this == BOTH;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live counters shared by all split exporters
+ */
+class ExportProgress {
+
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final AtomicInteger exportedSplits = new AtomicInteger(0);
+    private final AtomicInteger skippedSplits = new AtomicInteger(0);
+    private final int totalSplits;
+    private final long startNanos = System.nanoTime();
+
+    ExportProgress(int totalSplits) {
+        this.totalSplits = totalSplits;
+    }
+
+    void recordWritten(long rowCount, long byteCount) {
+        rows.add(rowCount);
+        bytes.add(byteCount);
+    }
+
+    void splitExported() {
+        exportedSplits.incrementAndGet();
+    }
+
+    void splitSkipped() {
+        skippedSplits.incrementAndGet();
+    }
+
+    ExportStats snapshot() {
+        return new ExportStats(rows.sum(), bytes.sum(), System.nanoTime() - startNanos,
+                exportedSplits.get(), skippedSplits.get(), totalSplits);
+    }
+}
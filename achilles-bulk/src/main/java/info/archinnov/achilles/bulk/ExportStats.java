@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Snapshot of the throughput of an export
+ */
+public class ExportStats {
+
+    private final long rows;
+    private final long bytes;
+    private final long elapsedNanos;
+    private final int exportedSplits;
+    private final int skippedSplits;
+    private final int totalSplits;
+
+    public ExportStats(long rows, long bytes, long elapsedNanos, int exportedSplits, int skippedSplits, int totalSplits) {
+        this.rows = rows;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+        this.exportedSplits = exportedSplits;
+        this.skippedSplits = skippedSplits;
+        this.totalSplits = totalSplits;
+    }
+
+    /**
+     * @return rows exported by this run, excluding rows of splits resumed from a checkpoint
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return bytes written by this run, all formats included
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedMillis() {
+        return NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public int getExportedSplits() {
+        return exportedSplits;
+    }
+
+    /**
+     * @return splits skipped because their checkpoint was already marked as complete
+     */
+    public int getSkippedSplits() {
+        return skippedSplits;
+    }
+
+    public int getTotalSplits() {
+        return totalSplits;
+    }
+
+    public double rowsPerSecond() {
+        return perSecond(rows);
+    }
+
+    public double bytesPerSecond() {
+        return perSecond(bytes);
+    }
+
+    private double perSecond(long count) {
+        return elapsedNanos <= 0 ? 0d : count * 1_000_000_000d / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d rows, %d bytes in %d ms (%.1f rows/s, %.1f bytes/s), splits: %d exported, %d skipped, %d total",
+                rows, bytes, getElapsedMillis(), rowsPerSecond(), bytesPerSecond(), exportedSplits, skippedSplits, totalSplits);
+    }
+}
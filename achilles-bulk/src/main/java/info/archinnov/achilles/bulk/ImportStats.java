@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Snapshot of the throughput of an import
+ */
+public class ImportStats {
+
+    private final long records;
+    private final long written;
+    private final long rejected;
+    private final long batches;
+    private final long elapsedNanos;
+
+    public ImportStats(long records, long written, long rejected, long batches, long elapsedNanos) {
+        this.records = records;
+        this.written = written;
+        this.rejected = rejected;
+        this.batches = batches;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return records read from the input files, rejected ones included
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    public long getWritten() {
+        return written;
+    }
+
+    /**
+     * @return records that could not be parsed, mapped or written and were sent to the error file
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * @return number of write requests sent, a single-record group being sent without batch
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    public long getElapsedMillis() {
+        return NANOSECONDS.toMillis(elapsedNanos);
+    }
+
+    public double recordsPerSecond() {
+        return elapsedNanos <= 0 ? 0d : written * 1_000_000_000d / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d records read, %d written, %d rejected, %d write requests in %d ms (%.1f records/s)",
+                records, written, rejected, batches, getElapsedMillis(), recordsPerSecond());
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * One record read from an input file of the {@link EntityImporter}.
+ * <br/>
+ * <em>values</em> is null when the record could not be parsed, <em>rawText</em> is only
+ * kept when the original text is needed later (parse error or INSERT JSON mode)
+ */
+class InputRecord {
+
+    final String source;
+    final ObjectNode values;
+    final String rawText;
+    final String parseError;
+
+    private InputRecord(String source, ObjectNode values, String rawText, String parseError) {
+        this.source = source;
+        this.values = values;
+        this.rawText = rawText;
+        this.parseError = parseError;
+    }
+
+    static InputRecord parsed(String source, ObjectNode values, String rawText) {
+        return new InputRecord(source, values, rawText, null);
+    }
+
+    static InputRecord unparseable(String source, String rawText, String parseError) {
+        return new InputRecord(source, null, rawText, parseError);
+    }
+
+    boolean isParsed() {
+        return values != null;
+    }
+
+    String jsonText(ObjectMapper mapper) throws JsonProcessingException {
+        return rawText != null ? rawText : mapper.writeValueAsString(values);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams each record as one JSON object per line through a single {@link JsonGenerator}
+ */
+class NdjsonRecordWriter extends RecordWriter {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final JsonGenerator generator;
+
+    NdjsonRecordWriter(Path file, int bufferSize, long offset, ObjectMapper mapper) throws IOException {
+        super(file, bufferSize, offset);
+        this.generator = mapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    void writeHeader(List<String> columns) {
+        // No header for NDJSON
+    }
+
+    @Override
+    void writeRecord(List<String> columns, Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            generator.writeFieldName(columns.get(i));
+            generator.writeObject(exportableValue(values[i]));
+        }
+        generator.writeEndObject();
+        // Move the generator buffer into the direct buffer so that position() is exact
+        generator.flush();
+        out.write(NEW_LINE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+        super.close();
+    }
+}
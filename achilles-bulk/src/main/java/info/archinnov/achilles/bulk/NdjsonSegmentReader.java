@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Parses one segment of a NDJSON file through a read-only memory mapping.
+ * <br/>
+ * Segments always start at the beginning of a line so that several segments of
+ * the same file can be parsed in parallel
+ */
+class NdjsonSegmentReader {
+
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final Path file;
+    private final long start;
+    private final long end;
+    private final ObjectMapper mapper;
+    private final boolean keepRawText;
+
+    NdjsonSegmentReader(Path file, long start, long end, ObjectMapper mapper, boolean keepRawText) {
+        this.file = file;
+        this.start = start;
+        this.end = end;
+        this.mapper = mapper;
+        this.keepRawText = keepRawText;
+    }
+
+    /**
+     * Cut the file into segments of about <em>segmentSize</em> bytes, each boundary being
+     * moved forward to the start of the next line
+     */
+    static List<NdjsonSegmentReader> split(Path file, long segmentSize, ObjectMapper mapper, boolean keepRawText) throws IOException {
+        final List<NdjsonSegmentReader> segments = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            final long size = channel.size();
+            long start = 0L;
+            while (start < size) {
+                long end = Math.min(size, start + segmentSize);
+                if (end < size) {
+                    end = nextLineStart(channel, end, size);
+                }
+                segments.add(new NdjsonSegmentReader(file, start, end, mapper, keepRawText));
+                start = end;
+            }
+        }
+        return segments;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long current = position;
+        while (current < size) {
+            buffer.clear();
+            final int read = channel.read(buffer, current);
+            if (read <= 0) break;
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == NEW_LINE) {
+                    return current + i + 1;
+                }
+            }
+            current += read;
+        }
+        return size;
+    }
+
+    void read(Consumer<InputRecord> consumer) throws IOException {
+        final String fileName = file.getFileName().toString();
+        try (FileChannel channel = FileChannel.open(file, READ)) {
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            final int limit = mapped.limit();
+            byte[] line = new byte[4096];
+            int lineStart = 0;
+            while (lineStart < limit) {
+                int lineEnd = lineStart;
+                while (lineEnd < limit && mapped.get(lineEnd) != NEW_LINE) {
+                    lineEnd++;
+                }
+                int length = lineEnd - lineStart;
+                if (length > 0 && mapped.get(lineStart + length - 1) == CARRIAGE_RETURN) {
+                    length--;
+                }
+                if (length > 0) {
+                    if (line.length < length) {
+                        line = new byte[Math.max(length, line.length * 2)];
+                    }
+                    mapped.position(lineStart);
+                    mapped.get(line, 0, length);
+                    consumer.accept(parse(fileName + "@" + (start + lineStart), line, length));
+                }
+                lineStart = lineEnd + 1;
+            }
+        }
+    }
+
+    private InputRecord parse(String source, byte[] line, int length) {
+        final String rawText = keepRawText ? new String(line, 0, length, UTF_8) : null;
+        try (JsonParser parser = mapper.getFactory().createParser(line, 0, length)) {
+            final JsonNode node = mapper.readTree(parser);
+            if (node instanceof ObjectNode) {
+                return InputRecord.parsed(source, (ObjectNode) node, rawText);
+            }
+            return InputRecord.unparseable(source, new String(line, 0, length, UTF_8), "The line is not a JSON object");
+        } catch (IOException e) {
+            return InputRecord.unparseable(source, new String(line, 0, length, UTF_8), "Invalid JSON : " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups the writes of one import worker by partition (routing key) so that each
+ * write request only touches a single partition.
+ * <br/>
+ * A group is sent as soon as it reaches <em>batchSize</em>. When too many writes are pending,
+ * the oldest groups are sent first until half of the pending writes are flushed.
+ * Not thread-safe, each worker owns its batcher
+ */
+class PartitionBatcher {
+
+    private final WriteWindow window;
+    private final int batchSize;
+    private final int maxPending;
+    private final Map<ByteBuffer, List<PendingWrite>> groups = new LinkedHashMap<>();
+    private int pending = 0;
+
+    PartitionBatcher(WriteWindow window, int batchSize, int maxPending) {
+        this.window = window;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+    }
+
+    void add(ByteBuffer routingKey, PendingWrite write) {
+        final List<PendingWrite> group = groups.computeIfAbsent(routingKey, key -> new ArrayList<>(batchSize));
+        group.add(write);
+        pending++;
+        if (group.size() >= batchSize) {
+            groups.remove(routingKey);
+            pending -= group.size();
+            window.submit(group);
+        } else if (pending >= maxPending) {
+            flushOldest(maxPending / 2);
+        }
+    }
+
+    void flushAll() {
+        flushOldest(0);
+    }
+
+    private void flushOldest(int target) {
+        final Iterator<List<PendingWrite>> iterator = groups.values().iterator();
+        while (pending > target && iterator.hasNext()) {
+            final List<PendingWrite> group = iterator.next();
+            iterator.remove();
+            pending -= group.size();
+            window.submit(group);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ProtocolVersion;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.google.common.reflect.TypeToken;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.dsl.crud.InsertJSONWithOptions;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+
+/**
+ * Turns parsed records into bound INSERT statements, either by decoding each column
+ * with the entity meta data or by delegating to an INSERT JSON statement provider.
+ * <br/>
+ * In both modes the routing key is computed from the partition key columns so that
+ * records can be grouped by partition. Thread-safe
+ */
+class RecordBinder<T> {
+
+    private final AbstractEntityProperty<T> meta;
+    private final ObjectMapper mapper;
+    private final Map<String, AbstractProperty<T, ?, ?>> columns = new LinkedHashMap<>();
+    private final Optional<PreparedStatement> insert;
+    private final Optional<Function<String, InsertJSONWithOptions>> insertJSON;
+    private final ProtocolVersion protocolVersion;
+    private final CodecRegistry codecRegistry;
+    private final boolean unsetSupported;
+
+    RecordBinder(AbstractEntityProperty<T> meta, ObjectMapper mapper, Optional<PreparedStatement> insert,
+                 Optional<Function<String, InsertJSONWithOptions>> insertJSON,
+                 ProtocolVersion protocolVersion, CodecRegistry codecRegistry) {
+        this.meta = meta;
+        this.mapper = mapper;
+        this.insert = insert;
+        this.insertJSON = insertJSON;
+        this.protocolVersion = protocolVersion;
+        this.codecRegistry = codecRegistry;
+        this.unsetSupported = protocolVersion.compareTo(ProtocolVersion.V4) >= 0;
+        for (AbstractProperty<T, ?, ?> property : meta.allColumns) {
+            columns.put(property.fieldInfo.cqlColumn, property);
+        }
+    }
+
+    static String buildInsertQuery(String keyspace, String table, List<? extends AbstractProperty<?, ?, ?>> properties) {
+        final StringBuilder columns = new StringBuilder();
+        final StringBuilder markers = new StringBuilder();
+        for (AbstractProperty<?, ?, ?> property : properties) {
+            if (columns.length() > 0) {
+                columns.append(",");
+                markers.append(",");
+            }
+            columns.append(property.fieldInfo.quotedCqlColumn);
+            markers.append("?");
+        }
+        return format("INSERT INTO %s.%s (%s) VALUES (%s)", keyspace, table, columns, markers);
+    }
+
+    BoundStatement bind(InputRecord record, ByteBuffer routingKey) throws IOException {
+        final BoundStatement bs;
+        if (insertJSON.isPresent()) {
+            bs = insertJSON.get().apply(record.jsonText(mapper)).generateAndGetBoundStatement();
+        } else {
+            bs = insert.get().bind();
+            for (AbstractProperty<T, ?, ?> property : meta.allColumns) {
+                final JsonNode node = record.values.get(property.fieldInfo.cqlColumn);
+                if (node == null || node.isNull()) {
+                    if (node != null || !unsetSupported) {
+                        bs.setToNull(property.fieldInfo.quotedCqlColumn);
+                    }
+                } else {
+                    encodeToSettable(property, decode(property.valueFromTypeToken.getType(), node), bs);
+                }
+            }
+        }
+        bs.setRoutingKey(routingKey.duplicate());
+        return bs;
+    }
+
+    /**
+     * Serialize the partition key columns with the driver codecs and compose them
+     * the same way Cassandra does for composite partition keys
+     */
+    ByteBuffer routingKey(ObjectNode values) throws IOException {
+        final int count = meta.partitionKeys.size();
+        final ByteBuffer[] components = new ByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            final AbstractProperty<T, ?, ?> partitionKey = meta.partitionKeys.get(i);
+            final JsonNode node = values.get(partitionKey.fieldInfo.cqlColumn);
+            if (node == null || node.isNull()) {
+                throw new AchillesException(format("Missing value for partition key column '%s'", partitionKey.fieldInfo.cqlColumn));
+            }
+            final Object encoded = encode(partitionKey, decode(partitionKey.valueFromTypeToken.getType(), node));
+            components[i] = codecRegistry.codecFor(partitionKey.getDataType(), encoded).serialize(encoded, protocolVersion);
+        }
+        return count == 1 ? components[0] : composeRoutingKey(components);
+    }
+
+    /**
+     * Convert a CSV field to the JSON node the NDJSON export would have produced for this column
+     */
+    JsonNode csvFieldToNode(String column, String text) throws IOException {
+        if (text.isEmpty()) {
+            return NullNode.getInstance();
+        }
+        final AbstractProperty<T, ?, ?> property = columns.get(column);
+        if (property == null) {
+            return TextNode.valueOf(text);
+        }
+        final Class<?> rawType = unwrapOptional(property.valueFromTypeToken.getType()).getRawType();
+        if (rawType == String.class || rawType == Character.class || rawType == UUID.class
+                || InetAddress.class.isAssignableFrom(rawType) || rawType.isEnum()
+                || rawType == ByteBuffer.class || rawType == byte[].class) {
+            return TextNode.valueOf(text);
+        }
+        return mapper.readTree(text);
+    }
+
+    Object decode(Type type, JsonNode node) throws IOException {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        final Class<?> rawType = TypeToken.of(type).getRawType();
+        if (rawType == Optional.class) {
+            return Optional.ofNullable(decode(((ParameterizedType) type).getActualTypeArguments()[0], node));
+        } else if (rawType == ByteBuffer.class) {
+            return ByteBuffer.wrap(node.binaryValue());
+        }
+        return mapper.convertValue(node, mapper.getTypeFactory().constructType(type));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Object encode(AbstractProperty<T, ?, ?> property, Object javaValue) {
+        return ((AbstractProperty<T, Object, Object>) property).encodeFromJava(javaValue);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void encodeToSettable(AbstractProperty<T, ?, ?> property, Object javaValue, BoundStatement bs) {
+        final AbstractProperty<T, Object, Object> typedProperty = (AbstractProperty<T, Object, Object>) property;
+        typedProperty.encodeToSettable(typedProperty.encodeFromJava(javaValue), bs);
+    }
+
+    private static TypeToken<?> unwrapOptional(Type type) {
+        final TypeToken<?> typeToken = TypeToken.of(type);
+        if (typeToken.getRawType() == Optional.class) {
+            return TypeToken.of(((ParameterizedType) type).getActualTypeArguments()[0]);
+        }
+        return typeToken;
+    }
+
+    /**
+     * Compose the routing key of a composite partition key, as Cassandra does
+     */
+    static ByteBuffer composeRoutingKey(ByteBuffer... components) {
+        int size = 0;
+        for (ByteBuffer component : components) {
+            size += 2 + component.remaining() + 1;
+        }
+        final ByteBuffer composite = ByteBuffer.allocate(size);
+        for (ByteBuffer component : components) {
+            composite.putShort((short) component.remaining());
+            composite.put(component.duplicate());
+            composite.put((byte) 0);
+        }
+        composite.flip();
+        return composite;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writes exported records to one data file of a split
+ */
+abstract class RecordWriter implements Closeable {
+
+    protected final ChannelOutputStream out;
+
+    RecordWriter(Path file, int bufferSize, long offset) throws IOException {
+        final FileChannel channel = FileChannel.open(file, CREATE, WRITE);
+        channel.truncate(offset);
+        channel.position(offset);
+        this.out = new ChannelOutputStream(channel, bufferSize, offset);
+    }
+
+    abstract void writeHeader(List<String> columns) throws IOException;
+
+    abstract void writeRecord(List<String> columns, Object[] values) throws IOException;
+
+    void drain() throws IOException {
+        out.drain();
+    }
+
+    /**
+     * Make the drained bytes durable, so that a checkpoint never points past data lost in a crash
+     */
+    void force() throws IOException {
+        out.force();
+    }
+
+    long position() {
+        return out.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    /**
+     * Unwrap values that neither Jackson nor the CSV formatter handle directly
+     */
+    static Object exportableValue(Object value) {
+        if (value instanceof Optional) {
+            return exportableValue(((Optional<?>) value).orElse(null));
+        } else if (value instanceof ByteBuffer) {
+            final ByteBuffer duplicate = ((ByteBuffer) value).duplicate();
+            final byte[] bytes = new byte[duplicate.remaining()];
+            duplicate.get(bytes);
+            return bytes;
+        }
+        return value;
+    }
+}
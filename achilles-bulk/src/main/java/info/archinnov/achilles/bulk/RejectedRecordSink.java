@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Collects rejected records of an import.
+ * <br/>
+ * Each rejected record is written as one JSON line <em>{"source": ..., "error": ..., "record": ...}</em>
+ * where <em>record</em> is the parsed record, or its raw text when it could not be parsed
+ */
+class RejectedRecordSink implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RejectedRecordSink.class);
+
+    private final ObjectMapper mapper;
+    private final Optional<Writer> writer;
+    private final LongAdder rejected = new LongAdder();
+
+    RejectedRecordSink(Optional<Path> errorFile, ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.writer = errorFile.map(file -> {
+            try {
+                return Files.newBufferedWriter(file, UTF_8);
+            } catch (IOException e) {
+                throw new AchillesException(format("Cannot create import error file '%s'", file), e);
+            }
+        });
+    }
+
+    void reject(InputRecord record, String reason) {
+        rejected.increment();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Rejecting record {} : {}", record.source, reason);
+        }
+        if (writer.isPresent()) {
+            final ObjectNode line = mapper.createObjectNode();
+            line.put("source", record.source);
+            line.put("error", reason);
+            if (record.isParsed()) {
+                line.set("record", record.values);
+            } else {
+                line.put("record", record.rawText);
+            }
+            try {
+                final String text = mapper.writeValueAsString(line);
+                synchronized (this) {
+                    writer.get().write(text);
+                    writer.get().write('\n');
+                }
+            } catch (IOException e) {
+                throw new AchillesException("Cannot write to the import error file", e);
+            }
+        }
+    }
+
+    long rejectedCount() {
+        return rejected.sum();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (writer.isPresent()) {
+            writer.get().close();
+        }
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static info.archinnov.achilles.validation.Validator.validateNotBlank;
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.apache.cassandra.dht.IPartitioner;
+import org.apache.cassandra.dht.Murmur3Partitioner;
+import org.apache.cassandra.io.sstable.CQLSSTableWriter;
+import org.apache.cassandra.utils.ByteBufferUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.TypeCodec;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractUDTClassProperty;
+import info.archinnov.achilles.internals.schema.SchemaContext;
+import info.archinnov.achilles.internals.schema.SchemaCreator;
+import info.archinnov.achilles.internals.statements.PreparedStatementGenerator;
+import info.archinnov.achilles.type.SchemaNameProvider;
+import info.archinnov.achilles.type.interceptor.Event;
+
+/**
+ * Offline generation of SSTables for an entity table, to be streamed into a cluster with <em>sstableloader</em>.
+ * <br/>
+ * <br/>
+ * The table and UDT schemas and the INSERT statement are generated from the entity meta data and given
+ * to Cassandra's {@link CQLSSTableWriter}. The Murmur3 token ring is split into N ranges, each range
+ * having its own writer thread, so that every SSTable produced only covers one range of the ring.
+ * Each writer buffers <em>bufferSizeInMB</em> of rows in memory, then flushes them as a sorted SSTable:
+ * <pre class="code"><code class="java">
+ * long rows = SSTableGenerator
+ *      .builder(manager.meta)
+ *      .withOutputDirectory(Paths.get("/data/bulk"))
+ *      .withBufferSizeInMB(256)
+ *      .withWriters(8)
+ *      .build()
+ *      .write(users.stream());
+ *
+ * // then: sstableloader -d host /data/bulk/my_keyspace/users
+ * </code></pre>
+ * The entity values are extracted and encoded with the entity codecs and {@link Event#PRE_INSERT}
+ * interceptors are triggered, exactly as for a regular INSERT. Null columns are left <em>unset</em>
+ * so that no tombstone is written.
+ * <br/>
+ * Cassandra's writer switches the JVM to client mode: do not run the generation in a JVM hosting a Cassandra server
+ */
+public class SSTableGenerator<T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SSTableGenerator.class);
+    private static final List<ByteBuffer> END_OF_INPUT = Collections.emptyList();
+    private static final ProtocolVersion PROTOCOL_VERSION = ProtocolVersion.V4;
+
+    private final AbstractEntityProperty<T> meta;
+    private final String keyspace;
+    private final String table;
+    private final Path tableDirectory;
+    private final int bufferSizeInMB;
+    private final int writers;
+    private final int queueCapacity;
+    private final IPartitioner partitioner = Murmur3Partitioner.instance;
+    private final CodecRegistry codecRegistry;
+    private final int[] partitionKeyIndexes;
+    private final ByteBuffer ttl;
+
+    private SSTableGenerator(Builder<T> builder) {
+        this.meta = builder.meta;
+        this.keyspace = builder.keyspace.orElseGet(() -> meta.getKeyspace().orElse(null));
+        validateNotBlank(keyspace, "No keyspace found for entity '%s', please provide one with withKeyspace()",
+                meta.entityClass.getCanonicalName());
+        meta.staticKeyspace.ifPresent(staticKeyspace -> validateTrue(staticKeyspace.equals(keyspace),
+                "The keyspace '%s' does not match the static keyspace '%s' of entity '%s'",
+                keyspace, staticKeyspace, meta.entityClass.getCanonicalName()));
+        this.table = meta.getTableOrViewName();
+        this.tableDirectory = builder.outputDirectory.resolve(keyspace.replace("\"", "")).resolve(table.replace("\"", ""));
+        this.bufferSizeInMB = builder.bufferSizeInMB;
+        this.writers = builder.writers;
+        this.queueCapacity = builder.queueCapacity;
+        this.codecRegistry = builder.codecRegistry;
+        this.partitionKeyIndexes = meta.partitionKeys.stream().mapToInt(meta.allColumns::indexOf).toArray();
+        this.ttl = TypeCodec.cint().serialize(meta.staticTTL.orElse(0), PROTOCOL_VERSION);
+    }
+
+    public static <T> Builder<T> builder(AbstractEntityProperty<T> meta) {
+        return new Builder<>(meta);
+    }
+
+    /**
+     * @return the <em>keyspace/table</em> directory receiving the SSTables, to be given to sstableloader
+     */
+    public Path getTableDirectory() {
+        return tableDirectory;
+    }
+
+    /**
+     * Write all the entities of the stream. Parallel streams are supported
+     *
+     * @return number of rows written
+     */
+    public long write(Stream<T> entities) {
+        return generate(entities::forEach);
+    }
+
+    /**
+     * Write all the entities of the iterator
+     *
+     * @return number of rows written
+     */
+    public long write(Iterator<T> entities) {
+        return generate(entities::forEachRemaining);
+    }
+
+    String generateTableSchema() {
+        return SchemaCreator.generateTable_And_Indices(new SchemaContext(keyspace, false, false), meta).get(0);
+    }
+
+    List<String> generateTypeSchemas() {
+        final Map<String, String> schemas = new LinkedHashMap<>();
+        for (AbstractProperty<T, ?, ?> property : meta.allColumns) {
+            for (AbstractUDTClassProperty<?> udt : property.getUDTClassProperties()) {
+                schemas.computeIfAbsent(udt.udtName, name -> udt.generateSchema(new SchemaContext(keyspace, true, false)));
+            }
+        }
+        return new ArrayList<>(schemas.values());
+    }
+
+    String generateInsert() {
+        return PreparedStatementGenerator.generateInsert(meta, Optional.of(new SchemaNameProvider() {
+            @Override
+            public <X> String keyspaceFor(Class<X> entityClass) {
+                return keyspace;
+            }
+
+            @Override
+            public <X> String tableNameFor(Class<X> entityClass) {
+                return table;
+            }
+        })).getQueryString();
+    }
+
+    private long generate(Consumer<Consumer<T>> feeder) {
+        try {
+            Files.createDirectories(tableDirectory);
+        } catch (IOException e) {
+            throw new AchillesException(format("Cannot create SSTable directory '%s'", tableDirectory), e);
+        }
+
+        final String tableSchema = generateTableSchema();
+        final List<String> typeSchemas = generateTypeSchemas();
+        final String insert = generateInsert();
+        final List<TokenRange> ranges = TokenRange.splitRing(writers);
+        final long[] rangeEnds = ranges.stream().mapToLong(x -> x.endInclusive).toArray();
+        final List<BlockingQueue<List<ByteBuffer>>> queues = new ArrayList<>(writers);
+        final List<Thread> threads = new ArrayList<>(writers);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final LongAdder rows = new LongAdder();
+        final long startNanos = System.nanoTime();
+
+        LOGGER.info("Generating SSTables for {}.{} into {} with {} writers", keyspace, table, tableDirectory, writers);
+
+        for (TokenRange range : ranges) {
+            final BlockingQueue<List<ByteBuffer>> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            final Thread thread = new Thread(() -> writeRange(queue, tableSchema, typeSchemas, insert, rows, failure),
+                    "achilles-sstable-writer-" + range.index);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+
+        try {
+            feeder.accept(entity -> {
+                final List<ByteBuffer> values = encode(entity);
+                final int rangeIndex = rangeIndexOf(rangeEnds, tokenOf(values));
+                enqueue(queues.get(rangeIndex), values, failure);
+            });
+        } finally {
+            for (BlockingQueue<List<ByteBuffer>> queue : queues) {
+                enqueue(queue, END_OF_INPUT, failure);
+            }
+            for (Thread thread : threads) {
+                Uninterruptibles.joinUninterruptibly(thread);
+            }
+        }
+
+        final Throwable throwable = failure.get();
+        if (throwable != null) {
+            throw new AchillesException(format("Error while generating SSTables for %s.%s : %s", keyspace, table, throwable.getMessage()), throwable);
+        }
+
+        final long elapsedMillis = MILLISECONDS.convert(System.nanoTime() - startNanos, NANOSECONDS);
+        LOGGER.info("Generated SSTables for {}.{} : {} rows in {} ms", keyspace, table, rows.sum(), elapsedMillis);
+        return rows.sum();
+    }
+
+    private void writeRange(BlockingQueue<List<ByteBuffer>> queue, String tableSchema, List<String> typeSchemas,
+                            String insert, LongAdder rows, AtomicReference<Throwable> failure) {
+        CQLSSTableWriter.Builder builder = CQLSSTableWriter.builder()
+                .inDirectory(tableDirectory.toFile())
+                .withPartitioner(partitioner)
+                .withBufferSizeInMB(bufferSizeInMB);
+        try {
+            for (String typeSchema : typeSchemas) {
+                builder = builder.withType(typeSchema);
+            }
+            try (CQLSSTableWriter writer = builder.forTable(tableSchema).using(insert).build()) {
+                List<ByteBuffer> values;
+                while ((values = Uninterruptibles.takeUninterruptibly(queue)) != END_OF_INPUT) {
+                    if (failure.get() == null) {
+                        writer.rawAddRow(values);
+                        rows.increment();
+                    }
+                }
+            }
+        } catch (Throwable throwable) {
+            failure.compareAndSet(null, throwable);
+            // Keep consuming so that the producer never blocks on a dead writer
+            while (Uninterruptibles.takeUninterruptibly(queue) != END_OF_INPUT) ;
+        }
+    }
+
+    private static void enqueue(BlockingQueue<List<ByteBuffer>> queue, List<ByteBuffer> values, AtomicReference<Throwable> failure) {
+        while (true) {
+            if (values != END_OF_INPUT && failure.get() != null) {
+                throw new AchillesException("SSTable generation aborted", failure.get());
+            }
+            try {
+                if (queue.offer(values, 100, MILLISECONDS)) return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AchillesException("Interrupted while generating SSTables", e);
+            }
+        }
+    }
+
+    /**
+     * Encode the entity columns in the order of the INSERT bound values, the TTL being the last one
+     */
+    List<ByteBuffer> encode(T entity) {
+        meta.triggerInterceptorsForEvent(Event.PRE_INSERT, entity);
+        final List<AbstractProperty<T, ?, ?>> columns = meta.allColumns;
+        final ByteBuffer[] values = new ByteBuffer[columns.size() + 1];
+        for (int i = 0; i < columns.size(); i++) {
+            final AbstractProperty<T, ?, ?> property = columns.get(i);
+            final Object encoded = property.encodeField(entity);
+            values[i] = encoded == null
+                    ? ByteBufferUtil.UNSET_BYTE_BUFFER
+                    : codecRegistry.codecFor(property.getDataType(), encoded).serialize(encoded, PROTOCOL_VERSION);
+        }
+        values[columns.size()] = ttl;
+        return Arrays.asList(values);
+    }
+
+    long tokenOf(List<ByteBuffer> values) {
+        final ByteBuffer[] components = new ByteBuffer[partitionKeyIndexes.length];
+        for (int i = 0; i < partitionKeyIndexes.length; i++) {
+            final ByteBuffer component = values.get(partitionKeyIndexes[i]);
+            validateTrue(component != ByteBufferUtil.UNSET_BYTE_BUFFER, "Partition key column '%s' should not be null",
+                    meta.partitionKeys.get(i).fieldInfo.cqlColumn);
+            components[i] = component;
+        }
+        final ByteBuffer routingKey = components.length == 1 ? components[0].duplicate() : RecordBinder.composeRoutingKey(components);
+        return (Long) partitioner.getToken(routingKey).getTokenValue();
+    }
+
+    static int rangeIndexOf(long[] rangeEnds, long token) {
+        int low = 0;
+        int high = rangeEnds.length - 1;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (token <= rangeEnds[middle]) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    public static class Builder<T> {
+        private final AbstractEntityProperty<T> meta;
+        private Path outputDirectory;
+        private Optional<String> keyspace = Optional.empty();
+        private int bufferSizeInMB = 128;
+        private int writers = Runtime.getRuntime().availableProcessors();
+        private int queueCapacity = 10_000;
+        private CodecRegistry codecRegistry = CodecRegistry.DEFAULT_INSTANCE;
+
+        private Builder(AbstractEntityProperty<T> meta) {
+            validateNotNull(meta, "The entity meta for the SSTable generator should not be null");
+            validateTrue(!meta.isCounter(), "Cannot generate SSTables for the counter entity '%s'", meta.entityClass.getCanonicalName());
+            this.meta = meta;
+        }
+
+        /**
+         * Root directory. SSTables are written into its <em>keyspace/table</em> sub-directory
+         *
+         * @return Builder
+         */
+        public Builder<T> withOutputDirectory(Path outputDirectory) {
+            this.outputDirectory = outputDirectory;
+            return this;
+        }
+
+        /**
+         * Keyspace of the generated SSTables. Default to the keyspace of the entity
+         *
+         * @return Builder
+         */
+        public Builder<T> withKeyspace(String keyspace) {
+            this.keyspace = Optional.ofNullable(keyspace);
+            return this;
+        }
+
+        /**
+         * Size of the in-memory buffer of each writer before it flushes a sorted SSTable, default = 128 MB
+         *
+         * @return Builder
+         */
+        public Builder<T> withBufferSizeInMB(int bufferSizeInMB) {
+            this.bufferSizeInMB = bufferSizeInMB;
+            return this;
+        }
+
+        /**
+         * Number of parallel writers, each one owning a range of the token ring. Default = number of available processors
+         *
+         * @return Builder
+         */
+        public Builder<T> withWriters(int writers) {
+            this.writers = writers;
+            return this;
+        }
+
+        /**
+         * Maximum number of encoded rows waiting for each writer, default = 10 000
+         *
+         * @return Builder
+         */
+        public Builder<T> withQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public SSTableGenerator<T> build() {
+            validateNotNull(outputDirectory, "The output directory for the SSTable generator should not be null");
+            validateTrue(bufferSizeInMB > 0, "The SSTable writer buffer size should be strictly positive");
+            validateTrue(writers > 0, "The number of SSTable writers should be strictly positive");
+            validateTrue(queueCapacity > 0, "The SSTable writer queue capacity should be strictly positive");
+            return new SSTableGenerator<>(this);
+        }
+    }
+}
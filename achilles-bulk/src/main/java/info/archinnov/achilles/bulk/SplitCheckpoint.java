@@ -0,0 +1,130 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.*;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Properties;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+/**
+ * Progress of one exported split, persisted next to the data files.
+ * <br/>
+ * A checkpoint is only taken on a partition boundary: <em>lastToken</em> is the token of the
+ * last partition fully written and the offsets are the sizes of the data files at that moment.
+ * Resuming truncates the data files to those offsets and restarts the scan after <em>lastToken</em>
+ */
+public class SplitCheckpoint {
+
+    private static final String LAST_TOKEN = "lastToken";
+    private static final String ROWS = "rows";
+    private static final String NDJSON_OFFSET = "ndjsonOffset";
+    private static final String CSV_OFFSET = "csvOffset";
+    private static final String COMPLETE = "complete";
+
+    public final long lastToken;
+    public final long rows;
+    public final long ndjsonOffset;
+    public final long csvOffset;
+    public final boolean complete;
+
+    public SplitCheckpoint(long lastToken, long rows, long ndjsonOffset, long csvOffset, boolean complete) {
+        this.lastToken = lastToken;
+        this.rows = rows;
+        this.ndjsonOffset = ndjsonOffset;
+        this.csvOffset = csvOffset;
+        this.complete = complete;
+    }
+
+    static Optional<SplitCheckpoint> read(Path file) {
+        if (!Files.exists(file)) return Optional.empty();
+        final Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, UTF_8)) {
+            properties.load(reader);
+            return Optional.of(new SplitCheckpoint(
+                    Long.parseLong(properties.getProperty(LAST_TOKEN)),
+                    Long.parseLong(properties.getProperty(ROWS)),
+                    Long.parseLong(properties.getProperty(NDJSON_OFFSET)),
+                    Long.parseLong(properties.getProperty(CSV_OFFSET)),
+                    Boolean.parseBoolean(properties.getProperty(COMPLETE))));
+        } catch (IOException | RuntimeException e) {
+            throw new AchillesException(format("Cannot read export checkpoint file '%s'", file), e);
+        }
+    }
+
+    /**
+     * Write the checkpoint to a temporary file, force it to disk, then atomically move it over the previous one
+     * so that a crash never leaves a half-written checkpoint behind. The directory is forced afterwards,
+     * when the platform allows it, to make the rename itself durable
+     */
+    void write(Path file) {
+        final Properties properties = new Properties();
+        properties.setProperty(LAST_TOKEN, Long.toString(lastToken));
+        properties.setProperty(ROWS, Long.toString(rows));
+        properties.setProperty(NDJSON_OFFSET, Long.toString(ndjsonOffset));
+        properties.setProperty(CSV_OFFSET, Long.toString(csvOffset));
+        properties.setProperty(COMPLETE, Boolean.toString(complete));
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            final StringWriter content = new StringWriter();
+            properties.store(content, null);
+            try (FileChannel channel = FileChannel.open(tmp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+                final ByteBuffer bytes = UTF_8.encode(content.toString());
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                channel.force(true);
+            }
+            Files.move(tmp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+            forceDirectory(file.toAbsolutePath().getParent());
+        } catch (IOException e) {
+            throw new AchillesException(format("Cannot write export checkpoint file '%s'", file), e);
+        }
+    }
+
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened as channels on some platforms (Windows), the move stays atomic there
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SplitCheckpoint{" +
+                "lastToken=" + lastToken +
+                ", rows=" + rows +
+                ", ndjsonOffset=" + ndjsonOffset +
+                ", csvOffset=" + csvOffset +
+                ", complete=" + complete +
+                '}';
+    }
+}
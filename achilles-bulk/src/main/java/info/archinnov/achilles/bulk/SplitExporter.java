@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.util.concurrent.RateLimiter;
+
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+
+/**
+ * Export one token range to its own data file(s).
+ * <br/>
+ * The first column of the prepared statement is the partition token, followed by the entity columns
+ */
+class SplitExporter<T> implements Callable<Boolean> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SplitExporter.class);
+
+    private final Session session;
+    private final PreparedStatement ps;
+    private final ConsistencyLevel consistencyLevel;
+    private final List<AbstractProperty<T, ?, ?>> properties;
+    private final List<String> columns;
+    private final TokenRange range;
+    private final Path ndjsonFile;
+    private final Path csvFile;
+    private final Path checkpointFile;
+    private final ExportFormat format;
+    private final ObjectMapper mapper;
+    private final int fetchSize;
+    private final int bufferSize;
+    private final long checkpointInterval;
+    private final boolean resume;
+    private final Optional<RateLimiter> rateLimiter;
+    private final ExportProgress progress;
+    private final Optional<Consumer<ExportStats>> progressListener;
+
+    SplitExporter(EntityExporter<T> exporter, PreparedStatement ps, ConsistencyLevel consistencyLevel,
+                  List<String> columns, TokenRange range, String filePrefix,
+                  Optional<RateLimiter> rateLimiter, ExportProgress progress) {
+        this.session = exporter.session;
+        this.ps = ps;
+        this.consistencyLevel = consistencyLevel;
+        this.properties = exporter.meta.allColumns;
+        this.columns = columns;
+        this.range = range;
+        this.ndjsonFile = exporter.outputDirectory.resolve(filePrefix + ".ndjson");
+        this.csvFile = exporter.outputDirectory.resolve(filePrefix + ".csv");
+        this.checkpointFile = exporter.outputDirectory.resolve(filePrefix + ".checkpoint");
+        this.format = exporter.format;
+        this.mapper = exporter.mapper;
+        this.fetchSize = exporter.fetchSize;
+        this.bufferSize = exporter.bufferSize;
+        this.checkpointInterval = exporter.checkpointInterval;
+        this.resume = exporter.resume;
+        this.rateLimiter = rateLimiter;
+        this.progress = progress;
+        this.progressListener = exporter.progressListener;
+    }
+
+    /**
+     * @return true if the split has been exported, false if it was skipped because already complete
+     */
+    @Override
+    public Boolean call() throws IOException {
+        final Optional<SplitCheckpoint> checkpoint = resume ? SplitCheckpoint.read(checkpointFile) : Optional.empty();
+        if (checkpoint.isPresent() && checkpoint.get().complete) {
+            LOGGER.debug("Skipping already exported split {}", range);
+            progress.splitSkipped();
+            return false;
+        }
+        if (!checkpoint.isPresent()) {
+            Files.deleteIfExists(checkpointFile);
+        }
+
+        final long startToken = checkpoint.map(x -> x.lastToken).orElse(range.startExclusive);
+        long rows = checkpoint.map(x -> x.rows).orElse(0L);
+
+        LOGGER.debug("Exporting split {} starting after token {}", range, startToken);
+
+        try (RecordWriter ndjson = format.includesNdjson()
+                ? new NdjsonRecordWriter(ndjsonFile, bufferSize, checkpoint.map(x -> x.ndjsonOffset).orElse(0L), mapper)
+                : null;
+             RecordWriter csv = format.includesCsv()
+                     ? new CsvRecordWriter(csvFile, bufferSize, checkpoint.map(x -> x.csvOffset).orElse(0L), mapper)
+                     : null) {
+
+            if (csv != null && !checkpoint.isPresent()) {
+                csv.writeHeader(columns);
+            }
+
+            final BoundStatement bs = ps.bind(startToken, range.endInclusive);
+            bs.setFetchSize(fetchSize);
+            bs.setConsistencyLevel(consistencyLevel);
+            final ResultSet resultSet = session.execute(bs);
+            final int prefetchThreshold = Math.max(1, fetchSize / 4);
+
+            final Object[] values = new Object[properties.size()];
+            boolean hasCurrentToken = false;
+            long currentToken = 0L;
+            long rowsSinceCheckpoint = 0L;
+
+            for (Row row : resultSet) {
+                if (resultSet.getAvailableWithoutFetching() == prefetchThreshold && !resultSet.isFullyFetched()) {
+                    resultSet.fetchMoreResults();
+                }
+
+                final long token = row.getLong(0);
+                // Only checkpoint between two partitions so that resuming never splits a partition
+                if (hasCurrentToken && token != currentToken && rowsSinceCheckpoint >= checkpointInterval) {
+                    saveCheckpoint(currentToken, rows, ndjson, csv, false);
+                    rowsSinceCheckpoint = 0L;
+                }
+
+                rateLimiter.ifPresent(RateLimiter::acquire);
+
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = properties.get(i).decodeFromGettable(row);
+                }
+
+                final long positionBefore = positionOf(ndjson) + positionOf(csv);
+                if (ndjson != null) ndjson.writeRecord(columns, values);
+                if (csv != null) csv.writeRecord(columns, values);
+                progress.recordWritten(1L, positionOf(ndjson) + positionOf(csv) - positionBefore);
+
+                rows++;
+                rowsSinceCheckpoint++;
+                currentToken = token;
+                hasCurrentToken = true;
+            }
+
+            saveCheckpoint(range.endInclusive, rows, ndjson, csv, true);
+        }
+
+        progress.splitExported();
+        LOGGER.debug("Split {} exported, {} rows in total", range, rows);
+        return true;
+    }
+
+    private void saveCheckpoint(long lastToken, long rows, RecordWriter ndjson, RecordWriter csv, boolean complete) throws IOException {
+        if (ndjson != null) ndjson.drain();
+        if (csv != null) csv.drain();
+        if (ndjson != null) ndjson.force();
+        if (csv != null) csv.force();
+        new SplitCheckpoint(lastToken, rows, positionOf(ndjson), positionOf(csv), complete).write(checkpointFile);
+        progressListener.ifPresent(listener -> listener.accept(progress.snapshot()));
+    }
+
+    private static long positionOf(RecordWriter writer) {
+        return writer == null ? 0L : writer.position();
+    }
+}
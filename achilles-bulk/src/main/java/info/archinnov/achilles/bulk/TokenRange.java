@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A range of the Murmur3 token ring, <strong>start exclusive</strong> and <strong>end inclusive</strong>
+ * so that it can be used directly in a <em>token(...) &gt; ? AND token(...) &lt;= ?</em> restriction
+ */
+public class TokenRange {
+
+    public static final long MIN_TOKEN = Long.MIN_VALUE;
+    public static final long MAX_TOKEN = Long.MAX_VALUE;
+
+    public final int index;
+    public final long startExclusive;
+    public final long endInclusive;
+
+    public TokenRange(int index, long startExclusive, long endInclusive) {
+        this.index = index;
+        this.startExclusive = startExclusive;
+        this.endInclusive = endInclusive;
+    }
+
+    /**
+     * Split the whole Murmur3 ring into <em>count</em> contiguous ranges of equal width.
+     * The Murmur3 partitioner never produces {@link #MIN_TOKEN} so using it as exclusive start
+     * of the first range does not lose any partition
+     */
+    public static List<TokenRange> splitRing(int count) {
+        validateTrue(count > 0, "The number of token range splits should be strictly positive");
+        final BigInteger min = BigInteger.valueOf(MIN_TOKEN);
+        final BigInteger width = BigInteger.valueOf(MAX_TOKEN).subtract(min);
+        final List<TokenRange> ranges = new ArrayList<>(count);
+        long start = MIN_TOKEN;
+        for (int i = 0; i < count; i++) {
+            final long end = i == count - 1
+                    ? MAX_TOKEN
+                    : min.add(width.multiply(BigInteger.valueOf(i + 1)).divide(BigInteger.valueOf(count))).longValue();
+            ranges.add(new TokenRange(i, start, end));
+            start = end;
+        }
+        return ranges;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenRange{" +
+                "index=" + index +
+                ", startExclusive=" + startExclusive +
+                ", endInclusive=" + endInclusive +
+                '}';
+    }
+}
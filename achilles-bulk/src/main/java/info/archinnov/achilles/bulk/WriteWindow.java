@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.RateLimiter;
+
+/**
+ * Bounded window of asynchronous writes shared by all import workers.
+ * <br/>
+ * Submitting blocks when <em>maxInFlight</em> write requests are pending, which throttles the
+ * parsing threads to the speed of the cluster. Failed writes reject all the records they carried,
+ * on the rejection executor rather than on the driver I/O thread completing the write
+ */
+class WriteWindow {
+
+    private final Session session;
+    private final ConsistencyLevel consistencyLevel;
+    private final Optional<RateLimiter> rateLimiter;
+    private final RejectedRecordSink rejectedSink;
+    private final Executor rejectionExecutor;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final LongAdder written = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+
+    WriteWindow(Session session, ConsistencyLevel consistencyLevel, int maxInFlight,
+                Optional<RateLimiter> rateLimiter, RejectedRecordSink rejectedSink, Executor rejectionExecutor) {
+        this.session = session;
+        this.consistencyLevel = consistencyLevel;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.rateLimiter = rateLimiter;
+        this.rejectedSink = rejectedSink;
+        this.rejectionExecutor = rejectionExecutor;
+    }
+
+    /**
+     * Send all the writes of one partition group, as a single statement or as an UNLOGGED batch
+     */
+    void submit(List<PendingWrite> group) {
+        rateLimiter.ifPresent(limiter -> limiter.acquire(group.size()));
+        final Statement statement;
+        if (group.size() == 1) {
+            statement = group.get(0).statement;
+        } else {
+            final BatchStatement batch = new BatchStatement(BatchStatement.Type.UNLOGGED);
+            for (PendingWrite write : group) {
+                batch.add(write.statement);
+            }
+            statement = batch;
+        }
+        statement.setConsistencyLevel(consistencyLevel);
+
+        inFlight.acquireUninterruptibly();
+        requests.increment();
+        Futures.addCallback(session.executeAsync(statement), new FutureCallback<ResultSet>() {
+            @Override
+            public void onSuccess(ResultSet result) {
+                written.add(group.size());
+                inFlight.release();
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                // The permit is only released once the records are rejected, awaitCompletion() also waits for them
+                rejectionExecutor.execute(() -> {
+                    try {
+                        for (PendingWrite write : group) {
+                            rejectedSink.reject(write.record, "Write failure : " + throwable.getMessage());
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }, MoreExecutors.directExecutor());
+    }
+
+    /**
+     * Block until all submitted writes are acknowledged or failed
+     */
+    void awaitCompletion() {
+        inFlight.acquireUninterruptibly(maxInFlight);
+        inFlight.release(maxInFlight);
+    }
+
+    long writtenCount() {
+        return written.sum();
+    }
+
+    long requestCount() {
+        return requests.sum();
+    }
+}
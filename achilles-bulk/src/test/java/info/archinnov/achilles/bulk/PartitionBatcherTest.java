@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.BoundStatement;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PartitionBatcherTest {
+
+    @Mock
+    private WriteWindow window;
+
+    private final List<List<PendingWrite>> submitted = new ArrayList<>();
+
+    @Test
+    public void should_send_group_when_batch_size_reached() throws Exception {
+        //Given
+        captureSubmittedGroups();
+        final PartitionBatcher batcher = new PartitionBatcher(window, 3, 100);
+
+        //When
+        batcher.add(key(1), write());
+        batcher.add(key(2), write());
+        batcher.add(key(1), write());
+        batcher.add(key(1), write());
+
+        //Then
+        assertThat(submitted).hasSize(1);
+        assertThat(submitted.get(0)).hasSize(3);
+
+        //When
+        batcher.flushAll();
+
+        //Then
+        assertThat(submitted).hasSize(2);
+        assertThat(submitted.get(1)).hasSize(1);
+    }
+
+    @Test
+    public void should_flush_oldest_groups_when_too_many_pending_writes() throws Exception {
+        //Given
+        captureSubmittedGroups();
+        final PartitionBatcher batcher = new PartitionBatcher(window, 10, 4);
+
+        //When
+        batcher.add(key(1), write());
+        batcher.add(key(1), write());
+        batcher.add(key(2), write());
+        batcher.add(key(3), write());
+
+        //Then
+        assertThat(submitted).hasSize(1);
+        assertThat(submitted.get(0)).hasSize(2);
+
+        //When
+        batcher.flushAll();
+
+        //Then
+        assertThat(submitted).hasSize(3);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void captureSubmittedGroups() {
+        doAnswer(invocation -> {
+            submitted.add(new ArrayList<>((List<PendingWrite>) invocation.getArguments()[0]));
+            return null;
+        }).when(window).submit(any(List.class));
+    }
+
+    private static ByteBuffer key(int value) {
+        return (ByteBuffer) ByteBuffer.allocate(4).putInt(value).flip();
+    }
+
+    private static PendingWrite write() {
+        return new PendingWrite(mock(BoundStatement.class), null);
+    }
+}
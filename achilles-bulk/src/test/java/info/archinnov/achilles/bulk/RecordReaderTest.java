@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.TextNode;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RecordReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private RecordBinder<?> binder;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void should_read_ndjson_file_in_segments_aligned_on_lines() throws Exception {
+        //Given
+        final Path file = folder.newFile("data.ndjson").toPath();
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append("{\"id\":").append(i).append(",\"value\":\"value").append(i).append("\"}\r\n");
+        }
+        content.append("\n").append("not json\n").append("[1,2]");
+        Files.write(file, content.toString().getBytes(UTF_8));
+
+        //When
+        final List<NdjsonSegmentReader> segments = NdjsonSegmentReader.split(file, 100, mapper, false);
+        final List<InputRecord> records = new ArrayList<>();
+        for (NdjsonSegmentReader segment : segments) {
+            segment.read(records::add);
+        }
+
+        //Then
+        assertThat(segments.size()).isGreaterThan(10);
+        assertThat(records).hasSize(102);
+        for (int i = 0; i < 100; i++) {
+            assertThat(records.get(i).isParsed()).isTrue();
+            assertThat(records.get(i).values.get("id").asInt()).isEqualTo(i);
+            assertThat(records.get(i).values.get("value").asText()).isEqualTo("value" + i);
+            assertThat(records.get(i).rawText).isNull();
+        }
+        assertThat(records.get(100).isParsed()).isFalse();
+        assertThat(records.get(100).rawText).isEqualTo("not json");
+        assertThat(records.get(101).isParsed()).isFalse();
+        assertThat(records.get(101).parseError).isEqualTo("The line is not a JSON object");
+        assertThat(records.get(0).source).isEqualTo("data.ndjson@0");
+    }
+
+    @Test
+    public void should_read_csv_file_with_quoted_fields() throws Exception {
+        //Given
+        final Path file = folder.newFile("data.csv").toPath();
+        Files.write(file, ("id,value\r\n" +
+                "1,simple\r\n" +
+                "2,\"with \"\"quotes\"\", comma\r\nand new line\"\r\n" +
+                "\r\n" +
+                "3,too,many\r\n" +
+                "4,\r\n").getBytes(UTF_8));
+        when(binder.csvFieldToNode(anyString(), anyString())).thenAnswer((InvocationOnMock invocation) ->
+                TextNode.valueOf((String) invocation.getArguments()[1]));
+
+        //When
+        final List<InputRecord> records = new ArrayList<>();
+        new CsvFileReader(file, mapper, binder).read(records::add);
+
+        //Then
+        assertThat(records).hasSize(4);
+        assertThat(records.get(0).values.get("value").asText()).isEqualTo("simple");
+        assertThat(records.get(1).values.get("value").asText()).isEqualTo("with \"quotes\", comma\r\nand new line");
+        assertThat(records.get(1).source).isEqualTo("data.csv:3");
+        assertThat(records.get(2).isParsed()).isFalse();
+        assertThat(records.get(2).source).isEqualTo("data.csv:6");
+        assertThat(records.get(2).rawText).isEqualTo("3,too,many");
+        assertThat(records.get(3).values.get("id").asText()).isEqualTo("4");
+        assertThat(records.get(3).values.get("value").asText()).isEmpty();
+    }
+}
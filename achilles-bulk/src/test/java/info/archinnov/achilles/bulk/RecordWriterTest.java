@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+
+public class RecordWriterTest {
+
+    private static final List<String> COLUMNS = Arrays.asList("id", "value", "tags", "data");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void should_write_escaped_csv() throws Exception {
+        //Given
+        final Path file = folder.newFile("test.csv").toPath();
+
+        //When
+        try (CsvRecordWriter writer = new CsvRecordWriter(file, 8, 0L, mapper)) {
+            writer.writeHeader(COLUMNS);
+            writer.writeRecord(COLUMNS, new Object[]{10L, "a \"quoted\", text", Arrays.asList("x", "y"),
+                    ByteBuffer.wrap(new byte[]{1, 2, 3})});
+            writer.writeRecord(COLUMNS, new Object[]{11L, null, Optional.empty(), null});
+        }
+
+        //Then
+        assertThat(new String(Files.readAllBytes(file), UTF_8)).isEqualTo(
+                "id,value,tags,data\r\n" +
+                        "10,\"a \"\"quoted\"\", text\",\"[\"\"x\"\",\"\"y\"\"]\",AQID\r\n" +
+                        "11,,,\r\n");
+    }
+
+    @Test
+    public void should_write_one_json_object_per_line() throws Exception {
+        //Given
+        final Path file = folder.newFile("test.ndjson").toPath();
+        final List<String> columns = Arrays.asList("id", "value", "map");
+
+        long position;
+
+        //When
+        try (NdjsonRecordWriter writer = new NdjsonRecordWriter(file, 16, 0L, mapper)) {
+            writer.writeHeader(columns);
+            writer.writeRecord(columns, new Object[]{1L, "one", ImmutableMap.of("k", 1)});
+            writer.writeRecord(columns, new Object[]{2L, Optional.of("two"), null});
+            position = writer.position();
+        }
+
+        //Then
+        assertThat(Files.size(file)).isEqualTo(position);
+        assertThat(new String(Files.readAllBytes(file), UTF_8)).isEqualTo(
+                "{\"id\":1,\"value\":\"one\",\"map\":{\"k\":1}}\n" +
+                        "{\"id\":2,\"value\":\"two\",\"map\":null}\n");
+    }
+
+    @Test
+    public void should_truncate_file_to_checkpoint_offset_when_resuming() throws Exception {
+        //Given
+        final Path file = folder.newFile("resume.ndjson").toPath();
+        final List<String> columns = Arrays.asList("id");
+        long offset;
+        try (NdjsonRecordWriter writer = new NdjsonRecordWriter(file, 16, 0L, mapper)) {
+            writer.writeRecord(columns, new Object[]{1});
+            offset = writer.position();
+            writer.writeRecord(columns, new Object[]{2});
+        }
+
+        //When
+        try (NdjsonRecordWriter writer = new NdjsonRecordWriter(file, 16, offset, mapper)) {
+            writer.writeRecord(columns, new Object[]{3});
+        }
+
+        //Then
+        assertThat(new String(Files.readAllBytes(file), UTF_8)).isEqualTo("{\"id\":1}\n{\"id\":3}\n");
+    }
+
+    @Test
+    public void should_write_and_read_checkpoint() throws Exception {
+        //Given
+        final Path file = folder.getRoot().toPath().resolve("split.checkpoint");
+        final SplitCheckpoint checkpoint = new SplitCheckpoint(-123L, 45L, 678L, 910L, true);
+
+        //When
+        checkpoint.write(file);
+        final SplitCheckpoint actual = SplitCheckpoint.read(file).get();
+
+        //Then
+        assertThat(actual.lastToken).isEqualTo(-123L);
+        assertThat(actual.rows).isEqualTo(45L);
+        assertThat(actual.ndjsonOffset).isEqualTo(678L);
+        assertThat(actual.csvOffset).isEqualTo(910L);
+        assertThat(actual.complete).isTrue();
+        assertThat(SplitCheckpoint.read(file.resolveSibling("missing.checkpoint")).isPresent()).isFalse();
+        assertThat(Files.exists(file.resolveSibling("split.checkpoint.tmp"))).isFalse();
+    }
+
+    @Test
+    public void should_make_drained_records_durable_before_close() throws Exception {
+        //Given
+        final Path file = folder.newFile("durable.ndjson").toPath();
+        final List<String> columns = Arrays.asList("id");
+
+        try (NdjsonRecordWriter writer = new NdjsonRecordWriter(file, 64, 0L, mapper)) {
+            writer.writeRecord(columns, new Object[]{1});
+
+            //When
+            writer.drain();
+            writer.force();
+
+            //Then
+            assertThat(Files.size(file)).isEqualTo(writer.position());
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.apache.cassandra.config.CFMetaData;
+import org.apache.cassandra.config.Config;
+import org.apache.cassandra.db.marshal.CompositeType;
+import org.apache.cassandra.db.rows.Cell;
+import org.apache.cassandra.db.rows.Row;
+import org.apache.cassandra.db.rows.UnfilteredRowIterator;
+import org.apache.cassandra.dht.Murmur3Partitioner;
+import org.apache.cassandra.io.sstable.Descriptor;
+import org.apache.cassandra.io.sstable.ISSTableScanner;
+import org.apache.cassandra.io.sstable.format.SSTableReader;
+import org.apache.cassandra.utils.ByteBufferUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+public class SSTableGeneratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private boolean clientMode;
+
+    @Before
+    public void saveClientMode() {
+        clientMode = Config.isClientMode();
+    }
+
+    @After
+    public void restoreClientMode() {
+        Config.setClientMode(clientMode);
+    }
+
+    @Test
+    public void should_find_range_owning_token() throws Exception {
+        //Given
+        final long[] rangeEnds = TokenRange.splitRing(4).stream().mapToLong(x -> x.endInclusive).toArray();
+
+        //When //Then
+        assertThat(SSTableGenerator.rangeIndexOf(rangeEnds, Long.MIN_VALUE + 1)).isEqualTo(0);
+        assertThat(SSTableGenerator.rangeIndexOf(rangeEnds, rangeEnds[0])).isEqualTo(0);
+        assertThat(SSTableGenerator.rangeIndexOf(rangeEnds, rangeEnds[0] + 1)).isEqualTo(1);
+        assertThat(SSTableGenerator.rangeIndexOf(rangeEnds, 0L)).isEqualTo(2);
+        assertThat(SSTableGenerator.rangeIndexOf(rangeEnds, Long.MAX_VALUE)).isEqualTo(3);
+    }
+
+    @Test
+    public void should_compose_routing_key() throws Exception {
+        //Given
+        final ByteBuffer id = ByteBufferUtil.bytes(1L);
+        final ByteBuffer bucket = ByteBufferUtil.bytes(2);
+
+        //When
+        final ByteBuffer routingKey = RecordBinder.composeRoutingKey(id, bucket);
+
+        //Then
+        assertThat(ByteBufferUtil.bytesToHex(routingKey)).isEqualTo("0008000000000000000100" + "00040000000200");
+        assertThat(routingKey).isEqualTo(CompositeType.build(ByteBufferUtil.bytes(1L), ByteBufferUtil.bytes(2)));
+        assertThat(id.remaining()).isEqualTo(8);
+        assertThat(bucket.remaining()).isEqualTo(4);
+    }
+
+    @Test
+    public void should_compute_murmur3_token_of_single_partition_key() throws Exception {
+        //When //Then
+        assertThat(Murmur3Partitioner.instance.getToken(ByteBufferUtil.bytes(1L)).getTokenValue()).isEqualTo(6292367497774912474L);
+    }
+
+    @Test
+    public void should_compute_murmur3_token_of_composite_partition_key() throws Exception {
+        //Given
+        final SSTableGenerator<TestBulkEntity> generator = generator(1);
+
+        //When
+        final long token = generator.tokenOf(generator.encode(new TestBulkEntity(1L, 2, "value")));
+
+        //Then
+        assertThat(token).isEqualTo(-5927342534679261077L);
+        assertThat(token).isEqualTo(Murmur3Partitioner.instance
+                .getToken(CompositeType.build(ByteBufferUtil.bytes(1L), ByteBufferUtil.bytes(2))).getTokenValue());
+    }
+
+    @Test
+    public void should_fail_computing_token_for_null_partition_key() throws Exception {
+        //Given
+        final SSTableGenerator<TestBulkEntity> generator = generator(1);
+        final List<ByteBuffer> values = generator.encode(new TestBulkEntity(1L, null, "value"));
+
+        //When
+        exception.expect(AchillesException.class);
+        exception.expectMessage("Partition key column 'bucket' should not be null");
+
+        generator.tokenOf(values);
+    }
+
+    @Test
+    public void should_encode_values_in_insert_order_with_ttl_last() throws Exception {
+        //Given
+        final SSTableGenerator<TestBulkEntity> generator = generator(1);
+
+        //When
+        final List<ByteBuffer> values = generator.encode(new TestBulkEntity(10L, 3, null));
+
+        //Then
+        assertThat(values).hasSize(4);
+        assertThat(values.get(0)).isEqualTo(ByteBufferUtil.bytes(10L));
+        assertThat(values.get(1)).isEqualTo(ByteBufferUtil.bytes(3));
+        assertThat(values.get(2)).isSameAs(ByteBufferUtil.UNSET_BYTE_BUFFER);
+        assertThat(values.get(3)).isEqualTo(ByteBufferUtil.bytes(0));
+    }
+
+    @Test
+    public void should_generate_table_schema_and_insert() throws Exception {
+        //Given
+        final SSTableGenerator<TestBulkEntity> generator = generator(1);
+
+        //When //Then
+        assertThat(generator.generateTableSchema()).isEqualTo("\nCREATE TABLE IF NOT EXISTS bulk_ks.bulk_entity(\n" +
+                "\t\tid bigint,\n" +
+                "\t\tbucket int,\n" +
+                "\t\tvalue text,\n" +
+                "\t\tPRIMARY KEY((id, bucket)));");
+        assertThat(generator.generateTypeSchemas()).isEmpty();
+        assertThat(generator.generateInsert()).isEqualTo("INSERT INTO bulk_ks.bulk_entity (id,bucket,value) VALUES (:id,:bucket,:value) USING TTL :ttl;");
+    }
+
+    @Test
+    public void should_generate_one_sstable_per_token_range_and_read_them_back() throws Exception {
+        //Given
+        final SSTableGenerator<TestBulkEntity> generator = generator(4);
+        final long[] rangeEnds = TokenRange.splitRing(4).stream().mapToLong(x -> x.endInclusive).toArray();
+
+        //When
+        final long rows = generator.write(LongStream.rangeClosed(1, 1000).boxed()
+                .map(id -> new TestBulkEntity(id, (int) (id % 3), "value_" + id)).parallel());
+
+        //Then
+        assertThat(rows).isEqualTo(1000L);
+        // The writers switched the JVM to client mode, the SSTables can be read back offline
+        final CFMetaData tableMeta = CFMetaData.compile(generator.generateTableSchema(), "bulk_ks");
+        assertThat(generator.getTableDirectory().toString())
+                .isEqualTo(folder.getRoot().toPath().resolve("bulk_ks").resolve("bulk_entity").toString());
+
+        final List<Path> dataFiles;
+        try (Stream<Path> files = Files.list(generator.getTableDirectory())) {
+            dataFiles = files.filter(x -> x.toString().endsWith("-Data.db")).collect(Collectors.toList());
+        }
+        assertThat(dataFiles).hasSize(4);
+
+        final Set<Integer> rangeIndexes = new HashSet<>();
+        final Set<Long> ids = new HashSet<>();
+        for (Path dataFile : dataFiles) {
+            final SSTableReader reader = SSTableReader.openNoValidation(Descriptor.fromFilename(dataFile.toString()), tableMeta);
+            try (ISSTableScanner scanner = reader.getScanner()) {
+                final int rangeIndex = SSTableGenerator.rangeIndexOf(rangeEnds, (Long) reader.first.getToken().getTokenValue());
+                assertThat(SSTableGenerator.rangeIndexOf(rangeEnds, (Long) reader.last.getToken().getTokenValue())).isEqualTo(rangeIndex);
+                rangeIndexes.add(rangeIndex);
+
+                while (scanner.hasNext()) {
+                    try (UnfilteredRowIterator partition = scanner.next()) {
+                        final ByteBuffer[] components = CompositeType.getInstance(tableMeta.partitionKeyColumns().get(0).type,
+                                tableMeta.partitionKeyColumns().get(1).type).split(partition.partitionKey().getKey());
+                        final long id = ByteBufferUtil.toLong(components[0]);
+                        assertThat(ByteBufferUtil.toInt(components[1])).isEqualTo((int) (id % 3));
+
+                        final Row row = (Row) partition.next();
+                        final Cell cell = row.getCell(tableMeta.getColumnDefinition(ByteBufferUtil.bytes("value")));
+                        assertThat(ByteBufferUtil.string(cell.value())).isEqualTo("value_" + id);
+                        assertThat(ids.add(id)).isTrue();
+                    }
+                }
+            } finally {
+                reader.selfRef().release();
+            }
+        }
+        assertThat(rangeIndexes).containsOnly(0, 1, 2, 3);
+        assertThat(ids).hasSize(1000);
+    }
+
+    private SSTableGenerator<TestBulkEntity> generator(int writers) {
+        return SSTableGenerator
+                .builder(new TestBulkEntity_AchillesMeta())
+                .withOutputDirectory(folder.getRoot().toPath())
+                .withWriters(writers)
+                .withBufferSizeInMB(1)
+                .build();
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.DataType;
+import com.google.common.collect.BiMap;
+import com.google.common.collect.HashBiMap;
+import com.google.common.reflect.TypeToken;
+
+import info.archinnov.achilles.internals.codec.FallThroughCodec;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.SimpleProperty;
+import info.archinnov.achilles.internals.metamodel.columns.ColumnInfo;
+import info.archinnov.achilles.internals.metamodel.columns.ColumnType;
+import info.archinnov.achilles.internals.metamodel.columns.FieldInfo;
+import info.archinnov.achilles.internals.metamodel.columns.PartitionKeyInfo;
+import info.archinnov.achilles.internals.metamodel.index.IndexInfo;
+import info.archinnov.achilles.internals.strategy.naming.InternalNamingStrategy;
+import info.archinnov.achilles.type.strategy.InsertStrategy;
+
+/**
+ * Same meta class as the one the annotation processor generates for
+ * <em>CREATE TABLE bulk_ks.bulk_entity(id bigint, bucket int, value text, PRIMARY KEY((id, bucket)))</em>
+ */
+@SuppressWarnings({"serial", "unchecked"})
+public final class TestBulkEntity_AchillesMeta extends AbstractEntityProperty<TestBulkEntity> {
+
+    public static final SimpleProperty<TestBulkEntity, Long, Long> id = new SimpleProperty<>(
+            new FieldInfo<>(TestBulkEntity::getId, TestBulkEntity::setId, "id", "id",
+                    ColumnType.PARTITION, new PartitionKeyInfo(1, false), IndexInfo.noIndex()),
+            DataType.bigint(), gettable -> gettable.get("id", Long.class), (settable, value) -> settable.set("id", value, Long.class),
+            new TypeToken<Long>() {}, new TypeToken<Long>() {}, new FallThroughCodec<>(Long.class));
+
+    public static final SimpleProperty<TestBulkEntity, Integer, Integer> bucket = new SimpleProperty<>(
+            new FieldInfo<>(TestBulkEntity::getBucket, TestBulkEntity::setBucket, "bucket", "bucket",
+                    ColumnType.PARTITION, new PartitionKeyInfo(2, false), IndexInfo.noIndex()),
+            DataType.cint(), gettable -> gettable.get("bucket", Integer.class), (settable, value) -> settable.set("bucket", value, Integer.class),
+            new TypeToken<Integer>() {}, new TypeToken<Integer>() {}, new FallThroughCodec<>(Integer.class));
+
+    public static final SimpleProperty<TestBulkEntity, String, String> value = new SimpleProperty<>(
+            new FieldInfo<>(TestBulkEntity::getValue, TestBulkEntity::setValue, "value", "value",
+                    ColumnType.NORMAL, new ColumnInfo(false), IndexInfo.noIndex()),
+            DataType.text(), gettable -> gettable.get("value", String.class), (settable, value) -> settable.set("value", value, String.class),
+            new TypeToken<String>() {}, new TypeToken<String>() {}, new FallThroughCodec<>(String.class));
+
+    @Override
+    protected Class<TestBulkEntity> getEntityClass() {
+        return TestBulkEntity.class;
+    }
+
+    @Override
+    protected Optional<String> getStaticKeyspace() {
+        return Optional.of("bulk_ks");
+    }
+
+    @Override
+    protected Optional<String> getStaticTableOrViewName() {
+        return Optional.of("bulk_entity");
+    }
+
+    @Override
+    protected String getDerivedTableOrViewName() {
+        return "testbulkentity";
+    }
+
+    @Override
+    protected BiMap<String, String> fieldNameToCqlColumn() {
+        final BiMap<String, String> map = HashBiMap.create(3);
+        map.put("id", "id");
+        map.put("bucket", "bucket");
+        map.put("value", "value");
+        return map;
+    }
+
+    @Override
+    protected boolean isCounterTable() {
+        return false;
+    }
+
+    @Override
+    protected Optional<ConsistencyLevel> getStaticReadConsistency() {
+        return Optional.empty();
+    }
+
+    @Override
+    protected Optional<ConsistencyLevel> getStaticWriteConsistency() {
+        return Optional.empty();
+    }
+
+    @Override
+    protected Optional<ConsistencyLevel> getStaticSerialConsistency() {
+        return Optional.empty();
+    }
+
+    @Override
+    protected Optional<Integer> getStaticTTL() {
+        return Optional.empty();
+    }
+
+    @Override
+    protected Optional<InsertStrategy> getStaticInsertStrategy() {
+        return Optional.empty();
+    }
+
+    @Override
+    protected Optional<InternalNamingStrategy> getStaticNamingStrategy() {
+        return Optional.empty();
+    }
+
+    @Override
+    protected List<AbstractProperty<TestBulkEntity, ?, ?>> getPartitionKeys() {
+        return Arrays.asList(id, bucket);
+    }
+
+    @Override
+    protected List<AbstractProperty<TestBulkEntity, ?, ?>> getClusteringColumns() {
+        return Arrays.asList();
+    }
+
+    @Override
+    protected List<AbstractProperty<TestBulkEntity, ?, ?>> getStaticColumns() {
+        return Arrays.asList();
+    }
+
+    @Override
+    protected List<AbstractProperty<TestBulkEntity, ?, ?>> getNormalColumns() {
+        return Arrays.asList(value);
+    }
+
+    @Override
+    protected List<AbstractProperty<TestBulkEntity, ?, ?>> getComputedColumns() {
+        return Arrays.asList();
+    }
+
+    @Override
+    protected List<AbstractProperty<TestBulkEntity, ?, ?>> getCounterColumns() {
+        return Arrays.asList();
+    }
+}
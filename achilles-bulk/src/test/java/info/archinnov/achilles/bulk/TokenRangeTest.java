@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+public class TokenRangeTest {
+
+    @Test
+    public void should_split_whole_ring_into_contiguous_ranges() throws Exception {
+        //When
+        final List<TokenRange> ranges = TokenRange.splitRing(7);
+
+        //Then
+        assertThat(ranges).hasSize(7);
+        assertThat(ranges.get(0).startExclusive).isEqualTo(Long.MIN_VALUE);
+        assertThat(ranges.get(6).endInclusive).isEqualTo(Long.MAX_VALUE);
+        for (int i = 0; i < ranges.size(); i++) {
+            assertThat(ranges.get(i).index).isEqualTo(i);
+            assertThat(ranges.get(i).startExclusive).isLessThan(ranges.get(i).endInclusive);
+            if (i > 0) {
+                assertThat(ranges.get(i).startExclusive).isEqualTo(ranges.get(i - 1).endInclusive);
+            }
+        }
+    }
+
+    @Test
+    public void should_split_ring_into_single_range() throws Exception {
+        //When
+        final List<TokenRange> ranges = TokenRange.splitRing(1);
+
+        //Then
+        assertThat(ranges).hasSize(1);
+        assertThat(ranges.get(0).startExclusive).isEqualTo(Long.MIN_VALUE);
+        assertThat(ranges.get(0).endInclusive).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test(expected = AchillesException.class)
+    public void should_fail_splitting_ring_into_zero_range() throws Exception {
+        TokenRange.splitRing(0);
+    }
+}
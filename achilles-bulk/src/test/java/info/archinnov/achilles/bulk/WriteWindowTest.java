@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.bulk;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+
+@RunWith(MockitoJUnitRunner.class)
+public class WriteWindowTest {
+
+    private final ExecutorService rejectionExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "rejection"));
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private ResultSetFuture failedFuture;
+
+    @Mock
+    private RejectedRecordSink rejectedSink;
+
+    @After
+    public void tearDown() {
+        rejectionExecutor.shutdownNow();
+    }
+
+    @Test
+    public void should_reject_records_of_failed_write_on_rejection_executor() throws Exception {
+        //Given
+        final InputRecord record = InputRecord.unparseable("file:1", "{}", null);
+        final AtomicReference<String> rejectingThread = new AtomicReference<>();
+        when(session.executeAsync(any(Statement.class))).thenReturn(failedFuture);
+        when(failedFuture.get()).thenThrow(new ExecutionException(new IllegalStateException("timeout")));
+        // The driver completes the future on its I/O thread, which is the calling thread here
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(failedFuture).addListener(any(Runnable.class), any());
+        doAnswer(invocation -> {
+            rejectingThread.set(Thread.currentThread().getName());
+            return null;
+        }).when(rejectedSink).reject(eq(record), anyString());
+        final WriteWindow window = new WriteWindow(session, ConsistencyLevel.ONE, 2, Optional.empty(), rejectedSink, rejectionExecutor);
+
+        //When
+        window.submit(Arrays.asList(new PendingWrite(mock(BoundStatement.class), record)));
+        window.awaitCompletion();
+
+        //Then
+        verify(rejectedSink).reject(record, "Write failure : timeout");
+        assertThat(rejectingThread.get()).isEqualTo("rejection");
+        assertThat(window.writtenCount()).isEqualTo(0L);
+        assertThat(window.requestCount()).isEqualTo(1L);
+    }
+}
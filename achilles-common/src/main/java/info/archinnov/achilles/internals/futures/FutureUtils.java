@@ -17,7 +17,8 @@
 package info.archinnov.achilles.internals.futures;
 
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
@@ -29,7 +30,7 @@ import com.google.common.util.concurrent.ListenableFuture;
  */
 public class FutureUtils {
 
-    public static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> listenableFuture, ExecutorService executor) {
+    public static <T> CompletableFuture<T> toCompletableFuture(ListenableFuture<T> listenableFuture, Executor executor) {
         CompletableFuture<T> completable = new CompletableListenableFuture<>(listenableFuture);
 
         Futures.addCallback(listenableFuture, new FutureCallback<T>() {
@@ -42,7 +43,14 @@ public class FutureUtils {
             public void onFailure(Throwable t) {
                 completable.completeExceptionally(t);
             }
-        }, executor);
+        }, command -> {
+            // A saturated executor should fail the future instead of leaving it incomplete forever
+            try {
+                executor.execute(command);
+            } catch (RejectedExecutionException ex) {
+                completable.completeExceptionally(ex);
+            }
+        });
 
         return completable;
     }
@@ -0,0 +1,38 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.datastax.driver.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Access to package-private internals of bound statements
+ */
+public class BoundStatementUtils {
+
+    public static byte[] preparedId(PreparedStatement preparedStatement) {
+        return preparedStatement.getPreparedId().id.bytes;
+    }
+
+    public static ByteBuffer[] serializedValues(BoundStatement boundStatement) {
+        return boundStatement.wrapper.values;
+    }
+
+    public static ByteBuffer pagingState(Statement statement) {
+        return statement.getPagingState();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.datastax.driver.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Access to package-private internals of rows
+ */
+public class RowUtils {
+
+    /**
+     * Size in bytes of the serialized column values of the row, as received from Cassandra
+     */
+    public static long encodedSizeInBytes(Row row) {
+        final int columnCount = row.getColumnDefinitions().size();
+        long size = 0L;
+        if (row instanceof ArrayBackedRow) {
+            final ArrayBackedRow arrayBackedRow = (ArrayBackedRow) row;
+            for (int i = 0; i < columnCount; i++) {
+                final ByteBuffer value = arrayBackedRow.getValue(i);
+                if (value != null) size += value.remaining();
+            }
+        } else {
+            for (int i = 0; i < columnCount; i++) {
+                final ByteBuffer value = row.getBytesUnsafe(i);
+                if (value != null) size += value.remaining();
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.async;
+
+import static java.lang.String.format;
+
+/**
+ * Snapshot of the activity of a bulkhead
+ */
+public class BulkheadStats {
+
+    private final String name;
+    private final int queueDepth;
+    private final int activeCount;
+    private final long completedCount;
+    private final long rejectedCount;
+
+    public BulkheadStats(String name, int queueDepth, int activeCount, long completedCount, long rejectedCount) {
+        this.name = name;
+        this.queueDepth = queueDepth;
+        this.activeCount = activeCount;
+        this.completedCount = completedCount;
+        this.rejectedCount = rejectedCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return number of callbacks submitted to the bulkhead executor and not started yet
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * @return number of callbacks currently running
+     */
+    public int getActiveCount() {
+        return activeCount;
+    }
+
+    public long getCompletedCount() {
+        return completedCount;
+    }
+
+    /**
+     * @return number of callbacks rejected because the bulkhead executor was saturated.
+     * The corresponding queries fail with a <em>RejectedExecutionException</em>
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    @Override
+    public String toString() {
+        return format("BulkheadStats{name=%s, queueDepth=%s, activeCount=%s, completedCount=%s, rejectedCount=%s}",
+                name, queueDepth, activeCount, completedCount, rejectedCount);
+    }
+}
@@ -30,6 +30,7 @@ import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.Session;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import info.archinnov.achilles.async.BulkheadOperation;
 import info.archinnov.achilles.configuration.ArgumentExtractor;
 import info.archinnov.achilles.configuration.ConfigurationParameters;
 import info.archinnov.achilles.internals.cache.StatementsCache;
@@ -37,11 +38,17 @@ import info.archinnov.achilles.internals.context.ConfigurationContext;
 import info.archinnov.achilles.internals.runtime.AbstractManagerFactory;
 import info.archinnov.achilles.internals.types.ConfigMap;
 import info.archinnov.achilles.json.JacksonMapperFactory;
+import info.archinnov.achilles.monitoring.BoundValueRedaction;
+import info.archinnov.achilles.monitoring.MultiPartitionQueryGuardAction;
+import info.archinnov.achilles.monitoring.QueryListener;
+import info.archinnov.achilles.tracing.QueryTraceSink;
+import info.archinnov.achilles.tracing.TracingSampler;
 import info.archinnov.achilles.type.SchemaNameProvider;
 import info.archinnov.achilles.type.codec.Codec;
 import info.archinnov.achilles.type.codec.CodecSignature;
 import info.archinnov.achilles.type.interceptor.Interceptor;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
+import info.archinnov.achilles.type.strategy.SpeculativeExecutionStrategy;
 import info.archinnov.achilles.validation.Validator;
 
 public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFactoryBuilder<T>> {
@@ -412,6 +419,24 @@ public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFac
         return getThis();
     }
 
+    /**
+     * Use a virtual-thread-per-task executor (<em>Executors.newVirtualThreadPerTaskExecutor()</em>)
+     * as default ExecutorService instead of the bounded ThreadPool. Requires JDK 21+ at runtime,
+     * on older JVMs a warning is logged and the default ThreadPool is used.
+     * <br/>
+     * Recommended when the synchronous API is called from virtual threads, to avoid
+     * saturating the ThreadPool queue. Thread count, keep-alive, queue size and thread factory
+     * settings are ignored in this mode. Ignored if an ExecutorService is provided with <em>withDefaultExecutorService()</em>
+     *
+     * @param virtualThreads whether to use virtual threads for internal asynchronous operations
+     * @return ManagerFactoryBuilder
+     * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Asynchronous-Operations">Asynchronous Operations</a>
+     */
+    public T withVirtualThreadExecutorService(boolean virtualThreads) {
+        configMap.put(DEFAULT_EXECUTOR_SERVICE_VIRTUAL_THREADS, virtualThreads);
+        return getThis();
+    }
+
     /**
      * Define a list of entities to be managed by <strong>Achilles</strong>.
      * Specifically, schema validation will be performed at bootstrap for those entities
@@ -436,6 +461,408 @@ public abstract class AbstractManagerFactoryBuilder<T extends AbstractManagerFac
         return getThis();
     }
 
+    /**
+     * Define the time window in milliseconds during which <em>findById</em> requests sent to the
+     * {@link info.archinnov.achilles.internals.runtime.FindByIdLoader} of each manager are collected
+     * before being dispatched. Default value is 0, meaning that requests are only dispatched
+     * by an explicit call to <em>dispatch()</em>
+     * <br/>
+     * <br/>
+     * Callers loading the same primary key within a window share the <strong>same</strong> entity
+     * instance, which should not be modified without being copied first
+     *
+     * @param batchWindowInMillis batch window in milliseconds
+     * @return ManagerFactoryBuilder
+     */
+    public T withFindByIdLoaderBatchWindow(long batchWindowInMillis) {
+        configMap.put(FIND_BY_ID_LOADER_BATCH_WINDOW_IN_MILLIS, batchWindowInMillis);
+        return getThis();
+    }
+
+    /**
+     * Share a single request to Cassandra between identical SELECT statements executed concurrently.
+     * Two statements are identical if they have the same prepared statement, the same bound values
+     * and the same consistency level. Each caller still maps the returned rows independently.
+     * <br/>
+     * Mutations, LWT and non-idempotent statements are never de-duplicated
+     *
+     * @param deduplicateInFlightSelects whether to enable in-flight SELECT de-duplication. Default = false
+     * @return ManagerFactoryBuilder
+     */
+    public T withInFlightSelectDeduplication(boolean deduplicateInFlightSelects) {
+        configMap.put(DEDUPLICATE_IN_FLIGHT_SELECTS, deduplicateInFlightSelects);
+        return getThis();
+    }
+
+    /**
+     * Define which statements are flagged idempotent from the meta model so that the speculative execution
+     * policy and the retry policy of the Java driver can safely re-send them.
+     * An idempotence set at runtime with <em>withIdempotent()</em> always wins
+     *
+     * @param speculativeExecutionStrategy default strategy for all entities. Default = SpeculativeExecutionStrategy.NONE
+     * @return ManagerFactoryBuilder
+     */
+    public T withDefaultSpeculativeExecutionStrategy(SpeculativeExecutionStrategy speculativeExecutionStrategy) {
+        configMap.put(SPECULATIVE_EXECUTION_STRATEGY_DEFAULT, speculativeExecutionStrategy);
+        return getThis();
+    }
+
+    /**
+     * Define the speculative execution strategy per table. The map keys represent table names
+     * and values represent the corresponding strategy, overriding the default strategy
+     *
+     * @return ManagerFactoryBuilder
+     */
+    public T withSpeculativeExecutionStrategyMap(Map<String, SpeculativeExecutionStrategy> speculativeExecutionStrategyMap) {
+        configMap.put(SPECULATIVE_EXECUTION_STRATEGY_MAP, speculativeExecutionStrategyMap);
+        return getThis();
+    }
+
+    /**
+     * Compute the fetch size of SELECT statements from the average row size observed for the same query
+     * so that each page weighs about the page budget. An explicit fetch size set at runtime always wins
+     *
+     * @param adaptiveFetchSize whether to enable adaptive fetch size for all SELECT statements. Default = false
+     * @return ManagerFactoryBuilder
+     */
+    public T withAdaptiveFetchSize(boolean adaptiveFetchSize) {
+        configMap.put(ADAPTIVE_FETCH_SIZE, adaptiveFetchSize);
+        return getThis();
+    }
+
+    /**
+     * Define the target size in bytes of each page when using adaptive fetch size
+     *
+     * @param pageBudgetInBytes target page size in bytes. Default = 1048576 (1Mb)
+     * @return ManagerFactoryBuilder
+     */
+    public T withAdaptiveFetchSizePageBudget(long pageBudgetInBytes) {
+        configMap.put(ADAPTIVE_FETCH_SIZE_PAGE_BUDGET_IN_BYTES, pageBudgetInBytes);
+        return getThis();
+    }
+
+    /**
+     * Define the bounds of the adaptive fetch size
+     *
+     * @param minFetchSize lower bound. Default = 100
+     * @param maxFetchSize upper bound. Default = 5000
+     * @return ManagerFactoryBuilder
+     */
+    public T withAdaptiveFetchSizeBounds(int minFetchSize, int maxFetchSize) {
+        configMap.put(ADAPTIVE_FETCH_SIZE_MIN, minFetchSize);
+        configMap.put(ADAPTIVE_FETCH_SIZE_MAX, maxFetchSize);
+        return getThis();
+    }
+
+    /**
+     * Enable the large object store, available with <em>ManagerFactory.largeObjects()</em>. Large objects are split into
+     * fixed-size chunks saved in the given table. The table is created if schema generation is enabled
+     *
+     * @param tableName chunk table name, as 'table' or 'keyspace.table'
+     * @return ManagerFactoryBuilder
+     */
+    public T withLargeObjectTable(String tableName) {
+        configMap.put(LARGE_OBJECT_TABLE, tableName);
+        return getThis();
+    }
+
+    /**
+     * Define the size of the chunks of large objects
+     *
+     * @param chunkSizeInBytes chunk size in bytes. Default = 524288 (512Kb)
+     * @return ManagerFactoryBuilder
+     */
+    public T withLargeObjectChunkSize(int chunkSizeInBytes) {
+        configMap.put(LARGE_OBJECT_CHUNK_SIZE_IN_BYTES, chunkSizeInBytes);
+        return getThis();
+    }
+
+    /**
+     * Define the parallelism used when writing and reading large objects
+     *
+     * @param maxConcurrentWrites maximum number of chunks written in parallel. Default = 4
+     * @param prefetchChunks number of chunks fetched ahead when reading. Default = 4
+     * @return ManagerFactoryBuilder
+     */
+    public T withLargeObjectConcurrency(int maxConcurrentWrites, int prefetchChunks) {
+        configMap.put(LARGE_OBJECT_MAX_CONCURRENT_WRITES, maxConcurrentWrites);
+        configMap.put(LARGE_OBJECT_PREFETCH_CHUNKS, prefetchChunks);
+        return getThis();
+    }
+
+    /**
+     * Define which statements are traced. The traces are fetched asynchronously on a dedicated thread pool
+     * and handed to the query trace sink, the statement execution never waits for them
+     * <br/>
+     * <br/>
+     * <pre class="code"><code class="java">
+     * // Trace at most 1 query per second for each entity and operation
+     * .withTracingSampler(TracingSampler.rateLimited(1))
+     * </code></pre>
+     *
+     * @param sampler tracing sampler. Default = trace the statements of entities whose logger is at TRACE level
+     * @return ManagerFactoryBuilder
+     */
+    public T withTracingSampler(TracingSampler sampler) {
+        configMap.put(TRACING_SAMPLER, sampler);
+        return getThis();
+    }
+
+    /**
+     * Define the destination of the completed query traces
+     *
+     * @param sink query trace sink. Default = {@link info.archinnov.achilles.tracing.LoggerQueryTraceSink}
+     * @return ManagerFactoryBuilder
+     */
+    public T withQueryTraceSink(QueryTraceSink sink) {
+        configMap.put(TRACING_SINK, sink);
+        return getThis();
+    }
+
+    /**
+     * Define the number of threads fetching the query traces from <em>system_traces</em>
+     *
+     * @param threads number of tracing threads. Default = 1
+     * @return ManagerFactoryBuilder
+     */
+    public T withTracingThreads(int threads) {
+        configMap.put(TRACING_THREADS, threads);
+        return getThis();
+    }
+
+    /**
+     * Provide the executor of a bulkhead. Bulkheads isolate the asynchronous callbacks of some entities or
+     * operations from the default executor service. A bulkhead referenced without executor gets a work-stealing pool.
+     * <br/>
+     * Achilles does <strong>NOT</strong> shut down the provided executor.
+     * <em>Remark: you can call this method as many time as there are bulkheads</em>
+     *
+     * @param bulkheadName name of the bulkhead
+     * @param executorService executor of the bulkhead
+     * @return ManagerFactoryBuilder
+     */
+    public T withBulkheadExecutorService(String bulkheadName, ExecutorService executorService) {
+        if (!configMap.containsKey(BULKHEAD_EXECUTOR_SERVICES)) {
+            configMap.put(BULKHEAD_EXECUTOR_SERVICES, new HashMap<String, ExecutorService>());
+        }
+        configMap.<Map<String, ExecutorService>>getTyped(BULKHEAD_EXECUTOR_SERVICES).put(bulkheadName, executorService);
+        return getThis();
+    }
+
+    /**
+     * Assign an entity to a bulkhead, overriding the bulkhead declared with <em>{@literal @}Table(bulkhead = "...")</em>.
+     * The bulkhead of an entity wins over the bulkhead of an operation category.
+     * <em>Remark: you can call this method as many time as there are entities to assign</em>
+     *
+     * @param entityClass entity class
+     * @param bulkheadName name of the bulkhead
+     * @return ManagerFactoryBuilder
+     */
+    public T withEntityBulkhead(Class<?> entityClass, String bulkheadName) {
+        if (!configMap.containsKey(BULKHEAD_PER_ENTITY)) {
+            configMap.put(BULKHEAD_PER_ENTITY, new HashMap<Class<?>, String>());
+        }
+        configMap.<Map<Class<?>, String>>getTyped(BULKHEAD_PER_ENTITY).put(entityClass, bulkheadName);
+        return getThis();
+    }
+
+    /**
+     * Assign an operation category (reads, writes, LWT) to a bulkhead.
+     * <em>Remark: you can call this method as many time as there are operation categories to assign</em>
+     *
+     * @param operation operation category
+     * @param bulkheadName name of the bulkhead
+     * @return ManagerFactoryBuilder
+     */
+    public T withOperationBulkhead(BulkheadOperation operation, String bulkheadName) {
+        if (!configMap.containsKey(BULKHEAD_PER_OPERATION)) {
+            configMap.put(BULKHEAD_PER_OPERATION, new HashMap<BulkheadOperation, String>());
+        }
+        configMap.<Map<BulkheadOperation, String>>getTyped(BULKHEAD_PER_OPERATION).put(operation, bulkheadName);
+        return getThis();
+    }
+
+    /**
+     * Define the parallelism of the work-stealing pools created for bulkheads without provided executor
+     *
+     * @param parallelism parallelism of each pool. Default = number of available processors
+     * @return ManagerFactoryBuilder
+     */
+    public T withBulkheadDefaultParallelism(int parallelism) {
+        configMap.put(BULKHEAD_DEFAULT_PARALLELISM, parallelism);
+        return getThis();
+    }
+
+    /**
+     * Enable the detection of hot partitions. A sample of the executed statements is counted per table,
+     * access type (READ/WRITE) and routing key. The hot partitions are available with <em>ManagerFactory.hotPartitions()</em>
+     *
+     * @param samplingRate ratio of statements counted, between 0 and 1. Default = 0 (disabled)
+     * @return ManagerFactoryBuilder
+     */
+    public T withHotPartitionDetection(double samplingRate) {
+        configMap.put(HOT_PARTITIONS_SAMPLING_RATE, samplingRate);
+        return getThis();
+    }
+
+    /**
+     * Define how many hot partitions are reported per table and access type
+     *
+     * @param topK number of hot partitions. Default = 10
+     * @return ManagerFactoryBuilder
+     */
+    public T withHotPartitionsTopK(int topK) {
+        configMap.put(HOT_PARTITIONS_TOP_K, topK);
+        return getThis();
+    }
+
+    /**
+     * Define the duration of the window over which the partitions accesses are counted
+     *
+     * @param windowInSeconds duration of the window. Default = 60
+     * @return ManagerFactoryBuilder
+     */
+    public T withHotPartitionsWindowInSeconds(long windowInSeconds) {
+        configMap.put(HOT_PARTITIONS_WINDOW_IN_SECONDS, windowInSeconds);
+        return getThis();
+    }
+
+    /**
+     * Register the hot partitions as a MXBean on the platform MBean server, with the object name
+     * <em>info.archinnov.achilles:type=HotPartitions,name="&lt;keyspace&gt;@&lt;id&gt;"</em>
+     *
+     * @param enableJMX whether to register the MXBean. Default = false
+     * @return ManagerFactoryBuilder
+     */
+    public T withHotPartitionsJMX(boolean enableJMX) {
+        configMap.put(HOT_PARTITIONS_JMX_ENABLE, enableJMX);
+        return getThis();
+    }
+
+    /**
+     * Record histograms of the request and response payload sizes per entity and operation type.
+     * The histograms are available with <em>ManagerFactory.payloadSizes()</em>
+     *
+     * @param payloadSizeTracking whether to track payload sizes. Default = false
+     * @return ManagerFactoryBuilder
+     */
+    public T withPayloadSizeTracking(boolean payloadSizeTracking) {
+        configMap.put(PAYLOAD_SIZE_TRACKING, payloadSizeTracking);
+        return getThis();
+    }
+
+    /**
+     * Define the request size above which a warning is logged for a mutation, when payload sizes are tracked.
+     * Keep it below the <em>max_mutation_size_in_kb</em> of the cluster to be warned before Cassandra rejects the mutation
+     *
+     * @param thresholdInBytes threshold in bytes, 0 to disable the warning. Default = 8Mb
+     * @return ManagerFactoryBuilder
+     */
+    public T withLargeMutationWarningThreshold(long thresholdInBytes) {
+        configMap.put(LARGE_MUTATION_WARNING_THRESHOLD_IN_BYTES, thresholdInBytes);
+        return getThis();
+    }
+
+    /**
+     * Log the statements slower than the given threshold on the <strong>ACHILLES_SLOW_QUERY</strong> logger.
+     * This threshold also applies to the raw bound and batch statements, which have no entity
+     *
+     * @param thresholdInMillis latency threshold in milliseconds. Default = 0 (disabled)
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryThreshold(long thresholdInMillis) {
+        configMap.put(SLOW_QUERY_THRESHOLD_IN_MILLIS, thresholdInMillis);
+        return getThis();
+    }
+
+    /**
+     * Define the slow query threshold of an entity, overriding the global threshold
+     * <br/>
+     * <br/>
+     * <em>Remark: you can call this method as many time as there are entities to configure</em>
+     *
+     * @param entityClass entity class
+     * @param thresholdInMillis latency threshold in milliseconds, 0 to disable the slow query log for this entity
+     * @return ManagerFactoryBuilder
+     */
+    public T withEntitySlowQueryThreshold(Class<?> entityClass, long thresholdInMillis) {
+        if (!configMap.containsKey(SLOW_QUERY_THRESHOLD_PER_ENTITY)) {
+            configMap.put(SLOW_QUERY_THRESHOLD_PER_ENTITY, new HashMap<Class<?>, Long>());
+        }
+        configMap.<Map<Class<?>, Long>>getTyped(SLOW_QUERY_THRESHOLD_PER_ENTITY).put(entityClass, thresholdInMillis);
+        return getThis();
+    }
+
+    /**
+     * Define the maximum number of slow queries logged per second, for each entity and operation type
+     *
+     * @param maxLogsPerSecond maximum number of log lines per second. Default = 10
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryMaxLogsPerSecond(double maxLogsPerSecond) {
+        configMap.put(SLOW_QUERY_MAX_LOGS_PER_SECOND, maxLogsPerSecond);
+        return getThis();
+    }
+
+    /**
+     * Define how the bound values of the slow queries are logged
+     *
+     * @param redaction redaction of the bound values. Default = {@link BoundValueRedaction#SIZE}
+     * @return ManagerFactoryBuilder
+     */
+    public T withSlowQueryBoundValueRedaction(BoundValueRedaction redaction) {
+        configMap.put(SLOW_QUERY_BOUND_VALUE_REDACTION, redaction);
+        return getThis();
+    }
+
+    /**
+     * Provide a list of query listeners, notified of the lifecycle of every statement executed by Achilles
+     *
+     * @param queryListeners listeners to register
+     * @return ManagerFactoryBuilder
+     */
+    public T withQueryListeners(List<QueryListener> queryListeners) {
+        configMap.put(QUERY_LISTENERS, queryListeners);
+        return getThis();
+    }
+
+    /**
+     * Guard the multi-partition SELECTs (ALLOW FILTERING, no WHERE clause, IN on the partition key)
+     * issued above the given rate for each entity
+     *
+     * @param maxPerSecond maximum number of multi-partition SELECTs per second. Default = 0 (disabled)
+     * @return ManagerFactoryBuilder
+     */
+    public T withMultiPartitionQueryMaxPerSecond(double maxPerSecond) {
+        configMap.put(MULTI_PARTITION_QUERY_MAX_PER_SECOND, maxPerSecond);
+        return getThis();
+    }
+
+    /**
+     * Define what happens to the multi-partition SELECTs issued above the configured rate
+     *
+     * @param action guard action. Default = {@link MultiPartitionQueryGuardAction#LOG}
+     * @return ManagerFactoryBuilder
+     */
+    public T withMultiPartitionQueryGuardAction(MultiPartitionQueryGuardAction action) {
+        configMap.put(MULTI_PARTITION_QUERY_GUARD_ACTION, action);
+        return getThis();
+    }
+
+    /**
+     * Specify the maximum number of keyspaces, provided at runtime by a {@link SchemaNameProvider}, whose static
+     * statements are kept prepared. The least recently used keyspace is evicted with all its statements
+     * <br/><br/>
+     * Default value is <strong>100</strong>
+     *
+     * @param maxSchemaNames maximum number of keyspaces in the schema name cache
+     * @return ManagerFactoryBuilder
+     */
+    public T withMaxSchemaNamesInStatementsCache(int maxSchemaNames) {
+        configMap.put(PREPARED_STATEMENTS_CACHE_MAX_SCHEMA_NAMES, maxSchemaNames);
+        return getThis();
+    }
+
     /**
      * Define the statements cache object to be used for prepared statements. This object is an instance of
      * {@link info.archinnov.achilles.internals.cache.StatementsCache}
@@ -33,14 +33,28 @@ import com.datastax.driver.core.Session;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
 
+import info.archinnov.achilles.async.BulkheadOperation;
 import info.archinnov.achilles.async.DefaultExecutorThreadFactory;
 import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
 import info.archinnov.achilles.internals.factory.DefaultBeanFactory;
+import info.archinnov.achilles.internals.runtime.Bulkheads;
+import info.archinnov.achilles.internals.runtime.HotPartitionDetector;
+import info.archinnov.achilles.internals.runtime.QueryListeners;
+import info.archinnov.achilles.internals.runtime.QueryTracer;
+import info.archinnov.achilles.internals.runtime.MultiPartitionQueryGuard;
+import info.archinnov.achilles.internals.runtime.SlowQueryLogger;
 import info.archinnov.achilles.internals.types.ConfigMap;
+import info.archinnov.achilles.internals.utils.VirtualThreadHelper;
 import info.archinnov.achilles.json.DefaultJacksonMapperFactory;
 import info.archinnov.achilles.json.JacksonMapperFactory;
+import info.archinnov.achilles.monitoring.BoundValueRedaction;
+import info.archinnov.achilles.monitoring.MultiPartitionQueryGuardAction;
+import info.archinnov.achilles.monitoring.QueryListener;
+import info.archinnov.achilles.tracing.LoggerQueryTraceSink;
+import info.archinnov.achilles.tracing.QueryTraceSink;
+import info.archinnov.achilles.tracing.TracingSampler;
 import info.archinnov.achilles.type.SchemaNameProvider;
 import info.archinnov.achilles.type.codec.Codec;
 import info.archinnov.achilles.type.codec.CodecSignature;
@@ -48,6 +62,8 @@ import info.archinnov.achilles.type.factory.BeanFactory;
 import info.archinnov.achilles.type.interceptor.Interceptor;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
 import info.archinnov.achilles.type.strategy.NamingStrategy;
+import info.archinnov.achilles.type.strategy.SpeculativeExecutionStrategy;
+import info.archinnov.achilles.validation.Validator;
 
 /**
  * Extract bootstrap argument and create a configuration context
@@ -55,15 +71,40 @@ import info.archinnov.achilles.type.strategy.NamingStrategy;
 public class ArgumentExtractor {
 
     static final int DEFAULT_LRU_CACHE_SIZE = 10000;
+    static final int DEFAULT_MAX_SCHEMA_NAMES = StatementsCache.DEFAULT_MAX_SCHEMA_NAMES;
     static final boolean DEFAULT_ENABLE_PRE_MUTATE_BEAN_VALIDATION = false;
     static final boolean DEFAULT_ENABLE_POST_LOAD_BEAN_VALIDATION = false;
     static final int DEFAULT_THREAD_POOL_MIN_THREAD_COUNT = 10;
     static final int DEFAULT_THREAD_POOL_MAX_THREAD_COUNT = 10;
     static final long DEFAULT_THREAD_POOL_THREAD_TTL = 60L;
     static final int DEFAULT_THREAD_POOL_QUEUE_SIZE = 1000;
+    static final boolean DEFAULT_THREAD_POOL_VIRTUAL_THREADS = false;
+    static final long DEFAULT_FIND_BY_ID_LOADER_BATCH_WINDOW_IN_MILLIS = 0L;
+    static final boolean DEFAULT_DEDUPLICATE_IN_FLIGHT_SELECTS = false;
+    static final boolean DEFAULT_ADAPTIVE_FETCH_SIZE = false;
+    static final long DEFAULT_ADAPTIVE_FETCH_SIZE_PAGE_BUDGET_IN_BYTES = 1024L * 1024L;
+    static final int DEFAULT_ADAPTIVE_FETCH_SIZE_MIN = 100;
+    static final int DEFAULT_ADAPTIVE_FETCH_SIZE_MAX = 5000;
+    static final int DEFAULT_LARGE_OBJECT_CHUNK_SIZE_IN_BYTES = 512 * 1024;
+    static final int DEFAULT_LARGE_OBJECT_MAX_CONCURRENT_WRITES = 4;
+    static final int DEFAULT_LARGE_OBJECT_PREFETCH_CHUNKS = 4;
+    static final int DEFAULT_TRACING_THREADS = QueryTracer.DEFAULT_TRACING_THREADS;
+    static final int DEFAULT_BULKHEAD_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    static final double DEFAULT_HOT_PARTITIONS_SAMPLING_RATE = 0D;
+    static final int DEFAULT_HOT_PARTITIONS_TOP_K = 10;
+    static final long DEFAULT_HOT_PARTITIONS_WINDOW_IN_SECONDS = 60L;
+    static final boolean DEFAULT_HOT_PARTITIONS_JMX_ENABLE = false;
+    static final boolean DEFAULT_PAYLOAD_SIZE_TRACKING = false;
+    static final long DEFAULT_LARGE_MUTATION_WARNING_THRESHOLD_IN_BYTES = 8L * 1024L * 1024L;
+    static final long DEFAULT_SLOW_QUERY_THRESHOLD_IN_MILLIS = 0L;
+    static final double DEFAULT_SLOW_QUERY_MAX_LOGS_PER_SECOND = 10D;
+    static final BoundValueRedaction DEFAULT_SLOW_QUERY_BOUND_VALUE_REDACTION = BoundValueRedaction.SIZE;
+    static final double DEFAULT_MULTI_PARTITION_QUERY_MAX_PER_SECOND = 0D;
+    static final MultiPartitionQueryGuardAction DEFAULT_MULTI_PARTITION_QUERY_GUARD_ACTION = MultiPartitionQueryGuardAction.LOG;
     static final ThreadFactory DEFAULT_THREAD_POOL_THREAD_FACTORY = new DefaultExecutorThreadFactory();
     static final InsertStrategy DEFAULT_INSERT_STRATEGY = InsertStrategy.ALL_FIELDS;
     static final NamingStrategy DEFAULT_GLOBAL_NAMING_STRATEGY = NamingStrategy.LOWER_CASE;
+    static final SpeculativeExecutionStrategy DEFAULT_SPECULATIVE_EXECUTION_STRATEGY = SpeculativeExecutionStrategy.NONE;
     static final BeanFactory DEFAULT_BEAN_FACTORY = new DefaultBeanFactory();
     private static final Logger LOGGER = LoggerFactory.getLogger(ArgumentExtractor.class);
 
@@ -95,6 +136,27 @@ public class ArgumentExtractor {
         configContext.setProvidedSession(initProvidedSession(configurationMap));
         configContext.setStatementsCache(initStatementCache(configurationMap));
         configContext.setRuntimeCodecs(initRuntimeCodecs(configurationMap));
+        configContext.setFindByIdLoaderBatchWindowInMillis(initFindByIdLoaderBatchWindow(configurationMap));
+        configContext.setDeduplicateInFlightSelects(initDeduplicateInFlightSelects(configurationMap));
+        configContext.setDefaultSpeculativeExecutionStrategy(initDefaultSpeculativeExecutionStrategy(configurationMap));
+        configContext.setSpeculativeExecutionStrategyMap(initSpeculativeExecutionStrategyMap(configurationMap));
+        configContext.setAdaptiveFetchSize(initAdaptiveFetchSize(configurationMap));
+        configContext.setAdaptiveFetchSizePageBudgetInBytes(initAdaptiveFetchSizePageBudget(configurationMap));
+        configContext.setAdaptiveFetchSizeMin(initAdaptiveFetchSizeMin(configurationMap));
+        configContext.setAdaptiveFetchSizeMax(initAdaptiveFetchSizeMax(configurationMap));
+        configContext.setLargeObjectTable(initLargeObjectTable(configurationMap));
+        configContext.setLargeObjectChunkSizeInBytes(initLargeObjectChunkSize(configurationMap));
+        configContext.setLargeObjectMaxConcurrentWrites(initLargeObjectMaxConcurrentWrites(configurationMap));
+        configContext.setLargeObjectPrefetchChunks(initLargeObjectPrefetchChunks(configurationMap));
+        configContext.setQueryTracer(initQueryTracer(configurationMap));
+        configContext.setBulkheads(initBulkheads(configurationMap));
+        configContext.setHotPartitionDetector(initHotPartitionDetector(configurationMap));
+        configContext.setHotPartitionsJMXEnabled(initHotPartitionsJMX(configurationMap));
+        configContext.setPayloadSizeTracking(initPayloadSizeTracking(configurationMap));
+        configContext.setLargeMutationWarningThresholdInBytes(initLargeMutationWarningThreshold(configurationMap));
+        configContext.setSlowQueryLogger(initSlowQueryLogger(configurationMap));
+        configContext.setQueryListeners(initQueryListeners(configurationMap));
+        configContext.setMultiPartitionQueryGuard(initMultiPartitionQueryGuard(configurationMap));
         return configContext;
     }
 
@@ -246,6 +308,15 @@ public class ArgumentExtractor {
 
     private static Supplier<ExecutorService> initializeDefaultExecutor(final ConfigMap configMap) {
         return () -> {
+            if (configMap.getTypedOr(DEFAULT_EXECUTOR_SERVICE_VIRTUAL_THREADS, DEFAULT_THREAD_POOL_VIRTUAL_THREADS)) {
+                final Optional<ExecutorService> virtualThreadExecutor = VirtualThreadHelper.newVirtualThreadPerTaskExecutor();
+                if (virtualThreadExecutor.isPresent()) {
+                    LOGGER.info("Using a virtual thread per task executor for internal asynchronous operations");
+                    return virtualThreadExecutor.get();
+                }
+                LOGGER.warn("Virtual threads are not supported by the current JVM (JDK 21+ required), " +
+                        "falling back to the default thread pool for internal asynchronous operations");
+            }
             int minThreads = configMap.getTypedOr(DEFAULT_EXECUTOR_SERVICE_MIN_THREAD, DEFAULT_THREAD_POOL_MIN_THREAD_COUNT);
             int maxThreads = configMap.getTypedOr(DEFAULT_EXECUTOR_SERVICE_MAX_THREAD, DEFAULT_THREAD_POOL_MAX_THREAD_COUNT);
             long threadKeepAlive = configMap.getTypedOr(DEFAULT_EXECUTOR_SERVICE_THREAD_KEEPALIVE, DEFAULT_THREAD_POOL_THREAD_TTL);
@@ -272,7 +343,8 @@ public class ArgumentExtractor {
             return configMap.getTyped(STATEMENTS_CACHE);
         } else {
             final Integer cacheSize = initPreparedStatementsCacheSize(configMap);
-            return new StatementsCache(cacheSize);
+            final Integer maxSchemaNames = configMap.getTypedOr(PREPARED_STATEMENTS_CACHE_MAX_SCHEMA_NAMES, DEFAULT_MAX_SCHEMA_NAMES);
+            return new StatementsCache(cacheSize, maxSchemaNames);
         }
     }
 
@@ -284,4 +356,149 @@ public class ArgumentExtractor {
             return new HashMap<>();
         }
     }
+
+    static long initFindByIdLoaderBatchWindow(ConfigMap configMap) {
+        LOGGER.trace("Extract or init find by id loader batch window");
+        return configMap.getTypedOr(FIND_BY_ID_LOADER_BATCH_WINDOW_IN_MILLIS, DEFAULT_FIND_BY_ID_LOADER_BATCH_WINDOW_IN_MILLIS);
+    }
+
+    static boolean initDeduplicateInFlightSelects(ConfigMap configMap) {
+        LOGGER.trace("Extract or init in-flight SELECT de-duplication");
+        return configMap.getTypedOr(DEDUPLICATE_IN_FLIGHT_SELECTS, DEFAULT_DEDUPLICATE_IN_FLIGHT_SELECTS);
+    }
+
+    static SpeculativeExecutionStrategy initDefaultSpeculativeExecutionStrategy(ConfigMap configMap) {
+        LOGGER.trace("Extract or init default speculative execution strategy");
+        return configMap.getTypedOr(SPECULATIVE_EXECUTION_STRATEGY_DEFAULT, DEFAULT_SPECULATIVE_EXECUTION_STRATEGY);
+    }
+
+    static Map<String, SpeculativeExecutionStrategy> initSpeculativeExecutionStrategyMap(ConfigMap configMap) {
+        LOGGER.trace("Extract speculative execution strategy map from configuration map");
+        return configMap.getTypedOr(SPECULATIVE_EXECUTION_STRATEGY_MAP, ImmutableMap.<String, SpeculativeExecutionStrategy>of());
+    }
+
+    static boolean initAdaptiveFetchSize(ConfigMap configMap) {
+        LOGGER.trace("Extract or init adaptive fetch size");
+        return configMap.getTypedOr(ADAPTIVE_FETCH_SIZE, DEFAULT_ADAPTIVE_FETCH_SIZE);
+    }
+
+    static long initAdaptiveFetchSizePageBudget(ConfigMap configMap) {
+        LOGGER.trace("Extract or init adaptive fetch size page budget");
+        return configMap.getTypedOr(ADAPTIVE_FETCH_SIZE_PAGE_BUDGET_IN_BYTES, DEFAULT_ADAPTIVE_FETCH_SIZE_PAGE_BUDGET_IN_BYTES);
+    }
+
+    static int initAdaptiveFetchSizeMin(ConfigMap configMap) {
+        LOGGER.trace("Extract or init adaptive fetch size lower bound");
+        return configMap.getTypedOr(ADAPTIVE_FETCH_SIZE_MIN, DEFAULT_ADAPTIVE_FETCH_SIZE_MIN);
+    }
+
+    static int initAdaptiveFetchSizeMax(ConfigMap configMap) {
+        LOGGER.trace("Extract or init adaptive fetch size upper bound");
+        return configMap.getTypedOr(ADAPTIVE_FETCH_SIZE_MAX, DEFAULT_ADAPTIVE_FETCH_SIZE_MAX);
+    }
+
+    static Optional<String> initLargeObjectTable(ConfigMap configMap) {
+        LOGGER.trace("Extract large object table");
+        return Optional.ofNullable(configMap.<String>getTyped(LARGE_OBJECT_TABLE));
+    }
+
+    static int initLargeObjectChunkSize(ConfigMap configMap) {
+        LOGGER.trace("Extract or init large object chunk size");
+        return configMap.getTypedOr(LARGE_OBJECT_CHUNK_SIZE_IN_BYTES, DEFAULT_LARGE_OBJECT_CHUNK_SIZE_IN_BYTES);
+    }
+
+    static int initLargeObjectMaxConcurrentWrites(ConfigMap configMap) {
+        LOGGER.trace("Extract or init large object max concurrent writes");
+        return configMap.getTypedOr(LARGE_OBJECT_MAX_CONCURRENT_WRITES, DEFAULT_LARGE_OBJECT_MAX_CONCURRENT_WRITES);
+    }
+
+    static int initLargeObjectPrefetchChunks(ConfigMap configMap) {
+        LOGGER.trace("Extract or init large object prefetch chunks count");
+        return configMap.getTypedOr(LARGE_OBJECT_PREFETCH_CHUNKS, DEFAULT_LARGE_OBJECT_PREFETCH_CHUNKS);
+    }
+
+    static QueryTracer initQueryTracer(ConfigMap configMap) {
+        LOGGER.trace("Extract or init query tracing sampler, sink and threads");
+        final Optional<TracingSampler> sampler = Optional.ofNullable(configMap.<TracingSampler>getTyped(TRACING_SAMPLER));
+        final QueryTraceSink sink = configMap.getTypedOr(TRACING_SINK, () -> new LoggerQueryTraceSink());
+        final int threads = configMap.getTypedOr(TRACING_THREADS, DEFAULT_TRACING_THREADS);
+        Validator.validateTrue(threads > 0, "The number of tracing threads '%s' should be strictly positive", threads);
+        return new QueryTracer(sampler, sink, threads);
+    }
+
+    static Bulkheads initBulkheads(ConfigMap configMap) {
+        LOGGER.trace("Extract or init bulkheads");
+        final Map<String, ExecutorService> executors = configMap.getTypedOr(BULKHEAD_EXECUTOR_SERVICES, new HashMap<>());
+        final Map<Class<?>, String> entityBulkheads = configMap.getTypedOr(BULKHEAD_PER_ENTITY, new HashMap<>());
+        final Map<BulkheadOperation, String> operationBulkheads = configMap.getTypedOr(BULKHEAD_PER_OPERATION, new HashMap<>());
+        final int parallelism = configMap.getTypedOr(BULKHEAD_DEFAULT_PARALLELISM, DEFAULT_BULKHEAD_PARALLELISM);
+        Validator.validateTrue(parallelism > 0, "The default parallelism of bulkheads '%s' should be strictly positive", parallelism);
+        entityBulkheads.forEach((entityClass, name) -> Validator.validateNotBlank(name,
+                "The bulkhead name for entity '%s' should not be blank", entityClass.getCanonicalName()));
+        operationBulkheads.forEach((operation, name) -> Validator.validateNotBlank(name,
+                "The bulkhead name for operation '%s' should not be blank", operation));
+        return new Bulkheads(executors, entityBulkheads, operationBulkheads, parallelism);
+    }
+
+    static Optional<HotPartitionDetector> initHotPartitionDetector(ConfigMap configMap) {
+        LOGGER.trace("Extract or init hot partition detection");
+        final double samplingRate = configMap.getTypedOr(HOT_PARTITIONS_SAMPLING_RATE, DEFAULT_HOT_PARTITIONS_SAMPLING_RATE);
+        final int topK = configMap.getTypedOr(HOT_PARTITIONS_TOP_K, DEFAULT_HOT_PARTITIONS_TOP_K);
+        final long windowInSeconds = configMap.getTypedOr(HOT_PARTITIONS_WINDOW_IN_SECONDS, DEFAULT_HOT_PARTITIONS_WINDOW_IN_SECONDS);
+        Validator.validateTrue(samplingRate >= 0D && samplingRate <= 1D,
+                "The hot partitions sampling rate '%s' should be between 0 and 1", samplingRate);
+        Validator.validateTrue(topK > 0, "The number of hot partitions to report '%s' should be strictly positive", topK);
+        Validator.validateTrue(windowInSeconds > 0, "The hot partitions window '%s' should be strictly positive", windowInSeconds);
+        return samplingRate > 0D
+                ? Optional.of(new HotPartitionDetector(samplingRate, topK, windowInSeconds))
+                : Optional.empty();
+    }
+
+    static boolean initHotPartitionsJMX(ConfigMap configMap) {
+        LOGGER.trace("Extract or init hot partitions JMX registration");
+        return configMap.getTypedOr(HOT_PARTITIONS_JMX_ENABLE, DEFAULT_HOT_PARTITIONS_JMX_ENABLE);
+    }
+
+    static boolean initPayloadSizeTracking(ConfigMap configMap) {
+        LOGGER.trace("Extract or init payload size tracking");
+        return configMap.getTypedOr(PAYLOAD_SIZE_TRACKING, DEFAULT_PAYLOAD_SIZE_TRACKING);
+    }
+
+    static long initLargeMutationWarningThreshold(ConfigMap configMap) {
+        LOGGER.trace("Extract or init large mutation warning threshold");
+        final long threshold = configMap.getTypedOr(LARGE_MUTATION_WARNING_THRESHOLD_IN_BYTES, DEFAULT_LARGE_MUTATION_WARNING_THRESHOLD_IN_BYTES);
+        Validator.validateTrue(threshold >= 0, "The large mutation warning threshold '%s' should be positive or 0", threshold);
+        return threshold;
+    }
+
+    static Optional<SlowQueryLogger> initSlowQueryLogger(ConfigMap configMap) {
+        LOGGER.trace("Extract or init slow query log");
+        final long threshold = configMap.getTypedOr(SLOW_QUERY_THRESHOLD_IN_MILLIS, DEFAULT_SLOW_QUERY_THRESHOLD_IN_MILLIS);
+        final Map<Class<?>, Long> entityThresholds = configMap.getTypedOr(SLOW_QUERY_THRESHOLD_PER_ENTITY, new HashMap<>());
+        final double maxLogsPerSecond = configMap.getTypedOr(SLOW_QUERY_MAX_LOGS_PER_SECOND, DEFAULT_SLOW_QUERY_MAX_LOGS_PER_SECOND);
+        final BoundValueRedaction redaction = configMap.getTypedOr(SLOW_QUERY_BOUND_VALUE_REDACTION, DEFAULT_SLOW_QUERY_BOUND_VALUE_REDACTION);
+        Validator.validateTrue(threshold >= 0, "The slow query threshold '%s' should be positive or 0", threshold);
+        entityThresholds.forEach((entityClass, entityThreshold) -> Validator.validateTrue(entityThreshold >= 0,
+                "The slow query threshold '%s' for entity '%s' should be positive or 0", entityThreshold, entityClass.getCanonicalName()));
+        Validator.validateTrue(maxLogsPerSecond > 0, "The maximum number of slow queries logged per second '%s' should be strictly positive", maxLogsPerSecond);
+        return threshold > 0 || entityThresholds.values().stream().anyMatch(entityThreshold -> entityThreshold > 0)
+                ? Optional.of(new SlowQueryLogger(threshold, entityThresholds, maxLogsPerSecond, redaction))
+                : Optional.empty();
+    }
+
+    static QueryListeners initQueryListeners(ConfigMap configMap) {
+        LOGGER.trace("Extract query listeners from configuration map");
+        final List<QueryListener> listeners = configMap.getTypedOr(QUERY_LISTENERS, new ArrayList<>());
+        return listeners.isEmpty() ? QueryListeners.NONE : new QueryListeners(listeners);
+    }
+
+    static Optional<MultiPartitionQueryGuard> initMultiPartitionQueryGuard(ConfigMap configMap) {
+        LOGGER.trace("Extract or init multi-partition query guard");
+        final double maxPerSecond = configMap.getTypedOr(MULTI_PARTITION_QUERY_MAX_PER_SECOND, DEFAULT_MULTI_PARTITION_QUERY_MAX_PER_SECOND);
+        final MultiPartitionQueryGuardAction action = configMap.getTypedOr(MULTI_PARTITION_QUERY_GUARD_ACTION, DEFAULT_MULTI_PARTITION_QUERY_GUARD_ACTION);
+        Validator.validateTrue(maxPerSecond >= 0, "The maximum number of multi-partition queries per second '%s' should be positive or 0", maxPerSecond);
+        return maxPerSecond > 0
+                ? Optional.of(new MultiPartitionQueryGuard(maxPerSecond, action, initPreparedStatementsCacheSize(configMap)))
+                : Optional.empty();
+    }
 }
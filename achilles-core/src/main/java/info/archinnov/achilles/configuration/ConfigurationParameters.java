@@ -126,6 +126,12 @@ package info.archinnov.achilles.configuration;
  You can get details on the LRU cache state by putting the logger <code>info.archinnov.achilles.internal.statement.cache.CacheManager</code> on <strong>DEBUG</strong></p>
  * </li>
  * <li>
+ * <strong>PREPARED_STATEMENTS_CACHE_MAX_SCHEMA_NAMES</strong> (OPTIONAL): maximum number of keyspaces, provided at runtime
+ * by a {@link info.archinnov.achilles.type.SchemaNameProvider}, whose static statements (<code>insert</code>, <code>find</code>,
+ * <code>delete</code> ...) are kept prepared. The least recently used keyspace is evicted with all its statements.
+ * <strong>Default = 100</strong>
+ * </li>
+ * <li>
  * <strong>STATEMENTS_CACHE</strong> (OPTIONAL): provide an instance of the class {@link info.archinnov.achilles.internals.cache.StatementsCache}
  * to store all prepared statements. This option is useful for unit testing to avoid re-preparing many times the same prepared statements
  * <br/><br/>
@@ -237,8 +243,214 @@ package info.archinnov.achilles.configuration;
  * DEFAULT_EXECUTOR_SERVICE_THREAD_FACTORY)
  * </code></pre>
  * </li>
+ * <li>
+ * <strong>DEFAULT_EXECUTOR_SERVICE_VIRTUAL_THREADS</strong> (OPTIONAL): when set to true and running on JDK 21+,
+ * the default executor service is a virtual-thread-per-task executor
+ * (<em>Executors.newVirtualThreadPerTaskExecutor()</em>) instead of the bounded thread pool above. Blocking calls
+ * made from virtual threads then never saturate the pool queue. On older JVMs a warning is logged and the thread pool is used.
+ * Default value = false
+ * </li>
  * </ul>
  For more details, please check <strong><a href="https://github.com/doanduyhai/Achilles/wiki/Asynchronous-Operations">Asynchronous Operations</a></strong></p>
+ * <br/>
+ * <br/>
+ * <h4>Find By Id Loader</h4>
+ * <ul>
+ * <li>
+ * <strong>FIND_BY_ID_LOADER_BATCH_WINDOW_IN_MILLIS</strong> (OPTIONAL): time window in milliseconds during which
+ * <em>findById</em> requests sent to the loader of each manager are collected before being dispatched.
+ * Default value is <strong>0</strong>, meaning that the requests are only dispatched by an explicit call to <em>dispatch()</em>.
+ * Callers loading the same primary key within a window share the same entity instance
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>In-flight SELECT de-duplication</h4>
+ * <ul>
+ * <li>
+ * <strong>DEDUPLICATE_IN_FLIGHT_SELECTS</strong> (OPTIONAL): whether identical SELECT statements (same prepared statement,
+ * same bound values and same consistency level) executed concurrently should share a single request to Cassandra.
+ * Mutations, LWT and non-idempotent statements are never de-duplicated. <strong>Default = 'false'</strong>
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Idempotence & speculative execution</h4>
+ * <ul>
+ * <li>
+ * <strong>SPECULATIVE_EXECUTION_STRATEGY_DEFAULT</strong> (OPTIONAL): which statements are flagged idempotent from the
+ * meta model, making them eligible for the speculative execution policy configured on the <em>Cluster</em> object.
+ * See {@link info.archinnov.achilles.type.strategy.SpeculativeExecutionStrategy}.
+ * <strong>Default = SpeculativeExecutionStrategy.NONE, speculative executions are opt-in</strong>
+ * </li>
+ * <li>
+ * <strong>SPECULATIVE_EXECUTION_STRATEGY_MAP</strong> (OPTIONAL): map(String,SpeculativeExecutionStrategy) of strategies for tables,
+ * overriding the default strategy
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Adaptive fetch size</h4>
+ * <ul>
+ * <li>
+ * <strong>ADAPTIVE_FETCH_SIZE</strong> (OPTIONAL): whether the fetch size of SELECT statements without an explicit fetch size
+ * should be computed from the average row size observed for the same query, so that each page weighs about the page budget.
+ * Can be overridden per query with <em>withAdaptiveFetchSize()</em>. <strong>Default = 'false'</strong>
+ * </li>
+ * <li>
+ * <strong>ADAPTIVE_FETCH_SIZE_PAGE_BUDGET_IN_BYTES</strong> (OPTIONAL): target size in bytes of each page. <strong>Default = 1048576 (1Mb)</strong>
+ * </li>
+ * <li>
+ * <strong>ADAPTIVE_FETCH_SIZE_MIN</strong> (OPTIONAL): lower bound of the adaptive fetch size. <strong>Default = 100</strong>
+ * </li>
+ * <li>
+ * <strong>ADAPTIVE_FETCH_SIZE_MAX</strong> (OPTIONAL): upper bound of the adaptive fetch size. <strong>Default = 5000</strong>
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Large objects</h4>
+ * <ul>
+ * <li>
+ * <strong>LARGE_OBJECT_TABLE</strong> (OPTIONAL): name of the chunk table used to store large objects, as 'table' or 'keyspace.table'.
+ * The large object store is only available when this parameter is set. <strong>Default = none</strong>
+ * </li>
+ * <li>
+ * <strong>LARGE_OBJECT_CHUNK_SIZE_IN_BYTES</strong> (OPTIONAL): size in bytes of each chunk. <strong>Default = 524288 (512Kb)</strong>
+ * </li>
+ * <li>
+ * <strong>LARGE_OBJECT_MAX_CONCURRENT_WRITES</strong> (OPTIONAL): maximum number of chunks written in parallel. <strong>Default = 4</strong>
+ * </li>
+ * <li>
+ * <strong>LARGE_OBJECT_PREFETCH_CHUNKS</strong> (OPTIONAL): number of chunks fetched ahead when reading a large object. <strong>Default = 4</strong>
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Query tracing</h4>
+ * <ul>
+ * <li>
+ * <strong>TRACING_SAMPLER</strong> (OPTIONAL): an instance of {@link info.archinnov.achilles.tracing.TracingSampler}
+ * deciding which statements are traced. Statements with <em>withTracing()</em> are always traced.
+ * <strong>Default = trace the statements of entities whose logger is at TRACE level</strong>
+ * </li>
+ * <li>
+ * <strong>TRACING_SINK</strong> (OPTIONAL): an instance of {@link info.archinnov.achilles.tracing.QueryTraceSink}
+ * receiving the completed traces. <strong>Default = {@link info.archinnov.achilles.tracing.LoggerQueryTraceSink}</strong>
+ * </li>
+ * <li>
+ * <strong>TRACING_THREADS</strong> (OPTIONAL): number of threads fetching the traces asynchronously. <strong>Default = 1</strong>
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Bulkheads</h4>
+ * Asynchronous results (and the interceptors/listeners chained on them) are completed on the default executor service.
+ * Bulkheads isolate some entities or operations on their own executor so that a slow callback does not delay unrelated queries.
+ * The bulkhead of an entity wins over the bulkhead of an operation category
+ * <ul>
+ * <li>
+ * <strong>BULKHEAD_EXECUTOR_SERVICES</strong> (OPTIONAL): a <em>Map&lt;String,ExecutorService&gt;</em> of executors by bulkhead name.
+ * Achilles does not shut them down. Bulkheads without executor get a work-stealing pool
+ * </li>
+ * <li>
+ * <strong>BULKHEAD_PER_ENTITY</strong> (OPTIONAL): a <em>Map&lt;Class&lt;?&gt;,String&gt;</em> of bulkhead names by entity class,
+ * overriding the bulkhead declared with <em>{@literal @}Table(bulkhead = "...")</em>
+ * </li>
+ * <li>
+ * <strong>BULKHEAD_PER_OPERATION</strong> (OPTIONAL): a <em>Map&lt;{@link info.archinnov.achilles.async.BulkheadOperation},String&gt;</em>
+ * of bulkhead names for reads, writes and LWT
+ * </li>
+ * <li>
+ * <strong>BULKHEAD_DEFAULT_PARALLELISM</strong> (OPTIONAL): parallelism of the work-stealing pools created for bulkheads.
+ * <strong>Default = number of available processors</strong>
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Hot partitions</h4>
+ * A sample of the executed statements feeds a Space-Saving sketch per table and access type (READ/WRITE), keyed by routing key.
+ * The hot partitions are available with <em>ManagerFactory.hotPartitions()</em> and optionally as a JMX MXBean
+ * <ul>
+ * <li>
+ * <strong>HOT_PARTITIONS_SAMPLING_RATE</strong> (OPTIONAL): ratio of statements fed to the sketch, between 0 and 1.
+ * <strong>Default = 0, hot partition detection disabled</strong>
+ * </li>
+ * <li>
+ * <strong>HOT_PARTITIONS_TOP_K</strong> (OPTIONAL): number of hot partitions reported per table and access type. <strong>Default = 10</strong>
+ * </li>
+ * <li>
+ * <strong>HOT_PARTITIONS_WINDOW_IN_SECONDS</strong> (OPTIONAL): duration of the counting window. <strong>Default = 60</strong>
+ * </li>
+ * <li>
+ * <strong>HOT_PARTITIONS_JMX_ENABLE</strong> (OPTIONAL): register the hot partitions on the platform MBean server,
+ * as <em>info.archinnov.achilles:type=HotPartitions</em>. <strong>Default = false</strong>
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Payload sizes</h4>
+ * <ul>
+ * <li>
+ * <strong>PAYLOAD_SIZE_TRACKING</strong> (OPTIONAL): record histograms of the request size (encoded bound values)
+ * and response size (encoded rows of each page) per entity and operation type, available with
+ * <em>ManagerFactory.payloadSizes()</em>. Batches are recorded under the <em>BatchStatement</em> class with the summed
+ * size of their bound statements. <strong>Default = false</strong>
+ * </li>
+ * <li>
+ * <strong>LARGE_MUTATION_WARNING_THRESHOLD_IN_BYTES</strong> (OPTIONAL): when payload sizes are tracked, log a warning
+ * for each mutation whose request size crosses this threshold, 0 to disable.
+ * <strong>Default = 8Mb, half of the default <em>max_mutation_size_in_kb</em> of Cassandra</strong>
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Slow query log</h4>
+ * Statements slower than their threshold are logged on the <strong>ACHILLES_SLOW_QUERY</strong> logger at WARN level,
+ * with the query string, consistency level, coordinator and bound values
+ * <ul>
+ * <li>
+ * <strong>SLOW_QUERY_THRESHOLD_IN_MILLIS</strong> (OPTIONAL): global latency threshold, also applied to the raw
+ * bound and batch statements which have no entity.
+ * <strong>Default = 0, no slow query log except for entities with their own threshold</strong>
+ * </li>
+ * <li>
+ * <strong>SLOW_QUERY_THRESHOLD_PER_ENTITY</strong> (OPTIONAL): a <em>Map&lt;Class&lt;?&gt;,Long&gt;</em> of latency thresholds
+ * in milliseconds by entity class, overriding the global threshold. 0 disables the slow query log for the entity
+ * </li>
+ * <li>
+ * <strong>SLOW_QUERY_MAX_LOGS_PER_SECOND</strong> (OPTIONAL): maximum number of slow queries logged per second,
+ * for each entity and operation type. <strong>Default = 10</strong>
+ * </li>
+ * <li>
+ * <strong>SLOW_QUERY_BOUND_VALUE_REDACTION</strong> (OPTIONAL): how bound values are logged,
+ * see {@link info.archinnov.achilles.monitoring.BoundValueRedaction}. <strong>Default = SIZE</strong>
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Query listeners</h4>
+ * <ul>
+ * <li>
+ * <strong>QUERY_LISTENERS</strong> (OPTIONAL): a <em>List&lt;{@link info.archinnov.achilles.monitoring.QueryListener}&gt;</em>
+ * notified of the start, success, failure and consumed pages of every statement executed by Achilles
+ * </li>
+ * </ul>
+ * <br/>
+ * <br/>
+ * <h4>Multi-partition query guard</h4>
+ * A SELECT is multi-partition when it is issued with ALLOW FILTERING, without WHERE clause or with an IN on the partition key.
+ * See also <em>{@literal @}CompileTimeConfig(queryLint = ...)</em> to flag the generated DSL methods producing such queries
+ * <ul>
+ * <li>
+ * <strong>MULTI_PARTITION_QUERY_MAX_PER_SECOND</strong> (OPTIONAL): maximum number of multi-partition SELECTs per second
+ * for each entity, above which the guard action applies. <strong>Default = 0, no guard</strong>
+ * </li>
+ * <li>
+ * <strong>MULTI_PARTITION_QUERY_GUARD_ACTION</strong> (OPTIONAL): what happens to the multi-partition SELECTs above the limit,
+ * see {@link info.archinnov.achilles.monitoring.MultiPartitionQueryGuardAction}. <strong>Default = LOG</strong>
+ * </li>
+ * </ul>
  */
 public enum ConfigurationParameters {
     NATIVE_SESSION("achilles.cassandra.native.session"),
@@ -265,6 +477,7 @@ public enum ConfigurationParameters {
     BEAN_VALIDATION_VALIDATOR("achilles.bean.validation.validator"),
 
     PREPARED_STATEMENTS_CACHE_SIZE("achilles.prepared.statements.cache.size"),
+    PREPARED_STATEMENTS_CACHE_MAX_SCHEMA_NAMES("achilles.prepared.statements.cache.max.schema.names"),
 
     DEFAULT_BEAN_FACTORY("achilles.bean.factory"),
 
@@ -281,7 +494,52 @@ public enum ConfigurationParameters {
     DEFAULT_EXECUTOR_SERVICE_MAX_THREAD("achilles.executor.service.default.thread.max"),
     DEFAULT_EXECUTOR_SERVICE_THREAD_KEEPALIVE("achilles.executor.service.default.thread.keepalive"),
     DEFAULT_EXECUTOR_SERVICE_QUEUE_SIZE("achilles.executor.service.default.queue.size"),
-    DEFAULT_EXECUTOR_SERVICE_THREAD_FACTORY("achilles.executor.service.thread.factory");
+    DEFAULT_EXECUTOR_SERVICE_THREAD_FACTORY("achilles.executor.service.thread.factory"),
+    DEFAULT_EXECUTOR_SERVICE_VIRTUAL_THREADS("achilles.executor.service.default.virtual.threads"),
+
+    FIND_BY_ID_LOADER_BATCH_WINDOW_IN_MILLIS("achilles.find.by.id.loader.batch.window.millis"),
+
+    DEDUPLICATE_IN_FLIGHT_SELECTS("achilles.runtime.deduplicate.in.flight.selects"),
+
+    SPECULATIVE_EXECUTION_STRATEGY_DEFAULT("achilles.speculative.execution.strategy.default"),
+    SPECULATIVE_EXECUTION_STRATEGY_MAP("achilles.speculative.execution.strategy.map"),
+
+    ADAPTIVE_FETCH_SIZE("achilles.runtime.adaptive.fetch.size"),
+    ADAPTIVE_FETCH_SIZE_PAGE_BUDGET_IN_BYTES("achilles.runtime.adaptive.fetch.size.page.budget.bytes"),
+    ADAPTIVE_FETCH_SIZE_MIN("achilles.runtime.adaptive.fetch.size.min"),
+    ADAPTIVE_FETCH_SIZE_MAX("achilles.runtime.adaptive.fetch.size.max"),
+
+    LARGE_OBJECT_TABLE("achilles.large.object.table"),
+    LARGE_OBJECT_CHUNK_SIZE_IN_BYTES("achilles.large.object.chunk.size.bytes"),
+    LARGE_OBJECT_MAX_CONCURRENT_WRITES("achilles.large.object.max.concurrent.writes"),
+    LARGE_OBJECT_PREFETCH_CHUNKS("achilles.large.object.prefetch.chunks"),
+
+    TRACING_SAMPLER("achilles.tracing.sampler"),
+    TRACING_SINK("achilles.tracing.sink"),
+    TRACING_THREADS("achilles.tracing.threads"),
+
+    BULKHEAD_EXECUTOR_SERVICES("achilles.bulkhead.executor.services"),
+    BULKHEAD_PER_ENTITY("achilles.bulkhead.per.entity"),
+    BULKHEAD_PER_OPERATION("achilles.bulkhead.per.operation"),
+    BULKHEAD_DEFAULT_PARALLELISM("achilles.bulkhead.default.parallelism"),
+
+    HOT_PARTITIONS_SAMPLING_RATE("achilles.hot.partitions.sampling.rate"),
+    HOT_PARTITIONS_TOP_K("achilles.hot.partitions.top.k"),
+    HOT_PARTITIONS_WINDOW_IN_SECONDS("achilles.hot.partitions.window.seconds"),
+    HOT_PARTITIONS_JMX_ENABLE("achilles.hot.partitions.jmx.enable"),
+
+    PAYLOAD_SIZE_TRACKING("achilles.runtime.payload.size.tracking"),
+    LARGE_MUTATION_WARNING_THRESHOLD_IN_BYTES("achilles.runtime.large.mutation.warning.threshold.bytes"),
+
+    SLOW_QUERY_THRESHOLD_IN_MILLIS("achilles.slow.query.threshold.millis"),
+    SLOW_QUERY_THRESHOLD_PER_ENTITY("achilles.slow.query.threshold.per.entity"),
+    SLOW_QUERY_MAX_LOGS_PER_SECOND("achilles.slow.query.max.logs.per.second"),
+    SLOW_QUERY_BOUND_VALUE_REDACTION("achilles.slow.query.bound.value.redaction"),
+
+    QUERY_LISTENERS("achilles.query.listeners"),
+
+    MULTI_PARTITION_QUERY_MAX_PER_SECOND("achilles.multi.partition.query.max.per.second"),
+    MULTI_PARTITION_QUERY_GUARD_ACTION("achilles.multi.partition.query.guard.action");
 
 
     private String label;
@@ -35,10 +35,39 @@ public class CacheKey {
 
     private final Class<?> entityClass;
     private final Operation operation;
+    private final String keyspace;
+    private final String table;
+    private final int hashCode;
 
     public CacheKey(Class<?> entityClass, Operation operation) {
+        this(entityClass, operation, null, null);
+    }
+
+    /**
+     * Key of a static statement prepared for the keyspace and table given by a {@link SchemaNameProvider}
+     */
+    public CacheKey(Class<?> entityClass, Operation operation, String keyspace, String table) {
         this.entityClass = entityClass;
         this.operation = operation;
+        this.keyspace = keyspace;
+        this.table = table;
+        this.hashCode = computeHashCode();
+    }
+
+    public String getKeyspace() {
+        return keyspace;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    private int computeHashCode() {
+        int result = entityClass.hashCode();
+        result = 31 * result + operation.hashCode();
+        result = 31 * result + (keyspace != null ? keyspace.hashCode() : 0);
+        result = 31 * result + (table != null ? table.hashCode() : 0);
+        return result;
     }
 
     @Override
@@ -46,13 +75,16 @@ public class CacheKey {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         CacheKey cacheKey = (CacheKey) o;
-        return Objects.equals(entityClass, cacheKey.entityClass) &&
-                Objects.equals(operation, cacheKey.operation);
+        return hashCode == cacheKey.hashCode &&
+                Objects.equals(entityClass, cacheKey.entityClass) &&
+                Objects.equals(operation, cacheKey.operation) &&
+                Objects.equals(keyspace, cacheKey.keyspace) &&
+                Objects.equals(table, cacheKey.table);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(entityClass, operation);
+        return hashCode;
     }
 
     @Override
@@ -60,6 +92,8 @@ public class CacheKey {
         final StringBuilder sb = new StringBuilder("CacheKey{");
         sb.append("entityClass=").append(entityClass);
         sb.append(", operation=").append(operation);
+        if (keyspace != null) sb.append(", keyspace=").append(keyspace);
+        if (table != null) sb.append(", table=").append(table);
         sb.append('}');
         return sb.toString();
     }
@@ -75,9 +109,7 @@ public class CacheKey {
                 }
 
                 final Optional<SchemaNameProvider> provider = options.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, FIND));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateSelectQuery(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, FIND, provider, () -> generateSelectQuery(meta, provider));
 
             }
         },
@@ -89,9 +121,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = options.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsert(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, INSERT, provider, () -> generateInsert(meta, provider));
             }
         },
         INSERT_JSON {
@@ -102,9 +132,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = options.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_JSON));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertJSON(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, INSERT_JSON, provider, () -> generateInsertJSON(meta, provider));
             }
         },
         INSERT_STATIC {
@@ -115,9 +143,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = options.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_STATIC));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertStatic(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, INSERT_STATIC, provider, () -> generateInsertStatic(meta, provider));
             }
         },
         INSERT_IF_NOT_EXISTS {
@@ -128,9 +154,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = options.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_IF_NOT_EXISTS));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertIfNotExists(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, INSERT_IF_NOT_EXISTS, provider, () -> generateInsertIfNotExists(meta, provider));
             }
         },
         INSERT_IF_NOT_EXISTS_JSON {
@@ -141,9 +165,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = options.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_IF_NOT_EXISTS_JSON));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertIfNotExistsJson(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, INSERT_IF_NOT_EXISTS_JSON, provider, () -> generateInsertIfNotExistsJson(meta, provider));
             }
         },
         INSERT_STATIC_IF_NOT_EXISTS {
@@ -154,9 +176,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = options.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, INSERT_STATIC_IF_NOT_EXISTS));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateInsertStaticIfNotExists(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, INSERT_STATIC_IF_NOT_EXISTS, provider, () -> generateInsertStaticIfNotExists(meta, provider));
             }
         },
         DELETE {
@@ -167,9 +187,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = options.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, DELETE));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateDeleteByKeys(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, DELETE, provider, () -> generateDeleteByKeys(meta, provider));
             }
         },
         DELETE_IF_EXISTS {
@@ -180,9 +198,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = options.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, DELETE_IF_EXISTS));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateDeleteByKeysIfExists(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, DELETE_IF_EXISTS, provider, () -> generateDeleteByKeysIfExists(meta, provider));
             }
         },
         DELETE_BY_PARTITION {
@@ -193,9 +209,7 @@ public class CacheKey {
                             meta.entityClass.getCanonicalName()));
                 }
                 final Optional<SchemaNameProvider> provider = options.getSchemaNameProvider();
-                final PreparedStatement psFromCache = rte.getStaticCache(new CacheKey(meta.entityClass, DELETE_BY_PARTITION));
-                return rte.maybePrepareIfDifferentSchemaNameFromCache(meta, psFromCache, provider, () -> generateDeleteByPartition(meta, provider))
-                        .orElse(psFromCache);
+                return rte.getStaticCache(meta, DELETE_BY_PARTITION, provider, () -> generateDeleteByPartition(meta, provider));
             }
         },
         UPDATE {
@@ -19,9 +19,14 @@ package info.archinnov.achilles.internals.cache;
 import static com.google.common.cache.CacheBuilder.newBuilder;
 import static java.lang.String.format;
 
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,21 +35,46 @@ import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Session;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
 
 import info.archinnov.achilles.exception.AchillesException;
 
 public class StatementsCache {
     private static final Logger LOGGER = LoggerFactory.getLogger(StatementsCache.class);
 
+    public static final int DEFAULT_MAX_SCHEMA_NAMES = 100;
+
     private final Cache<String, PreparedStatement> dynamicCache;
     private final Cache<CacheKey, PreparedStatement> staticCache;
+    private final Cache<String, ConcurrentMap<CacheKey, PreparedStatement>> schemaNameCache;
     private final int maxLRUCacheSize;
+    private final int maxSchemaNames;
 
 
     public StatementsCache(int maxLRUCacheSize) {
+        this(maxLRUCacheSize, DEFAULT_MAX_SCHEMA_NAMES);
+    }
+
+    /**
+     * @param maxLRUCacheSize maximum number of dynamic prepared statements
+     * @param maxSchemaNames  maximum number of keyspaces, provided by a {@link info.archinnov.achilles.type.SchemaNameProvider},
+     *                        whose static statements are kept. The least recently used keyspace is evicted with all its statements
+     */
+    public StatementsCache(int maxLRUCacheSize, int maxSchemaNames) {
         this.maxLRUCacheSize = maxLRUCacheSize;
+        this.maxSchemaNames = maxSchemaNames;
         this.dynamicCache = newBuilder().maximumSize(maxLRUCacheSize).build();
         this.staticCache = newBuilder().build();
+        this.schemaNameCache = newBuilder()
+                .maximumSize(maxSchemaNames)
+                .recordStats()
+                .removalListener((RemovalNotification<String, ConcurrentMap<CacheKey, PreparedStatement>> notification) -> {
+                    if (notification.wasEvicted()) {
+                        LOGGER.info(format("Evicting %s static prepared statements of keyspace %s from the schema name cache",
+                                notification.getValue().size(), notification.getKey()));
+                    }
+                })
+                .build();
     }
 
     public void putStaticCache(CacheKey cacheKey, Callable<PreparedStatement> psSupplier) {
@@ -66,6 +96,50 @@ public class StatementsCache {
         return preparedStatement;
     }
 
+    /**
+     * Get the static statement prepared for the keyspace and table of the cache key,
+     * preparing it with the given supplier the first time
+     */
+    public PreparedStatement getSchemaNameCache(CacheKey cacheKey, Supplier<PreparedStatement> psSupplier) {
+        try {
+            final ConcurrentMap<CacheKey, PreparedStatement> statements = schemaNameCache.get(cacheKey.getKeyspace(), ConcurrentHashMap::new);
+            final PreparedStatement preparedStatement = statements.get(cacheKey);
+            if (preparedStatement != null) {
+                return preparedStatement;
+            }
+
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Putting schema name cache for key %s", cacheKey));
+            }
+            final PreparedStatement newPreparedStatement = psSupplier.get();
+            final PreparedStatement existing = statements.putIfAbsent(cacheKey, newPreparedStatement);
+            if (schemaNameCache.size() > (maxSchemaNames * 0.8)) {
+                LOGGER.warn("Warning, the schema name prepared statements cache is over 80% full");
+            }
+            return existing != null ? existing : newPreparedStatement;
+        } catch (ExecutionException e) {
+            throw new AchillesException(e);
+        }
+    }
+
+    /**
+     * @return keyspaces whose static statements are currently cached
+     */
+    public Set<String> getCachedSchemaNames() {
+        return new HashSet<>(schemaNameCache.asMap().keySet());
+    }
+
+    /**
+     * @return hits (keyspace already cached), misses and evictions of the schema name cache
+     */
+    public CacheStats getSchemaNameCacheStats() {
+        return schemaNameCache.stats();
+    }
+
+    public int getMaxSchemaNames() {
+        return maxSchemaNames;
+    }
+
     public PreparedStatement getDynamicCache(final String queryString, Session session) {
         AtomicBoolean displayStats = new AtomicBoolean(false);
         try {
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import info.archinnov.achilles.annotations.JSON;
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+import info.archinnov.achilles.type.codec.Codec;
+
+/**
+ * Codec serializing an object with a binary JSON format (Smile or CBOR) into a <strong>blob</strong>.
+ * <br/>
+ * The configured ObjectMapper is only used to build the reader and writer once, the binary
+ * parser and generator come from a shared factory. Objects are serialized into a per-thread
+ * buffer which is reused across calls
+ */
+public class BinaryJSONCodec<TYPE> implements Codec<TYPE, ByteBuffer> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryJSONCodec.class);
+    private static final SmileFactory SMILE_FACTORY = new SmileFactory();
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+    private static final int INITIAL_BUFFER_SIZE = 1024;
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+    private static final ThreadLocal<PooledOutputStream> BUFFERS = ThreadLocal.withInitial(PooledOutputStream::new);
+
+    private final Class<?> sourceType;
+    private final JavaType exactType;
+    private final JsonFactory jsonFactory;
+
+    private ObjectReader objectReader;
+    private ObjectWriter objectWriter;
+
+    public BinaryJSONCodec(Class<?> sourceType, JavaType exactType, JSON.Format format) {
+        this.sourceType = sourceType;
+        this.exactType = exactType;
+        this.jsonFactory = format == JSON.Format.CBOR ? CBOR_FACTORY : SMILE_FACTORY;
+    }
+
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        this.objectReader = objectMapper.reader(exactType);
+        this.objectWriter = objectMapper.writer();
+    }
+
+    @Override
+    public Class<TYPE> sourceType() {
+        return (Class<TYPE>) sourceType;
+    }
+
+    @Override
+    public Class<ByteBuffer> targetType() {
+        return ByteBuffer.class;
+    }
+
+    @Override
+    public ByteBuffer encode(TYPE fromJava) throws AchillesTranscodingException {
+        if (fromJava == null) return null;
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(String.format("Encoding object %s to binary JSON", fromJava));
+        }
+        final PooledOutputStream buffer = BUFFERS.get();
+        try (JsonGenerator generator = jsonFactory.createGenerator(buffer)) {
+            objectWriter.writeValue(generator, fromJava);
+        } catch (IOException e) {
+            buffer.release();
+            throw new AchillesTranscodingException(e);
+        }
+        return buffer.release();
+    }
+
+    @Override
+    public TYPE decode(ByteBuffer fromCassandra) throws AchillesTranscodingException {
+        if (fromCassandra == null) return null;
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(String.format("Decoding object type %s from binary JSON", exactType));
+        }
+        try (JsonParser parser = createParser(fromCassandra.duplicate())) {
+            return objectReader.readValue(parser);
+        } catch (IOException e) {
+            throw new AchillesTranscodingException(e);
+        }
+    }
+
+    private JsonParser createParser(ByteBuffer bytes) throws IOException {
+        if (bytes.hasArray()) {
+            return jsonFactory.createParser(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        } else {
+            final byte[] copy = new byte[bytes.remaining()];
+            bytes.get(copy);
+            return jsonFactory.createParser(copy);
+        }
+    }
+
+    private static final class PooledOutputStream extends ByteArrayOutputStream {
+
+        private PooledOutputStream() {
+            super(INITIAL_BUFFER_SIZE);
+        }
+
+        /**
+         * Copy the serialized bytes out and reset the buffer for the next call.
+         * Buffers which grew too big are not kept around
+         */
+        private ByteBuffer release() {
+            final ByteBuffer bytes = ByteBuffer.wrap(toByteArray());
+            if (buf.length > MAX_POOLED_BUFFER_SIZE) {
+                BUFFERS.remove();
+            } else {
+                reset();
+            }
+            return bytes;
+        }
+    }
+}
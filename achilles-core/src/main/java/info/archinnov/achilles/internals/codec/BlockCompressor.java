@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codec;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.github.luben.zstd.Zstd;
+
+import info.archinnov.achilles.annotations.Compressed;
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+
+/**
+ * Block compression used by {@link CompressedCodec}.
+ * <br/>
+ * Each implementation lives in its own holder class so that the optional LZ4 and Zstd
+ * libraries are only loaded when the corresponding algorithm is actually used
+ */
+interface BlockCompressor {
+
+    /**
+     * @return the maximum size of the compressed output for the given input length
+     */
+    int maxCompressedLength(int length);
+
+    /**
+     * @return the size of the compressed output or -1 if it does not fit in <em>maxDestLength</em>
+     */
+    int compress(byte[] src, int srcOffset, int srcLength, byte[] dest, int destOffset, int maxDestLength);
+
+    /**
+     * Decompress <em>srcLength</em> bytes read from <em>src</em>, starting at the absolute index <em>srcOffset</em>.
+     * The position of <em>src</em> is left untouched
+     */
+    void decompress(ByteBuffer src, int srcOffset, int srcLength, byte[] dest, int destOffset, int originalLength);
+
+    static BlockCompressor forAlgorithm(Compressed.Algorithm algorithm) {
+        switch (algorithm) {
+            case LZ4:
+                return Lz4.INSTANCE;
+            case ZSTD:
+                return Zstandard.INSTANCE;
+            case DEFLATE:
+                return Deflate.INSTANCE;
+            default:
+                throw new AchillesTranscodingException("Unsupported compression algorithm " + algorithm);
+        }
+    }
+
+    final class Deflate implements BlockCompressor {
+        static final BlockCompressor INSTANCE = new Deflate();
+
+        private static final ThreadLocal<Deflater> DEFLATERS = ThreadLocal.withInitial(Deflater::new);
+        private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(Inflater::new);
+
+        @Override
+        public int maxCompressedLength(int length) {
+            // zlib compressBound()
+            return length + (length >>> 12) + (length >>> 14) + (length >>> 25) + 13;
+        }
+
+        @Override
+        public int compress(byte[] src, int srcOffset, int srcLength, byte[] dest, int destOffset, int maxDestLength) {
+            final Deflater deflater = DEFLATERS.get();
+            deflater.reset();
+            deflater.setInput(src, srcOffset, srcLength);
+            deflater.finish();
+            final int written = deflater.deflate(dest, destOffset, maxDestLength);
+            return deflater.finished() ? written : -1;
+        }
+
+        @Override
+        public void decompress(ByteBuffer src, int srcOffset, int srcLength, byte[] dest, int destOffset, int originalLength) {
+            final Inflater inflater = INFLATERS.get();
+            inflater.reset();
+            if (src.hasArray()) {
+                inflater.setInput(src.array(), src.arrayOffset() + srcOffset, srcLength);
+            } else {
+                final byte[] copy = new byte[srcLength];
+                final ByteBuffer duplicate = src.duplicate();
+                duplicate.position(srcOffset);
+                duplicate.get(copy);
+                inflater.setInput(copy);
+            }
+            try {
+                int read = 0;
+                while (read < originalLength && !inflater.finished()) {
+                    final int inflated = inflater.inflate(dest, destOffset + read, originalLength - read);
+                    if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    read += inflated;
+                }
+                if (read != originalLength) {
+                    throw new AchillesTranscodingException(String.format("Truncated DEFLATE value, expected %s bytes but got %s",
+                            originalLength, read));
+                }
+            } catch (DataFormatException e) {
+                throw new AchillesTranscodingException(e);
+            }
+        }
+    }
+
+    final class Lz4 implements BlockCompressor {
+        static final BlockCompressor INSTANCE = new Lz4();
+
+        private final LZ4Compressor compressor;
+        private final LZ4FastDecompressor decompressor;
+
+        private Lz4() {
+            final LZ4Factory factory = LZ4Factory.fastestInstance();
+            this.compressor = factory.fastCompressor();
+            this.decompressor = factory.fastDecompressor();
+        }
+
+        @Override
+        public int maxCompressedLength(int length) {
+            return compressor.maxCompressedLength(length);
+        }
+
+        @Override
+        public int compress(byte[] src, int srcOffset, int srcLength, byte[] dest, int destOffset, int maxDestLength) {
+            return compressor.compress(src, srcOffset, srcLength, dest, destOffset, maxDestLength);
+        }
+
+        @Override
+        public void decompress(ByteBuffer src, int srcOffset, int srcLength, byte[] dest, int destOffset, int originalLength) {
+            try {
+                // lz4 1.3.0 ignores the array offset of sliced heap buffers, hence the explicit array access
+                if (src.hasArray()) {
+                    decompressor.decompress(src.array(), src.arrayOffset() + srcOffset, dest, destOffset, originalLength);
+                } else {
+                    decompressor.decompress(src, srcOffset, ByteBuffer.wrap(dest), destOffset, originalLength);
+                }
+            } catch (LZ4Exception e) {
+                throw new AchillesTranscodingException(e);
+            }
+        }
+    }
+
+    final class Zstandard implements BlockCompressor {
+        static final BlockCompressor INSTANCE = new Zstandard();
+
+        private static final int COMPRESSION_LEVEL = 3;
+
+        @Override
+        public int maxCompressedLength(int length) {
+            return (int) Zstd.compressBound(length);
+        }
+
+        @Override
+        public int compress(byte[] src, int srcOffset, int srcLength, byte[] dest, int destOffset, int maxDestLength) {
+            final long written = Zstd.compressByteArray(dest, destOffset, maxDestLength, src, srcOffset, srcLength, COMPRESSION_LEVEL);
+            return Zstd.isError(written) ? -1 : (int) written;
+        }
+
+        @Override
+        public void decompress(ByteBuffer src, int srcOffset, int srcLength, byte[] dest, int destOffset, int originalLength) {
+            final long read;
+            if (src.hasArray()) {
+                read = Zstd.decompressByteArray(dest, destOffset, originalLength, src.array(), src.arrayOffset() + srcOffset, srcLength);
+            } else {
+                final byte[] copy = new byte[srcLength];
+                final ByteBuffer duplicate = src.duplicate();
+                duplicate.position(srcOffset);
+                duplicate.get(copy);
+                read = Zstd.decompressByteArray(dest, destOffset, originalLength, copy, 0, srcLength);
+            }
+            if (Zstd.isError(read)) {
+                throw new AchillesTranscodingException("Cannot decompress ZSTD value : " + Zstd.getErrorName(read));
+            } else if (read != originalLength) {
+                throw new AchillesTranscodingException(String.format("Truncated ZSTD value, expected %s bytes but got %s",
+                        originalLength, read));
+            }
+        }
+    }
+}
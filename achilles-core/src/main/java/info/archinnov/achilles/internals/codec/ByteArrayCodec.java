@@ -43,9 +43,10 @@ public class ByteArrayCodec implements Codec<Byte[], ByteBuffer> {
     @Override
     public ByteBuffer encode(Byte[] fromJava) throws AchillesTranscodingException {
         if (fromJava == null) return null;
-        byte[] bytesPrimitive = new byte[fromJava.length];
-        int i = 0;
-        for (byte b : fromJava) bytesPrimitive[i++] = b;
+        final byte[] bytesPrimitive = new byte[fromJava.length];
+        for (int i = 0; i < fromJava.length; i++) {
+            bytesPrimitive[i] = fromJava[i];
+        }
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(String.format("Encoding Byte[] '%s' to ByteBuffer", Bytes.toHexString(ByteBuffer.wrap(bytesPrimitive).duplicate())));
         }
@@ -61,13 +62,16 @@ public class ByteArrayCodec implements Codec<Byte[], ByteBuffer> {
         return readByteBuffer(fromCassandra);
     }
 
-    private Byte[] readByteBuffer(Object fromCassandra) {
-        ByteBuffer byteBuffer = (ByteBuffer) fromCassandra;
-        byte[] bytes = new byte[byteBuffer.remaining()];
-        byteBuffer.get(bytes);
-        Byte[] byteObjects = new Byte[bytes.length];
-        int i = 0;
-        for (byte b : bytes) byteObjects[i++] = b;
+    /**
+     * Box the bytes straight from the buffer, without an intermediate byte[] copy.
+     * Boxing itself does not allocate since all Byte values are cached
+     */
+    private Byte[] readByteBuffer(ByteBuffer byteBuffer) {
+        final int position = byteBuffer.position();
+        final Byte[] byteObjects = new Byte[byteBuffer.remaining()];
+        for (int i = 0; i < byteObjects.length; i++) {
+            byteObjects[i] = byteBuffer.get(position + i);
+        }
         return byteObjects;
     }
 }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codec;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.nio.ByteBuffer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.archinnov.achilles.annotations.Compressed;
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+import info.archinnov.achilles.type.codec.Codec;
+
+/**
+ * Codec compressing the output of another codec into a <strong>blob</strong>.
+ * <br/>
+ * <br/>
+ * The first byte of the blob records the algorithm, 0 meaning that the value is stored as is.
+ * For compressed values, it is followed by the uncompressed length on 4 bytes.
+ * Decoding reads straight from the driver ByteBuffer, uncompressed values are only sliced
+ */
+public class CompressedCodec<FROM, TO> implements Codec<FROM, ByteBuffer> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompressedCodec.class);
+
+    static final byte UNCOMPRESSED = 0;
+    static final byte LZ4 = 1;
+    static final byte ZSTD = 2;
+    static final byte DEFLATE = 3;
+
+    private static final int HEADER_SIZE = 1;
+    private static final int COMPRESSED_HEADER_SIZE = HEADER_SIZE + 4;
+
+    private final Codec<FROM, TO> delegate;
+    private final Compressed.Algorithm algorithm;
+    private final int minSize;
+    private final Function<TO, ByteBuffer> toBytes;
+    private final Function<ByteBuffer, TO> fromBytes;
+
+    private CompressedCodec(Codec<FROM, TO> delegate, Compressed.Algorithm algorithm, int minSize,
+                            Function<TO, ByteBuffer> toBytes, Function<ByteBuffer, TO> fromBytes) {
+        this.delegate = delegate;
+        this.algorithm = algorithm;
+        this.minSize = minSize;
+        this.toBytes = toBytes;
+        this.fromBytes = fromBytes;
+    }
+
+    public static <FROM> CompressedCodec<FROM, String> forText(Codec<FROM, String> delegate, Compressed.Algorithm algorithm, int minSize) {
+        return new CompressedCodec<>(delegate, algorithm, minSize,
+                text -> ByteBuffer.wrap(text.getBytes(UTF_8)),
+                CompressedCodec::decodeUTF8);
+    }
+
+    public static <FROM> CompressedCodec<FROM, ByteBuffer> forBlob(Codec<FROM, ByteBuffer> delegate, Compressed.Algorithm algorithm, int minSize) {
+        return new CompressedCodec<>(delegate, algorithm, minSize, Function.identity(), Function.identity());
+    }
+
+    public Codec<FROM, TO> delegate() {
+        return delegate;
+    }
+
+    @Override
+    public Class<FROM> sourceType() {
+        return delegate.sourceType();
+    }
+
+    @Override
+    public Class<ByteBuffer> targetType() {
+        return ByteBuffer.class;
+    }
+
+    @Override
+    public ByteBuffer encode(FROM fromJava) throws AchillesTranscodingException {
+        final TO encoded = delegate.encode(fromJava);
+        if (encoded == null) return null;
+
+        final ByteBuffer bytes = toBytes.apply(encoded);
+        final int length = bytes.remaining();
+        final byte[] src;
+        final int srcOffset;
+        if (bytes.hasArray()) {
+            src = bytes.array();
+            srcOffset = bytes.arrayOffset() + bytes.position();
+        } else {
+            src = new byte[length];
+            srcOffset = 0;
+            bytes.duplicate().get(src);
+        }
+
+        if (length >= minSize) {
+            final BlockCompressor compressor = BlockCompressor.forAlgorithm(algorithm);
+            final int maxLength = compressor.maxCompressedLength(length);
+            final byte[] dest = new byte[COMPRESSED_HEADER_SIZE + maxLength];
+            final int compressedLength = compressor.compress(src, srcOffset, length, dest, COMPRESSED_HEADER_SIZE, maxLength);
+            if (compressedLength >= 0 && compressedLength < length) {
+                if (LOGGER.isTraceEnabled()) {
+                    LOGGER.trace(String.format("Compressed value of %s bytes to %s bytes with %s", length, compressedLength, algorithm));
+                }
+                dest[0] = codeFor(algorithm);
+                ByteBuffer.wrap(dest, HEADER_SIZE, 4).putInt(length);
+                return ByteBuffer.wrap(dest, 0, COMPRESSED_HEADER_SIZE + compressedLength);
+            }
+        }
+
+        final byte[] dest = new byte[HEADER_SIZE + length];
+        dest[0] = UNCOMPRESSED;
+        System.arraycopy(src, srcOffset, dest, HEADER_SIZE, length);
+        return ByteBuffer.wrap(dest);
+    }
+
+    @Override
+    public FROM decode(ByteBuffer fromCassandra) throws AchillesTranscodingException {
+        if (fromCassandra == null) return null;
+        final int position = fromCassandra.position();
+        final int length = fromCassandra.remaining();
+        if (length < HEADER_SIZE) {
+            throw new AchillesTranscodingException("Compressed value should contain at least the header byte");
+        }
+
+        final byte code = fromCassandra.get(position);
+        final ByteBuffer payload;
+        if (code == UNCOMPRESSED) {
+            final ByteBuffer slice = fromCassandra.duplicate();
+            slice.position(position + HEADER_SIZE);
+            payload = slice.slice();
+        } else {
+            if (length < COMPRESSED_HEADER_SIZE) {
+                throw new AchillesTranscodingException("Compressed value header is truncated");
+            }
+            final int originalLength = fromCassandra.getInt(position + HEADER_SIZE);
+            if (originalLength < 0) {
+                throw new AchillesTranscodingException("Invalid uncompressed length " + originalLength);
+            }
+            final byte[] dest = new byte[originalLength];
+            compressorFor(code).decompress(fromCassandra, position + COMPRESSED_HEADER_SIZE, length - COMPRESSED_HEADER_SIZE,
+                    dest, 0, originalLength);
+            payload = ByteBuffer.wrap(dest);
+        }
+        return delegate.decode(fromBytes.apply(payload));
+    }
+
+    private static byte codeFor(Compressed.Algorithm algorithm) {
+        switch (algorithm) {
+            case LZ4:
+                return LZ4;
+            case ZSTD:
+                return ZSTD;
+            case DEFLATE:
+                return DEFLATE;
+            default:
+                throw new AchillesTranscodingException("Unsupported compression algorithm " + algorithm);
+        }
+    }
+
+    private static BlockCompressor compressorFor(byte code) {
+        switch (code) {
+            case LZ4:
+                return BlockCompressor.forAlgorithm(Compressed.Algorithm.LZ4);
+            case ZSTD:
+                return BlockCompressor.forAlgorithm(Compressed.Algorithm.ZSTD);
+            case DEFLATE:
+                return BlockCompressor.forAlgorithm(Compressed.Algorithm.DEFLATE);
+            default:
+                throw new AchillesTranscodingException("Unknown compression header " + code);
+        }
+    }
+
+    private static String decodeUTF8(ByteBuffer bytes) {
+        if (bytes.hasArray()) {
+            return new String(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(), UTF_8);
+        } else {
+            return UTF_8.decode(bytes.duplicate()).toString();
+        }
+    }
+}
@@ -24,6 +24,8 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.type.TypeFactory;
 
 import info.archinnov.achilles.exception.AchillesTranscodingException;
@@ -36,7 +38,8 @@ public class JSONCodec<TYPE> implements Codec<TYPE, String> {
     private final Class<?> sourceType;
     private final JavaType exactType;
 
-    private ObjectMapper objectMapper;
+    private ObjectReader objectReader;
+    private ObjectWriter objectWriter;
 
     public JSONCodec(Class<?> sourceType, JavaType exactType) {
         this.sourceType = sourceType;
@@ -44,7 +47,8 @@ public class JSONCodec<TYPE> implements Codec<TYPE, String> {
     }
 
     public void setObjectMapper(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+        this.objectReader = objectMapper.reader(exactType);
+        this.objectWriter = objectMapper.writer();
     }
 
     @Override
@@ -64,7 +68,7 @@ public class JSONCodec<TYPE> implements Codec<TYPE, String> {
             LOGGER.trace(String.format("Encoding object %s to JSON", fromJava));
         }
         try {
-            return objectMapper.writeValueAsString(fromJava);
+            return objectWriter.writeValueAsString(fromJava);
         } catch (JsonProcessingException e) {
             throw new AchillesTranscodingException(e);
         }
@@ -77,7 +81,7 @@ public class JSONCodec<TYPE> implements Codec<TYPE, String> {
             LOGGER.trace(String.format("Decoding object type %s from JSON %s", exactType, fromCassandra));
         }
         try {
-            return objectMapper.readValue(fromCassandra, exactType);
+            return objectReader.readValue(fromCassandra);
         } catch (IOException e) {
             throw new AchillesTranscodingException(e);
         }
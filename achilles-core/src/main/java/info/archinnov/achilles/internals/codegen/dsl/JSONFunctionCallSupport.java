@@ -32,12 +32,22 @@ import info.archinnov.achilles.internals.codegen.dsl.AbstractDSLCodeGen.ReturnTy
 import info.archinnov.achilles.internals.codegen.dsl.update.UpdateDSLCodeGen.ParentSignature;
 import info.archinnov.achilles.internals.parser.FieldParser.FieldMetaSignature;
 import info.archinnov.achilles.internals.parser.TypeUtils;
+import info.archinnov.achilles.internals.parser.context.GlobalParsingContext;
 
-public interface JSONFunctionCallSupport {
+public interface JSONFunctionCallSupport extends QueryLintSupport {
 
-    default TypeSpec buildSelectFromJSON(String className,
+    default TypeSpec buildSelectFromJSON(GlobalParsingContext context,
+                                         String className,
                                          TypeName selectWhereJSONTypeName,
-                                         TypeName selectEndJSONTypeName) {
+                                         TypeName selectEndJSONTypeName,
+                                         boolean indexQuery) {
+
+        final MethodSpec where = MethodSpec.methodBuilder("where")
+                .addJavadoc("Generate a SELECT ... FROM ... <strong>WHERE</strong> ...")
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addStatement("return new $T(where)", selectWhereJSONTypeName)
+                .returns(selectWhereJSONTypeName)
+                .build();
 
         return TypeSpec.classBuilder(className)
                 .superclass(ABSTRACT_SELECT_FROM_JSON)
@@ -46,18 +56,13 @@ public interface JSONFunctionCallSupport {
                         .addParameter(SELECT_DOT_WHERE, "where")
                         .addStatement("super(where)")
                         .build())
-                .addMethod(MethodSpec.methodBuilder("where")
-                        .addJavadoc("Generate a SELECT ... FROM ... <strong>WHERE</strong> ...")
-                        .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
-                        .addStatement("return new $T(where)", selectWhereJSONTypeName)
-                        .returns(selectWhereJSONTypeName)
-                        .build())
-                .addMethod(MethodSpec.methodBuilder("without_WHERE_Clause")
+                .addMethod(indexQuery ? lintMultiPartitionQuery(context, where, ALLOW_FILTERING) : where)
+                .addMethod(lintMultiPartitionQuery(context, MethodSpec.methodBuilder("without_WHERE_Clause")
                         .addJavadoc("Generate a SELECT statement <strong>without</strong> the <strong>WHERE</strong> clause")
                         .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                         .addStatement("return new $T(where)", selectEndJSONTypeName)
                         .returns(selectEndJSONTypeName)
-                        .build())
+                        .build(), UNBOUNDED_SCAN))
                 .build();
     }
 
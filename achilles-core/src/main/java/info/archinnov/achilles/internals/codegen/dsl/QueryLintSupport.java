@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codegen.dsl;
+
+import static info.archinnov.achilles.internals.parser.TypeUtils.MULTI_PARTITION_QUERY;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.MethodSpec;
+
+import info.archinnov.achilles.internals.parser.context.GlobalParsingContext;
+import info.archinnov.achilles.type.QueryLintLevel;
+
+public interface QueryLintSupport {
+
+    String UNBOUNDED_SCAN = "SELECT without WHERE clause scans the whole table";
+    String PARTITION_KEY_IN = "IN on partition key fans out to several partitions";
+    String ALLOW_FILTERING = "SELECT on secondary index is issued with ALLOW FILTERING and hits all nodes";
+
+    default MethodSpec lintMultiPartitionQuery(GlobalParsingContext context, MethodSpec methodSpec, String reason) {
+        if (context.queryLintLevel == QueryLintLevel.NONE) {
+            return methodSpec;
+        }
+
+        final MethodSpec.Builder builder = methodSpec.toBuilder()
+                .addAnnotation(AnnotationSpec.builder(MULTI_PARTITION_QUERY).addMember("value", "$S", reason).build());
+
+        if (context.queryLintLevel == QueryLintLevel.DEPRECATE) {
+            builder.addAnnotation(Deprecated.class);
+        }
+        return builder.build();
+    }
+}
@@ -29,6 +29,7 @@ import org.apache.commons.lang3.StringUtils;
 import com.squareup.javapoet.*;
 
 import info.archinnov.achilles.internals.codegen.dsl.AbstractDSLCodeGen;
+import info.archinnov.achilles.internals.codegen.dsl.QueryLintSupport;
 import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen.EntityMetaSignature;
 import info.archinnov.achilles.internals.metamodel.columns.ColumnType;
 import info.archinnov.achilles.internals.metamodel.columns.ComputedColumnInfo;
@@ -38,7 +39,7 @@ import info.archinnov.achilles.internals.parser.FieldParser.UDTMetaSignature;
 import info.archinnov.achilles.internals.parser.context.GlobalParsingContext;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
-public abstract class SelectDSLCodeGen extends AbstractDSLCodeGen {
+public abstract class SelectDSLCodeGen extends AbstractDSLCodeGen implements QueryLintSupport {
 
     public abstract void augmentSelectClass(GlobalParsingContext context, EntityMetaSignature signature, TypeSpec.Builder builder);
 
@@ -76,8 +77,8 @@ public abstract class SelectDSLCodeGen extends AbstractDSLCodeGen {
                 .addField(buildEntityClassField(signature))
                 .addType(buildSelectColumns(signature, signatureForSelectColumns))
                 .addType(buildSelectColumnsTypedMap(signature, signatureForSelectColumnsTypedMap))
-                .addType(buildSelectFrom(signature, firstPartitionKey))
-                .addType(buildSelectFromTypedMap(signature, firstPartitionKey));
+                .addType(buildSelectFrom(context, signature, firstPartitionKey))
+                .addType(buildSelectFromTypedMap(context, signature, firstPartitionKey));
 
         signature.fieldMetaSignatures
                 .stream()
@@ -198,7 +199,7 @@ public abstract class SelectDSLCodeGen extends AbstractDSLCodeGen {
         return selectColumnsBuilder.build();
     }
 
-    public TypeSpec buildSelectFrom(EntityMetaSignature signature, String firstPartitionKey) {
+    public TypeSpec buildSelectFrom(GlobalParsingContext context, EntityMetaSignature signature, String firstPartitionKey) {
         TypeName selectWhereTypeName = ClassName.get(DSL_PACKAGE, signature.selectWhereReturnType(firstPartitionKey));
 
         TypeName selectEndTypeName = ClassName.get(DSL_PACKAGE, signature.selectEndReturnType());
@@ -216,16 +217,16 @@ public abstract class SelectDSLCodeGen extends AbstractDSLCodeGen {
                         .addStatement("return new $T(where)", selectWhereTypeName)
                         .returns(selectWhereTypeName)
                         .build())
-                .addMethod(MethodSpec.methodBuilder("without_WHERE_Clause")
+                .addMethod(lintMultiPartitionQuery(context, MethodSpec.methodBuilder("without_WHERE_Clause")
                         .addJavadoc("Generate a SELECT statement <strong>without</strong> the <strong>WHERE</strong> clause")
                         .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                         .addStatement("return new $T(where)", selectEndTypeName)
                         .returns(selectEndTypeName)
-                        .build())
+                        .build(), UNBOUNDED_SCAN))
                 .build();
     }
 
-    public TypeSpec buildSelectFromTypedMap(EntityMetaSignature signature, String firstPartitionKey) {
+    public TypeSpec buildSelectFromTypedMap(GlobalParsingContext context, EntityMetaSignature signature, String firstPartitionKey) {
         TypeName selectWhereTypedMapTypeName = ClassName.get(DSL_PACKAGE, signature.selectWhereTypedMapReturnType(firstPartitionKey));
 
         TypeName selectEndTypedMapTypeName = ClassName.get(DSL_PACKAGE, signature.selectEndTypedMapReturnType());
@@ -243,12 +244,12 @@ public abstract class SelectDSLCodeGen extends AbstractDSLCodeGen {
                         .addStatement("return new $T(where)", selectWhereTypedMapTypeName)
                         .returns(selectWhereTypedMapTypeName)
                         .build())
-                .addMethod(MethodSpec.methodBuilder("without_WHERE_Clause")
+                .addMethod(lintMultiPartitionQuery(context, MethodSpec.methodBuilder("without_WHERE_Clause")
                         .addJavadoc("Generate a SELECT statement <strong>without</strong> the <strong>WHERE</strong> clause")
                         .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                         .addStatement("return new $T(where)", selectEndTypedMapTypeName)
                         .returns(selectEndTypedMapTypeName)
-                        .build())
+                        .build(), UNBOUNDED_SCAN))
                 .build();
     }
 
@@ -30,11 +30,12 @@ import com.squareup.javapoet.*;
 import info.archinnov.achilles.internals.codegen.dsl.AbstractDSLCodeGen;
 import info.archinnov.achilles.internals.codegen.dsl.BaseSingleColumnRestriction;
 import info.archinnov.achilles.internals.codegen.dsl.MultiColumnsSliceRestrictionCodeGen;
+import info.archinnov.achilles.internals.codegen.dsl.QueryLintSupport;
 import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen.EntityMetaSignature;
 import info.archinnov.achilles.internals.parser.context.GlobalParsingContext;
 
 public abstract class SelectWhereDSLCodeGen extends AbstractDSLCodeGen
-        implements BaseSingleColumnRestriction, MultiColumnsSliceRestrictionCodeGen {
+        implements BaseSingleColumnRestriction, MultiColumnsSliceRestrictionCodeGen, QueryLintSupport {
 
     public abstract void augmentSelectEndClass(TypeSpec.Builder selectEndClassBuilder, ClassSignatureInfo lastSignature);
 
@@ -65,9 +66,9 @@ public abstract class SelectWhereDSLCodeGen extends AbstractDSLCodeGen
                 SELECT_WHERE_TYPED_MAP_DSL_SUFFIX, SELECT_END_TYPED_MAP_DSL_SUFFIX,
                 ABSTRACT_SELECT_WHERE_PARTITION_TYPED_MAP, ABSTRACT_SELECT_WHERE_TYPED_MAP);
 
-        final List<TypeSpec> partitionKeysWhereClasses = buildWhereClassesInternal(signature, selectWhereDSLCodeGen, partitionKeys, clusteringCols,
+        final List<TypeSpec> partitionKeysWhereClasses = buildWhereClassesInternal(context, signature, selectWhereDSLCodeGen, partitionKeys, clusteringCols,
                 firstClustering, classSignatureParams);
-        final List<TypeSpec> partitionKeysWhereTypedMapClasses = buildWhereClassesInternal(signature, selectWhereDSLCodeGen, partitionKeys, clusteringCols,
+        final List<TypeSpec> partitionKeysWhereTypedMapClasses = buildWhereClassesInternal(context, signature, selectWhereDSLCodeGen, partitionKeys, clusteringCols,
                 firstClustering, typedMapClassSignatureParams);
         partitionKeysWhereClasses.addAll(partitionKeysWhereTypedMapClasses);
 
@@ -76,7 +77,7 @@ public abstract class SelectWhereDSLCodeGen extends AbstractDSLCodeGen
         return partitionKeysWhereClasses;
     }
 
-    public List<TypeSpec> buildWhereClassesInternal(EntityMetaSignature signature, SelectWhereDSLCodeGen selectWhereDSLCodeGen,
+    public List<TypeSpec> buildWhereClassesInternal(GlobalParsingContext context, EntityMetaSignature signature, SelectWhereDSLCodeGen selectWhereDSLCodeGen,
                                                     List<FieldSignatureInfo> partitionKeys, List<FieldSignatureInfo> clusteringCols,
                                                     Optional<FieldSignatureInfo> firstClustering, ClassSignatureParams classSignatureParams) {
 
@@ -87,7 +88,7 @@ public abstract class SelectWhereDSLCodeGen extends AbstractDSLCodeGen
                 partitionKeysCopy, clusteringColsCopy, WhereClauseFor.NORMAL);
 
         final ClassSignatureInfo lastSignature = classesSignature.get(classesSignature.size() - 1);
-        final List<TypeSpec> partitionKeysWhereClasses = buildWhereClassesForPartitionKeys(signature.selectClassName(), partitionKeysCopy, classesSignature);
+        final List<TypeSpec> partitionKeysWhereClasses = buildWhereClassesForPartitionKeys(context, signature.selectClassName(), partitionKeysCopy, classesSignature);
         final List<TypeSpec> clusteringColsWhereClasses = buildWhereClassesForClusteringColumns(signature, firstClustering,
                 clusteringColsCopy, classesSignature, lastSignature);
 
@@ -160,7 +161,8 @@ public abstract class SelectWhereDSLCodeGen extends AbstractDSLCodeGen
     }
 
 
-    public List<TypeSpec> buildWhereClassesForPartitionKeys(String rootClassName,
+    public List<TypeSpec> buildWhereClassesForPartitionKeys(GlobalParsingContext context,
+                                                            String rootClassName,
                                                             List<FieldSignatureInfo> partitionKeys,
                                                             List<ClassSignatureInfo> classesSignature) {
         if (partitionKeys.isEmpty()) {
@@ -168,14 +170,15 @@ public abstract class SelectWhereDSLCodeGen extends AbstractDSLCodeGen
         } else {
             final FieldSignatureInfo partitionKeyInfo = partitionKeys.remove(0);
             final ClassSignatureInfo classSignature = classesSignature.remove(0);
-            final TypeSpec typeSpec = buildSelectWhereForPartitionKey(rootClassName, partitionKeyInfo, classSignature, classesSignature.get(0));
-            final List<TypeSpec> typeSpecs = buildWhereClassesForPartitionKeys(rootClassName, partitionKeys, classesSignature);
+            final TypeSpec typeSpec = buildSelectWhereForPartitionKey(context, rootClassName, partitionKeyInfo, classSignature, classesSignature.get(0));
+            final List<TypeSpec> typeSpecs = buildWhereClassesForPartitionKeys(context, rootClassName, partitionKeys, classesSignature);
             typeSpecs.add(0, typeSpec);
             return typeSpecs;
         }
     }
 
-    public TypeSpec buildSelectWhereForPartitionKey(String rootClassName,
+    public TypeSpec buildSelectWhereForPartitionKey(GlobalParsingContext context,
+                                                    String rootClassName,
                                                     FieldSignatureInfo partitionInfo,
                                                     ClassSignatureInfo classSignature,
                                                     ClassSignatureInfo nextSignature) {
@@ -187,7 +190,8 @@ public abstract class SelectWhereDSLCodeGen extends AbstractDSLCodeGen
         final TypeSpec.Builder relationClassBuilder = TypeSpec.classBuilder(DSL_RELATION)
                 .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                 .addMethod(buildColumnRelation(EQ, nextSignature.returnClassType, partitionInfo, ReturnType.NEW))
-                .addMethod(buildColumnInVarargs(nextSignature.returnClassType, partitionInfo, ReturnType.NEW));
+                .addMethod(lintMultiPartitionQuery(context, buildColumnInVarargs(nextSignature.returnClassType, partitionInfo, ReturnType.NEW),
+                        PARTITION_KEY_IN));
 
         augmentRelationClassForWhereClause(relationClassBuilder, partitionInfo, nextSignature, ReturnType.NEW);
 
@@ -54,7 +54,7 @@ public class SelectDSLCodeGen2_2 extends SelectDSLCodeGen
         TypeName selectEndJSONTypeName = ClassName.get(DSL_PACKAGE, signature.selectEndJSONReturnType());
 
         final String className = signature.className + SELECT_FROM_JSON_DSL_SUFFIX;
-        builder.addType(buildSelectFromJSON(className, selectWhereJSONTypeName, selectEndJSONTypeName));
+        builder.addType(buildSelectFromJSON(context, className, selectWhereJSONTypeName, selectEndJSONTypeName, false));
         builder.addMethod(buildAllColumnsJSON(selectFromJSONTypeName, SELECT_DOT_WHERE, "select"));
         builder.addMethod(buildAllColumnsJSONWithSchemaProvider(selectFromJSONTypeName, SELECT_DOT_WHERE, "select"));
     }
@@ -48,7 +48,7 @@ public class SelectWhereDSLCodeGen2_2 extends SelectWhereDSLCodeGen
 
         final Optional<FieldSignatureInfo> firstClustering = clusteringCols.stream().limit(1).findFirst();
 
-        return buildWhereClassesInternal(signature, context.selectWhereDSLCodeGen(),
+        return buildWhereClassesInternal(context, signature, context.selectWhereDSLCodeGen(),
                 partitionKeys, clusteringCols,
                 firstClustering, jsonClassSignatureParams);
 
@@ -356,6 +356,7 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addParameter(nestedType, param, Modifier.FINAL)
                 .addStatement("where.with($T.setIdx($S, index, $T.bindMarker($S)))",
                         QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addStatement("where.setIdempotent(false)")
                 .addStatement("boundValues.add($N)", param)
                 .addStatement("encodedValues.add(meta.$L.valueProperty.encodeFromJava($N))", fieldName, param)
                 .returns(newTypeName);
@@ -366,6 +367,7 @@ public abstract class UpdateDSLCodeGen extends AbstractDSLCodeGen {
                 .addParameter(TypeName.INT, "index", Modifier.FINAL)
                 .addStatement("where.with($T.setIdx($S, index, $T.bindMarker($S)))",
                         QUERY_BUILDER, cqlColumn, QUERY_BUILDER, cqlColumn)
+                .addStatement("where.setIdempotent(false)")
                 .addStatement("boundValues.add(null)")
                 .addStatement("encodedValues.add(null)")
                 .returns(newTypeName);
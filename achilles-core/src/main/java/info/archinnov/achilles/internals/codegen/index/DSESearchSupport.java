@@ -32,6 +32,8 @@ import info.archinnov.achilles.internals.codegen.dsl.AbstractDSLCodeGen.FieldSig
 import info.archinnov.achilles.internals.codegen.dsl.AbstractDSLCodeGen.ReturnType;
 import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen;
 import info.archinnov.achilles.internals.parser.context.DSESearchInfoContext;
+import info.archinnov.achilles.type.tuples.Tuple2;
+import info.archinnov.achilles.type.tuples.Tuple3;
 
 public interface DSESearchSupport {
 
@@ -111,7 +113,7 @@ public interface DSESearchSupport {
                 .addStatement("where.and($T.eq($S, $T.bindMarker($S)))",
                         QUERY_BUILDER, "solr_query", QUERY_BUILDER, "solr_query")
                 .endControlFlow()
-                .addStatement("options.appendToSolrQuery($S + $N + $S)", fieldInfo.quotedCqlColumn + ":",
+                .addStatement("options.appendToSolrQuery($S, $N, $S)", fieldInfo.quotedCqlColumn + ":",
                         fieldInfo.fieldName, "*")
                 .returns(nextType);
 
@@ -133,7 +135,7 @@ public interface DSESearchSupport {
                 .addStatement("where.and($T.eq($S, $T.bindMarker($S)))",
                         QUERY_BUILDER, "solr_query", QUERY_BUILDER, "solr_query")
                 .endControlFlow()
-                .addStatement("options.appendToSolrQuery($S + $N)", fieldInfo.quotedCqlColumn + ":*", fieldInfo.fieldName)
+                .addStatement("options.appendToSolrQuery($S, $N, $S)", fieldInfo.quotedCqlColumn + ":*", fieldInfo.fieldName, "")
                 .returns(nextType);
 
         if (returnType == ReturnType.NEW) {
@@ -154,7 +156,7 @@ public interface DSESearchSupport {
                 .addStatement("where.and($T.eq($S, $T.bindMarker($S)))",
                         QUERY_BUILDER, "solr_query", QUERY_BUILDER, "solr_query")
                 .endControlFlow()
-                .addStatement("options.appendToSolrQuery($S + $N + $S)", fieldInfo.quotedCqlColumn + ":*", fieldInfo.fieldName, "*")
+                .addStatement("options.appendToSolrQuery($S, $N, $S)", fieldInfo.quotedCqlColumn + ":*", fieldInfo.fieldName, "*")
                 .returns(nextType);
 
         if (returnType == ReturnType.NEW) {
@@ -168,6 +170,7 @@ public interface DSESearchSupport {
     default MethodSpec buildDSESingleRelation(String relation, TypeName nextType, FieldSignatureInfo fieldInfo, ReturnType returnType) {
 
         final String param = fieldInfo.fieldName;
+        final Tuple2<String, String> solrSyntax = relationToSolrSyntaxForQuery(relation);
         final MethodSpec.Builder builder = MethodSpec.methodBuilder(upperCaseFirst(relation))
                 .addJavadoc("Generate a SELECT ... FROM ... WHERE ... <strong>solr_query='$L:$S'</strong>", fieldInfo.quotedCqlColumn, relationToSolrSyntaxForJavadoc(relation))
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
@@ -177,10 +180,10 @@ public interface DSESearchSupport {
                 .addStatement("where.and($T.eq($S, $T.bindMarker($S)))",
                         QUERY_BUILDER, "solr_query", QUERY_BUILDER, "solr_query")
                 .endControlFlow()
-                .addStatement("options.appendToSolrQuery($T.format($S, $S, meta.$L.encodeFromJava($N)))",
-                        STRING, relationToSolrSyntaxForQuery(relation),
-                        fieldInfo.quotedCqlColumn,
-                        fieldInfo.fieldName, param)
+                .addStatement("options.appendToSolrQuery($S, meta.$L.encodeFromJava($N), $S)",
+                        fieldInfo.quotedCqlColumn + solrSyntax._1(),
+                        fieldInfo.fieldName, param,
+                        solrSyntax._2())
                 .returns(nextType);
 
         if (returnType == ReturnType.NEW) {
@@ -194,8 +197,8 @@ public interface DSESearchSupport {
     default MethodSpec buildDSESingleDateRelation(String relation, TypeName nextType, FieldSignatureInfo fieldInfo, ReturnType returnType) {
         final String param = fieldInfo.fieldName;
 
-        final String queryString = relation.equals(EQ)
-                ? "%s:\"%s\""
+        final Tuple2<String, String> solrSyntax = relation.equals(EQ)
+                ? Tuple2.of(":\"", "\"")
                 : relationToSolrSyntaxForQuery(relation);
 
         final MethodSpec.Builder builder = MethodSpec.methodBuilder(upperCaseFirst(relation))
@@ -208,10 +211,10 @@ public interface DSESearchSupport {
                 .addStatement("where.and($T.eq($S, $T.bindMarker($S)))",
                         QUERY_BUILDER, "solr_query", QUERY_BUILDER, "solr_query")
                 .endControlFlow()
-                .addStatement("options.appendToSolrQuery($T.format($S, $S, dateFormat.format(meta.$L.encodeFromJava($N))))",
-                        STRING, queryString,
-                        fieldInfo.quotedCqlColumn,
-                        fieldInfo.fieldName, param)
+                .addStatement("options.appendToSolrQuery($S, dateFormat.format(meta.$L.encodeFromJava($N)), $S)",
+                        fieldInfo.quotedCqlColumn + solrSyntax._1(),
+                        fieldInfo.fieldName, param,
+                        solrSyntax._2())
                 .returns(nextType);
 
         if (returnType == ReturnType.NEW) {
@@ -225,6 +228,7 @@ public interface DSESearchSupport {
     default MethodSpec buildDSEDoubleRelation(String relation1, String relation2, TypeName nextType, FieldSignatureInfo fieldInfo, ReturnType returnType) {
         final String param1 = fieldInfo.fieldName + "_" + relation1;
         final String param2 = fieldInfo.fieldName + "_" + relation2;
+        final Tuple3<String, String, String> solrSyntax = relationToSolrSyntaxForQuery(relation1, relation2);
         final MethodSpec.Builder builder = MethodSpec.methodBuilder(upperCaseFirst(relation1) + "_And_" + upperCaseFirst(relation2))
                 .addJavadoc("Generate a SELECT ... FROM ... WHERE ... <strong>solr_query='$L:$S'</strong>", fieldInfo.quotedCqlColumn, relationToSolrSyntaxForJavadoc(relation1, relation2))
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
@@ -235,10 +239,12 @@ public interface DSESearchSupport {
                 .addStatement("where.and($T.eq($S, $T.bindMarker($S)))",
                         QUERY_BUILDER, "solr_query", QUERY_BUILDER, "solr_query")
                 .endControlFlow()
-                .addStatement("options.appendToSolrQuery($T.format($S, $S, meta.$L.encodeFromJava($N), meta.$L.encodeFromJava($N)))",
-                        STRING, relationToSolrSyntaxForQuery(relation1, relation2),
-                        fieldInfo.quotedCqlColumn,
-                        fieldInfo.fieldName, param1, fieldInfo.fieldName, param2)
+                .addStatement("options.appendToSolrQuery($S, meta.$L.encodeFromJava($N), $S, meta.$L.encodeFromJava($N), $S)",
+                        fieldInfo.quotedCqlColumn + solrSyntax._1(),
+                        fieldInfo.fieldName, param1,
+                        solrSyntax._2(),
+                        fieldInfo.fieldName, param2,
+                        solrSyntax._3())
                 .returns(nextType);
 
         if (returnType == ReturnType.NEW) {
@@ -252,6 +258,7 @@ public interface DSESearchSupport {
     default MethodSpec buildDSEDoubleDateRelation(String relation1, String relation2, TypeName nextType, FieldSignatureInfo fieldInfo, ReturnType returnType) {
         final String param1 = fieldInfo.fieldName + "_" + relation1;
         final String param2 = fieldInfo.fieldName + "_" + relation2;
+        final Tuple3<String, String, String> solrSyntax = relationToSolrSyntaxForQuery(relation1, relation2);
         final MethodSpec.Builder builder = MethodSpec.methodBuilder(upperCaseFirst(relation1) + "_And_" + upperCaseFirst(relation2))
                 .addJavadoc("Generate a SELECT ... FROM ... WHERE ... <strong>solr_query='$L:$S'</strong>", fieldInfo.quotedCqlColumn, relationToSolrSyntaxForJavadoc(relation1, relation2))
                 .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "static-access").build())
@@ -263,10 +270,12 @@ public interface DSESearchSupport {
                 .addStatement("where.and($T.eq($S, $T.bindMarker($S)))",
                         QUERY_BUILDER, "solr_query", QUERY_BUILDER, "solr_query")
                 .endControlFlow()
-                .addStatement("options.appendToSolrQuery($T.format($S, $S, dateFormat.format(meta.$L.encodeFromJava($N)), dateFormat.format(meta.$L.encodeFromJava($N))))",
-                        STRING, relationToSolrSyntaxForQuery(relation1, relation2),
-                        fieldInfo.quotedCqlColumn,
-                        fieldInfo.fieldName, param1, fieldInfo.fieldName, param2)
+                .addStatement("options.appendToSolrQuery($S, dateFormat.format(meta.$L.encodeFromJava($N)), $S, dateFormat.format(meta.$L.encodeFromJava($N)), $S)",
+                        fieldInfo.quotedCqlColumn + solrSyntax._1(),
+                        fieldInfo.fieldName, param1,
+                        solrSyntax._2(),
+                        fieldInfo.fieldName, param2,
+                        solrSyntax._3())
                 .returns(nextType);
 
         if (returnType == ReturnType.NEW) {
@@ -289,8 +298,8 @@ public interface DSESearchSupport {
                 .addStatement("where.and($T.eq($S, $T.bindMarker($S)))",
                         QUERY_BUILDER, "solr_query", QUERY_BUILDER, "solr_query")
                 .endControlFlow()
-                .addStatement("options.appendToSolrQuery($T.format($S, $S, $N))",
-                        STRING, "%s:%s", fieldInfo.quotedCqlColumn, param)
+                .addStatement("options.appendToSolrQuery($S, $N, $S)",
+                        fieldInfo.quotedCqlColumn + ":", param, "")
                 .returns(nextType);
 
         if (returnType == ReturnType.NEW) {
@@ -353,34 +362,34 @@ public interface DSESearchSupport {
         }
     }
 
-    default String relationToSolrSyntaxForQuery(String relation) {
+    default Tuple2<String, String> relationToSolrSyntaxForQuery(String relation) {
         switch (relation) {
             case EQ:
-                return "%s:%s";
+                return Tuple2.of(":", "");
             case LT:
-                return "%s:[* TO %s}";
+                return Tuple2.of(":[* TO ", "}");
             case LTE:
-                return "%s:[* TO %s]";
+                return Tuple2.of(":[* TO ", "]");
             case GT:
-                return "%s:{%s TO *]";
+                return Tuple2.of(":{", " TO *]");
             case GTE:
-                return "%s:[%s TO *]";
+                return Tuple2.of(":[", " TO *]");
             default:
-                return " ??? ";
+                return Tuple2.of(" ??? ", "");
         }
     }
 
-    default String relationToSolrSyntaxForQuery(String relation1, String relation2) {
+    default Tuple3<String, String, String> relationToSolrSyntaxForQuery(String relation1, String relation2) {
         if (relation1.equals(GT) && relation2.equals(LT)) {
-            return "%s:{%s TO %s}";
+            return Tuple3.of(":{", " TO ", "}");
         } else if (relation1.equals(GT) && relation2.equals(LTE)) {
-            return "%s:{%s TO %s]";
+            return Tuple3.of(":{", " TO ", "]");
         } else if (relation1.equals(GTE) && relation2.equals(LT)) {
-            return "%s:[%s TO %s}";
+            return Tuple3.of(":[", " TO ", "}");
         } else if (relation1.equals(GTE) && relation2.equals(LTE)) {
-            return "%s:[%s TO %s]";
+            return Tuple3.of(":[", " TO ", "]");
         } else {
-            return "???";
+            return Tuple3.of("???", "", "");
         }
     }
 
@@ -57,8 +57,8 @@ public abstract class IndexSelectDSLCodeGen extends SelectDSLCodeGen {
                 .addField(buildEntityClassField(signature))
                 .addType(buildSelectColumns(signature, signatureForSelectColumns))
                 .addType(buildSelectColumnsTypedMap(signature, signatureForSelectColumnsTypedMap))
-                .addType(buildSelectFrom(signature))
-                .addType(buildSelectFromTypedMap(signature));
+                .addType(buildSelectFrom(context, signature))
+                .addType(buildSelectFromTypedMap(context, signature));
 
         signature.fieldMetaSignatures
                 .stream()
@@ -88,7 +88,7 @@ public abstract class IndexSelectDSLCodeGen extends SelectDSLCodeGen {
         return selectClassBuilder.build();
     }
 
-    public TypeSpec buildSelectFrom(EntityMetaSignature signature) {
+    public TypeSpec buildSelectFrom(GlobalParsingContext context, EntityMetaSignature signature) {
         TypeName selectWhereTypeName = ClassName.get(DSL_PACKAGE, signature.indexSelectWhereReturnType());
 
         TypeName selectEndTypeName = ClassName.get(DSL_PACKAGE, signature.indexSelectEndReturnType());
@@ -100,22 +100,22 @@ public abstract class IndexSelectDSLCodeGen extends SelectDSLCodeGen {
                         .addParameter(SELECT_DOT_WHERE, "where")
                         .addStatement("super(where)")
                         .build())
-                .addMethod(MethodSpec.methodBuilder("where")
+                .addMethod(lintMultiPartitionQuery(context, MethodSpec.methodBuilder("where")
                         .addJavadoc("Generate a SELECT ... FROM ... <strong>WHERE</strong> ...")
                         .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                         .addStatement("return new $T(where)", selectWhereTypeName)
                         .returns(selectWhereTypeName)
-                        .build())
-                .addMethod(MethodSpec.methodBuilder("without_WHERE_Clause")
+                        .build(), ALLOW_FILTERING))
+                .addMethod(lintMultiPartitionQuery(context, MethodSpec.methodBuilder("without_WHERE_Clause")
                         .addJavadoc("Generate a SELECT statement <strong>without</strong> the <strong>WHERE</strong> clause")
                         .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                         .addStatement("return new $T(where)", selectEndTypeName)
                         .returns(selectEndTypeName)
-                        .build())
+                        .build(), UNBOUNDED_SCAN))
                 .build();
     }
 
-    public TypeSpec buildSelectFromTypedMap(EntityMetaSignature signature) {
+    public TypeSpec buildSelectFromTypedMap(GlobalParsingContext context, EntityMetaSignature signature) {
         TypeName selectWhereTypedMapTypeName = ClassName.get(DSL_PACKAGE, signature.indexSelectWhereTypedMapReturnType());
 
         TypeName selectEndTypedMapTypeName = ClassName.get(DSL_PACKAGE, signature.indexSelectEndTypedMapReturnType());
@@ -127,18 +127,18 @@ public abstract class IndexSelectDSLCodeGen extends SelectDSLCodeGen {
                         .addParameter(SELECT_DOT_WHERE, "where")
                         .addStatement("super(where)")
                         .build())
-                .addMethod(MethodSpec.methodBuilder("where")
+                .addMethod(lintMultiPartitionQuery(context, MethodSpec.methodBuilder("where")
                         .addJavadoc("Generate a SELECT ... FROM ... <strong>WHERE</strong> ...")
                         .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                         .addStatement("return new $T(where)", selectWhereTypedMapTypeName)
                         .returns(selectWhereTypedMapTypeName)
-                        .build())
-                .addMethod(MethodSpec.methodBuilder("without_WHERE_Clause")
+                        .build(), ALLOW_FILTERING))
+                .addMethod(lintMultiPartitionQuery(context, MethodSpec.methodBuilder("without_WHERE_Clause")
                         .addJavadoc("Generate a SELECT statement <strong>without</strong> the <strong>WHERE</strong> clause")
                         .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
                         .addStatement("return new $T(where)", selectEndTypedMapTypeName)
                         .returns(selectEndTypedMapTypeName)
-                        .build())
+                        .build(), UNBOUNDED_SCAN))
                 .build();
     }
 }
@@ -41,7 +41,7 @@ public class IndexSelectDSLCodeGen2_2 extends IndexSelectDSLCodeGen2_1
         TypeName selectEndJSONTypeName = ClassName.get(DSL_PACKAGE, signature.indexSelectEndJSONReturnType());
 
         final String className = signature.className + INDEX_SELECT_FROM_JSON_DSL_SUFFIX;
-        builder.addType(buildSelectFromJSON(className, selectWhereJSONTypeName, selectEndJSONTypeName));
+        builder.addType(buildSelectFromJSON(context, className, selectWhereJSONTypeName, selectEndJSONTypeName, true));
         builder.addMethod(buildAllColumnsJSON(selectFromJSONTypeName, SELECT_DOT_WHERE, "select"));
         builder.addMethod(buildAllColumnsJSONWithSchemaProvider(selectFromJSONTypeName, SELECT_DOT_WHERE, "select"));
     }
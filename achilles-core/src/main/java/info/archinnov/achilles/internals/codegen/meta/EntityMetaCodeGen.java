@@ -162,6 +162,11 @@ public class EntityMetaCodeGen implements CommonBeanMetaCodeGen {
                     .addMethod(buildGetStaticInsertStrategy(strategy))
                     .addMethod(buildStaticColumns(fieldMetaSignatures, rawBeanType))
                     .addMethod(buildCounterColumns(fieldMetaSignatures, rawBeanType));
+
+            final String bulkhead = aptUtils.getAnnotationOnClass(elm, Table.class).get().bulkhead();
+            if (!isBlank(bulkhead)) {
+                builder.addMethod(buildGetStaticBulkhead(bulkhead));
+            }
         } else if (entityType == EntityType.VIEW && globalParsingContext.supportsFeature(MATERIALIZED_VIEW)) {
             builder.superclass(genericType(ABSTRACT_VIEW_PROPERTY, rawBeanType))
                     .addMethod(buildStaticKeyspace(aptUtils.getAnnotationOnClass(elm, MaterializedView.class).get().keyspace()))
@@ -454,6 +459,15 @@ public class EntityMetaCodeGen implements CommonBeanMetaCodeGen {
         }
     }
 
+    private MethodSpec buildGetStaticBulkhead(String bulkhead) {
+        return MethodSpec.methodBuilder("getStaticBulkhead")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PROTECTED)
+                .returns(genericType(OPTIONAL, STRING))
+                .addStatement("return $T.of($S)", OPTIONAL, bulkhead)
+                .build();
+    }
+
     private MethodSpec buildGetBaseEntityClass(TypeName baseEntityRawType) {
         return MethodSpec.methodBuilder("getBaseEntityClass")
                 .addAnnotation(Override.class)
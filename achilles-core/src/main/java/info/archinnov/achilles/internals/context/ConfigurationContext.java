@@ -35,6 +35,12 @@ import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.interceptor.DefaultPostLoadBeanValidationInterceptor;
 import info.archinnov.achilles.internals.interceptor.DefaultPreMutateBeanValidationInterceptor;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.runtime.Bulkheads;
+import info.archinnov.achilles.internals.runtime.HotPartitionDetector;
+import info.archinnov.achilles.internals.runtime.QueryListeners;
+import info.archinnov.achilles.internals.runtime.QueryTracer;
+import info.archinnov.achilles.internals.runtime.MultiPartitionQueryGuard;
+import info.archinnov.achilles.internals.runtime.SlowQueryLogger;
 import info.archinnov.achilles.internals.types.OverridingOptional;
 import info.archinnov.achilles.json.JacksonMapperFactory;
 import info.archinnov.achilles.type.SchemaNameProvider;
@@ -44,6 +50,7 @@ import info.archinnov.achilles.type.factory.BeanFactory;
 import info.archinnov.achilles.type.interceptor.Interceptor;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
 import info.archinnov.achilles.type.strategy.NamingStrategy;
+import info.archinnov.achilles.type.strategy.SpeculativeExecutionStrategy;
 import info.archinnov.achilles.type.tuples.Tuple3;
 
 public class ConfigurationContext {
@@ -94,6 +101,48 @@ public class ConfigurationContext {
 
     private Map<CodecSignature<?,?>, Codec<?, ?>> runtimeCodecs = new HashMap<>();
 
+    private long findByIdLoaderBatchWindowInMillis;
+
+    private boolean deduplicateInFlightSelects;
+
+    private SpeculativeExecutionStrategy defaultSpeculativeExecutionStrategy;
+
+    private Map<String, SpeculativeExecutionStrategy> speculativeExecutionStrategyMap = new HashMap<>();
+
+    private boolean adaptiveFetchSize;
+
+    private long adaptiveFetchSizePageBudgetInBytes;
+
+    private int adaptiveFetchSizeMin;
+
+    private int adaptiveFetchSizeMax;
+
+    private Optional<String> largeObjectTable = Optional.empty();
+
+    private int largeObjectChunkSizeInBytes;
+
+    private int largeObjectMaxConcurrentWrites;
+
+    private int largeObjectPrefetchChunks;
+
+    private QueryTracer queryTracer = QueryTracer.DEFAULT;
+
+    private Bulkheads bulkheads = Bulkheads.NONE;
+
+    private Optional<HotPartitionDetector> hotPartitionDetector = Optional.empty();
+
+    private boolean hotPartitionsJMXEnabled;
+
+    private boolean payloadSizeTracking;
+
+    private long largeMutationWarningThresholdInBytes;
+
+    private Optional<SlowQueryLogger> slowQueryLogger = Optional.empty();
+
+    private QueryListeners queryListeners = QueryListeners.NONE;
+
+    private Optional<MultiPartitionQueryGuard> multiPartitionQueryGuard = Optional.empty();
+
     public boolean isForceSchemaGeneration() {
         return forceSchemaGeneration;
     }
@@ -331,12 +380,18 @@ public class ConfigurationContext {
         LOGGER.debug("Injecting global consistency levels");
         entityProperty.injectConsistencyLevels(session, this);
 
+        LOGGER.debug("Injecting speculative execution strategy");
+        entityProperty.injectSpeculativeExecutionStrategy(this);
+
         LOGGER.debug("Injecting runtime codecs");
         entityProperty.injectRuntimeCodecs(runtimeCodecs);
 
         LOGGER.debug("Injecting user type factory and tuple type factory");
         entityProperty.inject(userTypeFactory, tupleTypeFactory);
 
+        LOGGER.debug("Injecting query tracer");
+        entityProperty.inject(queryTracer);
+
     }
 
 
@@ -355,4 +410,172 @@ public class ConfigurationContext {
     public void setRuntimeCodecs(Map<CodecSignature<?, ?>, Codec<?, ?>> runtimeCodecs) {
         this.runtimeCodecs = runtimeCodecs;
     }
+
+    public long getFindByIdLoaderBatchWindowInMillis() {
+        return findByIdLoaderBatchWindowInMillis;
+    }
+
+    public void setFindByIdLoaderBatchWindowInMillis(long findByIdLoaderBatchWindowInMillis) {
+        this.findByIdLoaderBatchWindowInMillis = findByIdLoaderBatchWindowInMillis;
+    }
+
+    public boolean isDeduplicateInFlightSelects() {
+        return deduplicateInFlightSelects;
+    }
+
+    public void setDeduplicateInFlightSelects(boolean deduplicateInFlightSelects) {
+        this.deduplicateInFlightSelects = deduplicateInFlightSelects;
+    }
+
+    public SpeculativeExecutionStrategy getDefaultSpeculativeExecutionStrategy() {
+        return defaultSpeculativeExecutionStrategy;
+    }
+
+    public void setDefaultSpeculativeExecutionStrategy(SpeculativeExecutionStrategy defaultSpeculativeExecutionStrategy) {
+        this.defaultSpeculativeExecutionStrategy = defaultSpeculativeExecutionStrategy;
+    }
+
+    public SpeculativeExecutionStrategy getSpeculativeExecutionStrategyForTable(String tableName) {
+        return speculativeExecutionStrategyMap.get(tableName);
+    }
+
+    public void setSpeculativeExecutionStrategyMap(Map<String, SpeculativeExecutionStrategy> speculativeExecutionStrategyMap) {
+        this.speculativeExecutionStrategyMap = speculativeExecutionStrategyMap;
+    }
+
+    public boolean isAdaptiveFetchSize() {
+        return adaptiveFetchSize;
+    }
+
+    public void setAdaptiveFetchSize(boolean adaptiveFetchSize) {
+        this.adaptiveFetchSize = adaptiveFetchSize;
+    }
+
+    public long getAdaptiveFetchSizePageBudgetInBytes() {
+        return adaptiveFetchSizePageBudgetInBytes;
+    }
+
+    public void setAdaptiveFetchSizePageBudgetInBytes(long adaptiveFetchSizePageBudgetInBytes) {
+        this.adaptiveFetchSizePageBudgetInBytes = adaptiveFetchSizePageBudgetInBytes;
+    }
+
+    public int getAdaptiveFetchSizeMin() {
+        return adaptiveFetchSizeMin;
+    }
+
+    public void setAdaptiveFetchSizeMin(int adaptiveFetchSizeMin) {
+        this.adaptiveFetchSizeMin = adaptiveFetchSizeMin;
+    }
+
+    public int getAdaptiveFetchSizeMax() {
+        return adaptiveFetchSizeMax;
+    }
+
+    public void setAdaptiveFetchSizeMax(int adaptiveFetchSizeMax) {
+        this.adaptiveFetchSizeMax = adaptiveFetchSizeMax;
+    }
+
+    public Optional<String> getLargeObjectTable() {
+        return largeObjectTable;
+    }
+
+    public void setLargeObjectTable(Optional<String> largeObjectTable) {
+        this.largeObjectTable = largeObjectTable;
+    }
+
+    public int getLargeObjectChunkSizeInBytes() {
+        return largeObjectChunkSizeInBytes;
+    }
+
+    public void setLargeObjectChunkSizeInBytes(int largeObjectChunkSizeInBytes) {
+        this.largeObjectChunkSizeInBytes = largeObjectChunkSizeInBytes;
+    }
+
+    public int getLargeObjectMaxConcurrentWrites() {
+        return largeObjectMaxConcurrentWrites;
+    }
+
+    public void setLargeObjectMaxConcurrentWrites(int largeObjectMaxConcurrentWrites) {
+        this.largeObjectMaxConcurrentWrites = largeObjectMaxConcurrentWrites;
+    }
+
+    public int getLargeObjectPrefetchChunks() {
+        return largeObjectPrefetchChunks;
+    }
+
+    public void setLargeObjectPrefetchChunks(int largeObjectPrefetchChunks) {
+        this.largeObjectPrefetchChunks = largeObjectPrefetchChunks;
+    }
+
+    public QueryTracer getQueryTracer() {
+        return queryTracer;
+    }
+
+    public void setQueryTracer(QueryTracer queryTracer) {
+        this.queryTracer = queryTracer;
+    }
+
+    public Bulkheads getBulkheads() {
+        return bulkheads;
+    }
+
+    public void setBulkheads(Bulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    public Optional<HotPartitionDetector> getHotPartitionDetector() {
+        return hotPartitionDetector;
+    }
+
+    public void setHotPartitionDetector(Optional<HotPartitionDetector> hotPartitionDetector) {
+        this.hotPartitionDetector = hotPartitionDetector;
+    }
+
+    public boolean isHotPartitionsJMXEnabled() {
+        return hotPartitionsJMXEnabled;
+    }
+
+    public void setHotPartitionsJMXEnabled(boolean hotPartitionsJMXEnabled) {
+        this.hotPartitionsJMXEnabled = hotPartitionsJMXEnabled;
+    }
+
+    public boolean isPayloadSizeTracking() {
+        return payloadSizeTracking;
+    }
+
+    public void setPayloadSizeTracking(boolean payloadSizeTracking) {
+        this.payloadSizeTracking = payloadSizeTracking;
+    }
+
+    public long getLargeMutationWarningThresholdInBytes() {
+        return largeMutationWarningThresholdInBytes;
+    }
+
+    public void setLargeMutationWarningThresholdInBytes(long largeMutationWarningThresholdInBytes) {
+        this.largeMutationWarningThresholdInBytes = largeMutationWarningThresholdInBytes;
+    }
+
+    public Optional<SlowQueryLogger> getSlowQueryLogger() {
+        return slowQueryLogger;
+    }
+
+    public void setSlowQueryLogger(Optional<SlowQueryLogger> slowQueryLogger) {
+        this.slowQueryLogger = slowQueryLogger;
+    }
+
+    public QueryListeners getQueryListeners() {
+        return queryListeners;
+    }
+
+    public void setQueryListeners(QueryListeners queryListeners) {
+        this.queryListeners = queryListeners;
+    }
+
+    public Optional<MultiPartitionQueryGuard> getMultiPartitionQueryGuard() {
+        return multiPartitionQueryGuard;
+    }
+
+    public void setMultiPartitionQueryGuard(Optional<MultiPartitionQueryGuard> multiPartitionQueryGuard) {
+        this.multiPartitionQueryGuard = multiPartitionQueryGuard;
+    }
 }
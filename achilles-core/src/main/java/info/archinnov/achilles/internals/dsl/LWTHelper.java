@@ -66,7 +66,7 @@ public class LWTHelper {
         lwtResultListeners.ifPresent(list -> list.forEach(listener -> listener.onSuccess()));
     }
 
-    private static boolean isLWTOperation(String queryString) {
+    public static boolean isLWTOperation(String queryString) {
         return queryString.contains(IF_CLAUSE);
     }
 
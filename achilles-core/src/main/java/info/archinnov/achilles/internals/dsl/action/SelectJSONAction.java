@@ -16,6 +16,8 @@
 
 package info.archinnov.achilles.internals.dsl.action;
 
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
@@ -45,6 +47,29 @@ public interface SelectJSONAction extends AsyncAware {
      */
     Tuple2<Iterator<String>, ExecutionInfo> iteratorWithExecutionInfo();
 
+    /**
+     * Execute the SELECT JSON * action
+     * and stream all the rows as a JSON array to the given {@link java.io.OutputStream}.
+     * Rows are written as they are fetched, page by page, and the stream is flushed
+     * while waiting for the next page. The stream is not closed
+     * <br/>
+     * WARNING: <strong>this method performs a blocking call to the underlying async query</strong>
+     *
+     * @return the number of rows written
+     */
+    long writeJSONTo(OutputStream outputStream);
+
+    /**
+     * Execute the SELECT JSON * action
+     * and stream all the rows as a JSON array to the given {@link java.nio.channels.WritableByteChannel}.
+     * Rows are written as they are fetched, page by page. The channel is not closed
+     * <br/>
+     * WARNING: <strong>this method performs a blocking call to the underlying async query</strong>
+     *
+     * @return the number of rows written
+     */
+    long writeJSONTo(WritableByteChannel channel);
+
     /**
      * Execute the SELECT JSON * action
      * and return the first row value as JSON
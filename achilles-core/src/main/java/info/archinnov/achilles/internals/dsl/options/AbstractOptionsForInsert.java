@@ -106,7 +106,7 @@ public abstract class AbstractOptionsForInsert<T extends AbstractOptionsForInser
      * Generate a <strong>USING TIMESTAMP ?</strong>
      */
     public T usingTimestamp(long timestamp) {
-        getOptions().setDefaultTimestamp(Optional.of(timestamp));
+        getOptions().setDefaultTimestamp(timestamp);
         return getThis();
     }
 
@@ -114,7 +114,7 @@ public abstract class AbstractOptionsForInsert<T extends AbstractOptionsForInser
      * Generate a <strong>USING TTL ?</strong>
      */
     public T usingTimeToLive(int timeToLive) {
-        getOptions().setTimeToLive(Optional.of(timeToLive));
+        getOptions().setTimeToLive(timeToLive);
         return getThis();
     }
 
@@ -43,7 +43,7 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
      * @throws NullPointerException if consistencyLevel is null
      */
     public T withConsistencyLevel(ConsistencyLevel consistencyLevel) {
-        getOptions().setCl(Optional.of(consistencyLevel));
+        getOptions().setCl(consistencyLevel);
         return getThis();
     }
 
@@ -60,7 +60,7 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
      * @throws NullPointerException if serialConsistencyLevel is null
      */
     public T withSerialConsistencyLevel(ConsistencyLevel serialConsistencyLevel) {
-        getOptions().setSerialCL(Optional.of(serialConsistencyLevel));
+        getOptions().setSerialCL(serialConsistencyLevel);
         return getThis();
     }
 
@@ -76,7 +76,25 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
      * Set the given fetch size on the generated statement
      */
     public T withFetchSize(int fetchSize) {
-        getOptions().setFetchSize(Optional.of(fetchSize));
+        getOptions().setFetchSize(fetchSize);
+        return getThis();
+    }
+
+    /**
+     * Compute the fetch size from the average row size observed for this query so that each page
+     * weighs about the configured page budget. Ignored if an explicit fetch size is set
+     */
+    public T withAdaptiveFetchSize() {
+        getOptions().setAdaptiveFetchSize(true);
+        return getThis();
+    }
+
+    /**
+     * Whether to compute the fetch size from the average row size observed for this query,
+     * overriding the global configuration. Ignored if an explicit fetch size is set
+     */
+    public T withAdaptiveFetchSize(boolean adaptiveFetchSize) {
+        getOptions().setAdaptiveFetchSize(adaptiveFetchSize);
         return getThis();
     }
 
@@ -84,7 +102,7 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
      * Hint the current statement as idempotent. Useful for retry strategy
      */
     public T isIdempotent() {
-        getOptions().setIdempotent(Optional.of(true));
+        getOptions().setIdempotent(true);
         return getThis();
     }
 
@@ -92,7 +110,7 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
      * Give a hint whether the current statement is idempotent. Useful for retry strategy
      */
     public T isIdempotent(boolean idempotent) {
-        getOptions().setIdempotent(Optional.of(idempotent));
+        getOptions().setIdempotent(idempotent);
         return getThis();
     }
 
@@ -101,7 +119,7 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
      * @throws NullPointerException if outgoingPayload is null
      */
     public T withOutgoingPayload(Map<String, ByteBuffer> outgoingPayload) {
-        getOptions().setOutgoingPayLoad(Optional.of(outgoingPayload));
+        getOptions().setOutgoingPayLoad(outgoingPayload);
         return getThis();
     }
 
@@ -118,7 +136,7 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
      * @throws NullPointerException if pagingState is null
      */
     public T withPagingState(PagingState pagingState) {
-        getOptions().setPagingState(Optional.of(pagingState));
+        getOptions().setPagingState(pagingState);
         return getThis();
     }
 
@@ -128,7 +146,7 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
      * @throws NullPointerException if paging state string is null
      */
     public T withPagingState(String pagingState) {
-        getOptions().setPagingState(Optional.of(PagingState.fromString(pagingState)));
+        getOptions().setPagingState(PagingState.fromString(pagingState));
         return getThis();
     }
 
@@ -145,7 +163,7 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
      * Set the given paging state string on the generated statement IF NOT NULL
      */
     public T withOptionalPagingStateString(Optional<String> pagingStateString) {
-        pagingStateString.ifPresent(cl -> getOptions().setPagingState(Optional.of(PagingState.fromString(pagingStateString.get()))));
+        pagingStateString.ifPresent(cl -> getOptions().setPagingState(PagingState.fromString(pagingStateString.get())));
         return getThis();
     }
 
@@ -154,7 +172,7 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
      * @throws NullPointerException if value is null
      */
     public T withRetryPolicy(RetryPolicy retryPolicy) {
-        getOptions().setRetryPolicy(Optional.of(retryPolicy));
+        getOptions().setRetryPolicy(retryPolicy);
         return getThis();
     }
 
@@ -245,7 +263,7 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
      * tracing display only to this entity
      */
     public T withTracing(boolean tracing) {
-        getOptions().setTracing(Optional.of(tracing));
+        getOptions().setTracing(tracing);
         return getThis();
     }
 
@@ -256,7 +274,7 @@ public abstract class AbstractOptionsForSelect<T extends AbstractOptionsForSelec
      * tracing display only to this entity
      */
     public T withTracing() {
-        getOptions().setTracing(Optional.of(true));
+        getOptions().setTracing(true);
         return getThis();
     }
 
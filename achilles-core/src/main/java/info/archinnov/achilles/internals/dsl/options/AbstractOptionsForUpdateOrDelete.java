@@ -32,7 +32,7 @@ public abstract class AbstractOptionsForUpdateOrDelete<T extends AbstractOptions
      * Generate a <strong>USING TIMESTAMP ?</strong>
      */
     public T usingTimestamp(long timestamp) {
-        getOptions().setDefaultTimestamp(Optional.of(timestamp));
+        getOptions().setDefaultTimestamp(timestamp);
         return getThis();
     }
 
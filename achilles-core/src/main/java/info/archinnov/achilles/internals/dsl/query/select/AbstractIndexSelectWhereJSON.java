@@ -16,6 +16,7 @@
 
 package info.archinnov.achilles.internals.dsl.query.select;
 
+import static info.archinnov.achilles.validation.Validator.validateTrue;
 import static java.lang.String.format;
 
 import java.util.Iterator;
@@ -54,6 +55,18 @@ public abstract class AbstractIndexSelectWhereJSON<T extends AbstractIndexSelect
         super(where);
     }
 
+    /**
+     * Page through the DSE Search results using the driver paging state instead of Solr start/rows.
+     * The solr_query is sent in the JSON form <strong>{"q":"...","paging":"driver"}</strong>
+     * so that deep result sets can be streamed with <em>iterator()</em>, one page of
+     * <em>withFetchSize(...)</em> rows at a time. The next page is fetched asynchronously
+     * while the current one is being consumed
+     */
+    public T withDSESearchDriverPaging() {
+        getOptions().setDSESearchDriverPaging(true);
+        return getThis();
+    }
+
     @Override
     protected StatementWrapper getInternalBoundStatementWrapper() {
         if (LOGGER.isTraceEnabled()) {
@@ -74,6 +87,7 @@ public abstract class AbstractIndexSelectWhereJSON<T extends AbstractIndexSelect
             getEncodedValuesInternal().add(0, options.generateSolrQuery());
             queryString = where.getQueryString();
         } else {
+            validateTrue(!options.isDSESearchDriverPaging(), "Driver paging can only be used with a DSE Search solr_query");
             queryString = where.getQueryString().trim().replaceFirst(";$", " ALLOW FILTERING;");
         }
 
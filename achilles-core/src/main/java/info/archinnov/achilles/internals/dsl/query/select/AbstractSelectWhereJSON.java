@@ -19,9 +19,13 @@ package info.archinnov.achilles.internals.dsl.query.select;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -30,7 +34,9 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.*;
 import com.datastax.driver.core.querybuilder.Select;
+import com.google.common.util.concurrent.Uninterruptibles;
 
+import info.archinnov.achilles.exception.AchillesException;
 import info.archinnov.achilles.internals.dsl.StatementProvider;
 import info.archinnov.achilles.internals.dsl.TypedMapAware;
 import info.archinnov.achilles.internals.dsl.action.SelectAction;
@@ -44,6 +50,7 @@ import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
 import info.archinnov.achilles.internals.types.EntityIteratorWrapper;
 import info.archinnov.achilles.internals.types.JSONIteratorWrapper;
+import info.archinnov.achilles.internals.types.JSONStreamWriter;
 import info.archinnov.achilles.internals.types.TypedMapIteratorWrapper;
 import info.archinnov.achilles.type.TypedMap;
 import info.archinnov.achilles.type.interceptor.Event;
@@ -121,6 +128,42 @@ public abstract class AbstractSelectWhereJSON<T extends AbstractSelectWhereJSON<
         return Tuple2.of(iterator, iterator.getExecutionInfo());
     }
 
+    @Override
+    public long writeJSONTo(OutputStream outputStream) {
+        return writeJSON(JSONStreamWriter.forOutputStream(outputStream));
+    }
+
+    @Override
+    public long writeJSONTo(WritableByteChannel channel) {
+        return writeJSON(JSONStreamWriter.forChannel(channel));
+    }
+
+    private long writeJSON(JSONStreamWriter writer) {
+        final RuntimeEngine rte = getRte();
+        final Options options = getOptions();
+        final StatementWrapper statementWrapper = getInternalBoundStatementWrapper();
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Stream JSON results of : %s",
+                    statementWrapper.getBoundStatement().preparedStatement().getQueryString()));
+        }
+
+        final CompletableFuture<ResultSet> futureRS = rte.execute(statementWrapper)
+                .thenApply(options::resultSetAsyncListener)
+                .thenApply(statementWrapper::logTrace);
+
+        try {
+            return writer.write(Uninterruptibles.getUninterruptibly(futureRS), row -> {
+                statementWrapper.logReturnedRow(row);
+                options.rowAsyncListener(row);
+            });
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        } catch (IOException e) {
+            throw new AchillesException("Cannot write JSON results of '" + where.getQueryString() + "'", e);
+        }
+    }
+
     /***************************************************************************************
      * Utility API                                                                         *
      ***************************************************************************************/
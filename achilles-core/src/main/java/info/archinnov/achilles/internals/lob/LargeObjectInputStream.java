@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.lob;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.IntFunction;
+import java.util.zip.CRC32;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.io.BaseEncoding;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Input stream over the chunks of a large object. Up to <em>prefetchChunks</em> chunks are fetched
+ * ahead of the one being read
+ */
+class LargeObjectInputStream extends InputStream {
+
+    private final LargeObjectMetadata metadata;
+    private final int prefetchChunks;
+    private final MessageDigest digest;
+    private final IntFunction<CompletableFuture<ResultSet>> chunkFetcher;
+    private final Deque<CompletableFuture<ResultSet>> prefetched = new ArrayDeque<>();
+    private final CRC32 crc32 = new CRC32();
+
+    private ByteBuffer currentChunk = ByteBuffer.allocate(0);
+    private int nextChunkToRead = 0;
+    private int nextChunkToFetch = 0;
+    private long bytesRead = 0;
+    private boolean verified = false;
+    private boolean closed = false;
+
+    LargeObjectInputStream(LargeObjectMetadata metadata, int prefetchChunks, MessageDigest digest,
+                           IntFunction<CompletableFuture<ResultSet>> chunkFetcher) {
+        this.metadata = metadata;
+        this.prefetchChunks = prefetchChunks;
+        this.digest = digest;
+        this.chunkFetcher = chunkFetcher;
+        fillPrefetchWindow();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureAvailable()) return -1;
+        return currentChunk.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) return 0;
+        if (!ensureAvailable()) return -1;
+        final int count = Math.min(length, currentChunk.remaining());
+        currentChunk.get(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return closed ? 0 : currentChunk.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        prefetched.forEach(future -> future.cancel(false));
+        prefetched.clear();
+    }
+
+    private boolean ensureAvailable() throws IOException {
+        if (closed) {
+            throw new IOException(format("The stream of large object '%s' is closed", metadata.getObjectId()));
+        }
+        while (!currentChunk.hasRemaining()) {
+            if (nextChunkToRead >= metadata.getChunkCount()) {
+                verifyChecksum();
+                return false;
+            }
+            currentChunk = fetchNextChunk();
+        }
+        return true;
+    }
+
+    private ByteBuffer fetchNextChunk() throws IOException {
+        final CompletableFuture<ResultSet> future = prefetched.poll();
+        final int chunkIndex = nextChunkToRead++;
+        fillPrefetchWindow();
+
+        final Row row;
+        try {
+            row = Uninterruptibles.getUninterruptibly(future).one();
+        } catch (ExecutionException e) {
+            throw new IOException(format("Cannot fetch chunk %s of large object '%s'", chunkIndex, metadata.getObjectId()), e.getCause());
+        }
+        if (row == null || row.isNull("chunk")) {
+            throw new IOException(format("Chunk %s of large object '%s' is missing", chunkIndex, metadata.getObjectId()));
+        }
+
+        final ByteBuffer chunk = row.getBytes("chunk");
+        crc32.reset();
+        crc32.update(chunk.duplicate());
+        if ((int) crc32.getValue() != row.getInt("chunk_crc32")) {
+            throw new IOException(format("Chunk %s of large object '%s' is corrupted, its CRC32 does not match", chunkIndex, metadata.getObjectId()));
+        }
+        digest.update(chunk.duplicate());
+        bytesRead += chunk.remaining();
+        return chunk;
+    }
+
+    private void fillPrefetchWindow() {
+        while (nextChunkToFetch < metadata.getChunkCount() && nextChunkToFetch - nextChunkToRead < prefetchChunks) {
+            prefetched.add(chunkFetcher.apply(nextChunkToFetch++));
+        }
+    }
+
+    private void verifyChecksum() throws IOException {
+        if (verified) return;
+        verified = true;
+        if (bytesRead != metadata.getTotalSize()) {
+            throw new IOException(format("Large object '%s' is truncated, expected %s bytes but read %s",
+                    metadata.getObjectId(), metadata.getTotalSize(), bytesRead));
+        }
+        final String sha256 = BaseEncoding.base16().lowerCase().encode(digest.digest());
+        if (!sha256.equals(metadata.getSha256())) {
+            throw new IOException(format("Large object '%s' is corrupted, its SHA-256 does not match", metadata.getObjectId()));
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.lob;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Metadata of a large object saved by the {@link LargeObjectStore}.
+ * <br/>
+ * The <em>sha256</em> checksum is computed over the whole content and checked again when the object is read back.
+ * The <em>generation</em> identifies the chunks of the current version of the object
+ */
+public class LargeObjectMetadata {
+
+    private final String objectId;
+    private final long totalSize;
+    private final int chunkSize;
+    private final int chunkCount;
+    private final String sha256;
+    private final UUID generation;
+
+    public LargeObjectMetadata(String objectId, long totalSize, int chunkSize, int chunkCount, String sha256, UUID generation) {
+        this.objectId = objectId;
+        this.totalSize = totalSize;
+        this.chunkSize = chunkSize;
+        this.chunkCount = chunkCount;
+        this.sha256 = sha256;
+        this.generation = generation;
+    }
+
+    public String getObjectId() {
+        return objectId;
+    }
+
+    public long getTotalSize() {
+        return totalSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getChunkCount() {
+        return chunkCount;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public UUID getGeneration() {
+        return generation;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        LargeObjectMetadata that = (LargeObjectMetadata) o;
+        return totalSize == that.totalSize &&
+                chunkSize == that.chunkSize &&
+                chunkCount == that.chunkCount &&
+                Objects.equals(objectId, that.objectId) &&
+                Objects.equals(sha256, that.sha256) &&
+                Objects.equals(generation, that.generation);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(objectId, totalSize, chunkSize, chunkCount, sha256, generation);
+    }
+
+    @Override
+    public String toString() {
+        return "LargeObjectMetadata{" +
+                "objectId='" + objectId + '\'' +
+                ", totalSize=" + totalSize +
+                ", chunkSize=" + chunkSize +
+                ", chunkCount=" + chunkCount +
+                ", sha256='" + sha256 + '\'' +
+                ", generation=" + generation +
+                '}';
+    }
+}
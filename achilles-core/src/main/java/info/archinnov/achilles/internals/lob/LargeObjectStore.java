@@ -0,0 +1,347 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.lob;
+
+import static info.archinnov.achilles.validation.Validator.*;
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.core.utils.UUIDs;
+import com.google.common.io.BaseEncoding;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.context.ConfigurationContext;
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.runtime.RuntimeEngine;
+
+/**
+ * Store for large binary objects (files, documents ...) which are too big to be saved in a single column.
+ * <br/>
+ * <br/>
+ * Each object is split into fixed-size chunks saved as the rows of one partition of the chunk table:
+ * <pre class="code"><code class="sql">
+ * CREATE TABLE large_objects(
+ *     object_id text,
+ *     generation timeuuid,
+ *     chunk_index int,
+ *     chunk blob,
+ *     chunk_crc32 int,
+ *     current_generation timeuuid static,
+ *     total_size bigint static,
+ *     chunk_size int static,
+ *     chunk_count int static,
+ *     sha256 text static,
+ *     PRIMARY KEY(object_id, generation, chunk_index))
+ * </code></pre>
+ * Chunks are written asynchronously with at most <em>maxConcurrentWrites</em> chunks in flight, the chunk buffers
+ * being recycled between writes. Each write saves its chunks under a new generation and the static metadata columns
+ * are switched to this generation only once all chunks are written, the chunks of the previous generation being deleted last.
+ * A partially written object is never visible and a failed write leaves the previous version of the object readable.
+ * <br/>
+ * <br/>
+ * Objects are read back as an {@link InputStream} fetching the next <em>prefetchChunks</em> chunks in parallel.
+ * The CRC32 of each chunk and the SHA-256 of the whole object are checked while reading
+ */
+public class LargeObjectStore implements AsyncAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LargeObjectStore.class);
+
+    private final RuntimeEngine rte;
+    private final String tableName;
+    private final String keyspaceAndTable;
+    private final int chunkSize;
+    private final int maxConcurrentWrites;
+    private final int prefetchChunks;
+    private final ConsistencyLevel readConsistencyLevel;
+    private final ConsistencyLevel writeConsistencyLevel;
+
+    public LargeObjectStore(RuntimeEngine rte, String table, int chunkSize, int maxConcurrentWrites, int prefetchChunks) {
+        validateNotBlank(table, "The large object table name should not be blank");
+        validateTrue(chunkSize > 0, "The large object chunk size '%s' should be strictly positive", chunkSize);
+        validateTrue(maxConcurrentWrites > 0, "The large object max concurrent writes '%s' should be strictly positive", maxConcurrentWrites);
+        validateTrue(prefetchChunks > 0, "The large object prefetch chunks count '%s' should be strictly positive", prefetchChunks);
+        this.rte = rte;
+        if (table.contains(".")) {
+            this.keyspaceAndTable = table;
+            this.tableName = table.substring(table.indexOf('.') + 1);
+        } else {
+            validateNotBlank(rte.currentKeyspace, "Cannot find any keyspace for the large object table '%s', " +
+                    "please provide it as 'keyspace.table'", table);
+            this.keyspaceAndTable = rte.currentKeyspace + "." + table;
+            this.tableName = table;
+        }
+        this.chunkSize = chunkSize;
+        this.maxConcurrentWrites = maxConcurrentWrites;
+        this.prefetchChunks = prefetchChunks;
+
+        final ConfigurationContext configContext = rte.configContext;
+        this.readConsistencyLevel = Optional.ofNullable(configContext.getReadConsistencyLevelForTable(tableName))
+                .orElse(configContext.getDefaultReadConsistencyLevel().orElse(ConfigurationContext.DEFAULT_CONSISTENCY_LEVEL));
+        this.writeConsistencyLevel = Optional.ofNullable(configContext.getWriteConsistencyLevelForTable(tableName))
+                .orElse(configContext.getDefaultWriteConsistencyLevel().orElse(ConfigurationContext.DEFAULT_CONSISTENCY_LEVEL));
+    }
+
+    /**
+     * @return the CREATE TABLE statement of the chunk table
+     */
+    public String generateTableSchema() {
+        return format("CREATE TABLE IF NOT EXISTS %s(\n" +
+                "\t\tobject_id text,\n" +
+                "\t\tgeneration timeuuid,\n" +
+                "\t\tchunk_index int,\n" +
+                "\t\tchunk blob,\n" +
+                "\t\tchunk_crc32 int,\n" +
+                "\t\tcurrent_generation timeuuid static,\n" +
+                "\t\ttotal_size bigint static,\n" +
+                "\t\tchunk_size int static,\n" +
+                "\t\tchunk_count int static,\n" +
+                "\t\tsha256 text static,\n" +
+                "\t\tPRIMARY KEY(object_id, generation, chunk_index))", keyspaceAndTable);
+    }
+
+    public void createTable() {
+        final String schema = generateTableSchema();
+        LOGGER.info(format("Creating large object table : \n\t%s", schema));
+        rte.session.execute(schema);
+    }
+
+    public void validateTable() {
+        final String keyspace = keyspaceAndTable.substring(0, keyspaceAndTable.indexOf('.'));
+        final KeyspaceMetadata keyspaceMetadata = rte.getCluster().getMetadata().getKeyspace(keyspace);
+        validateTableTrue(keyspaceMetadata != null && keyspaceMetadata.getTable(tableName) != null,
+                "The large object table '%s' does not exist, please create it or enable schema generation", keyspaceAndTable);
+    }
+
+    /**
+     * Save the content of the input stream as a large object, replacing any existing object with the same id.
+     * The input stream is read until its end but is not closed. If the write fails, the existing object is left untouched
+     *
+     * @param objectId    id of the large object
+     * @param inputStream content to save
+     * @return metadata of the saved object
+     */
+    public LargeObjectMetadata write(String objectId, InputStream inputStream) {
+        validateNotBlank(objectId, "The large object id should not be blank");
+        validateNotNull(inputStream, "The input stream for large object '%s' should not be null", objectId);
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Writing large object '%s' into %s", objectId, keyspaceAndTable));
+        }
+
+        final Optional<UUID> previousGeneration = metadata(objectId).map(LargeObjectMetadata::getGeneration);
+        final UUID generation = UUIDs.timeBased();
+        final PreparedStatement insertChunk = rte.prepareDynamicQuery("INSERT INTO " + keyspaceAndTable +
+                "(object_id,generation,chunk_index,chunk,chunk_crc32) VALUES(?,?,?,?,?)");
+        final BlockingQueue<byte[]> buffers = new ArrayBlockingQueue<>(maxConcurrentWrites);
+        final List<CompletableFuture<ResultSet>> pendingWrites = new ArrayList<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final MessageDigest digest = newSha256Digest();
+        final CRC32 crc32 = new CRC32();
+
+        int allocatedBuffers = 0;
+        int chunkIndex = 0;
+        long totalSize = 0;
+        try {
+            while (failure.get() == null) {
+                byte[] buffer = buffers.poll();
+                if (buffer == null && allocatedBuffers < maxConcurrentWrites) {
+                    buffer = new byte[chunkSize];
+                    allocatedBuffers++;
+                } else if (buffer == null) {
+                    buffer = Uninterruptibles.takeUninterruptibly(buffers);
+                }
+
+                final int read = readFully(inputStream, buffer);
+                if (read == 0) break;
+
+                digest.update(buffer, 0, read);
+                crc32.reset();
+                crc32.update(buffer, 0, read);
+
+                final BoundStatement bs = insertChunk.bind(objectId, generation, chunkIndex, ByteBuffer.wrap(buffer, 0, read), (int) crc32.getValue());
+                bs.setConsistencyLevel(writeConsistencyLevel);
+                final byte[] chunkBuffer = buffer;
+                pendingWrites.add(rte.execute(bs).whenComplete((rs, throwable) -> {
+                    if (throwable != null) failure.compareAndSet(null, throwable);
+                    buffers.offer(chunkBuffer);
+                }));
+
+                chunkIndex++;
+                totalSize += read;
+                if (read < chunkSize) break;
+            }
+        } catch (IOException e) {
+            failure.compareAndSet(null, e);
+        }
+
+        try {
+            CompletableFuture.allOf(pendingWrites.toArray(new CompletableFuture[pendingWrites.size()])).join();
+        } catch (Exception e) {
+            // The first failure has already been recorded
+        }
+
+        if (failure.get() != null) {
+            deleteGeneration(objectId, generation);
+            throw new AchillesException(format("Cannot write large object '%s' into %s", objectId, keyspaceAndTable), failure.get());
+        }
+
+        final LargeObjectMetadata metadata = new LargeObjectMetadata(objectId, totalSize, chunkSize, chunkIndex,
+                BaseEncoding.base16().lowerCase().encode(digest.digest()), generation);
+
+        executeSync(bind("INSERT INTO " + keyspaceAndTable + "(object_id,current_generation,total_size,chunk_size,chunk_count,sha256) " +
+                        "VALUES(?,?,?,?,?,?)", writeConsistencyLevel, objectId, generation, metadata.getTotalSize(),
+                metadata.getChunkSize(), metadata.getChunkCount(), metadata.getSha256()));
+
+        previousGeneration.ifPresent(previous -> deleteGeneration(objectId, previous));
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Large object written : %s", metadata));
+        }
+        return metadata;
+    }
+
+    /**
+     * Save the content of the channel as a large object, replacing any existing object with the same id.
+     * The channel is read until its end but is not closed. If the write fails, the existing object is left untouched
+     *
+     * @param objectId id of the large object
+     * @param channel  content to save
+     * @return metadata of the saved object
+     */
+    public LargeObjectMetadata write(String objectId, ReadableByteChannel channel) {
+        validateNotNull(channel, "The channel for large object '%s' should not be null", objectId);
+        return write(objectId, Channels.newInputStream(channel));
+    }
+
+    /**
+     * @param objectId id of the large object
+     * @return metadata of the large object or Optional.empty() if there is no complete object with this id
+     */
+    public Optional<LargeObjectMetadata> metadata(String objectId) {
+        validateNotBlank(objectId, "The large object id should not be blank");
+        final Row row = executeSync(bind("SELECT current_generation,total_size,chunk_size,chunk_count,sha256 FROM " + keyspaceAndTable +
+                " WHERE object_id=? LIMIT 1", readConsistencyLevel, objectId)).one();
+
+        if (row == null || row.isNull("current_generation")) {
+            return Optional.empty();
+        }
+        return Optional.of(new LargeObjectMetadata(objectId, row.getLong("total_size"), row.getInt("chunk_size"),
+                row.getInt("chunk_count"), row.getString("sha256"), row.getUUID("current_generation")));
+    }
+
+    /**
+     * Open a large object for reading. The next chunks are fetched in parallel while the stream is consumed.
+     * The returned stream should be closed to cancel pending fetches. The stream reads the generation of the object
+     * current when it is opened, a concurrent write of the same object may delete its chunks before they are fetched
+     *
+     * @param objectId id of the large object
+     * @return the content of the large object or Optional.empty() if there is no complete object with this id
+     */
+    public Optional<InputStream> read(String objectId) {
+        final Optional<LargeObjectMetadata> metadata = metadata(objectId);
+        if (!metadata.isPresent()) {
+            return Optional.empty();
+        }
+        final PreparedStatement selectChunk = rte.prepareDynamicQuery("SELECT chunk,chunk_crc32 FROM " + keyspaceAndTable +
+                " WHERE object_id=? AND generation=? AND chunk_index=?");
+
+        final UUID generation = metadata.get().getGeneration();
+        return Optional.of(new LargeObjectInputStream(metadata.get(), prefetchChunks, newSha256Digest(), chunkIndex -> {
+            final BoundStatement bs = selectChunk.bind(objectId, generation, chunkIndex);
+            bs.setConsistencyLevel(readConsistencyLevel);
+            return rte.execute(bs);
+        }));
+    }
+
+    /**
+     * Delete the large object with the given id
+     *
+     * @param objectId id of the large object
+     */
+    public void delete(String objectId) {
+        validateNotBlank(objectId, "The large object id should not be blank");
+        executeSync(bind("DELETE FROM " + keyspaceAndTable + " WHERE object_id=?", writeConsistencyLevel, objectId));
+    }
+
+    private void deleteGeneration(String objectId, UUID generation) {
+        try {
+            executeSync(bind("DELETE FROM " + keyspaceAndTable + " WHERE object_id=? AND generation=?",
+                    writeConsistencyLevel, objectId, generation));
+        } catch (RuntimeException e) {
+            LOGGER.warn(format("Cannot delete the chunks of generation %s of large object '%s' from %s",
+                    generation, objectId, keyspaceAndTable), e);
+        }
+    }
+
+    public String getKeyspaceAndTable() {
+        return keyspaceAndTable;
+    }
+
+    private BoundStatement bind(String query, ConsistencyLevel consistencyLevel, Object... values) {
+        final BoundStatement bs = rte.prepareDynamicQuery(query).bind(values);
+        bs.setConsistencyLevel(consistencyLevel);
+        return bs;
+    }
+
+    private ResultSet executeSync(BoundStatement bs) {
+        try {
+            return Uninterruptibles.getUninterruptibly(rte.execute(bs));
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    private static int readFully(InputStream inputStream, byte[] buffer) throws IOException {
+        int offset = 0;
+        while (offset < buffer.length) {
+            final int read = inputStream.read(buffer, offset, buffer.length - offset);
+            if (read < 0) break;
+            offset += read;
+        }
+        return offset;
+    }
+
+    static MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new AchillesException("Cannot find the SHA-256 message digest", e);
+        }
+    }
+}
@@ -39,9 +39,11 @@ import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.injectable.*;
 import info.archinnov.achilles.internals.options.Options;
 import info.archinnov.achilles.internals.runtime.BeanValueExtractor;
+import info.archinnov.achilles.internals.runtime.QueryTracer;
 import info.archinnov.achilles.internals.schema.SchemaContext;
 import info.archinnov.achilles.internals.schema.SchemaCreator;
 import info.archinnov.achilles.internals.statements.BoundValuesWrapper;
+import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.strategy.naming.InternalNamingStrategy;
 import info.archinnov.achilles.internals.types.OverridingOptional;
 import info.archinnov.achilles.internals.utils.CollectionsHelper;
@@ -52,6 +54,7 @@ import info.archinnov.achilles.type.factory.BeanFactory;
 import info.archinnov.achilles.type.interceptor.Event;
 import info.archinnov.achilles.type.interceptor.Interceptor;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
+import info.archinnov.achilles.type.strategy.SpeculativeExecutionStrategy;
 import info.archinnov.achilles.type.tuples.Tuple3;
 import info.archinnov.achilles.validation.Validator;
 
@@ -61,7 +64,8 @@ public abstract class AbstractEntityProperty<T> implements
         InjectConsistency, InjectInsertStrategy,
         InjectUserAndTupleTypeFactory,
         InjectJacksonMapper, InjectSchemaStrategy,
-        InjectRuntimeCodecs {
+        InjectRuntimeCodecs, InjectSpeculativeExecutionStrategy,
+        InjectQueryTracer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractEntityProperty.class);
 
@@ -78,6 +82,7 @@ public abstract class AbstractEntityProperty<T> implements
     public final Optional<Integer> staticTTL;
     public final Optional<InsertStrategy> staticInsertStrategy;
     public final Optional<InternalNamingStrategy> staticNamingStrategy;
+    public final Optional<String> staticBulkhead;
     public final List<AbstractProperty<T, ?, ?>> partitionKeys;
     public final List<AbstractProperty<T, ?, ?>> clusteringColumns;
     public final List<AbstractProperty<T, ?, ?>> staticColumns;
@@ -93,7 +98,9 @@ public abstract class AbstractEntityProperty<T> implements
     protected ConsistencyLevel writeConsistencyLevel;
     protected ConsistencyLevel serialConsistencyLevel;
     protected InsertStrategy insertStrategy;
+    protected SpeculativeExecutionStrategy speculativeExecutionStrategy = SpeculativeExecutionStrategy.NONE;
     protected Optional<SchemaNameProvider> schemaStrategy = Optional.empty();
+    protected QueryTracer queryTracer = QueryTracer.DEFAULT;
 
 
     public AbstractEntityProperty() {
@@ -110,6 +117,7 @@ public abstract class AbstractEntityProperty<T> implements
         staticTTL = getStaticTTL();
         staticInsertStrategy = getStaticInsertStrategy();
         staticNamingStrategy = getStaticNamingStrategy();
+        staticBulkhead = getStaticBulkhead();
         partitionKeys = getPartitionKeys();
         clusteringColumns = getClusteringColumns();
         staticColumns = getStaticColumns();
@@ -144,6 +152,14 @@ public abstract class AbstractEntityProperty<T> implements
 
     protected abstract Optional<InternalNamingStrategy> getStaticNamingStrategy();
 
+    /**
+     * Name of the bulkhead declared with <em>{@literal @}Table(bulkhead = "...")</em>, overridden by generated
+     * entity meta classes only when the bulkhead is set
+     */
+    protected Optional<String> getStaticBulkhead() {
+        return Optional.empty();
+    }
+
     protected abstract List<AbstractProperty<T, ?, ?>> getPartitionKeys();
 
     protected abstract List<AbstractProperty<T, ?, ?>> getClusteringColumns();
@@ -161,10 +177,15 @@ public abstract class AbstractEntityProperty<T> implements
     }
 
     public ConsistencyLevel readConsistency(Optional<ConsistencyLevel> runtimeConsistency) {
-        final ConsistencyLevel consistencyLevel = OverridingOptional
-                .from(runtimeConsistency)
-                .defaultValue(readConsistencyLevel)
-                .get();
+        return readConsistency(runtimeConsistency.orElse(null));
+    }
+
+    /**
+     * Resolve the read consistency level. When no consistency level is set at runtime
+     * (<em>null</em>), the level pre-computed by <em>injectConsistencyLevels()</em> is used
+     */
+    public ConsistencyLevel readConsistency(ConsistencyLevel runtimeConsistency) {
+        final ConsistencyLevel consistencyLevel = runtimeConsistency != null ? runtimeConsistency : readConsistencyLevel;
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Determining runtime read consistency level for entity %s : %s",
                     entityClass.getCanonicalName(), consistencyLevel.name()));
@@ -173,10 +194,15 @@ public abstract class AbstractEntityProperty<T> implements
     }
 
     public ConsistencyLevel writeConsistency(Optional<ConsistencyLevel> runtimeConsistency) {
-        final ConsistencyLevel consistencyLevel = OverridingOptional
-                .from(runtimeConsistency)
-                .defaultValue(writeConsistencyLevel)
-                .get();
+        return writeConsistency(runtimeConsistency.orElse(null));
+    }
+
+    /**
+     * Resolve the write consistency level. When no consistency level is set at runtime
+     * (<em>null</em>), the level pre-computed by <em>injectConsistencyLevels()</em> is used
+     */
+    public ConsistencyLevel writeConsistency(ConsistencyLevel runtimeConsistency) {
+        final ConsistencyLevel consistencyLevel = runtimeConsistency != null ? runtimeConsistency : writeConsistencyLevel;
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Determining runtime write consistency level for entity %s : %s",
                     entityClass.getCanonicalName(), consistencyLevel.name()));
@@ -185,10 +211,15 @@ public abstract class AbstractEntityProperty<T> implements
     }
 
     public ConsistencyLevel serialConsistency(Optional<ConsistencyLevel> runtimeConsistency) {
-        final ConsistencyLevel consistencyLevel = OverridingOptional
-                .from(runtimeConsistency)
-                .defaultValue(serialConsistencyLevel)
-                .get();
+        return serialConsistency(runtimeConsistency.orElse(null));
+    }
+
+    /**
+     * Resolve the serial consistency level. When no consistency level is set at runtime
+     * (<em>null</em>), the level pre-computed by <em>injectConsistencyLevels()</em> is used
+     */
+    public ConsistencyLevel serialConsistency(ConsistencyLevel runtimeConsistency) {
+        final ConsistencyLevel consistencyLevel = runtimeConsistency != null ? runtimeConsistency : serialConsistencyLevel;
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Determining runtime serial consistency level for entity %s : %s",
                     entityClass.getCanonicalName(), consistencyLevel.name()));
@@ -196,6 +227,51 @@ public abstract class AbstractEntityProperty<T> implements
         return consistencyLevel;
     }
 
+    /**
+     * Determine the idempotence flag to set on the statement.
+     * <br/>
+     * An idempotence set at runtime always wins. Otherwise the idempotence is inferred:
+     * statements built with the query builder carry it in their prepared statement (LWT,
+     * counter and list append/prepend/set at index are non idempotent), other SELECT statements
+     * are idempotent. The inferred value is then filtered by the speculative execution strategy
+     */
+    public Optional<Boolean> idempotence(Optional<Boolean> runtimeIdempotence, OperationType operationType, Statement statement) {
+        return Optional.ofNullable(idempotence(runtimeIdempotence.orElse(null), operationType, statement));
+    }
+
+    /**
+     * Same as <em>idempotence(Optional, OperationType, Statement)</em> with <em>null</em>
+     * standing for an absent value, so that resolving the idempotence does not allocate
+     */
+    public Boolean idempotence(Boolean runtimeIdempotence, OperationType operationType, Statement statement) {
+        if (runtimeIdempotence != null) {
+            return runtimeIdempotence;
+        }
+
+        final Boolean statementIdempotence = statement.isIdempotent();
+        final Boolean inferred = statementIdempotence != null
+                ? statementIdempotence
+                : (operationType == OperationType.SELECT ? Boolean.TRUE : null);
+
+        final Boolean idempotence;
+        switch (speculativeExecutionStrategy) {
+            case READS_ONLY:
+                idempotence = operationType == OperationType.SELECT && Boolean.TRUE.equals(inferred);
+                break;
+            case ALL_IDEMPOTENT:
+                idempotence = inferred;
+                break;
+            default:
+                idempotence = null;
+        }
+
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Determining idempotence for %s statement of entity %s with strategy %s : %s",
+                    operationType.name(), entityClass.getCanonicalName(), speculativeExecutionStrategy.name(), idempotence));
+        }
+        return idempotence;
+    }
+
     public boolean isCounter() {
         return counterColumns.size() > 0;
     }
@@ -407,6 +483,20 @@ public abstract class AbstractEntityProperty<T> implements
         }
     }
 
+    @Override
+    public void injectSpeculativeExecutionStrategy(ConfigurationContext configContext) {
+        this.speculativeExecutionStrategy =
+                OverridingOptional.from(configContext.getSpeculativeExecutionStrategyForTable(this.getTableOrViewName()))
+                        .andThen(configContext.getDefaultSpeculativeExecutionStrategy())
+                        .defaultValue(SpeculativeExecutionStrategy.NONE)
+                        .get();
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Injecting speculative execution strategy %s into entity meta of %s",
+                    speculativeExecutionStrategy.name(), entityClass.getCanonicalName()));
+        }
+    }
+
     @Override
     public void inject(InsertStrategy insertStrategy) {
         if (LOGGER.isDebugEnabled()) {
@@ -476,6 +566,19 @@ public abstract class AbstractEntityProperty<T> implements
         }
     }
 
+    @Override
+    public void inject(QueryTracer queryTracer) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Injecting query tracer %s into entity meta of %s",
+                    queryTracer, entityClass.getCanonicalName()));
+        }
+        this.queryTracer = queryTracer;
+    }
+
+    public QueryTracer getQueryTracer() {
+        return queryTracer;
+    }
+
     public boolean isTable() {
         return true;
     }
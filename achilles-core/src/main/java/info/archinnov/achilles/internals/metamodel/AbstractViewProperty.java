@@ -165,12 +165,12 @@ public abstract class AbstractViewProperty<T> extends AbstractEntityProperty<T>
     }
 
     @Override
-    public ConsistencyLevel writeConsistency(Optional<ConsistencyLevel> runtimeConsistency) {
+    public ConsistencyLevel writeConsistency(ConsistencyLevel runtimeConsistency) {
         throw new RuntimeException("Cannot execute mutation for the materialized view " + getDerivedTableOrViewName());
     }
 
     @Override
-    public ConsistencyLevel serialConsistency(Optional<ConsistencyLevel> runtimeConsistency) {
+    public ConsistencyLevel serialConsistency(ConsistencyLevel runtimeConsistency) {
         throw new RuntimeException("Cannot execute mutation for the materialized view " + getDerivedTableOrViewName());
     }
 
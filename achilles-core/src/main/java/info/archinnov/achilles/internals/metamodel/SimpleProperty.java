@@ -34,6 +34,8 @@ import com.datastax.driver.core.UDTValue;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.reflect.TypeToken;
 
+import info.archinnov.achilles.internals.codec.BinaryJSONCodec;
+import info.archinnov.achilles.internals.codec.CompressedCodec;
 import info.archinnov.achilles.internals.codec.JSONCodec;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
@@ -156,8 +158,11 @@ public class SimpleProperty<ENTITY, VALUEFROM, VALUETO> extends AbstractProperty
 
     @Override
     public void inject(ObjectMapper mapper) {
-        if (valueCodec instanceof JSONCodec) {
-            ((JSONCodec) valueCodec).setObjectMapper(mapper);
+        final Codec<?, ?> codec = unwrapCompressedCodec();
+        if (codec instanceof JSONCodec) {
+            ((JSONCodec) codec).setObjectMapper(mapper);
+        } else if (codec instanceof BinaryJSONCodec) {
+            ((BinaryJSONCodec) codec).setObjectMapper(mapper);
         }
     }
 
@@ -168,8 +173,9 @@ public class SimpleProperty<ENTITY, VALUEFROM, VALUETO> extends AbstractProperty
 
     @Override
     public void injectRuntimeCodecs(Map<CodecSignature<?, ?>, Codec<?, ?>> runtimeCodecs) {
-        if (valueCodec instanceof RuntimeCodecWrapper) {
-            ((RuntimeCodecWrapper)valueCodec).inject(runtimeCodecs);
+        final Codec<?, ?> codec = unwrapCompressedCodec();
+        if (codec instanceof RuntimeCodecWrapper) {
+            ((RuntimeCodecWrapper)codec).inject(runtimeCodecs);
         }
     }
 
@@ -177,4 +183,17 @@ public class SimpleProperty<ENTITY, VALUEFROM, VALUETO> extends AbstractProperty
     public void injectKeyspace(String keyspace) {
         // No op
     }
+
+    /**
+     * @return whether the property is a @JSON field serialized with a binary format (SMILE/CBOR)
+     */
+    public boolean isBinaryJSON() {
+        return unwrapCompressedCodec() instanceof BinaryJSONCodec;
+    }
+
+    private Codec<?, ?> unwrapCompressedCodec() {
+        return valueCodec instanceof CompressedCodec
+                ? ((CompressedCodec<?, ?>) valueCodec).delegate()
+                : valueCodec;
+    }
 }
@@ -20,7 +20,6 @@ import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.StringJoiner;
 import java.util.function.Function;
 
 import org.slf4j.Logger;
@@ -37,149 +36,295 @@ import info.archinnov.achilles.type.SchemaNameProvider;
 public class Options {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Options.class);
-
-    private Optional<ConsistencyLevel> cl = Optional.empty();
-    private Optional<ConsistencyLevel> serialCL = Optional.empty();
-    private Optional<Long> defaultTimestamp = Optional.empty();
-    private Optional<Integer> timeToLive = Optional.empty();
-    private Optional<Integer> fetchSize = Optional.empty();
-    private Optional<Boolean> idempotent = Optional.empty();
-    private Optional<Map<String, ByteBuffer>> outgoingPayLoad = Optional.empty();
-    private Optional<PagingState> pagingState = Optional.empty();
-    private Optional<RetryPolicy> retryPolicy = Optional.empty();
-    private Optional<List<Function<ResultSet, ResultSet>>> resultSetAsyncListeners = Optional.empty();
-    private Optional<List<Function<Row, Row>>> rowAsyncListeners = Optional.empty();
-    private Optional<Boolean> tracing = Optional.empty();
-    private Optional<SchemaNameProvider> schemaNameProvider = Optional.empty();
-    private Optional<Integer> readTimeout = Optional.empty();
-    private Optional<StringJoiner> dseSearchSolrQuery = Optional.empty();
-    private Optional<String> dseSearchRawSolrQuery = Optional.empty();
+    private static final String SOLR_QUERY_SEPARATOR = " AND ";
+    private static final String SOLR_DRIVER_PAGING = "\"paging\":\"driver\"";
+
+    private static final Optional<Boolean> OPTIONAL_TRUE = Optional.of(true);
+    private static final Optional<Boolean> OPTIONAL_FALSE = Optional.of(false);
+
+    // Presence bits for the primitive options, the *_VALUE bits hold the boolean values
+    private static final int DEFAULT_TIMESTAMP = 1;
+    private static final int TIME_TO_LIVE = 1 << 1;
+    private static final int FETCH_SIZE = 1 << 2;
+    private static final int READ_TIMEOUT = 1 << 3;
+    private static final int ADAPTIVE_FETCH_SIZE = 1 << 4;
+    private static final int ADAPTIVE_FETCH_SIZE_VALUE = 1 << 5;
+    private static final int IDEMPOTENT = 1 << 6;
+    private static final int IDEMPOTENT_VALUE = 1 << 7;
+    private static final int TRACING = 1 << 8;
+    private static final int TRACING_VALUE = 1 << 9;
+    private static final int DSE_SEARCH_DRIVER_PAGING = 1 << 10;
+
+    /**
+     * Options are created for every CRUD and DSL call. To keep the common path
+     * (no option overridden) allocation free, primitive options are stored as
+     * flag bits + primitive fields and the other options as nullable fields.
+     * <em>Optional</em> instances are only created by the legacy getters
+     */
+    private int flags;
+    private ConsistencyLevel cl;
+    private ConsistencyLevel serialCL;
+    private long defaultTimestamp;
+    private int timeToLive;
+    private int fetchSize;
+    private int readTimeout;
+    private Map<String, ByteBuffer> outgoingPayLoad;
+    private PagingState pagingState;
+    private RetryPolicy retryPolicy;
+    private List<Function<ResultSet, ResultSet>> resultSetAsyncListeners;
+    private List<Function<Row, Row>> rowAsyncListeners;
+    private SchemaNameProvider schemaNameProvider;
+    private StringBuilder dseSearchSolrQuery;
+    private String dseSearchRawSolrQuery;
 
     public Options() {}
 
 
     public void appendToSolrQuery(String solrQuery) {
-        if (!dseSearchSolrQuery.isPresent()) {
-            dseSearchSolrQuery = Optional.of(new StringJoiner(" AND "));
+        solrQueryBuilder().append(solrQuery);
+    }
+
+    public void appendToSolrQuery(String prefix, Object value, String suffix) {
+        solrQueryBuilder().append(prefix).append(value).append(suffix);
+    }
+
+    public void appendToSolrQuery(String prefix, Object value1, String infix, Object value2, String suffix) {
+        solrQueryBuilder().append(prefix).append(value1).append(infix).append(value2).append(suffix);
+    }
+
+    private StringBuilder solrQueryBuilder() {
+        dseSearchRawSolrQuery = null;
+        if (dseSearchSolrQuery == null) {
+            dseSearchSolrQuery = new StringBuilder();
+            return dseSearchSolrQuery;
         }
-        dseSearchSolrQuery = dseSearchSolrQuery.map(content -> content.add(solrQuery));
-        dseSearchRawSolrQuery = Optional.empty();
+        return dseSearchSolrQuery.append(SOLR_QUERY_SEPARATOR);
     }
 
     public void rawSolrQuery(String rawSolrQuery) {
-        this.dseSearchRawSolrQuery = Optional.of(rawSolrQuery);
-        this.dseSearchSolrQuery = Optional.empty();
+        this.dseSearchRawSolrQuery = rawSolrQuery;
+        this.dseSearchSolrQuery = null;
     }
 
     public boolean hasSolrQuery() {
-        return dseSearchSolrQuery.isPresent() || dseSearchRawSolrQuery.isPresent();
+        return dseSearchSolrQuery != null || dseSearchRawSolrQuery != null;
     }
 
     public boolean hasRawSolrQuery() {
-        return dseSearchRawSolrQuery.isPresent();
+        return dseSearchRawSolrQuery != null;
     }
 
     public String generateSolrQuery() {
-        return dseSearchSolrQuery.get().toString();
+        final String solrQuery = dseSearchSolrQuery.toString();
+        return isDSESearchDriverPaging() ? wrapWithDriverPaging(solrQuery) : solrQuery;
     }
 
     public String generateRawSolrQuery() {
-        return dseSearchRawSolrQuery.get();
+        final String rawSolrQuery = dseSearchRawSolrQuery;
+        if (!isDSESearchDriverPaging()) {
+            return rawSolrQuery;
+        }
+
+        final String trimmed = rawSolrQuery.trim();
+        if (!trimmed.startsWith("{")) {
+            return wrapWithDriverPaging(rawSolrQuery);
+        } else if (trimmed.contains("\"paging\"")) {
+            return rawSolrQuery;
+        } else {
+            final String remaining = trimmed.substring(1).trim();
+            return remaining.startsWith("}")
+                    ? "{" + SOLR_DRIVER_PAGING + remaining
+                    : "{" + SOLR_DRIVER_PAGING + "," + remaining;
+        }
+    }
+
+    /**
+     * Solr query in the JSON form <em>{"q":"...","paging":"driver"}</em> so that DSE Search
+     * pages through the results with the driver paging state instead of Solr start/rows
+     */
+    private static String wrapWithDriverPaging(String solrQuery) {
+        final StringBuilder builder = new StringBuilder(solrQuery.length() + 32).append("{\"q\":\"");
+        for (int i = 0; i < solrQuery.length(); i++) {
+            final char c = solrQuery.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\');
+            }
+            builder.append(c);
+        }
+        return builder.append("\",").append(SOLR_DRIVER_PAGING).append("}").toString();
+    }
+
+    private boolean hasFlag(int flag) {
+        return (flags & flag) != 0;
+    }
+
+    private void setFlag(int flag, boolean value) {
+        flags = value ? flags | flag : flags & ~flag;
+    }
+
+    private void setBooleanOption(int presenceFlag, int valueFlag, Optional<Boolean> value) {
+        setFlag(presenceFlag, value.isPresent());
+        setFlag(valueFlag, value.isPresent() && value.get());
+    }
+
+    private Optional<Boolean> getBooleanOption(int presenceFlag, int valueFlag) {
+        if (!hasFlag(presenceFlag)) {
+            return Optional.empty();
+        }
+        return hasFlag(valueFlag) ? OPTIONAL_TRUE : OPTIONAL_FALSE;
+    }
+
+    public boolean isDSESearchDriverPaging() {
+        return hasFlag(DSE_SEARCH_DRIVER_PAGING);
+    }
+
+    public void setDSESearchDriverPaging(boolean dseSearchDriverPaging) {
+        setFlag(DSE_SEARCH_DRIVER_PAGING, dseSearchDriverPaging);
     }
 
     public boolean hasCl() {
-        return cl.isPresent();
+        return cl != null;
     }
 
     public Optional<ConsistencyLevel> getCl() {
-        return cl;
+        return Optional.ofNullable(cl);
     }
 
     public void setCl(Optional<ConsistencyLevel> cl) {
+        this.cl = cl.orElse(null);
+    }
+
+    public void setCl(ConsistencyLevel cl) {
         this.cl = cl;
     }
 
     public boolean hasSerialCl() {
-        return serialCL.isPresent();
+        return serialCL != null;
     }
 
     public Optional<ConsistencyLevel> getSerialCL() {
-        return serialCL;
+        return Optional.ofNullable(serialCL);
     }
 
     public void setSerialCL(Optional<ConsistencyLevel> serialCL) {
+        this.serialCL = serialCL.orElse(null);
+    }
+
+    public void setSerialCL(ConsistencyLevel serialCL) {
         this.serialCL = serialCL;
     }
 
     public boolean hasDefaultTimestamp() {
-        return defaultTimestamp.isPresent();
+        return hasFlag(DEFAULT_TIMESTAMP);
     }
 
     public Optional<Long> getDefaultTimestamp() {
-        return defaultTimestamp;
+        return hasDefaultTimestamp() ? Optional.of(defaultTimestamp) : Optional.empty();
     }
 
     public void setDefaultTimestamp(Optional<Long> defaultTimestamp) {
+        setFlag(DEFAULT_TIMESTAMP, defaultTimestamp.isPresent());
+        this.defaultTimestamp = defaultTimestamp.orElse(0L);
+    }
+
+    public void setDefaultTimestamp(long defaultTimestamp) {
+        setFlag(DEFAULT_TIMESTAMP, true);
         this.defaultTimestamp = defaultTimestamp;
     }
 
     public boolean hasFetchSize() {
-        return fetchSize.isPresent();
+        return hasFlag(FETCH_SIZE);
     }
 
     public Optional<Integer> getFetchSize() {
-        return fetchSize;
+        return hasFetchSize() ? Optional.of(fetchSize) : Optional.empty();
     }
 
     public void setFetchSize(Optional<Integer> fetchSize) {
+        setFlag(FETCH_SIZE, fetchSize.isPresent());
+        this.fetchSize = fetchSize.orElse(0);
+    }
+
+    public void setFetchSize(int fetchSize) {
+        setFlag(FETCH_SIZE, true);
         this.fetchSize = fetchSize;
     }
 
+    public Optional<Boolean> getAdaptiveFetchSize() {
+        return getBooleanOption(ADAPTIVE_FETCH_SIZE, ADAPTIVE_FETCH_SIZE_VALUE);
+    }
+
+    public void setAdaptiveFetchSize(Optional<Boolean> adaptiveFetchSize) {
+        setBooleanOption(ADAPTIVE_FETCH_SIZE, ADAPTIVE_FETCH_SIZE_VALUE, adaptiveFetchSize);
+    }
+
+    public void setAdaptiveFetchSize(boolean adaptiveFetchSize) {
+        setFlag(ADAPTIVE_FETCH_SIZE, true);
+        setFlag(ADAPTIVE_FETCH_SIZE_VALUE, adaptiveFetchSize);
+    }
+
     public boolean hasIdempotent() {
-        return idempotent.isPresent();
+        return hasFlag(IDEMPOTENT);
     }
 
     public Optional<Boolean> getIdempotent() {
-        return idempotent;
+        return getBooleanOption(IDEMPOTENT, IDEMPOTENT_VALUE);
     }
 
     public void setIdempotent(Optional<Boolean> idempotent) {
-        this.idempotent = idempotent;
+        setBooleanOption(IDEMPOTENT, IDEMPOTENT_VALUE, idempotent);
+    }
+
+    public void setIdempotent(boolean idempotent) {
+        setFlag(IDEMPOTENT, true);
+        setFlag(IDEMPOTENT_VALUE, idempotent);
     }
 
     public boolean hasOutgoingPayload() {
-        return outgoingPayLoad.isPresent();
+        return outgoingPayLoad != null;
     }
 
     public Optional<Map<String, ByteBuffer>> getOutgoingPayLoad() {
-        return outgoingPayLoad;
+        return Optional.ofNullable(outgoingPayLoad);
     }
 
     public void setOutgoingPayLoad(Optional<Map<String, ByteBuffer>> outgoingPayLoad) {
+        this.outgoingPayLoad = outgoingPayLoad.orElse(null);
+    }
+
+    public void setOutgoingPayLoad(Map<String, ByteBuffer> outgoingPayLoad) {
         this.outgoingPayLoad = outgoingPayLoad;
     }
 
     public boolean hasPagingState() {
-        return pagingState.isPresent();
+        return pagingState != null;
     }
 
     public Optional<PagingState> getPagingState() {
-        return pagingState;
+        return Optional.ofNullable(pagingState);
     }
 
     public void setPagingState(Optional<PagingState> pagingState) {
+        this.pagingState = pagingState.orElse(null);
+    }
+
+    public void setPagingState(PagingState pagingState) {
         this.pagingState = pagingState;
     }
 
     public boolean hasRetryPolicy() {
-        return retryPolicy.isPresent();
+        return retryPolicy != null;
     }
 
     public Optional<RetryPolicy> getRetryPolicy() {
-        return retryPolicy;
+        return Optional.ofNullable(retryPolicy);
     }
 
     public void setRetryPolicy(Optional<RetryPolicy> retryPolicy) {
+        this.retryPolicy = retryPolicy.orElse(null);
+    }
+
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
         this.retryPolicy = retryPolicy;
     }
 
@@ -190,8 +335,9 @@ public class Options {
             LOGGER.trace(String.format("Applying Async listeners %s to the resultset %s",
                     resultSetAsyncListeners, limitedRs));
         }
-        resultSetAsyncListeners
-                .ifPresent(list -> list.forEach(x -> x.apply(limitedRs)));
+        if (resultSetAsyncListeners != null) {
+            resultSetAsyncListeners.forEach(x -> x.apply(limitedRs));
+        }
         return originalResultSet;
     }
 
@@ -201,56 +347,74 @@ public class Options {
                     rowAsyncListeners, row));
         }
 
-        rowAsyncListeners.map(list -> list.stream().map(listener -> listener.apply(row)).count()).orElse(0L);
+        if (rowAsyncListeners != null) {
+            rowAsyncListeners.forEach(listener -> listener.apply(row));
+        }
         return row;
     }
 
     public Optional<List<Function<ResultSet, ResultSet>>> getResultSetAsyncListeners() {
-        return resultSetAsyncListeners;
+        return Optional.ofNullable(resultSetAsyncListeners);
     }
 
     public void setResultSetAsyncListeners(Optional<List<Function<ResultSet, ResultSet>>> resultSetAsyncListeners) {
-        this.resultSetAsyncListeners = resultSetAsyncListeners;
+        this.resultSetAsyncListeners = resultSetAsyncListeners.orElse(null);
     }
 
     public Optional<List<Function<Row, Row>>> getRowAsyncListeners() {
-        return rowAsyncListeners;
+        return Optional.ofNullable(rowAsyncListeners);
     }
 
     public void setRowAsyncListeners(Optional<List<Function<Row, Row>>> rowAsyncListeners) {
-        this.rowAsyncListeners = rowAsyncListeners;
+        this.rowAsyncListeners = rowAsyncListeners.orElse(null);
     }
 
     public Optional<Boolean> getTracing() {
-        return tracing;
+        return getBooleanOption(TRACING, TRACING_VALUE);
     }
 
     public void setTracing(Optional<Boolean> tracing) {
-        this.tracing = tracing;
+        setBooleanOption(TRACING, TRACING_VALUE, tracing);
+    }
+
+    public void setTracing(boolean tracing) {
+        setFlag(TRACING, true);
+        setFlag(TRACING_VALUE, tracing);
+    }
+
+    public boolean hasTimeToLive() {
+        return hasFlag(TIME_TO_LIVE);
     }
 
     public Optional<Integer> getTimeToLive() {
-        return timeToLive;
+        return hasTimeToLive() ? Optional.of(timeToLive) : Optional.empty();
     }
 
     public void setTimeToLive(Optional<Integer> timeToLive) {
+        setFlag(TIME_TO_LIVE, timeToLive.isPresent());
+        this.timeToLive = timeToLive.orElse(0);
+    }
+
+    public void setTimeToLive(int timeToLive) {
+        setFlag(TIME_TO_LIVE, true);
         this.timeToLive = timeToLive;
     }
 
     public boolean hasSchemaNameProvider() {
-        return schemaNameProvider.isPresent();
+        return schemaNameProvider != null;
     }
 
     public Optional<SchemaNameProvider> getSchemaNameProvider() {
-        return schemaNameProvider;
+        return Optional.ofNullable(schemaNameProvider);
     }
 
     public void setSchemaNameProvider(Optional<SchemaNameProvider> schemaNameProvider) {
-        this.schemaNameProvider = schemaNameProvider;
+        this.schemaNameProvider = schemaNameProvider.orElse(null);
     }
 
     public void setReadTimeout(Integer readTimeout) {
-        this.readTimeout = Optional.ofNullable(readTimeout);
+        setFlag(READ_TIMEOUT, readTimeout != null);
+        this.readTimeout = readTimeout != null ? readTimeout : 0;
     }
 
     public Statement applyOptions(OperationType operationType, AbstractEntityProperty<?> meta, Statement statement) {
@@ -266,37 +430,50 @@ public class Options {
             statement.setConsistencyLevel(meta.readConsistency(cl));
         }
 
+        // No option set, only the consistency levels and the inferred idempotence/tracing to apply
+        if (flags == 0 && outgoingPayLoad == null && pagingState == null && retryPolicy == null) {
+            applyIdempotence(operationType, meta, statement, null);
+            if (meta.getQueryTracer().sample(meta, operationType)) statement.enableTracing();
+            return statement;
+        }
 
-        if (defaultTimestamp.isPresent() && operationType.isUpsert && meta.isTable())
-            statement.setDefaultTimestamp(defaultTimestamp.get());
-        if (fetchSize.isPresent()) statement.setFetchSize(fetchSize.get());
-        if (idempotent.isPresent()) statement.setIdempotent(idempotent.get());
-        if (outgoingPayLoad.isPresent()) statement.setOutgoingPayload(outgoingPayLoad.get());
-        if (pagingState.isPresent()) statement.setPagingState(pagingState.get());
-        if (retryPolicy.isPresent()) statement.setRetryPolicy(retryPolicy.get());
-        if (tracing.isPresent() || meta.entityLogger.isTraceEnabled()) statement.enableTracing();
-        if (readTimeout.isPresent()) statement.setReadTimeoutMillis(readTimeout.get());
+        if (hasFlag(DEFAULT_TIMESTAMP) && operationType.isUpsert && meta.isTable())
+            statement.setDefaultTimestamp(defaultTimestamp);
+        if (hasFlag(FETCH_SIZE)) statement.setFetchSize(fetchSize);
+        applyIdempotence(operationType, meta, statement, hasFlag(IDEMPOTENT) ? hasFlag(IDEMPOTENT_VALUE) : null);
+        if (outgoingPayLoad != null) statement.setOutgoingPayload(outgoingPayLoad);
+        if (pagingState != null) statement.setPagingState(pagingState);
+        if (retryPolicy != null) statement.setRetryPolicy(retryPolicy);
+        // An explicit tracing option wins over the tracing sampler
+        if (hasFlag(TRACING) ? hasFlag(TRACING_VALUE) : meta.getQueryTracer().sample(meta, operationType)) statement.enableTracing();
+        if (hasFlag(READ_TIMEOUT)) statement.setReadTimeoutMillis(readTimeout);
 
         return statement;
     }
 
+    private static void applyIdempotence(OperationType operationType, AbstractEntityProperty<?> meta, Statement statement, Boolean runtimeIdempotence) {
+        final Boolean idempotence = meta.idempotence(runtimeIdempotence, operationType, statement);
+        if (idempotence != null) statement.setIdempotent(idempotence);
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("Options{");
-        sb.append("cl=").append(cl);
-        sb.append(", serialCL=").append(serialCL);
-        sb.append(", defaultTimestamp=").append(defaultTimestamp);
-        sb.append(", timeToLive=").append(timeToLive);
-        sb.append(", fetchSize=").append(fetchSize);
-        sb.append(", idempotent=").append(idempotent);
-        sb.append(", outgoingPayLoad=").append(outgoingPayLoad);
-        sb.append(", pagingState=").append(pagingState);
-        sb.append(", retryPolicy=").append(retryPolicy);
-        sb.append(", resultSetAsyncListeners=").append(resultSetAsyncListeners);
-        sb.append(", rowAsyncListeners=").append(rowAsyncListeners);
-        sb.append(", tracing=").append(tracing);
-        sb.append(", schemaNameProvider=").append(schemaNameProvider);
-        sb.append(", readTimeoutInMillis=").append(readTimeout);
+        sb.append("cl=").append(getCl());
+        sb.append(", serialCL=").append(getSerialCL());
+        sb.append(", defaultTimestamp=").append(getDefaultTimestamp());
+        sb.append(", timeToLive=").append(getTimeToLive());
+        sb.append(", fetchSize=").append(getFetchSize());
+        sb.append(", adaptiveFetchSize=").append(getAdaptiveFetchSize());
+        sb.append(", idempotent=").append(getIdempotent());
+        sb.append(", outgoingPayLoad=").append(getOutgoingPayLoad());
+        sb.append(", pagingState=").append(getPagingState());
+        sb.append(", retryPolicy=").append(getRetryPolicy());
+        sb.append(", resultSetAsyncListeners=").append(getResultSetAsyncListeners());
+        sb.append(", rowAsyncListeners=").append(getRowAsyncListeners());
+        sb.append(", tracing=").append(getTracing());
+        sb.append(", schemaNameProvider=").append(getSchemaNameProvider());
+        sb.append(", readTimeoutInMillis=").append(hasFlag(READ_TIMEOUT) ? Optional.of(readTimeout) : Optional.empty());
         sb.append('}');
         return sb.toString();
     }
@@ -224,8 +224,9 @@ public class AnnotationTree {
         final Computed computed = varElm.getAnnotation(Computed.class);
         final Counter counter = varElm.getAnnotation(Counter.class);
         final TimeUUID timeUUID = varElm.getAnnotation(TimeUUID.class);
+        final Compressed compressed = varElm.getAnnotation(Compressed.class);
 
-        parsingContext.fieldValidator().validateCompatibleCodecAnnotationsOnField(aptUtils, fieldName, className, frozen, json, enumerated, codec, runtimeCodec, computed, counter, timeUUID);
+        parsingContext.fieldValidator().validateCompatibleCodecAnnotationsOnField(aptUtils, fieldName, className, frozen, json, enumerated, codec, runtimeCodec, computed, counter, timeUUID, compressed);
 
         final List<? extends TypeMirror> nestedTypes = currentType.getKind() == TypeKind.DECLARED ?
                 MoreTypes.asDeclared(currentType).getTypeArguments() : Arrays.asList();
@@ -248,6 +249,7 @@ public class AnnotationTree {
                             TimeUUID.class.getCanonicalName().equals(annotationName) ||
                             Codec.class.getCanonicalName().equals(annotationName) ||
                             RuntimeCodec.class.getCanonicalName().equals(annotationName) ||
+                            Compressed.class.getCanonicalName().equals(annotationName) ||
                             Index.class.getCanonicalName().equals(annotationName) ||
                             SASI.class.getCanonicalName().equals(annotationName) ||
                             DSE_Search.class.getCanonicalName().equals(annotationName) ||
@@ -278,6 +280,7 @@ public class AnnotationTree {
                                     areSameByClass(x, TimeUUID.class) ||
                                     areSameByClass(x, Codec.class) ||
                                     areSameByClass(x, RuntimeCodec.class) ||
+                                    areSameByClass(x, Compressed.class) ||
                                     areSameByClass(x, Index.class) ||
                                     areSameByClass(x, SASI.class) ||
                                     areSameByClass(x, DSE_Search.class) ||
@@ -510,7 +513,10 @@ public class AnnotationTree {
 
     private static TypedMap inspectSupportedAnnotation_Javac(AptUtils aptUtils, TypeMirror currentType, AnnotationMirror annotation) {
         final TypedMap typedMap = new TypedMap();
-        if(areSameByClass(annotation, Enumerated.class)){
+        if (areSameByClass(annotation, JSON.class)) {
+            final JSON.Format format = getElementValueEnum(annotation, "format", JSON.Format.class, true);
+            return TypedMap.of("format", format);
+        } else if(areSameByClass(annotation, Enumerated.class)){
             final Enumerated.Encoding encoding = getElementValueEnum(annotation, "value", Enumerated.Encoding.class, true);
             return TypedMap.of("value", encoding);
         } else if (areSameByClass(annotation, Codec.class)) {
@@ -519,6 +525,12 @@ public class AnnotationTree {
         } else if (areSameByClass(annotation, RuntimeCodec.class)) {
             final RuntimeCodecContext runtimeCodecContext = CodecFactory.buildRuntimeCodecContext(currentType, annotation);
             return TypedMap.of("runtimeCodecContext", runtimeCodecContext);
+        } else if (areSameByClass(annotation, Compressed.class)) {
+            final Compressed.Algorithm algorithm = getElementValueEnum(annotation, "algorithm", Compressed.Algorithm.class, true);
+            final int minSize = getElementValue(annotation, "minSize", Integer.class, true);
+            typedMap.put("algorithm", algorithm);
+            typedMap.put("minSize", minSize);
+            return typedMap;
         } else if (areSameByClass(annotation, Computed.class)) {
             final String function = getElementValue(annotation, "function", String.class, false);
             final Optional<Class<Object>> cqlClass = getElementValueClass(annotation, "cqlClass", false);
@@ -583,6 +595,8 @@ public class AnnotationTree {
             return Codec.class;
         } else if (areSameByClass(annotationMirror, RuntimeCodec.class)) {
             return RuntimeCodec.class;
+        } else if (areSameByClass(annotationMirror, Compressed.class)) {
+            return Compressed.class;
         } else if (areSameByClass(annotationMirror, Index.class)) {
             return Index.class;
         } else if (areSameByClass(annotationMirror, SASI.class)) {
@@ -605,6 +619,17 @@ public class AnnotationTree {
         final TypedMap typedMap = new TypedMap();
         final String annotationName = annotationBinding.getAnnotationType().debugName();
         if (JSON.class.getCanonicalName().equals(annotationName)) {
+            final JSON.Format format = Arrays.asList(annotationBinding.getElementValuePairs())
+                    .stream()
+                    .filter(pair -> new String(pair.getName()).equals("format"))
+                    .map(pair -> pair.getValue())
+                    .filter(value -> value instanceof FieldBinding)
+                    .map(value -> (FieldBinding) value)
+                    .filter(value -> JSON.Format.class.getCanonicalName().equals(value.type.debugName()))
+                    .map(value -> JSON.Format.valueOf(JSON.Format.class, new String(value.name)))
+                    .findFirst()
+                    .orElse(JSON.Format.TEXT);
+            typedMap.put("format", format);
             return Tuple2.of(JSON.class, typedMap);
         } else if (EmptyCollectionIfNull.class.getCanonicalName().equals(annotationName)) {
             return Tuple2.of(EmptyCollectionIfNull.class, typedMap);
@@ -714,6 +739,28 @@ public class AnnotationTree {
             typedMap.put("runtimeCodecContext", runtimeCodecContext);
             return Tuple2.of(RuntimeCodec.class, typedMap);
 
+        } else if (Compressed.class.getCanonicalName().equals(annotationName)) {
+            final List<ElementValuePair> pairs = Arrays.asList(annotationBinding.getElementValuePairs());
+            final Compressed.Algorithm algorithm = pairs
+                    .stream()
+                    .filter(pair -> new String(pair.getName()).equals("algorithm"))
+                    .map(pair -> pair.getValue())
+                    .filter(value -> value instanceof FieldBinding)
+                    .map(value -> (FieldBinding) value)
+                    .filter(value -> Compressed.Algorithm.class.getCanonicalName().equals(value.type.debugName()))
+                    .map(value -> Compressed.Algorithm.valueOf(Compressed.Algorithm.class, new String(value.name)))
+                    .findFirst()
+                    .orElse(Compressed.Algorithm.LZ4);
+
+            final int minSize = pairs
+                    .stream()
+                    .filter(pair -> new String(pair.getName()).equals("minSize"))
+                    .map(pair -> ((IntConstant) pair.getValue()).intValue())
+                    .findFirst().orElse(1024);
+
+            typedMap.put("algorithm", algorithm);
+            typedMap.put("minSize", minSize);
+            return Tuple2.of(Compressed.class, typedMap);
         } else if (Index.class.getCanonicalName().equals(annotationName)) {
             final List<ElementValuePair> pairs = Arrays.asList(annotationBinding.getElementValuePairs());
             final String name = pairs
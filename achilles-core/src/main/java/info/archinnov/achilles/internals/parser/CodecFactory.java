@@ -110,6 +110,16 @@ public class CodecFactory {
     }
 
     public CodecInfo createCodec(TypeName sourceType, AnnotationTree annotationTree, FieldParsingContext context, Optional<CodecInfo> codecFromRegistry) {
+        final CodecInfo codecInfo = createUncompressedCodec(sourceType, annotationTree, context, codecFromRegistry);
+        final Optional<TypedMap> compressed = extractTypedMap(annotationTree, Compressed.class);
+        if (compressed.isPresent()) {
+            return compressedCodecCodeGen(context, codecInfo, compressed.get());
+        } else {
+            return codecInfo;
+        }
+    }
+
+    private CodecInfo createUncompressedCodec(TypeName sourceType, AnnotationTree annotationTree, FieldParsingContext context, Optional<CodecInfo> codecFromRegistry) {
         final String fieldName = context.fieldName;
         final String className = context.className;
 
@@ -129,8 +139,15 @@ public class CodecFactory {
         CodeBlock codec;
 
         if (jsonTransform.isPresent()) {
-            codec = CodeBlock.builder().add("new $T<>($T.class, $L)", JSON_CODEC, getRawType(sourceType).box(), buildJavaTypeForJackson(sourceType)).build();
-            targetType = ClassName.get(String.class);
+            final JSON.Format format = getJSONFormat(jsonTransform.get());
+            if (format == JSON.Format.TEXT) {
+                codec = CodeBlock.builder().add("new $T<>($T.class, $L)", JSON_CODEC, getRawType(sourceType).box(), buildJavaTypeForJackson(sourceType)).build();
+                targetType = ClassName.get(String.class);
+            } else {
+                codec = CodeBlock.builder().add("new $T<>($T.class, $L, $T.$L)", BINARY_JSON_CODEC, getRawType(sourceType).box(),
+                        buildJavaTypeForJackson(sourceType), JSON_FORMAT, format.name()).build();
+                targetType = BYTE_BUFFER;
+            }
             return new CodecInfo(codec, sourceType, targetType);
         } else if (codecFromType.isPresent()) {
             final Tuple2<TypeName, CodeBlock> tuple2 = codecCodeGen(context, codecFromType.get(), sourceType, computedCQLClass, isCounter);
@@ -194,7 +211,9 @@ public class CodecFactory {
         final boolean isCounter = extractTypedMap(annotationTree, Counter.class).isPresent();
 
         if (jsonTransform.isPresent()) {
-            return ClassName.get(String.class);
+            return getJSONFormat(jsonTransform.get()) == JSON.Format.TEXT
+                    ? ClassName.get(String.class)
+                    : BYTE_BUFFER;
         } else if (codecFromType.isPresent()) {
             final CodecContext codecContext = codecFromType.get().getTyped("codecContext");
             context.fieldValidator().validateCodec(aptUtils, typeValidator, codecContext, sourceType, computedCQLClass, isCounter);
@@ -284,6 +303,27 @@ public class CodecFactory {
         }
     }
 
+    private CodecInfo compressedCodecCodeGen(FieldParsingContext context, CodecInfo codecInfo, TypedMap compressed) {
+        final TypeName rawTargetType = getRawType(codecInfo.targetType).box();
+        final Compressed.Algorithm algorithm = compressed.getTyped("algorithm");
+        final int minSize = compressed.getTyped("minSize");
+
+        aptUtils.validateTrue(rawTargetType.equals(STRING) || rawTargetType.equals(BYTE_BUFFER),
+                "@Compressed field '%s' of class '%s' should be encoded as String or ByteBuffer but its codec target type is '%s'",
+                context.fieldName, context.className, codecInfo.targetType);
+        aptUtils.validateTrue(minSize >= 0, "@Compressed minSize on field '%s' of class '%s' should be positive or 0",
+                context.fieldName, context.className);
+
+        final String factoryMethod = rawTargetType.equals(STRING) ? "forText" : "forBlob";
+        final CodeBlock codec = CodeBlock.builder().add("$T.$L($L, $T.$L, $L)", COMPRESSED_CODEC, factoryMethod,
+                codecInfo.codecCode, COMPRESSION_ALGORITHM, algorithm.name(), minSize).build();
+        return new CodecInfo(codec, codecInfo.sourceType, BYTE_BUFFER);
+    }
+
+    private static JSON.Format getJSONFormat(TypedMap jsonTransform) {
+        return jsonTransform.getTypedOr("format", JSON.Format.TEXT);
+    }
+
     CodeBlock buildJavaTypeForJackson(TypeName sourceType) {
         if (sourceType instanceof ClassName) {
             final ClassName className = (ClassName) sourceType;
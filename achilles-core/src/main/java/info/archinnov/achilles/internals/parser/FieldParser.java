@@ -85,7 +85,7 @@ public class FieldParser {
         boolean isUDT = currentTypeMirror.getKind() == TypeKind.DECLARED
                 && aptUtils.getAnnotationOnClass(currentTypeMirror, UDT.class).isPresent();
 
-        if (containsAnnotation(annotationTree, JSON.class)) {
+        if (containsAnnotation(annotationTree, JSON.class) || containsAnnotation(annotationTree, Compressed.class)) {
             return parseSimpleType(annotationTree, context, sourceType);
         } else if (containsAnnotation(annotationTree, Computed.class)) {
             return parseComputedType(annotationTree, context, sourceType);
@@ -40,7 +40,10 @@ import com.google.common.collect.Sets;
 import com.google.common.reflect.TypeToken;
 import com.squareup.javapoet.*;
 
+import info.archinnov.achilles.annotations.Compressed;
 import info.archinnov.achilles.annotations.DSE_Search;
+import info.archinnov.achilles.annotations.JSON;
+import info.archinnov.achilles.annotations.MultiPartitionQuery;
 import info.archinnov.achilles.annotations.SASI;
 import info.archinnov.achilles.annotations.SASI.Analyzer;
 import info.archinnov.achilles.annotations.SASI.IndexMode;
@@ -150,6 +153,10 @@ public class TypeUtils {
 
     // Codecs
     public static final ClassName JSON_CODEC = ClassName.get(JSONCodec.class);
+    public static final ClassName BINARY_JSON_CODEC = ClassName.get(BinaryJSONCodec.class);
+    public static final ClassName JSON_FORMAT = ClassName.get(JSON.Format.class);
+    public static final ClassName COMPRESSED_CODEC = ClassName.get(CompressedCodec.class);
+    public static final ClassName COMPRESSION_ALGORITHM = ClassName.get(Compressed.Algorithm.class);
     public static final ClassName ENUM_NAME_CODEC = ClassName.get(EnumNameCodec.class);
 
     public static final ClassName ENUM_ORDINAL_CODEC = ClassName.get(EnumOrdinalCodec.class);
@@ -158,6 +165,9 @@ public class TypeUtils {
     public static final ClassName FALL_THROUGH_CODEC = ClassName.get(FallThroughCodec.class);
     public static final ClassName RUNTIME_CODEC_WRAPPER = ClassName.get(RuntimeCodecWrapper.class);
 
+    // Query lint
+    public static final ClassName MULTI_PARTITION_QUERY = ClassName.get(MultiPartitionQuery.class);
+
     // Meta data
     public static final ClassName COMPUTED_PROPERTY = ClassName.get(ComputedProperty.class);
     public static final ClassName SIMPLE_PROPERTY = ClassName.get(SimpleProperty.class);
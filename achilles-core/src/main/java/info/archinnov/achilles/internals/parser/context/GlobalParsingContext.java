@@ -55,6 +55,7 @@ import info.archinnov.achilles.internals.strategy.naming.InternalNamingStrategy;
 import info.archinnov.achilles.internals.strategy.naming.LowerCaseNaming;
 import info.archinnov.achilles.internals.utils.NamingHelper;
 import info.archinnov.achilles.type.CassandraVersion;
+import info.archinnov.achilles.type.QueryLintLevel;
 import info.archinnov.achilles.type.strategy.ColumnMappingStrategy;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
 import info.archinnov.achilles.type.tuples.Tuple2;
@@ -90,6 +91,7 @@ public class GlobalParsingContext {
     public final FieldFilter fieldFilter;
     public final FieldFilter udtFieldFilter;
     public final Optional<String> projectName;
+    public final QueryLintLevel queryLintLevel;
     public final Map<TypeName, TypeSpec> udtTypes = new HashMap<>();
     public final Map<TypeName, UDTMetaSignature> udtMetaSignatures = new HashMap<>();
     public final Map<TypeName, CodecInfo> codecRegistry = new HashMap<>();
@@ -102,7 +104,8 @@ public class GlobalParsingContext {
         final Optional<String> projectName = StringUtils.isBlank(compileTimeConfig.projectName())
                 ? Optional.empty()
                 : Optional.of(compileTimeConfig.projectName());
-        return new GlobalParsingContext(version, insertStrategy, namingStrategy, fieldFilters._1(), fieldFilters._2(), projectName);
+        return new GlobalParsingContext(version, insertStrategy, namingStrategy, fieldFilters._1(), fieldFilters._2(), projectName,
+                compileTimeConfig.queryLint());
     }
 
     public static GlobalParsingContext defaultContext() {
@@ -112,12 +115,18 @@ public class GlobalParsingContext {
 
     public GlobalParsingContext(InternalCassandraVersion cassandraVersion, InsertStrategy insertStrategy, InternalNamingStrategy namingStrategy,
                                 FieldFilter fieldFilter, FieldFilter udtFieldFilter, Optional<String> projectName) {
+        this(cassandraVersion, insertStrategy, namingStrategy, fieldFilter, udtFieldFilter, projectName, QueryLintLevel.NONE);
+    }
+
+    public GlobalParsingContext(InternalCassandraVersion cassandraVersion, InsertStrategy insertStrategy, InternalNamingStrategy namingStrategy,
+                                FieldFilter fieldFilter, FieldFilter udtFieldFilter, Optional<String> projectName, QueryLintLevel queryLintLevel) {
         this.cassandraVersion = cassandraVersion;
         this.insertStrategy = insertStrategy;
         this.fieldFilter = fieldFilter;
         this.udtFieldFilter = udtFieldFilter;
         this.namingStrategy = namingStrategy;
         this.projectName = projectName;
+        this.queryLintLevel = queryLintLevel;
     }
 
     public String managerFactoryBuilderClassName() {
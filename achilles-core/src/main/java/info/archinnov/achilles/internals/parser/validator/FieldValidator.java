@@ -113,13 +113,15 @@ public abstract class FieldValidator {
     public void validateCompatibleCodecAnnotationsOnField(AptUtils aptUtils, String fieldName, Name className,
                                                                  Frozen frozen, JSON json, Enumerated enumerated, Codec codec,
                                                                  RuntimeCodec runtimeCodec,
-                                                                 Computed computed, Counter counter, TimeUUID timeUUID) {
+                                                                 Computed computed, Counter counter, TimeUUID timeUUID,
+                                                                 Compressed compressed) {
 
         checkNoMutuallyExclusiveCodecAnnotations(aptUtils, fieldName, className, asList(json, codec, runtimeCodec, enumerated, frozen));
 
         checkNoMutuallyExclusiveCodecAnnotations(aptUtils, fieldName, className, computed, asList(frozen, json, enumerated));
         checkNoMutuallyExclusiveCodecAnnotations(aptUtils, fieldName, className, counter, asList(frozen, json, enumerated, computed));
         checkNoMutuallyExclusiveCodecAnnotations(aptUtils, fieldName, className, timeUUID, asList(frozen, json, enumerated, codec, runtimeCodec, computed, counter));
+        checkNoMutuallyExclusiveCodecAnnotations(aptUtils, fieldName, className, compressed, asList(frozen, enumerated, computed, counter, timeUUID));
 
     }
 
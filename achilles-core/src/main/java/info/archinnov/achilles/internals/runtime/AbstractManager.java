@@ -45,6 +45,7 @@ public abstract class AbstractManager<ENTITY> {
     protected final Class<ENTITY> entityClass;
     protected final RuntimeEngine rte;
     protected final AbstractEntityProperty<ENTITY> meta_internal;
+    private volatile FindByIdLoader<ENTITY> findByIdLoader;
 
     public AbstractManager(Class<ENTITY> entityClass, AbstractEntityProperty<ENTITY> meta_internal, RuntimeEngine rte) {
         this.entityClass = entityClass;
@@ -92,6 +93,40 @@ public abstract class AbstractManager<ENTITY> {
         return rte.getCluster();
     }
 
+    /**
+     * Return the shared {@link FindByIdLoader} of this Manager. Concurrent <em>findById</em>
+     * requests sent through this loader are de-duplicated and dispatched together, either explicitly
+     * or after the batch window defined by <em>withFindByIdLoaderBatchWindow()</em> at bootstrap
+     *
+     * @return FindByIdLoader&lt;ENTITY&gt; shared by all callers of this Manager
+     */
+    public FindByIdLoader<ENTITY> findByIdLoader() {
+        if (findByIdLoader == null) {
+            synchronized (this) {
+                if (findByIdLoader == null) {
+                    findByIdLoader = newFindByIdLoader(rte.configContext.getFindByIdLoaderBatchWindowInMillis());
+                }
+            }
+        }
+        return findByIdLoader;
+    }
+
+    /**
+     * Create a new {@link FindByIdLoader}, e.g. one per incoming request
+     *
+     * @param batchWindowInMillis time window during which requests are collected before being dispatched.
+     *                            Use 0 to dispatch only by an explicit call to <em>dispatch()</em>
+     * @return a new FindByIdLoader&lt;ENTITY&gt;
+     */
+    public FindByIdLoader<ENTITY> newFindByIdLoader(long batchWindowInMillis) {
+        validateTrue(batchWindowInMillis >= 0, "The batch window for find by id loader should be positive or 0");
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Create find by id loader for entity %s with batch window of %s ms",
+                    entityClass.getCanonicalName(), batchWindowInMillis));
+        }
+        return new FindByIdLoader<>(meta_internal, rte, batchWindowInMillis);
+    }
+
     protected InsertWithOptions<ENTITY> insertInternal(ENTITY instance, boolean insertStatic) {
 
         validateNotNull(instance, "Entity to be inserted should not be null");
@@ -18,6 +18,7 @@ package info.archinnov.achilles.internals.runtime;
 
 import static info.archinnov.achilles.internals.schema.SchemaCreator.generateSchemaAtRuntime;
 import static info.archinnov.achilles.internals.schema.SchemaCreator.generateUDTAtRuntime;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
 import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
 
@@ -41,14 +42,19 @@ import com.datastax.driver.extras.codecs.jdk8.LocalDateCodec;
 import com.datastax.driver.extras.codecs.jdk8.LocalTimeCodec;
 import com.datastax.driver.extras.codecs.jdk8.ZonedDateTimeCodec;
 
+import info.archinnov.achilles.async.BulkheadStats;
+import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
+import info.archinnov.achilles.internals.lob.LargeObjectStore;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.metamodel.AbstractUDTClassProperty;
 import info.archinnov.achilles.internals.metamodel.AbstractViewProperty;
 import info.archinnov.achilles.internals.metamodel.UDTProperty;
 import info.archinnov.achilles.internals.metamodel.functions.FunctionProperty;
+import info.archinnov.achilles.monitoring.HotPartitionsMXBean;
+import info.archinnov.achilles.monitoring.PayloadSizeStats;
 
 public abstract class AbstractManagerFactory {
 
@@ -57,6 +63,7 @@ public abstract class AbstractManagerFactory {
     protected final Cluster cluster;
     protected final ConfigurationContext configContext;
     protected final RuntimeEngine rte;
+    protected final Optional<LargeObjectStore> largeObjectStore;
 
     protected List<AbstractEntityProperty<?>> entityProperties;
     protected List<Class<?>> entityClasses;
@@ -66,6 +73,13 @@ public abstract class AbstractManagerFactory {
         this.cluster = cluster;
         this.configContext = configContext;
         this.rte = new RuntimeEngine(configContext);
+        this.largeObjectStore = configContext.getLargeObjectTable()
+                .map(table -> new LargeObjectStore(rte, table, configContext.getLargeObjectChunkSizeInBytes(),
+                        configContext.getLargeObjectMaxConcurrentWrites(), configContext.getLargeObjectPrefetchChunks()));
+        if (configContext.isHotPartitionsJMXEnabled()) {
+            rte.hotPartitionDetector.ifPresent(detector ->
+                    detector.registerMBean(rte.currentKeyspace + "@" + Integer.toHexString(System.identityHashCode(this))));
+        }
     }
 
     protected abstract List<AbstractUDTClassProperty<?>> getUdtClassProperties();
@@ -92,6 +106,59 @@ public abstract class AbstractManagerFactory {
         return tableName;
     }
 
+    /**
+     * Adaptive fetch size statistics: average row size and current fetch size per SELECT query,
+     * together with the configured page budget and bounds
+     */
+    public AdaptiveFetchSize adaptiveFetchSize() {
+        return rte.adaptiveFetchSize;
+    }
+
+    /**
+     * Store for large binary objects, split into fixed-size chunks. The chunk table should be
+     * configured with <em>withLargeObjectTable()</em> on the ManagerFactoryBuilder
+     */
+    public LargeObjectStore largeObjects() {
+        validateTrue(largeObjectStore.isPresent(), "The large object store is not enabled, " +
+                "please configure a chunk table with ManagerFactoryBuilder.withLargeObjectTable()");
+        return largeObjectStore.get();
+    }
+
+    /**
+     * Prepared statements cache, with the keyspaces of the schema name providers currently cached
+     * and the related hit/miss/eviction statistics
+     */
+    public StatementsCache statementsCache() {
+        return rte.cache;
+    }
+
+    /**
+     * Queue depth, running, completed and rejected callbacks of each bulkhead, by bulkhead name
+     */
+    public Map<String, BulkheadStats> bulkheadStats() {
+        return configContext.getBulkheads().getStats();
+    }
+
+    /**
+     * Hot partitions per table and access type, estimated from a sample of the executed statements.
+     * The detection should be enabled with <em>withHotPartitionDetection()</em> on the ManagerFactoryBuilder
+     */
+    public HotPartitionsMXBean hotPartitions() {
+        validateTrue(rte.hotPartitionDetector.isPresent(), "The hot partition detection is not enabled, " +
+                "please configure a sampling rate with ManagerFactoryBuilder.withHotPartitionDetection()");
+        return rte.hotPartitionDetector.get();
+    }
+
+    /**
+     * Histograms of the request and response payload sizes per entity and operation type.
+     * The tracking should be enabled with <em>withPayloadSizeTracking()</em> on the ManagerFactoryBuilder
+     */
+    public List<PayloadSizeStats> payloadSizes() {
+        validateTrue(rte.payloadSizeTracker.isPresent(), "The payload size tracking is not enabled, " +
+                "please enable it with ManagerFactoryBuilder.withPayloadSizeTracking()");
+        return rte.payloadSizeTracker.get().getStats();
+    }
+
     /**
      * Shutdown the manager factory and the related session and executor service (if they are created by Achilles).
      * If the Java driver Session object and/or the executor service were provided as bootstrap parameter, Achilles
@@ -109,6 +176,10 @@ public abstract class AbstractManagerFactory {
             LOGGER.info(format("Closing built executor service (thread pool) %s", configContext.getExecutorService()));
             configContext.getExecutorService().shutdown();
         }
+        rte.shutDownScheduler();
+        configContext.getQueryTracer().shutDown();
+        configContext.getBulkheads().shutDown();
+        rte.hotPartitionDetector.ifPresent(HotPartitionDetector::unregisterMBean);
     }
 
     protected void bootstrap() {
@@ -157,6 +228,10 @@ public abstract class AbstractManagerFactory {
         functionProperties
                 .stream()
                 .forEach(x -> x.validate(configContext));
+
+        if (!configContext.isForceSchemaGeneration()) {
+            largeObjectStore.ifPresent(LargeObjectStore::validateTable);
+        }
     }
 
 
@@ -203,6 +278,7 @@ public abstract class AbstractManagerFactory {
                     .filter(x -> manageEntities.contains(x.entityClass))
                     .forEach(x -> generateSchemaAtRuntime(session, x));
 
+            largeObjectStore.ifPresent(LargeObjectStore::createTable);
         }
     }
 
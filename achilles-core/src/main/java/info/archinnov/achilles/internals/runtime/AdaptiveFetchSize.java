@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static com.google.common.cache.CacheBuilder.newBuilder;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ResultSet;
+import com.google.common.cache.Cache;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.types.RowSizeTrackingResultSet;
+import info.archinnov.achilles.internals.types.RowSizeTrackingResultSet.PageListener;
+
+/**
+ * Adaptive fetch size for SELECT statements.
+ * <br/>
+ * <br/>
+ * The average encoded row size is tracked per query shape (the prepared query string, which identifies
+ * the entity table and the selected columns) from the pages returned by Cassandra. The fetch size of
+ * the next executions of the same query is then chosen so that each page weighs about <em>pageBudgetInBytes</em>,
+ * bounded by <em>minFetchSize</em> and <em>maxFetchSize</em>.
+ * <br/>
+ * <br/>
+ * Until a page has been observed for a query, the initial fetch size is used. The row size is an
+ * exponentially weighted moving average of the page averages
+ */
+public class AdaptiveFetchSize {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveFetchSize.class);
+    private static final double SMOOTHING_FACTOR = 0.2;
+
+    private final long pageBudgetInBytes;
+    private final int minFetchSize;
+    private final int maxFetchSize;
+    private final int initialFetchSize;
+    private final Cache<String, RowSizeStatistics> statistics;
+
+    public AdaptiveFetchSize(long pageBudgetInBytes, int minFetchSize, int maxFetchSize, int initialFetchSize, int maxTrackedQueries) {
+        validateTrue(pageBudgetInBytes > 0, "The adaptive fetch size page budget '%s' should be strictly positive", pageBudgetInBytes);
+        validateTrue(minFetchSize > 0, "The adaptive fetch size lower bound '%s' should be strictly positive", minFetchSize);
+        validateTrue(maxFetchSize >= minFetchSize, "The adaptive fetch size upper bound '%s' should be greater than or equal to the lower bound '%s'",
+                maxFetchSize, minFetchSize);
+        this.pageBudgetInBytes = pageBudgetInBytes;
+        this.minFetchSize = minFetchSize;
+        this.maxFetchSize = maxFetchSize;
+        this.initialFetchSize = bounded(initialFetchSize);
+        this.statistics = newBuilder().maximumSize(maxTrackedQueries).build();
+    }
+
+    /**
+     * Fetch size to use for the next execution of the given query
+     */
+    public int fetchSizeFor(String queryString) {
+        final RowSizeStatistics stats = statistics.getIfPresent(queryString);
+        if (stats == null || stats.getObservedRowCount() == 0) {
+            return initialFetchSize;
+        }
+        return stats.getFetchSize();
+    }
+
+    /**
+     * Wrap the result set so that the size of the consumed pages is recorded for the given query
+     */
+    public ResultSet track(String queryString, ResultSet resultSet) {
+        return new RowSizeTrackingResultSet(resultSet, pageListenerFor(queryString));
+    }
+
+    /**
+     * Listener recording the size of the consumed pages for the given query
+     */
+    public PageListener pageListenerFor(String queryString) {
+        return statisticsFor(queryString)::recordPage;
+    }
+
+    public Optional<Double> getAverageRowSizeInBytes(String queryString) {
+        return Optional.ofNullable(statistics.getIfPresent(queryString))
+                .filter(stats -> stats.getObservedRowCount() > 0)
+                .map(RowSizeStatistics::getAverageRowSizeInBytes);
+    }
+
+    public Map<String, RowSizeStatistics> getStatistics() {
+        return statistics.asMap();
+    }
+
+    public long getPageBudgetInBytes() {
+        return pageBudgetInBytes;
+    }
+
+    public int getMinFetchSize() {
+        return minFetchSize;
+    }
+
+    public int getMaxFetchSize() {
+        return maxFetchSize;
+    }
+
+    private RowSizeStatistics statisticsFor(String queryString) {
+        try {
+            return statistics.get(queryString, () -> new RowSizeStatistics(queryString));
+        } catch (ExecutionException e) {
+            throw new AchillesException(e);
+        }
+    }
+
+    private int bounded(long fetchSize) {
+        return (int) Math.max(minFetchSize, Math.min(maxFetchSize, fetchSize));
+    }
+
+    public class RowSizeStatistics {
+        private final String queryString;
+        private final AtomicLong averageRowSizeBits = new AtomicLong(Double.doubleToLongBits(0d));
+        private final AtomicLong observedRowCount = new AtomicLong(0L);
+        private final AtomicLong observedPageCount = new AtomicLong(0L);
+
+        private RowSizeStatistics(String queryString) {
+            this.queryString = queryString;
+        }
+
+        void recordPage(int rowCount, long sizeInBytes) {
+            final double pageAverage = (double) sizeInBytes / rowCount;
+            long currentBits, newBits;
+            do {
+                currentBits = averageRowSizeBits.get();
+                final double current = Double.longBitsToDouble(currentBits);
+                final double updated = observedPageCount.get() == 0
+                        ? pageAverage
+                        : SMOOTHING_FACTOR * pageAverage + (1 - SMOOTHING_FACTOR) * current;
+                newBits = Double.doubleToLongBits(updated);
+            } while (!averageRowSizeBits.compareAndSet(currentBits, newBits));
+
+            observedRowCount.addAndGet(rowCount);
+            observedPageCount.incrementAndGet();
+
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Observed page of %s rows and %s bytes for query %s, average row size = %.1f bytes, next fetch size = %s",
+                        rowCount, sizeInBytes, queryString, Double.longBitsToDouble(newBits), getFetchSize()));
+            }
+        }
+
+        public double getAverageRowSizeInBytes() {
+            return Double.longBitsToDouble(averageRowSizeBits.get());
+        }
+
+        public int getFetchSize() {
+            final double averageRowSize = Math.max(1d, getAverageRowSizeInBytes());
+            return bounded((long) (pageBudgetInBytes / averageRowSize));
+        }
+
+        public long getObservedRowCount() {
+            return observedRowCount.get();
+        }
+
+        public long getObservedPageCount() {
+            return observedPageCount.get();
+        }
+
+        @Override
+        public String toString() {
+            return format("RowSizeStatistics{query=%s, averageRowSizeInBytes=%.1f, fetchSize=%s, observedRowCount=%s, observedPageCount=%s}",
+                    queryString, getAverageRowSizeInBytes(), getFetchSize(), getObservedRowCount(), getObservedPageCount());
+        }
+    }
+}
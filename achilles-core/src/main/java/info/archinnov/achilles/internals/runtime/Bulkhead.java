@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import info.archinnov.achilles.async.BulkheadStats;
+
+/**
+ * Executor of a bulkhead, counting the queued, running, completed and rejected callbacks
+ */
+public class Bulkhead implements Executor {
+
+    final String name;
+    final ExecutorService executorService;
+    final boolean createdByAchilles;
+    private final AtomicInteger queueDepth = new AtomicInteger(0);
+    private final AtomicInteger activeCount = new AtomicInteger(0);
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    public Bulkhead(String name, ExecutorService executorService, boolean createdByAchilles) {
+        this.name = name;
+        this.executorService = executorService;
+        this.createdByAchilles = createdByAchilles;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        queueDepth.incrementAndGet();
+        try {
+            executorService.execute(() -> {
+                queueDepth.decrementAndGet();
+                activeCount.incrementAndGet();
+                try {
+                    command.run();
+                } finally {
+                    activeCount.decrementAndGet();
+                    completedCount.increment();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            queueDepth.decrementAndGet();
+            rejectedCount.increment();
+            throw ex;
+        }
+    }
+
+    public BulkheadStats getStats() {
+        return new BulkheadStats(name, queueDepth.get(), activeCount.get(), completedCount.sum(), rejectedCount.sum());
+    }
+
+    @Override
+    public String toString() {
+        return format("Bulkhead{name=%s, executorService=%s}", name, executorService);
+    }
+}
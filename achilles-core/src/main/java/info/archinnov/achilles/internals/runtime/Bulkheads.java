@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static com.google.common.cache.CacheBuilder.newBuilder;
+import static java.lang.String.format;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.PreparedStatement;
+import com.google.common.cache.Cache;
+
+import info.archinnov.achilles.async.BulkheadOperation;
+import info.archinnov.achilles.async.BulkheadStats;
+import info.archinnov.achilles.internals.dsl.LWTHelper;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.OperationType;
+
+/**
+ * Select the executor completing the asynchronous results of a statement.
+ * <br/>
+ * <br/>
+ * The bulkhead of the entity (defined at bootstrap with <em>withEntityBulkhead()</em>, or else with
+ * <em>{@literal @}Table(bulkhead = "...")</em>) wins over the bulkhead of the operation category
+ * (<em>withOperationBulkhead()</em>). Without bulkhead, the shared default executor is used.
+ * Bulkheads without executor provided at bootstrap get their own work-stealing pool.
+ * <br/>
+ * The LWT detection only runs when the LWT bulkhead differs from the write bulkhead and its result is
+ * kept per prepared statement
+ */
+public class Bulkheads {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Bulkheads.class);
+
+    public static final Bulkheads NONE = new Bulkheads(new HashMap<>(), new HashMap<>(), new HashMap<>(), 1);
+
+    private final Map<String, ExecutorService> providedExecutors;
+    private final Map<Class<?>, String> entityBulkheads;
+    private final int defaultParallelism;
+    private final boolean configured;
+    private final boolean distinctLWTBulkhead;
+    private final Cache<PreparedStatement, Boolean> lwtPerStatement = newBuilder().weakKeys().build();
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<Bulkhead>> bulkheadPerEntity = new ConcurrentHashMap<>();
+    private final Bulkhead[] bulkheadPerOperation = new Bulkhead[BulkheadOperation.values().length];
+
+    public Bulkheads(Map<String, ExecutorService> providedExecutors,
+                     Map<Class<?>, String> entityBulkheads, Map<BulkheadOperation, String> operationBulkheads,
+                     int defaultParallelism) {
+        this.providedExecutors = new HashMap<>(providedExecutors);
+        this.entityBulkheads = new HashMap<>(entityBulkheads);
+        this.defaultParallelism = defaultParallelism;
+        this.configured = !providedExecutors.isEmpty() || !entityBulkheads.isEmpty() || !operationBulkheads.isEmpty();
+        providedExecutors.keySet().forEach(this::getOrCreate);
+        for (Map.Entry<BulkheadOperation, String> entry : operationBulkheads.entrySet()) {
+            bulkheadPerOperation[entry.getKey().ordinal()] = getOrCreate(entry.getValue());
+        }
+        if (bulkheadPerOperation[BulkheadOperation.LWT.ordinal()] == null) {
+            bulkheadPerOperation[BulkheadOperation.LWT.ordinal()] = bulkheadPerOperation[BulkheadOperation.WRITE.ordinal()];
+        }
+        this.distinctLWTBulkhead = bulkheadPerOperation[BulkheadOperation.LWT.ordinal()] != bulkheadPerOperation[BulkheadOperation.WRITE.ordinal()];
+    }
+
+    /**
+     * @param meta            entity meta of the statement
+     * @param operationType   type of the statement
+     * @param preparedStatement prepared statement, to detect LWT
+     * @param defaultExecutor executor to use when no bulkhead applies
+     * @return executor completing the asynchronous results of the statement
+     */
+    public Executor executorFor(AbstractEntityProperty<?> meta, OperationType operationType, PreparedStatement preparedStatement,
+                                Executor defaultExecutor) {
+        if (!configured && !meta.staticBulkhead.isPresent()) {
+            return defaultExecutor;
+        }
+        return executorFor(meta.entityClass, meta.staticBulkhead, operationType, () -> isLWT(preparedStatement), defaultExecutor);
+    }
+
+    Executor executorFor(Class<?> entityClass, Optional<String> staticBulkhead, OperationType operationType,
+                         BooleanSupplier isLWT, Executor defaultExecutor) {
+        final Optional<Bulkhead> entityBulkhead = bulkheadPerEntity.computeIfAbsent(entityClass,
+                clazz -> findBulkheadName(clazz, staticBulkhead).map(this::getOrCreate));
+        if (entityBulkhead.isPresent()) {
+            return entityBulkhead.get();
+        }
+
+        final Bulkhead operationBulkhead;
+        switch (operationType) {
+            case SELECT:
+                operationBulkhead = bulkheadPerOperation[BulkheadOperation.READ.ordinal()];
+                break;
+            case INSERT:
+            case UPDATE:
+            case DELETE:
+                operationBulkhead = distinctLWTBulkhead && isLWT.getAsBoolean()
+                        ? bulkheadPerOperation[BulkheadOperation.LWT.ordinal()]
+                        : bulkheadPerOperation[BulkheadOperation.WRITE.ordinal()];
+                break;
+            default:
+                operationBulkhead = null;
+        }
+        return operationBulkhead != null ? operationBulkhead : defaultExecutor;
+    }
+
+    boolean isLWT(PreparedStatement preparedStatement) {
+        Boolean lwt = lwtPerStatement.getIfPresent(preparedStatement);
+        if (lwt == null) {
+            lwt = LWTHelper.isLWTOperation(preparedStatement.getQueryString());
+            lwtPerStatement.put(preparedStatement, lwt);
+        }
+        return lwt;
+    }
+
+    /**
+     * @return stats of all bulkheads created so far, by bulkhead name
+     */
+    public Map<String, BulkheadStats> getStats() {
+        final Map<String, BulkheadStats> stats = new TreeMap<>();
+        bulkheads.forEach((name, bulkhead) -> stats.put(name, bulkhead.getStats()));
+        return stats;
+    }
+
+    public void shutDown() {
+        for (Bulkhead bulkhead : bulkheads.values()) {
+            if (bulkhead.createdByAchilles) {
+                LOGGER.info(format("Closing executor of bulkhead %s", bulkhead.name));
+                bulkhead.executorService.shutdown();
+            }
+        }
+    }
+
+    private Optional<String> findBulkheadName(Class<?> entityClass, Optional<String> staticBulkhead) {
+        final String bulkheadName = entityBulkheads.get(entityClass);
+        return bulkheadName != null ? Optional.of(bulkheadName) : staticBulkhead;
+    }
+
+    private Bulkhead getOrCreate(String name) {
+        return bulkheads.computeIfAbsent(name, bulkheadName -> {
+            final ExecutorService provided = providedExecutors.get(bulkheadName);
+            if (provided != null) {
+                return new Bulkhead(bulkheadName, provided, false);
+            }
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Creating work-stealing pool with parallelism %s for bulkhead %s", defaultParallelism, bulkheadName));
+            }
+            final ForkJoinPool pool = new ForkJoinPool(defaultParallelism, pool1 -> {
+                final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool1);
+                thread.setName("achilles-bulkhead-" + bulkheadName + "-" + thread.getPoolIndex());
+                return thread;
+            }, null, true);
+            return new Bulkhead(bulkheadName, pool, true);
+        });
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static info.archinnov.achilles.validation.Validator.validateNotNull;
+import static info.archinnov.achilles.validation.Validator.validateTrue;
+import static java.lang.String.format;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+
+import info.archinnov.achilles.internals.dsl.AsyncAware;
+import info.archinnov.achilles.internals.dsl.crud.FindWithOptions;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+
+/**
+ * Coalesce <strong>find by id</strong> requests issued by concurrent callers.
+ * <br/>
+ * <br/>
+ * Calls to {@link #load(Object...)} are queued until {@link #dispatch()} is invoked or, when a
+ * batch window is configured, until the window elapses. Identical primary keys are de-duplicated
+ * and each distinct key is fetched once, concurrently, with the prepared <strong>FIND</strong> statement.
+ * A key whose lookup is still in flight is also joined by later callers instead of being re-fetched.
+ * <br/>
+ * <br/>
+ * <em>All callers asking for the same primary key receive the <strong>same</strong> entity instance</em>,
+ * entities are not copied. Callers which modify the returned entity should copy it first or
+ * use the CRUD <em>findById()</em> API, which always creates a new instance
+ *
+ * @param <ENTITY> entity type
+ */
+public class FindByIdLoader<ENTITY> implements AsyncAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FindByIdLoader.class);
+
+    private final Class<ENTITY> entityClass;
+    private final int primaryKeyCount;
+    private final long batchWindowInMillis;
+    private final Optional<ScheduledExecutorService> scheduler;
+    private final Function<List<Object>, CompletableFuture<ENTITY>> fetcher;
+    private final Map<List<Object>, CompletableFuture<ENTITY>> inFlight = new ConcurrentHashMap<>();
+    // Not a monitor: callers may be virtual threads, which a contended monitor would pin to their carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<List<Object>, CompletableFuture<ENTITY>> pending = new LinkedHashMap<>();
+
+    public FindByIdLoader(AbstractEntityProperty<ENTITY> meta, RuntimeEngine rte, long batchWindowInMillis) {
+        this(meta.entityClass, meta.partitionKeys.size() + meta.clusteringColumns.size(), batchWindowInMillis,
+                batchWindowInMillis > 0 ? Optional.of(rte.getScheduler()) : Optional.empty(),
+                keys -> find(meta, rte, keys));
+    }
+
+    FindByIdLoader(Class<ENTITY> entityClass, int primaryKeyCount, long batchWindowInMillis,
+                   Optional<ScheduledExecutorService> scheduler,
+                   Function<List<Object>, CompletableFuture<ENTITY>> fetcher) {
+        this.entityClass = entityClass;
+        this.primaryKeyCount = primaryKeyCount;
+        this.batchWindowInMillis = batchWindowInMillis;
+        this.scheduler = scheduler;
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * Queue a lookup by complete primary key. The values should be provided in the same order
+     * as the <strong>findById()</strong> method of the CRUD API: partition key(s) then clustering column(s)
+     * <br/>
+     * <br/>
+     * <strong>WARNING: callers loading the same primary key in the same batch, or while its lookup is in flight,
+     * share the same future and therefore the same mutable entity instance</strong>. Do not modify the returned
+     * entity without copying it, other callers would see the changes
+     *
+     * @param primaryKeyValues complete primary key, as Java values
+     * @return CompletableFuture&lt;ENTITY&gt; completed once the lookup for this key has been dispatched and executed,
+     * possibly shared with other callers
+     */
+    public CompletableFuture<ENTITY> load(Object... primaryKeyValues) {
+        validateNotNull(primaryKeyValues, "Primary key values for entity '%s' should not be null", entityClass.getCanonicalName());
+        validateTrue(primaryKeyValues.length == primaryKeyCount,
+                "Expected %s primary key value(s) for entity '%s' but got %s",
+                primaryKeyCount, entityClass.getCanonicalName(), primaryKeyValues.length);
+        for (Object value : primaryKeyValues) {
+            validateNotNull(value, "Primary key values for entity '%s' should not contain null", entityClass.getCanonicalName());
+        }
+
+        final List<Object> key = Collections.unmodifiableList(Arrays.asList(primaryKeyValues.clone()));
+        final CompletableFuture<ENTITY> running = inFlight.get(key);
+        if (running != null) {
+            if (LOGGER.isTraceEnabled()) {
+                LOGGER.trace(format("Joining in-flight lookup for entity %s with primary key %s",
+                        entityClass.getCanonicalName(), key));
+            }
+            return running;
+        }
+
+        final boolean scheduleDispatch;
+        final CompletableFuture<ENTITY> future;
+        lock.lock();
+        try {
+            // dispatch() publishes the batch to inFlight under this lock, the key may have moved since the check above
+            final CompletableFuture<ENTITY> dispatched = inFlight.get(key);
+            if (dispatched != null) {
+                return dispatched;
+            }
+            final CompletableFuture<ENTITY> queued = pending.get(key);
+            if (queued != null) {
+                return queued;
+            }
+            scheduleDispatch = pending.isEmpty();
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+        } finally {
+            lock.unlock();
+        }
+
+        if (scheduleDispatch && scheduler.isPresent()) {
+            scheduler.get().schedule(this::dispatch, batchWindowInMillis, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * Synchronous version of {@link #load(Object...)}. The current batch is dispatched immediately
+     *
+     * @param primaryKeyValues complete primary key, as Java values
+     * @return ENTITY or null if not found, possibly the same instance as other callers of the same key
+     */
+    public ENTITY loadAndGet(Object... primaryKeyValues) {
+        final CompletableFuture<ENTITY> future = load(primaryKeyValues);
+        dispatch();
+        try {
+            return Uninterruptibles.getUninterruptibly(future);
+        } catch (ExecutionException e) {
+            throw extractCauseFromExecutionException(e);
+        }
+    }
+
+    /**
+     * Execute all queued lookups, one query per distinct primary key
+     *
+     * @return the number of distinct lookups sent to Cassandra
+     */
+    public int dispatch() {
+        final Map<List<Object>, CompletableFuture<ENTITY>> batch;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return 0;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+            inFlight.putAll(batch);
+        } finally {
+            lock.unlock();
+        }
+
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug(format("Dispatching %s distinct find by id lookup(s) for entity %s",
+                    batch.size(), entityClass.getCanonicalName()));
+        }
+
+        for (Map.Entry<List<Object>, CompletableFuture<ENTITY>> entry : batch.entrySet()) {
+            final List<Object> key = entry.getKey();
+            final CompletableFuture<ENTITY> future = entry.getValue();
+            CompletableFuture<ENTITY> lookup;
+            try {
+                lookup = fetcher.apply(key);
+            } catch (RuntimeException ex) {
+                lookup = new CompletableFuture<>();
+                lookup.completeExceptionally(ex);
+            }
+            lookup.whenComplete((entity, throwable) -> {
+                inFlight.remove(key, future);
+                if (throwable != null) {
+                    future.completeExceptionally(throwable);
+                } else {
+                    future.complete(entity);
+                }
+            });
+        }
+        return batch.size();
+    }
+
+    /**
+     * @return the number of distinct lookups waiting for the next dispatch
+     */
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of distinct lookups currently executing
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <T> CompletableFuture<T> find(AbstractEntityProperty<T> meta, RuntimeEngine rte, List<Object> keys) {
+        final List<AbstractProperty<T, ?, ?>> primaryKeys = new ArrayList<>(meta.partitionKeys);
+        primaryKeys.addAll(meta.clusteringColumns);
+        final Object[] primaryKeyValues = keys.toArray();
+        final Object[] encodedPrimaryKeyValues = new Object[primaryKeyValues.length];
+        for (int i = 0; i < primaryKeyValues.length; i++) {
+            encodedPrimaryKeyValues[i] = primaryKeys.get(i).encodeFromRaw(primaryKeyValues[i]);
+        }
+        return new FindWithOptions<>(meta.entityClass, meta, rte, primaryKeyValues, encodedPrimaryKeyValues).getAsync();
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.utils.Bytes;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.monitoring.HotPartition;
+import info.archinnov.achilles.monitoring.HotPartitionsMXBean;
+
+/**
+ * Detect hot partitions by feeding a sample of the executed bound statements into one
+ * {@link SpaceSavingSketch} per table and access type (READ/WRITE). The partitions are
+ * identified by the routing key of the statements.
+ * <br/>
+ * Counts are kept per time window: the sketches are reset at the beginning of each window
+ * and the hot partitions of the last completed window stay available until the next rotation
+ */
+public class HotPartitionDetector implements HotPartitionsMXBean {
+
+    static final int SKETCH_CAPACITY_FACTOR = 10;
+    private static final Logger LOGGER = LoggerFactory.getLogger(HotPartitionDetector.class);
+
+    private final double samplingRate;
+    private final int topK;
+    private final long windowInSeconds;
+    private final long windowInNanos;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock rotationLock = new ReentrantLock();
+
+    private volatile Window currentWindow;
+    private volatile List<HotPartition> lastWindowHotPartitions = Collections.emptyList();
+    private volatile ObjectName objectName;
+
+    public HotPartitionDetector(double samplingRate, int topK, long windowInSeconds) {
+        this(samplingRate, topK, windowInSeconds, System::nanoTime);
+    }
+
+    HotPartitionDetector(double samplingRate, int topK, long windowInSeconds, LongSupplier nanoClock) {
+        this.samplingRate = samplingRate;
+        this.topK = topK;
+        this.windowInSeconds = windowInSeconds;
+        this.windowInNanos = TimeUnit.SECONDS.toNanos(windowInSeconds);
+        this.nanoClock = nanoClock;
+        this.currentWindow = new Window(nanoClock.getAsLong());
+    }
+
+    public void record(OperationType operationType, BoundStatement boundStatement,
+                       ProtocolVersion protocolVersion, CodecRegistry codecRegistry) {
+        final AccessType accessType = AccessType.of(operationType);
+        if (accessType == null) {
+            return;
+        }
+        if (samplingRate < 1.0D && ThreadLocalRandom.current().nextDouble() >= samplingRate) {
+            return;
+        }
+
+        final ColumnDefinitions variables = boundStatement.preparedStatement().getVariables();
+        if (variables.size() == 0) {
+            return;
+        }
+
+        final ByteBuffer routingKey;
+        try {
+            routingKey = boundStatement.getRoutingKey(protocolVersion, codecRegistry);
+        } catch (RuntimeException ex) {
+            LOGGER.trace(format("Cannot compute the routing key of statement %s",
+                    boundStatement.preparedStatement().getQueryString()), ex);
+            return;
+        }
+
+        if (routingKey != null) {
+            record(variables.getKeyspace(0), variables.getTable(0), accessType, routingKey);
+        }
+    }
+
+    void record(String keyspace, String table, AccessType accessType, ByteBuffer routingKey) {
+        windowAt(nanoClock.getAsLong())
+                .sketchFor(keyspace, table, accessType)
+                .offer(Bytes.toHexString(routingKey));
+    }
+
+    @Override
+    public List<HotPartition> getHotPartitions() {
+        windowAt(nanoClock.getAsLong());
+        return lastWindowHotPartitions;
+    }
+
+    @Override
+    public List<HotPartition> getCurrentHotPartitions() {
+        final long now = nanoClock.getAsLong();
+        return snapshot(windowAt(now), now);
+    }
+
+    @Override
+    public double getSamplingRate() {
+        return samplingRate;
+    }
+
+    @Override
+    public int getTopK() {
+        return topK;
+    }
+
+    @Override
+    public long getWindowInSeconds() {
+        return windowInSeconds;
+    }
+
+    /**
+     * Register the detector on the platform MBean server, with the object name
+     * <em>info.archinnov.achilles:type=HotPartitions,name="&lt;name&gt;"</em>
+     */
+    public void registerMBean(String name) {
+        try {
+            final ObjectName objectName = new ObjectName("info.archinnov.achilles:type=HotPartitions,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            this.objectName = objectName;
+            LOGGER.info(format("Registered hot partitions MBean %s", objectName));
+        } catch (JMException ex) {
+            LOGGER.warn(format("Cannot register the hot partitions MBean '%s' : %s", name, ex.getMessage()));
+        }
+    }
+
+    public void unregisterMBean() {
+        if (objectName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException ex) {
+                LOGGER.warn(format("Cannot unregister the hot partitions MBean %s : %s", objectName, ex.getMessage()));
+            }
+            objectName = null;
+        }
+    }
+
+    private Window windowAt(long now) {
+        Window window = currentWindow;
+        if (now - window.startNanos < windowInNanos) {
+            return window;
+        }
+        rotationLock.lock();
+        try {
+            window = currentWindow;
+            if (now - window.startNanos >= windowInNanos) {
+                lastWindowHotPartitions = snapshot(window, now);
+                window = new Window(now);
+                currentWindow = window;
+            }
+            return window;
+        } finally {
+            rotationLock.unlock();
+        }
+    }
+
+    private List<HotPartition> snapshot(Window window, long now) {
+        final double elapsedSeconds = Math.max(now - window.startNanos, TimeUnit.MILLISECONDS.toNanos(1)) / 1_000_000_000D;
+        final List<HotPartition> hotPartitions = new ArrayList<>();
+        for (TableSketch tableSketch : new TreeMap<>(window.sketches).values()) {
+            for (SpaceSavingSketch.Counter counter : tableSketch.top(topK)) {
+                final double estimatedCount = counter.count / samplingRate;
+                hotPartitions.add(new HotPartition(tableSketch.keyspace, tableSketch.table, tableSketch.accessType.name(),
+                        counter.key, Math.round(estimatedCount), Math.round(counter.error / samplingRate),
+                        estimatedCount / elapsedSeconds));
+            }
+        }
+        return Collections.unmodifiableList(hotPartitions);
+    }
+
+    @Override
+    public String toString() {
+        return format("HotPartitionDetector{samplingRate=%s, topK=%s, windowInSeconds=%s}", samplingRate, topK, windowInSeconds);
+    }
+
+    enum AccessType {
+        READ, WRITE;
+
+        static AccessType of(OperationType operationType) {
+            switch (operationType) {
+                case SELECT:
+                    return READ;
+                case INSERT:
+                case UPDATE:
+                case DELETE:
+                    return WRITE;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private class Window {
+        private final long startNanos;
+        private final ConcurrentMap<String, TableSketch> sketches = new ConcurrentHashMap<>();
+
+        private Window(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        private TableSketch sketchFor(String keyspace, String table, AccessType accessType) {
+            final String key = keyspace + "." + table + "/" + accessType.name();
+            final TableSketch sketch = sketches.get(key);
+            return sketch != null
+                    ? sketch
+                    : sketches.computeIfAbsent(key, x -> new TableSketch(keyspace, table, accessType, topK * SKETCH_CAPACITY_FACTOR));
+        }
+    }
+
+    private static class TableSketch {
+        private final String keyspace;
+        private final String table;
+        private final AccessType accessType;
+        private final SpaceSavingSketch sketch;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private TableSketch(String keyspace, String table, AccessType accessType, int capacity) {
+            this.keyspace = keyspace;
+            this.table = table;
+            this.accessType = accessType;
+            this.sketch = new SpaceSavingSketch(capacity);
+        }
+
+        private void offer(String key) {
+            lock.lock();
+            try {
+                sketch.offer(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private List<SpaceSavingSketch.Counter> top(int k) {
+            lock.lock();
+            try {
+                return sketch.top(k);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
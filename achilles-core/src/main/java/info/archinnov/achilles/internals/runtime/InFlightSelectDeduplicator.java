@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.*;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.types.ReplayableResultSet;
+
+/**
+ * Single-flight de-duplication of identical SELECT statements executed concurrently.
+ * <br/>
+ * <br/>
+ * Two statements are considered identical if they share the same prepared statement id, serialized bound values,
+ * consistency level, fetch size and paging state. While a statement is in flight, identical statements
+ * are attached to the same response instead of being sent to Cassandra.
+ * <br/>
+ * <br/>
+ * When the response fits in a single page, each caller receives its own {@link ReplayableResultSet} view
+ * over the shared rows. When more pages remain, the first caller gets the original ResultSet and
+ * the others fall back to executing their own statement, since a driver ResultSet cannot be iterated
+ * by several callers.
+ * <br/>
+ * <br/>
+ * Mutations, LWT reads (SERIAL consistency), statements explicitly flagged as non-idempotent,
+ * traced statements and statements with custom payload are never de-duplicated
+ */
+public class InFlightSelectDeduplicator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InFlightSelectDeduplicator.class);
+
+    private final Map<Object, InFlightSelect> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong deduplicatedCount = new AtomicLong(0);
+
+    public static boolean isEligible(OperationType operationType, BoundStatement boundStatement) {
+        if (operationType != OperationType.SELECT) return false;
+        if (Boolean.FALSE.equals(boundStatement.isIdempotent())) return false;
+        if (boundStatement.isTracing()) return false;
+        if (boundStatement.getOutgoingPayload() != null) return false;
+        final ConsistencyLevel consistencyLevel = boundStatement.getConsistencyLevel();
+        return consistencyLevel == null || !consistencyLevel.isSerial();
+    }
+
+    public CompletableFuture<ResultSet> execute(BoundStatement boundStatement, Supplier<CompletableFuture<ResultSet>> executor) {
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace(format("Execute statement %s with in-flight de-duplication", boundStatement.preparedStatement().getQueryString()));
+        }
+        return execute(new InFlightKey(boundStatement), executor);
+    }
+
+    CompletableFuture<ResultSet> execute(Object key, Supplier<CompletableFuture<ResultSet>> executor) {
+        final InFlightSelect newSelect = new InFlightSelect();
+        final InFlightSelect existing = inFlight.putIfAbsent(key, newSelect);
+
+        if (existing != null) {
+            deduplicatedCount.incrementAndGet();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Joining in-flight statement for key %s", key));
+            }
+            return existing.subscribe(executor);
+        }
+
+        final CompletableFuture<ResultSet> leader = newSelect.subscribe(executor);
+        executor.get().whenComplete((rs, throwable) -> {
+            inFlight.remove(key, newSelect);
+            if (throwable != null) {
+                newSelect.source.completeExceptionally(throwable);
+            } else if (rs.isFullyFetched()) {
+                newSelect.source.complete(ReplayableResultSet.Snapshot.of(rs));
+            } else {
+                newSelect.source.complete(rs);
+            }
+        });
+        return leader;
+    }
+
+    /**
+     * @return the number of statements which have been served by an identical in-flight statement
+     */
+    public long getDeduplicatedCount() {
+        return deduplicatedCount.get();
+    }
+
+    /**
+     * @return the number of distinct statements currently in flight
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private static class InFlightSelect {
+        // Either a ReplayableResultSet.Snapshot or a partially fetched ResultSet
+        private final CompletableFuture<Object> source = new CompletableFuture<>();
+        private final AtomicBoolean originalTaken = new AtomicBoolean(false);
+
+        private CompletableFuture<ResultSet> subscribe(Supplier<CompletableFuture<ResultSet>> executor) {
+            return source.thenCompose(result -> {
+                if (result instanceof ReplayableResultSet.Snapshot) {
+                    return CompletableFuture.completedFuture(((ReplayableResultSet.Snapshot) result).newView());
+                } else if (originalTaken.compareAndSet(false, true)) {
+                    return CompletableFuture.completedFuture((ResultSet) result);
+                } else {
+                    return executor.get();
+                }
+            });
+        }
+    }
+
+    private static class InFlightKey {
+        private final byte[] preparedId;
+        private final ByteBuffer[] values;
+        private final ConsistencyLevel consistencyLevel;
+        private final int fetchSize;
+        private final ByteBuffer pagingState;
+        private final int hashCode;
+
+        private InFlightKey(BoundStatement boundStatement) {
+            this.preparedId = BoundStatementUtils.preparedId(boundStatement.preparedStatement());
+            this.values = BoundStatementUtils.serializedValues(boundStatement).clone();
+            this.consistencyLevel = boundStatement.getConsistencyLevel();
+            this.fetchSize = boundStatement.getFetchSize();
+            this.pagingState = BoundStatementUtils.pagingState(boundStatement);
+            this.hashCode = 31 * (31 * (31 * Arrays.hashCode(preparedId) + Arrays.hashCode(values))
+                    + Objects.hashCode(consistencyLevel)) + fetchSize;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            InFlightKey that = (InFlightKey) o;
+            return hashCode == that.hashCode &&
+                    fetchSize == that.fetchSize &&
+                    consistencyLevel == that.consistencyLevel &&
+                    Arrays.equals(preparedId, that.preparedId) &&
+                    Arrays.equals(values, that.values) &&
+                    Objects.equals(pagingState, that.pagingState);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ProtocolVersion;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import info.archinnov.achilles.exception.AchillesMultiPartitionQueryException;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.monitoring.MultiPartitionQueryGuardAction;
+import info.archinnov.achilles.tracing.RateLimitedTracingSampler;
+import info.archinnov.achilles.tracing.TracingSampler;
+
+/**
+ * Runtime counterpart of the compile time query lint.
+ * <br/>
+ * <br/>
+ * A SELECT is considered multi-partition when it is issued with ALLOW FILTERING or when the driver cannot compute
+ * its routing key, which is the case for a SELECT without WHERE clause or with an IN on the partition key.
+ * The decision only depends on the prepared statement so it is computed once for each query string.
+ * <br/>
+ * <br/>
+ * Multi-partition SELECTs are allowed up to <em>maxPerSecond</em> for each entity, above this rate they are
+ * either logged or rejected depending on the {@link MultiPartitionQueryGuardAction}
+ */
+public class MultiPartitionQueryGuard {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MultiPartitionQueryGuard.class);
+    private static final double MAX_WARNINGS_PER_SECOND = 1D;
+
+    private final double maxPerSecond;
+    private final MultiPartitionQueryGuardAction action;
+    private final TracingSampler rateLimiter;
+    private final TracingSampler warningRateLimiter = new RateLimitedTracingSampler(MAX_WARNINGS_PER_SECOND);
+    private final Cache<String, Boolean> multiPartitionQueries;
+    private final Logger logger;
+    private final LongAdder suppressedCount = new LongAdder();
+
+    public MultiPartitionQueryGuard(double maxPerSecond, MultiPartitionQueryGuardAction action, int queryCacheSize) {
+        this(maxPerSecond, action, queryCacheSize, LOGGER);
+    }
+
+    MultiPartitionQueryGuard(double maxPerSecond, MultiPartitionQueryGuardAction action, int queryCacheSize, Logger logger) {
+        this.maxPerSecond = maxPerSecond;
+        this.action = action;
+        this.rateLimiter = new RateLimitedTracingSampler(maxPerSecond);
+        this.multiPartitionQueries = CacheBuilder.newBuilder().maximumSize(queryCacheSize).build();
+        this.logger = logger;
+    }
+
+    /**
+     * Check the statement before its execution
+     *
+     * @return the exception to fail the query with if it should be rejected
+     */
+    public Optional<AchillesMultiPartitionQueryException> check(Class<?> entityClass, OperationType operationType,
+                                                                BoundStatement boundStatement, ProtocolVersion protocolVersion,
+                                                                CodecRegistry codecRegistry) {
+        if (operationType != OperationType.SELECT) {
+            return Optional.empty();
+        }
+
+        final String queryString = boundStatement.preparedStatement().getQueryString();
+        Boolean multiPartition = multiPartitionQueries.getIfPresent(queryString);
+        if (multiPartition == null) {
+            multiPartition = isMultiPartition(queryString, boundStatement, protocolVersion, codecRegistry);
+            multiPartitionQueries.put(queryString, multiPartition);
+        }
+
+        return multiPartition ? onMultiPartitionQuery(entityClass, queryString) : Optional.empty();
+    }
+
+    Optional<AchillesMultiPartitionQueryException> onMultiPartitionQuery(Class<?> entityClass, String queryString) {
+        if (rateLimiter.sample(entityClass, OperationType.SELECT)) {
+            return Optional.empty();
+        }
+
+        final String message = format("Multi-partition query above %s/s for entity %s : [%s]",
+                maxPerSecond, entityClass.getCanonicalName(), queryString);
+        if (action == MultiPartitionQueryGuardAction.REJECT) {
+            return Optional.of(new AchillesMultiPartitionQueryException(message));
+        }
+
+        if (logger.isWarnEnabled() && warningRateLimiter.sample(entityClass, OperationType.SELECT)) {
+            final long suppressed = suppressedCount.sumThenReset();
+            logger.warn(suppressed > 0
+                    ? format("%s (%s warnings not logged because of the rate limit)", message, suppressed)
+                    : message);
+        } else {
+            suppressedCount.increment();
+        }
+        return Optional.empty();
+    }
+
+    static boolean isMultiPartition(String queryString, BoundStatement boundStatement,
+                                    ProtocolVersion protocolVersion, CodecRegistry codecRegistry) {
+        return queryString.contains("ALLOW FILTERING")
+                || boundStatement.getRoutingKey(protocolVersion, codecRegistry) == null;
+    }
+}
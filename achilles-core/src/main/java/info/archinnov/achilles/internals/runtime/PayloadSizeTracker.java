@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.Statement;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.types.RowSizeTrackingResultSet.PageListener;
+import info.archinnov.achilles.monitoring.PayloadSizeStats;
+
+/**
+ * Payload size accounting per entity and operation type.
+ * <br/>
+ * <br/>
+ * The request size is the total size of the encoded bound values of the statement. The actual mutation
+ * built by Cassandra is a little larger (cells metadata, timestamps ...) so the large mutation threshold
+ * should be kept below the <em>max_mutation_size_in_kb</em> of the cluster.
+ * <br/>
+ * The response size is the encoded size of the rows of each page consumed from the result set
+ * <br/>
+ * Batches are not bound to an entity, their request size is the sum of the sizes of their bound statements
+ * and is recorded under the <em>BatchStatement</em> class
+ */
+public class PayloadSizeTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PayloadSizeTracker.class);
+    private static final OperationType[] OPERATION_TYPES = OperationType.values();
+
+    private final long largeMutationThresholdInBytes;
+    private final ConcurrentMap<Class<?>, PayloadSizes[]> payloadSizes = new ConcurrentHashMap<>();
+
+    public PayloadSizeTracker(long largeMutationThresholdInBytes) {
+        this.largeMutationThresholdInBytes = largeMutationThresholdInBytes;
+    }
+
+    /**
+     * Record the size of the bound values of the statement and warn on the entity logger
+     * if a mutation crosses the large mutation threshold
+     *
+     * @return the request size in bytes
+     */
+    public long recordRequest(AbstractEntityProperty<?> meta, OperationType operationType, BoundStatement boundStatement) {
+        final long sizeInBytes = requestSizeInBytes(boundStatement);
+        recordRequest(meta.entityClass, meta.entityLogger, operationType, operationType.isUpsert, sizeInBytes,
+                boundStatement.preparedStatement().getQueryString());
+        return sizeInBytes;
+    }
+
+    /**
+     * Record the summed size of the bound statements of the batch and warn if the
+     * batch crosses the large mutation threshold. A batch only contains mutations
+     *
+     * @return the request size in bytes
+     */
+    public long recordRequest(BatchStatement batchStatement) {
+        long sizeInBytes = 0L;
+        for (Statement statement : batchStatement.getStatements()) {
+            if (statement instanceof BoundStatement) {
+                sizeInBytes += requestSizeInBytes((BoundStatement) statement);
+            }
+        }
+        recordRequest(BatchStatement.class, LOGGER, OperationType.OTHER, true, sizeInBytes,
+                format("BATCH of %s statements", batchStatement.size()));
+        return sizeInBytes;
+    }
+
+    void recordRequest(Class<?> entityClass, Logger entityLogger, OperationType operationType, long sizeInBytes, String queryString) {
+        recordRequest(entityClass, entityLogger, operationType, operationType.isUpsert, sizeInBytes, queryString);
+    }
+
+    private void recordRequest(Class<?> entityClass, Logger entityLogger, OperationType operationType, boolean isMutation,
+                               long sizeInBytes, String queryString) {
+        final PayloadSizes sizes = sizesFor(entityClass, operationType);
+        sizes.request.record(sizeInBytes);
+
+        if (isMutation && largeMutationThresholdInBytes > 0 && sizeInBytes >= largeMutationThresholdInBytes) {
+            sizes.largeMutationCount.increment();
+            entityLogger.warn(format("Large mutation of %s bytes (threshold = %s bytes) for entity %s : %s",
+                    sizeInBytes, largeMutationThresholdInBytes, entityClass.getCanonicalName(), queryString));
+        }
+    }
+
+    /**
+     * Listener recording the size of each consumed page as response size
+     */
+    public PageListener responseListener(AbstractEntityProperty<?> meta, OperationType operationType) {
+        return responseListener(meta.entityClass, operationType);
+    }
+
+    PageListener responseListener(Class<?> entityClass, OperationType operationType) {
+        final SizeHistogram response = sizesFor(entityClass, operationType).response;
+        return (rowCount, sizeInBytes) -> response.record(sizeInBytes);
+    }
+
+    public List<PayloadSizeStats> getStats() {
+        final List<PayloadSizeStats> stats = new ArrayList<>();
+        for (Map.Entry<Class<?>, PayloadSizes[]> entry : payloadSizes.entrySet()) {
+            for (OperationType operationType : OPERATION_TYPES) {
+                final PayloadSizes sizes = entry.getValue()[operationType.ordinal()];
+                if (sizes.isUsed()) {
+                    stats.add(new PayloadSizeStats(entry.getKey().getCanonicalName(), operationType.name(),
+                            sizes.request.snapshot(), sizes.response.snapshot(), sizes.largeMutationCount.sum()));
+                }
+            }
+        }
+        stats.sort(Comparator.comparing(PayloadSizeStats::getEntityClass)
+                .thenComparing(PayloadSizeStats::getOperationType));
+        return stats;
+    }
+
+    public long getLargeMutationThresholdInBytes() {
+        return largeMutationThresholdInBytes;
+    }
+
+    static long requestSizeInBytes(BoundStatement boundStatement) {
+        long sizeInBytes = 0L;
+        final int variablesCount = boundStatement.preparedStatement().getVariables().size();
+        for (int i = 0; i < variablesCount; i++) {
+            final ByteBuffer value = boundStatement.getBytesUnsafe(i);
+            if (value != null) {
+                sizeInBytes += value.remaining();
+            }
+        }
+        return sizeInBytes;
+    }
+
+    private PayloadSizes sizesFor(Class<?> entityClass, OperationType operationType) {
+        PayloadSizes[] sizes = payloadSizes.get(entityClass);
+        if (sizes == null) {
+            sizes = payloadSizes.computeIfAbsent(entityClass, clazz -> {
+                final PayloadSizes[] array = new PayloadSizes[OPERATION_TYPES.length];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = new PayloadSizes();
+                }
+                return array;
+            });
+        }
+        return sizes[operationType.ordinal()];
+    }
+
+    private static class PayloadSizes {
+        private final SizeHistogram request = new SizeHistogram();
+        private final SizeHistogram response = new SizeHistogram();
+        private final LongAdder largeMutationCount = new LongAdder();
+
+        private boolean isUsed() {
+            return request.count() > 0 || response.count() > 0;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.types.RowSizeTrackingResultSet.PageListener;
+import info.archinnov.achilles.monitoring.QueryContext;
+import info.archinnov.achilles.monitoring.QueryListener;
+
+/**
+ * Dispatch the lifecycle of the statements to the registered {@link QueryListener}s.
+ * When no listener is registered, {@link #onStart} returns null and nothing is allocated
+ */
+public class QueryListeners {
+
+    public static final QueryListeners NONE = new QueryListeners(new QueryListener[0]);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryListeners.class);
+
+    private final QueryListener[] listeners;
+
+    public QueryListeners(List<QueryListener> listeners) {
+        this(listeners.toArray(new QueryListener[listeners.size()]));
+    }
+
+    private QueryListeners(QueryListener[] listeners) {
+        this.listeners = listeners;
+    }
+
+    public boolean isEmpty() {
+        return listeners.length == 0;
+    }
+
+    /**
+     * @return the context of the statement, or null if there is no listener
+     */
+    public QueryContext onStart(Class<?> entityClass, OperationType operationType, Statement statement, String queryString) {
+        if (listeners.length == 0) {
+            return null;
+        }
+        final QueryContext context = new QueryContext(entityClass, operationType, statement, queryString, System.nanoTime());
+        for (QueryListener listener : listeners) {
+            try {
+                listener.onStart(context);
+            } catch (RuntimeException ex) {
+                logListenerError(listener, "onStart", context, ex);
+            }
+        }
+        return context;
+    }
+
+    /**
+     * Notify the listeners when the future completes. Does nothing for a null context
+     */
+    public void onCompletion(QueryContext context, CompletableFuture<ResultSet> futureRS) {
+        if (context != null) {
+            futureRS.whenComplete((resultSet, throwable) -> onCompletion(context, resultSet, throwable));
+        }
+    }
+
+    void onCompletion(QueryContext context, ResultSet resultSet, Throwable throwable) {
+        context.setEndNanos(System.nanoTime());
+        for (QueryListener listener : listeners) {
+            try {
+                if (throwable == null) {
+                    listener.onSuccess(context, resultSet);
+                } else {
+                    listener.onFailure(context, throwable);
+                }
+            } catch (RuntimeException ex) {
+                logListenerError(listener, throwable == null ? "onSuccess" : "onFailure", context, ex);
+            }
+        }
+    }
+
+    /**
+     * @return a page listener notifying the listeners, or null for a null context
+     */
+    public PageListener pageListener(QueryContext context) {
+        if (context == null) {
+            return null;
+        }
+        return (rowCount, sizeInBytes) -> {
+            for (QueryListener listener : listeners) {
+                try {
+                    listener.onPage(context, rowCount, sizeInBytes);
+                } catch (RuntimeException ex) {
+                    logListenerError(listener, "onPage", context, ex);
+                }
+            }
+        };
+    }
+
+    private static void logListenerError(QueryListener listener, String callback, QueryContext context, RuntimeException ex) {
+        LOGGER.warn(format("Query listener %s failed on %s for %s", listener, callback, context), ex);
+    }
+}
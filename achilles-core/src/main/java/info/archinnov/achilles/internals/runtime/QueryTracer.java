@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.QueryTrace;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.exceptions.TraceRetrievalException;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.tracing.LoggerQueryTraceSink;
+import info.archinnov.achilles.tracing.QueryTraceSink;
+import info.archinnov.achilles.tracing.TracedQuery;
+import info.archinnov.achilles.tracing.TracingSampler;
+
+/**
+ * Sample the statements to be traced and retrieve their traces asynchronously.
+ * <br/>
+ * <br/>
+ * Without sampler, a statement is traced when the logger of its entity is at TRACE level.
+ * The trace events are fetched from <em>system_traces</em> on a small dedicated thread pool
+ * then handed to the {@link QueryTraceSink}. When the pool queue is full, new traces are dropped
+ * so that tracing never slows down the queries
+ */
+public class QueryTracer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryTracer.class);
+
+    public static final int DEFAULT_TRACING_THREADS = 1;
+    public static final int TRACING_QUEUE_SIZE = 1000;
+
+    /**
+     * Tracer for meta classes not bootstrapped by a ManagerFactory
+     */
+    public static final QueryTracer DEFAULT = new QueryTracer(Optional.empty(), new LoggerQueryTraceSink(), DEFAULT_TRACING_THREADS);
+
+    private final Optional<TracingSampler> sampler;
+    private final QueryTraceSink sink;
+    private final int threads;
+    private final AtomicLong droppedTraces = new AtomicLong(0);
+    private final Executor boundedExecutor = this::submit;
+    private volatile ThreadPoolExecutor executor;
+
+    public QueryTracer(Optional<TracingSampler> sampler, QueryTraceSink sink, int threads) {
+        this.sampler = sampler;
+        this.sink = sink;
+        this.threads = threads;
+    }
+
+    /**
+     * Decide whether the statement should be traced, before its execution
+     */
+    public boolean sample(AbstractEntityProperty<?> meta, OperationType operationType) {
+        if (sampler.isPresent()) {
+            return sampler.get().sample(meta.entityClass, operationType);
+        }
+        return meta.entityLogger.isTraceEnabled();
+    }
+
+    /**
+     * Fetch the traces of the executed statement asynchronously and hand them to the sink
+     */
+    public void trace(AbstractEntityProperty<?> meta, OperationType operationType, UUID queryId, String queryString, ResultSet resultSet) {
+        for (ExecutionInfo executionInfo : resultSet.getAllExecutionInfo()) {
+            Futures.addCallback(executionInfo.getQueryTraceAsync(), new FutureCallback<QueryTrace>() {
+                @Override
+                public void onSuccess(QueryTrace queryTrace) {
+                    if (queryTrace == null) return;
+                    try {
+                        // Loading the events polls system_traces, it is only done on the tracing pool
+                        sink.accept(new TracedQuery(queryId, queryString, meta.entityClass, operationType, executionInfo, queryTrace));
+                    } catch (Throwable throwable) {
+                        onFailure(throwable);
+                    }
+                }
+
+                @Override
+                public void onFailure(Throwable throwable) {
+                    onTraceFailure(queryId, queryString, throwable);
+                }
+            }, boundedExecutor);
+        }
+    }
+
+    private void onTraceFailure(UUID queryId, String queryString, Throwable throwable) {
+        if (throwable instanceof TraceRetrievalException) {
+            LOGGER.warn(format("Cannot retrieve trace for query %s (%s) because it may not be yet available", queryId, queryString));
+        } else {
+            LOGGER.error(format("Cannot retrieve trace for query %s (%s) : %s", queryId, queryString, throwable.getMessage()), throwable);
+        }
+    }
+
+    /**
+     * @return number of traces dropped because the tracing queue was full
+     */
+    public long getDroppedTraces() {
+        return droppedTraces.get();
+    }
+
+    public QueryTraceSink getSink() {
+        return sink;
+    }
+
+    private void submit(Runnable task) {
+        try {
+            getExecutor().execute(task);
+        } catch (RejectedExecutionException e) {
+            final long dropped = droppedTraces.incrementAndGet();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Dropping query trace because the tracing queue is full, %s traces dropped so far", dropped));
+            }
+        }
+    }
+
+    private ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    LOGGER.debug("Creating query tracing thread pool");
+                    final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(TRACING_QUEUE_SIZE), new TracingThreadFactory());
+                    pool.allowCoreThreadTimeOut(true);
+                    executor = pool;
+                }
+            }
+        }
+        return executor;
+    }
+
+    public void shutDown() {
+        // The default tracer is shared by all meta classes not bootstrapped by a ManagerFactory
+        if (this != DEFAULT && executor != null) {
+            LOGGER.info(format("Closing query tracing thread pool %s", executor));
+            executor.shutdown();
+        }
+    }
+
+    private static class TracingThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(0);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r);
+            thread.setName("achilles-query-tracing-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setUncaughtExceptionHandler((t, e) -> LOGGER.error("Uncaught exception while tracing query : " + e.getMessage(), e));
+            return thread;
+        }
+    }
+}
@@ -21,7 +21,10 @@ import static java.lang.String.format;
 
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.function.Supplier;
 
 import org.slf4j.Logger;
@@ -30,14 +33,21 @@ import org.slf4j.LoggerFactory;
 import com.datastax.driver.core.*;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 
+import info.archinnov.achilles.async.DefaultExecutorThreadFactory;
+import info.archinnov.achilles.exception.AchillesMultiPartitionQueryException;
 import info.archinnov.achilles.internals.cache.CacheKey;
 import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.context.ConfigurationContext;
 import info.archinnov.achilles.internals.factory.TupleTypeFactory;
 import info.archinnov.achilles.internals.factory.UserTypeFactory;
 import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.OperationType;
 import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.internals.types.RowSizeTrackingResultSet;
+import info.archinnov.achilles.internals.types.RowSizeTrackingResultSet.PageListener;
+import info.archinnov.achilles.monitoring.QueryContext;
 import info.archinnov.achilles.type.SchemaNameProvider;
+import info.archinnov.achilles.validation.Validator;
 
 public class RuntimeEngine {
 
@@ -48,16 +58,51 @@ public class RuntimeEngine {
     public final Session session;
     public final String currentKeyspace;
     public final ExecutorService executor;
+    public final Optional<InFlightSelectDeduplicator> inFlightSelectDeduplicator;
+    public final AdaptiveFetchSize adaptiveFetchSize;
+    public final Bulkheads bulkheads;
+    public final Optional<HotPartitionDetector> hotPartitionDetector;
+    public final Optional<PayloadSizeTracker> payloadSizeTracker;
+    public final Optional<SlowQueryLogger> slowQueryLogger;
+    public final QueryListeners queryListeners;
+    public final Optional<MultiPartitionQueryGuard> multiPartitionQueryGuard;
 
     public TupleTypeFactory tupleTypeFactory;
     public UserTypeFactory userTypeFactory;
 
+    private final ProtocolVersion protocolVersion;
+    private final CodecRegistry codecRegistry;
+    private volatile ScheduledExecutorService scheduler;
+
     public RuntimeEngine(ConfigurationContext configContext) {
         this.configContext = configContext;
         this.session = configContext.getSession();
         this.cache = configContext.getStatementsCache();
         this.currentKeyspace = configContext.getCurrentKeyspace().orElse(session.getLoggedKeyspace());
         this.executor = configContext.getExecutorService();
+        this.bulkheads = configContext.getBulkheads();
+        this.inFlightSelectDeduplicator = configContext.isDeduplicateInFlightSelects()
+                ? Optional.of(new InFlightSelectDeduplicator())
+                : Optional.empty();
+        this.adaptiveFetchSize = new AdaptiveFetchSize(configContext.getAdaptiveFetchSizePageBudgetInBytes(),
+                configContext.getAdaptiveFetchSizeMin(), configContext.getAdaptiveFetchSizeMax(),
+                session.getCluster().getConfiguration().getQueryOptions().getFetchSize(),
+                configContext.getPreparedStatementLRUCacheSize());
+        this.hotPartitionDetector = configContext.getHotPartitionDetector();
+        this.payloadSizeTracker = configContext.isPayloadSizeTracking()
+                ? Optional.of(new PayloadSizeTracker(configContext.getLargeMutationWarningThresholdInBytes()))
+                : Optional.empty();
+        this.slowQueryLogger = configContext.getSlowQueryLogger();
+        this.queryListeners = configContext.getQueryListeners();
+        this.multiPartitionQueryGuard = configContext.getMultiPartitionQueryGuard();
+        if (hotPartitionDetector.isPresent() || multiPartitionQueryGuard.isPresent()) {
+            final Configuration configuration = session.getCluster().getConfiguration();
+            this.protocolVersion = configuration.getProtocolOptions().getProtocolVersion();
+            this.codecRegistry = configuration.getCodecRegistry();
+        } else {
+            this.protocolVersion = null;
+            this.codecRegistry = null;
+        }
     }
 
     public PreparedStatement getStaticCache(CacheKey cacheKey) {
@@ -70,14 +115,94 @@ public class RuntimeEngine {
         }
 
         wrapper.logDML();
-        return toCompletableFuture(session.executeAsync(wrapper.getBoundStatement()), executor);
+        final BoundStatement boundStatement = wrapper.getBoundStatement();
+        final boolean adaptFetchSize = wrapper.getOperationType() == OperationType.SELECT
+                && boundStatement.getFetchSize() <= 0
+                && wrapper.isAdaptiveFetchSize(configContext.isAdaptiveFetchSize());
+
+        final String queryString = boundStatement.preparedStatement().getQueryString();
+        final long startNanos = System.nanoTime();
+        final QueryContext queryContext = queryListeners.onStart(wrapper.getMeta().entityClass, wrapper.getOperationType(),
+                boundStatement, queryString);
+        if (multiPartitionQueryGuard.isPresent()) {
+            final Optional<AchillesMultiPartitionQueryException> rejection = multiPartitionQueryGuard.get()
+                    .check(wrapper.getMeta().entityClass, wrapper.getOperationType(), boundStatement, protocolVersion, codecRegistry);
+            if (rejection.isPresent()) {
+                // Rejected statements are reported as failures, the listeners see every statement they were started for
+                final CompletableFuture<ResultSet> rejected = new CompletableFuture<>();
+                if (slowQueryLogger.isPresent()) {
+                    rejected.whenComplete((rs, throwable) -> slowQueryLogger.get().onCompletion(wrapper, startNanos, rs, throwable));
+                }
+                queryListeners.onCompletion(queryContext, rejected);
+                rejected.completeExceptionally(rejection.get());
+                return rejected;
+            }
+        }
+
+        if (adaptFetchSize) {
+            boundStatement.setFetchSize(adaptiveFetchSize.fetchSizeFor(queryString));
+        }
+
+        if (hotPartitionDetector.isPresent()) {
+            hotPartitionDetector.get().record(wrapper.getOperationType(), boundStatement, protocolVersion, codecRegistry);
+        }
+
+        if (payloadSizeTracker.isPresent()) {
+            payloadSizeTracker.get().recordRequest(wrapper.getMeta(), wrapper.getOperationType(), boundStatement);
+        }
+
+        final Executor callbackExecutor = bulkheads.executorFor(wrapper.getMeta(), wrapper.getOperationType(),
+                boundStatement.preparedStatement(), executor);
+        final CompletableFuture<ResultSet> futureRS;
+        if (inFlightSelectDeduplicator.isPresent() && InFlightSelectDeduplicator.isEligible(wrapper.getOperationType(), boundStatement)) {
+            futureRS = inFlightSelectDeduplicator.get().execute(boundStatement,
+                    () -> toCompletableFuture(session.executeAsync(boundStatement), callbackExecutor));
+        } else {
+            futureRS = toCompletableFuture(session.executeAsync(boundStatement), callbackExecutor);
+        }
+
+        if (slowQueryLogger.isPresent()) {
+            futureRS.whenComplete((rs, throwable) -> slowQueryLogger.get().onCompletion(wrapper, startNanos, rs, throwable));
+        }
+        queryListeners.onCompletion(queryContext, futureRS);
+
+        final PageListener pageListener = pageListenerFor(wrapper, queryString, adaptFetchSize, queryContext);
+        return pageListener != null
+                ? futureRS.thenApply(rs -> new RowSizeTrackingResultSet(rs, pageListener))
+                : futureRS;
+    }
+
+    private PageListener pageListenerFor(StatementWrapper wrapper, String queryString, boolean adaptFetchSize, QueryContext queryContext) {
+        PageListener pageListener = adaptFetchSize ? adaptiveFetchSize.pageListenerFor(queryString) : null;
+        if (wrapper.getOperationType() == OperationType.SELECT) {
+            if (payloadSizeTracker.isPresent()) {
+                pageListener = chain(pageListener, payloadSizeTracker.get().responseListener(wrapper.getMeta(), wrapper.getOperationType()));
+            }
+            pageListener = chain(pageListener, queryListeners.pageListener(queryContext));
+        }
+        return pageListener;
+    }
+
+    private static PageListener chain(PageListener first, PageListener second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null ? first : first.andThen(second);
     }
 
     public CompletableFuture<ResultSet> execute(BoundStatement boundStatement) {
         if (LOGGER.isDebugEnabled()) {
             LOGGER.debug(format("Executing bound statement %s", boundStatement.preparedStatement().getQueryString()));
         }
-        return toCompletableFuture(session.executeAsync(boundStatement), executor);
+        final long startNanos = System.nanoTime();
+        final QueryContext queryContext = queryListeners.onStart(null, OperationType.OTHER, boundStatement,
+                boundStatement.preparedStatement().getQueryString());
+        final CompletableFuture<ResultSet> futureRS = toCompletableFuture(session.executeAsync(boundStatement), executor);
+        if (slowQueryLogger.isPresent()) {
+            futureRS.whenComplete((rs, throwable) -> slowQueryLogger.get().onCompletion(boundStatement, startNanos, rs, throwable));
+        }
+        queryListeners.onCompletion(queryContext, futureRS);
+        return futureRS;
     }
 
     public CompletableFuture<ResultSet> execute(BatchStatement batchStatement) {
@@ -88,11 +213,30 @@ public class RuntimeEngine {
                             .map(Statement::toString)
                             .reduce("", (x, y) -> x + y)));
         }
-        return toCompletableFuture(session.executeAsync(batchStatement), executor);
+        final long startNanos = System.nanoTime();
+        final QueryContext queryContext = queryListeners.onStart(null, OperationType.OTHER, batchStatement, null);
+        if (payloadSizeTracker.isPresent()) {
+            payloadSizeTracker.get().recordRequest(batchStatement);
+        }
+        final CompletableFuture<ResultSet> futureRS = toCompletableFuture(session.executeAsync(batchStatement), executor);
+        if (slowQueryLogger.isPresent()) {
+            futureRS.whenComplete((rs, throwable) -> slowQueryLogger.get().onCompletion(batchStatement, startNanos, rs, throwable));
+        }
+        queryListeners.onCompletion(queryContext, futureRS);
+        return futureRS;
     }
 
     public PreparedStatement prepareDynamicQuery(RegularStatement statement) {
-        return prepareDynamicQuery(statement.getQueryString());
+        return copyIdempotence(statement, prepareDynamicQuery(statement.getQueryString()));
+    }
+
+    private PreparedStatement copyIdempotence(RegularStatement statement, PreparedStatement preparedStatement) {
+        // Keep the idempotence computed by the query builder, it only depends on the query string
+        final Boolean idempotent = statement.isIdempotent();
+        if (idempotent != null && preparedStatement.isIdempotent() == null) {
+            preparedStatement.setIdempotent(idempotent);
+        }
+        return preparedStatement;
     }
 
     public PreparedStatement prepareDynamicQuery(String queryString) {
@@ -102,26 +246,57 @@ public class RuntimeEngine {
         return cache.getDynamicCache(queryString, session);
     }
 
-    public Optional<PreparedStatement> maybePrepareIfDifferentSchemaNameFromCache(AbstractEntityProperty<?> entityProperty,
-                                                                                  PreparedStatement psFromCache,
-                                                                                  Optional<SchemaNameProvider> schemaNameProvider,
-                                                                                  Supplier<RegularStatement> lambda) {
-        if (schemaNameProvider.isPresent()) {
-            if (LOGGER.isDebugEnabled()) {
-                LOGGER.debug(format("Preparing statement %s using optional schema name provider %s",
-                        psFromCache.getQueryString(), schemaNameProvider));
-            }
-            final SchemaNameProvider provider = schemaNameProvider.get();
-            final String tableNameWithKeyspace = provider.keyspaceFor(entityProperty.entityClass) + "." + provider.tableNameFor(entityProperty.entityClass);
-            if (!psFromCache.getQueryString().toLowerCase().contains("from " + tableNameWithKeyspace)) {
-                return Optional.of(prepareDynamicQuery(lambda.get()));
-            }
+    /**
+     * Get the static statement of the operation. With a schema name provider, the statement is prepared
+     * once for the keyspace and table of the provider and then looked up in the schema name cache
+     */
+    public PreparedStatement getStaticCache(AbstractEntityProperty<?> entityProperty, CacheKey.Operation operation,
+                                            Optional<SchemaNameProvider> schemaNameProvider,
+                                            Supplier<RegularStatement> lambda) {
+        if (!schemaNameProvider.isPresent()) {
+            return cache.getStaticCache(new CacheKey(entityProperty.entityClass, operation));
         }
-        return Optional.empty();
 
+        final SchemaNameProvider provider = schemaNameProvider.get();
+        final String keyspace = provider.keyspaceFor(entityProperty.entityClass);
+        Validator.validateNotBlank(keyspace, "The keyspace provided by the schema name provider %s for entity %s should not be blank",
+                provider, entityProperty.entityClass.getCanonicalName());
+        final CacheKey cacheKey = new CacheKey(entityProperty.entityClass, operation, keyspace, provider.tableNameFor(entityProperty.entityClass));
+        return cache.getSchemaNameCache(cacheKey, () -> {
+            final RegularStatement statement = lambda.get();
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug(format("Preparing statement %s using schema name provider %s", statement.getQueryString(), provider));
+            }
+            return copyIdempotence(statement, session.prepare(statement.getQueryString()));
+        });
     }
 
     public Cluster getCluster() {
         return session.getCluster();
     }
+
+    /**
+     * Lazily create a single-threaded scheduler used for time-based internal tasks
+     * (e.g. batch window of {@link FindByIdLoader})
+     */
+    public ScheduledExecutorService getScheduler() {
+        if (scheduler == null) {
+            synchronized (this) {
+                if (scheduler == null) {
+                    LOGGER.debug("Creating internal scheduler");
+                    final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new DefaultExecutorThreadFactory());
+                    executor.setRemoveOnCancelPolicy(true);
+                    scheduler = executor;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    public void shutDownScheduler() {
+        if (scheduler != null) {
+            LOGGER.info(format("Closing internal scheduler %s", scheduler));
+            scheduler.shutdown();
+        }
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import info.archinnov.achilles.monitoring.SizeHistogramSnapshot;
+
+/**
+ * Lock-free histogram of sizes in bytes, with one bucket per power of 2.
+ * Bucket <em>i</em> counts the sizes in <em>[2<sup>i-1</sup>, 2<sup>i</sup>[</em>, bucket 0 counts the empty payloads
+ */
+class SizeHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalBytes = new LongAdder();
+    private final LongAccumulator maxBytes = new LongAccumulator(Long::max, 0L);
+
+    void record(long sizeInBytes) {
+        buckets.incrementAndGet(bucketOf(sizeInBytes));
+        count.increment();
+        totalBytes.add(sizeInBytes);
+        maxBytes.accumulate(sizeInBytes);
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    SizeHistogramSnapshot snapshot() {
+        final long[] counts = new long[BUCKETS];
+        long total = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        final long max = maxBytes.get();
+        return new SizeHistogramSnapshot(total, totalBytes.sum(), max,
+                percentile(counts, total, max, 0.5D), percentile(counts, total, max, 0.95D), percentile(counts, total, max, 0.99D));
+    }
+
+    static int bucketOf(long sizeInBytes) {
+        return sizeInBytes <= 0 ? 0 : BUCKETS - Long.numberOfLeadingZeros(sizeInBytes);
+    }
+
+    private static long percentile(long[] counts, long total, long max, double quantile) {
+        if (total == 0) {
+            return 0L;
+        }
+        final long rank = (long) Math.ceil(quantile * total);
+        long cumulated = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulated += counts[i];
+            if (cumulated >= rank) {
+                return i == 0 ? 0L : Math.min(max, (1L << i) - 1);
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.RegularStatement;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Statement;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.internals.statements.StatementWrapper;
+import info.archinnov.achilles.logger.AchillesLoggers;
+import info.archinnov.achilles.monitoring.BoundValueRedaction;
+import info.archinnov.achilles.tracing.RateLimitedTracingSampler;
+import info.archinnov.achilles.tracing.TracingSampler;
+
+/**
+ * Log the statements whose latency is above the threshold of their entity, or else the global threshold,
+ * on the <strong>ACHILLES_SLOW_QUERY</strong> logger at WARN level. Raw bound and batch statements, which
+ * have no entity, are checked against the global threshold.
+ * <br/>
+ * <br/>
+ * Nothing is formatted until a statement qualifies. The number of log lines is capped
+ * for each entity and operation type with a token bucket, the statements dropped by the rate limit
+ * are counted for the same entity and operation type and reported with its next log line
+ */
+public class SlowQueryLogger {
+
+    private static final Logger SLOW_QUERY_LOGGER = LoggerFactory.getLogger(AchillesLoggers.ACHILLES_SLOW_QUERY);
+    private static final Class<?> NO_ENTITY = Void.class;
+
+    private final long defaultThresholdInNanos;
+    private final Map<Class<?>, Long> thresholdsInNanos = new HashMap<>();
+    private final TracingSampler rateLimiter;
+    private final BoundValueRedaction redaction;
+    private final Logger logger;
+    private final Map<Class<?>, LongAdder[]> suppressedCounts = new ConcurrentHashMap<>();
+
+    public SlowQueryLogger(long defaultThresholdInMillis, Map<Class<?>, Long> thresholdsInMillis,
+                           double maxLogsPerSecond, BoundValueRedaction redaction) {
+        this(defaultThresholdInMillis, thresholdsInMillis, maxLogsPerSecond, redaction, SLOW_QUERY_LOGGER);
+    }
+
+    SlowQueryLogger(long defaultThresholdInMillis, Map<Class<?>, Long> thresholdsInMillis,
+                    double maxLogsPerSecond, BoundValueRedaction redaction, Logger logger) {
+        this.defaultThresholdInNanos = TimeUnit.MILLISECONDS.toNanos(defaultThresholdInMillis);
+        thresholdsInMillis.forEach((entityClass, threshold) -> thresholdsInNanos.put(entityClass, TimeUnit.MILLISECONDS.toNanos(threshold)));
+        this.rateLimiter = new RateLimitedTracingSampler(maxLogsPerSecond);
+        this.redaction = redaction;
+        this.logger = logger;
+    }
+
+    /**
+     * Called when the statement completes, successfully or not
+     */
+    public void onCompletion(StatementWrapper wrapper, long startNanos, ResultSet resultSet, Throwable throwable) {
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        final AbstractEntityProperty<?> meta = wrapper.getMeta();
+        final OperationType operationType = wrapper.getOperationType();
+        if (shouldLog(meta.entityClass, operationType, elapsedNanos)) {
+            final BoundStatement boundStatement = wrapper.getBoundStatement();
+            logger.warn(buildMessage(meta.entityClass, operationType, elapsedNanos, resultSet, throwable,
+                    boundStatement.getConsistencyLevel(), boundStatement.preparedStatement().getQueryString(),
+                    formatBoundValues(boundStatement, redaction)));
+        }
+    }
+
+    /**
+     * Called when a raw bound statement, without entity, completes successfully or not
+     */
+    public void onCompletion(BoundStatement boundStatement, long startNanos, ResultSet resultSet, Throwable throwable) {
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        if (shouldLog(NO_ENTITY, OperationType.OTHER, elapsedNanos)) {
+            logger.warn(buildMessage(NO_ENTITY, OperationType.OTHER, elapsedNanos, resultSet, throwable,
+                    boundStatement.getConsistencyLevel(), boundStatement.preparedStatement().getQueryString(),
+                    formatBoundValues(boundStatement, redaction)));
+        }
+    }
+
+    /**
+     * Called when a batch statement completes successfully or not. The query and bound values
+     * of each statement of the batch are separated by <em>;</em>
+     */
+    public void onCompletion(BatchStatement batchStatement, long startNanos, ResultSet resultSet, Throwable throwable) {
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        if (shouldLog(NO_ENTITY, OperationType.OTHER, elapsedNanos)) {
+            final StringJoiner queries = new StringJoiner("; ");
+            final StringJoiner boundValues = new StringJoiner("; ");
+            for (Statement statement : batchStatement.getStatements()) {
+                if (statement instanceof BoundStatement) {
+                    final BoundStatement boundStatement = (BoundStatement) statement;
+                    queries.add(boundStatement.preparedStatement().getQueryString());
+                    boundValues.add(formatBoundValues(boundStatement, redaction));
+                } else if (statement instanceof RegularStatement) {
+                    queries.add(((RegularStatement) statement).getQueryString());
+                    boundValues.add("");
+                } else {
+                    queries.add(statement.getClass().getSimpleName());
+                    boundValues.add("");
+                }
+            }
+            logger.warn(buildMessage(NO_ENTITY, OperationType.OTHER, elapsedNanos, resultSet, throwable,
+                    batchStatement.getConsistencyLevel(), "BATCH " + queries.toString(), boundValues.toString()));
+        }
+    }
+
+    boolean shouldLog(Class<?> entityClass, OperationType operationType, long elapsedNanos) {
+        final Long threshold = thresholdsInNanos.getOrDefault(entityClass, defaultThresholdInNanos);
+        if (threshold <= 0 || elapsedNanos < threshold || !logger.isWarnEnabled()) {
+            return false;
+        }
+        if (rateLimiter.sample(entityClass, operationType)) {
+            return true;
+        }
+        suppressedCountFor(entityClass, operationType).increment();
+        return false;
+    }
+
+    String buildMessage(Class<?> entityClass, OperationType operationType, long elapsedNanos, ResultSet resultSet,
+                        Throwable throwable, ConsistencyLevel consistencyLevel, String queryString, String boundValues) {
+        final String coordinator = resultSet == null ? "n/a" : coordinatorOf(resultSet.getExecutionInfo());
+        final StringBuilder message = new StringBuilder(format("Slow query of %s ms for entity %s on coordinator %s with CONSISTENCY LEVEL [%s] : [%s] with bound values [%s]",
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), entityClass == NO_ENTITY ? "n/a" : entityClass.getCanonicalName(),
+                coordinator, consistencyLevel == null ? "default" : consistencyLevel, queryString, boundValues));
+        if (throwable != null) {
+            message.append(format(", failed with %s", throwable.getMessage()));
+        }
+        final long suppressed = suppressedCountFor(entityClass, operationType).sumThenReset();
+        if (suppressed > 0) {
+            message.append(format(" (%s slow %s queries not logged for this entity because of the rate limit)", suppressed, operationType));
+        }
+        return message.toString();
+    }
+
+    private LongAdder suppressedCountFor(Class<?> entityClass, OperationType operationType) {
+        LongAdder[] countsForEntity = suppressedCounts.get(entityClass);
+        if (countsForEntity == null) {
+            countsForEntity = suppressedCounts.computeIfAbsent(entityClass, x -> {
+                final LongAdder[] counts = new LongAdder[OperationType.values().length];
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] = new LongAdder();
+                }
+                return counts;
+            });
+        }
+        return countsForEntity[operationType.ordinal()];
+    }
+
+    static String formatBoundValues(BoundStatement boundStatement, BoundValueRedaction redaction) {
+        final ColumnDefinitions variables = boundStatement.preparedStatement().getVariables();
+        final StringJoiner joiner = new StringJoiner(", ");
+        for (int i = 0; i < variables.size(); i++) {
+            final String value;
+            if (!boundStatement.isSet(i)) {
+                value = "<unset>";
+            } else if (redaction == BoundValueRedaction.HIDDEN) {
+                value = "?";
+            } else if (redaction == BoundValueRedaction.SIZE) {
+                final ByteBuffer bytes = boundStatement.getBytesUnsafe(i);
+                value = bytes == null ? "null" : format("<%s bytes>", bytes.remaining());
+            } else {
+                value = String.valueOf(boundStatement.getObject(i));
+            }
+            joiner.add(variables.getName(i) + "=" + value);
+        }
+        return joiner.toString();
+    }
+
+    private static String coordinatorOf(ExecutionInfo executionInfo) {
+        return executionInfo == null || executionInfo.getQueriedHost() == null
+                ? "n/a"
+                : executionInfo.getQueriedHost().getAddress().getHostAddress();
+    }
+
+    @Override
+    public String toString() {
+        return format("SlowQueryLogger{defaultThresholdInMillis=%s, entityThresholdsCount=%s, redaction=%s}",
+                TimeUnit.NANOSECONDS.toMillis(defaultThresholdInNanos), thresholdsInNanos.size(), redaction);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving sketch (Metwally, Agrawal, El Abbadi) keeping at most <em>capacity</em> counters.
+ * When the sketch is full, a new key replaces the key with the smallest count and inherits
+ * this count as over-estimation error. Any key whose frequency is above <em>total / capacity</em>
+ * is guaranteed to be tracked.
+ * <br/>
+ * Not thread-safe, the caller is responsible for the locking
+ */
+class SpaceSavingSketch {
+
+    static final Comparator<Counter> BY_COUNT_DESC = Comparator.comparingLong((Counter counter) -> counter.count).reversed();
+
+    private final int capacity;
+    private final Map<String, Counter> counters;
+    private long total;
+
+    SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    void offer(String key) {
+        total++;
+        final Counter counter = counters.get(key);
+        if (counter != null) {
+            counter.count++;
+        } else if (counters.size() < capacity) {
+            counters.put(key, new Counter(key));
+        } else {
+            // Capacity is small (top-K x a constant factor) and only sampled statements
+            // reach this point, a linear scan is cheaper than maintaining an ordered structure
+            Counter min = null;
+            for (Counter candidate : counters.values()) {
+                if (min == null || candidate.count < min.count) {
+                    min = candidate;
+                }
+            }
+            counters.remove(min.key);
+            min.key = key;
+            min.error = min.count;
+            min.count++;
+            counters.put(key, min);
+        }
+    }
+
+    List<Counter> top(int k) {
+        final List<Counter> sorted = new ArrayList<>(counters.size());
+        for (Counter counter : counters.values()) {
+            sorted.add(counter.copy());
+        }
+        sorted.sort(BY_COUNT_DESC);
+        return sorted.size() > k ? new ArrayList<>(sorted.subList(0, k)) : sorted;
+    }
+
+    long total() {
+        return total;
+    }
+
+    static class Counter {
+        String key;
+        long count;
+        long error;
+
+        Counter(String key) {
+            this(key, 1L, 0L);
+        }
+
+        Counter(String key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+
+        Counter copy() {
+            return new Counter(key, count, error);
+        }
+    }
+}
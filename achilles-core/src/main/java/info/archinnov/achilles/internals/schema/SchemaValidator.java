@@ -35,6 +35,7 @@ import com.datastax.driver.core.*;
 
 import info.archinnov.achilles.annotations.SASI;
 import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.SimpleProperty;
 import info.archinnov.achilles.internals.metamodel.columns.ColumnType;
 import info.archinnov.achilles.internals.metamodel.index.IndexImpl;
 import info.archinnov.achilles.internals.metamodel.index.IndexInfo;
@@ -74,6 +75,13 @@ public class SchemaValidator {
 
             final DataType runtimeType = columnMeta.getType();
             final DataType staticType = x.buildType();
+            if (isBinaryJSON(x) && (runtimeType.getName() == DataType.Name.TEXT || runtimeType.getName() == DataType.Name.VARCHAR)) {
+                validateBeanMappingTrue(false,
+                        "Data type '%s' for column '%s' of entity '%s' does not match type in live schema '%s'. " +
+                        "A @JSON field using a binary format (SMILE/CBOR) cannot reuse an existing text column, " +
+                        "its data should be migrated to a new blob column",
+                        staticType, cqlColumn, entityClass, runtimeType);
+            }
             validateBeanMappingTrue(runtimeType.equals(staticType),
                     "Data type '%s' for column '%s' of entity '%s' does not match type in live schema '%s'",
                     staticType, cqlColumn, entityClass, runtimeType);
@@ -97,6 +105,10 @@ public class SchemaValidator {
         }
     }
 
+    private static boolean isBinaryJSON(AbstractProperty<?, ?, ?> property) {
+        return property instanceof SimpleProperty && ((SimpleProperty<?, ?, ?>) property).isBinaryJSON();
+    }
+
     private static void validateDSESearchIndex(Class<?> entityClass, TableMetadata tableMetadata) {
         final String tableName = tableMetadata.getName().toLowerCase();
         final String keyspaceName = tableMetadata.getKeyspace().getName().toLowerCase();
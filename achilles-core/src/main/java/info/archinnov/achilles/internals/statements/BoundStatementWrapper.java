@@ -18,6 +18,7 @@ package info.archinnov.achilles.internals.statements;
 
 import static java.lang.String.format;
 
+import java.util.Optional;
 import java.util.UUID;
 
 import org.slf4j.Logger;
@@ -43,6 +44,7 @@ public class BoundStatementWrapper implements StatementWrapper {
     private final Logger actualLogger;
     private BoundStatement bs;
     private UUID queryId;
+    private Optional<Boolean> adaptiveFetchSize = Optional.empty();
 
 
     public BoundStatementWrapper(OperationType operationType, AbstractEntityProperty<?> meta, PreparedStatement ps,
@@ -70,6 +72,16 @@ public class BoundStatementWrapper implements StatementWrapper {
         return boundValues;
     }
 
+    @Override
+    public AbstractEntityProperty<?> getMeta() {
+        return meta;
+    }
+
+    @Override
+    public OperationType getOperationType() {
+        return operationType;
+    }
+
     @Override
     public BoundStatement getBoundStatement() {
         return bs;
@@ -78,6 +90,12 @@ public class BoundStatementWrapper implements StatementWrapper {
     @Override
     public void applyOptions(Options options) {
         options.applyOptions(operationType, meta, bs);
+        adaptiveFetchSize = options.getAdaptiveFetchSize();
+    }
+
+    @Override
+    public boolean isAdaptiveFetchSize(boolean defaultValue) {
+        return adaptiveFetchSize.orElse(defaultValue);
     }
 
     @Override
@@ -124,7 +142,7 @@ public class BoundStatementWrapper implements StatementWrapper {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Maybe display tracing for query %s", bs.preparedStatement().getQueryString()));
         }
-        tracingInternal(actualLogger, queryId, resultSet);
+        tracingInternal(meta, queryId, resultSet);
         return resultSet;
     }
 }
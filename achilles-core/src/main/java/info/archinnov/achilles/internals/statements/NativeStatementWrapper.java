@@ -18,6 +18,7 @@ package info.archinnov.achilles.internals.statements;
 
 import static java.lang.String.format;
 
+import java.util.Optional;
 import java.util.UUID;
 
 import com.datastax.driver.core.BoundStatement;
@@ -35,6 +36,7 @@ public class NativeStatementWrapper implements StatementWrapper {
     private final Object[] encodedBoundValues;
     private final UUID queryId = UUID.randomUUID();
     private final OperationType operationType;
+    private Optional<Boolean> adaptiveFetchSize = Optional.empty();
 
 
     public NativeStatementWrapper(OperationType operationType, AbstractEntityProperty<?> meta, BoundStatement boundStatement, Object[] encodedBoundValues) {
@@ -49,6 +51,16 @@ public class NativeStatementWrapper implements StatementWrapper {
         return encodedBoundValues;
     }
 
+    @Override
+    public AbstractEntityProperty<?> getMeta() {
+        return meta;
+    }
+
+    @Override
+    public OperationType getOperationType() {
+        return operationType;
+    }
+
     @Override
     public BoundStatement getBoundStatement() {
         return boundStatement;
@@ -57,6 +69,12 @@ public class NativeStatementWrapper implements StatementWrapper {
     @Override
     public void applyOptions(Options options) {
         options.applyOptions(operationType, meta, boundStatement);
+        adaptiveFetchSize = options.getAdaptiveFetchSize();
+    }
+
+    @Override
+    public boolean isAdaptiveFetchSize(boolean defaultValue) {
+        return adaptiveFetchSize.orElse(defaultValue);
     }
 
     @Override
@@ -90,7 +108,7 @@ public class NativeStatementWrapper implements StatementWrapper {
         if (LOGGER.isTraceEnabled()) {
             LOGGER.trace(format("Maybe display tracing for query %s", boundStatement.preparedStatement().getQueryString()));
         }
-        tracingInternal(DML_LOGGER, queryId, resultSet);
+        tracingInternal(meta, queryId, resultSet);
         return resultSet;
     }
 }
@@ -28,8 +28,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.*;
-import com.datastax.driver.core.exceptions.TraceRetrievalException;
 
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
 import info.archinnov.achilles.internals.options.Options;
 import info.archinnov.achilles.internals.types.ResultSetWrapper;
 import info.archinnov.achilles.logger.AchillesLoggers;
@@ -37,16 +37,25 @@ import info.archinnov.achilles.logger.AchillesLoggers;
 public interface StatementWrapper {
     Logger LOGGER = LoggerFactory.getLogger(StatementWrapper.class);
 
-    EventComparator EVENT_TRACE_COMPARATOR = new EventComparator();
     Logger DML_LOGGER = LoggerFactory.getLogger(AchillesLoggers.ACHILLES_DML_STATEMENT);
     int RESULTS_LOG_DISPLAY_LIMIT = 10;
 
     Object[] getBoundValues();
 
+    OperationType getOperationType();
+
+    AbstractEntityProperty<?> getMeta();
+
     BoundStatement getBoundStatement();
 
     void applyOptions(Options options);
 
+    /**
+     * Whether the fetch size of this statement should be adapted to the observed row size,
+     * as set at runtime through the options or else the given default value
+     */
+    boolean isAdaptiveFetchSize(boolean defaultValue);
+
     void logDML();
 
     ResultSet logReturnResults(ResultSet resultSet);
@@ -113,38 +122,15 @@ public interface StatementWrapper {
         }
     }
 
-    default void tracingInternal(Logger actualLogger, UUID queryId, ResultSet resultSet) {
-        StringBuilder trace = new StringBuilder();
-        if (actualLogger.isTraceEnabled()) {
-            for (ExecutionInfo executionInfo : resultSet.getAllExecutionInfo()) {
-
-                trace.append(format("\n\nTracing for Query ID %s at host %s with achieved consistency level %s \n", queryId.toString(), executionInfo.getQueriedHost(), executionInfo.getAchievedConsistencyLevel()));
-                trace.append("****************************\n");
-                trace.append(format("%1$-80s | %2$-16s | %3$-24s | %4$-20s\n", "Description", "Source", "Source elapsed in micros", "Thread name"));
-                try {
-                    final QueryTrace queryTrace = executionInfo.getQueryTrace();
-                    if (queryTrace != null) {
-                        final List<QueryTrace.Event> events = new ArrayList<>(queryTrace.getEvents());
-                        Collections.sort(events, EVENT_TRACE_COMPARATOR);
-                        for (QueryTrace.Event event : events) {
-                            trace.append(format("%1$-80s | %2$-16s | %3$-24s | %4$-20s\n", event.getDescription(), event.getSource(), event.getSourceElapsedMicros(), event.getThreadName()));
-                        }
-                    }
-                } catch (TraceRetrievalException e) {
-                    final String queryString = getBoundStatement().preparedStatement().getQueryString();
-                    trace.append(format(" ERROR: cannot retrieve trace for query %s because it may not be yet available", queryString));
-                }
-                trace.append("****************************\n\n");
-            }
-
-            actualLogger.trace(trace.toString());
-        }
-    }
-
-    class EventComparator implements Comparator<QueryTrace.Event> {
-        @Override
-        public int compare(QueryTrace.Event event1, QueryTrace.Event event2) {
-            return event1.getSource().toString().compareTo(event2.getSource().toString());
+    /**
+     * Hand the statement over to the query tracer when tracing is enabled on it. The trace
+     * is retrieved asynchronously, this method never waits for <em>system_traces</em>
+     */
+    default void tracingInternal(AbstractEntityProperty<?> meta, UUID queryId, ResultSet resultSet) {
+        final BoundStatement boundStatement = getBoundStatement();
+        if (boundStatement.isTracing()) {
+            meta.getQueryTracer().trace(meta, getOperationType(), queryId,
+                    boundStatement.preparedStatement().getQueryString(), resultSet);
         }
     }
 }
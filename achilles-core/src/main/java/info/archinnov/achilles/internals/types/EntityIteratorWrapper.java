@@ -52,7 +52,7 @@ public class EntityIteratorWrapper<ENTITY> implements Iterator<ENTITY>, AsyncAwa
                         EntityIteratorWrapper.this.executionInfo = rs.getExecutionInfo();
                         return rs;
                     })
-                    .thenApply(rs -> rs.iterator()));
+                    .thenApply(rs -> options.isDSESearchDriverPaging() ? new PrefetchingRowIterator(rs) : rs.iterator()));
         } catch (ExecutionException e) {
             throw extractCauseFromExecutionException(e);
         }
@@ -48,7 +48,7 @@ public class JSONIteratorWrapper implements Iterator<String>, AsyncAware {
                         JSONIteratorWrapper.this.executionInfo = rs.getExecutionInfo();
                         return rs;
                     })
-                    .thenApply(rs -> rs.iterator()));
+                    .thenApply(rs -> options.isDSESearchDriverPaging() ? new PrefetchingRowIterator(rs) : rs.iterator()));
         } catch (ExecutionException e) {
             throw extractCauseFromExecutionException(e);
         }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.types;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.function.Consumer;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+/**
+ * Write the rows of a SELECT JSON result set as a single JSON array.
+ * <br/>
+ * The <em>[json]</em> column is copied as raw UTF-8 bytes through a fixed size buffer,
+ * pages are prefetched asynchronously and the output is flushed whenever the next rows
+ * are not available yet, so memory usage does not depend on the result size.
+ * <br/>
+ * The underlying output stream or channel is never closed
+ */
+public class JSONStreamWriter {
+
+    private static final String JSON_COLUMN = "[json]";
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte ARRAY_START = '[';
+    private static final byte ARRAY_END = ']';
+    private static final byte SEPARATOR = ',';
+
+    private final ByteSink sink;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+    private JSONStreamWriter(ByteSink sink) {
+        this.sink = sink;
+    }
+
+    public static JSONStreamWriter forOutputStream(OutputStream outputStream) {
+        return new JSONStreamWriter(new ByteSink() {
+            @Override
+            public void write(ByteBuffer bytes) throws IOException {
+                if (bytes.hasArray()) {
+                    outputStream.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+                    bytes.position(bytes.limit());
+                } else {
+                    final byte[] copy = new byte[bytes.remaining()];
+                    bytes.get(copy);
+                    outputStream.write(copy);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                outputStream.flush();
+            }
+        });
+    }
+
+    public static JSONStreamWriter forChannel(WritableByteChannel channel) {
+        return new JSONStreamWriter(new ByteSink() {
+            @Override
+            public void write(ByteBuffer bytes) throws IOException {
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                //NO OP, channel writes are not buffered
+            }
+        });
+    }
+
+    /**
+     * Write all the rows of the result set, fetching the following pages if required
+     *
+     * @param resultSet result set of a SELECT JSON query
+     * @param rowListener called for each row before it is written
+     * @return the number of rows written
+     */
+    public long write(ResultSet resultSet, Consumer<Row> rowListener) throws IOException {
+        final PrefetchingRowIterator rows = new PrefetchingRowIterator(resultSet);
+        long rowCount = 0L;
+        put(ARRAY_START);
+        while (true) {
+            if (resultSet.getAvailableWithoutFetching() == 0) {
+                flush();
+            }
+            if (!rows.hasNext()) {
+                break;
+            }
+            final Row row = rows.next();
+            rowListener.accept(row);
+            if (rowCount > 0) {
+                put(SEPARATOR);
+            }
+            put(row.getBytesUnsafe(JSON_COLUMN));
+            rowCount++;
+        }
+        put(ARRAY_END);
+        flush();
+        return rowCount;
+    }
+
+    private void put(byte b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            drain();
+        }
+        buffer.put(b);
+    }
+
+    private void put(ByteBuffer bytes) throws IOException {
+        if (bytes.remaining() > buffer.remaining()) {
+            drain();
+        }
+        if (bytes.remaining() > buffer.remaining()) {
+            sink.write(bytes);
+        } else {
+            buffer.put(bytes);
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        if (buffer.hasRemaining()) {
+            sink.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void flush() throws IOException {
+        drain();
+        sink.flush();
+    }
+
+    private interface ByteSink {
+        void write(ByteBuffer bytes) throws IOException;
+
+        void flush() throws IOException;
+    }
+}
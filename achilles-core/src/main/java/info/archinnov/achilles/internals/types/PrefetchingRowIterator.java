@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.types;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+/**
+ * Row iterator streaming a result set page by page.
+ * <br/>
+ * Once the rows left in the current page fall under half of the page size,
+ * the next page is requested asynchronously so that it is usually already
+ * available when the current page has been consumed
+ */
+public class PrefetchingRowIterator implements Iterator<Row> {
+
+    private final ResultSet resultSet;
+    private int prefetchThreshold;
+
+    public PrefetchingRowIterator(ResultSet resultSet) {
+        this.resultSet = resultSet;
+        this.prefetchThreshold = resultSet.getAvailableWithoutFetching() / 2;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !resultSet.isExhausted();
+    }
+
+    @Override
+    public Row next() {
+        final int available = resultSet.getAvailableWithoutFetching();
+        if (available > 2 * prefetchThreshold) {
+            prefetchThreshold = available / 2;
+        }
+
+        if (available <= prefetchThreshold && !resultSet.isFullyFetched()) {
+            resultSet.fetchMoreResults();
+        }
+
+        final Row row = resultSet.one();
+        if (row == null) {
+            throw new NoSuchElementException();
+        }
+        return row;
+    }
+}
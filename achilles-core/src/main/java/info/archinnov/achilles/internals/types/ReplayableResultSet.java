@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.types;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * Independent, read-only view over the rows of a <strong>fully fetched</strong> ResultSet.
+ * Each instance has its own cursor so that the same rows can be consumed by several callers
+ */
+public class ReplayableResultSet implements ResultSet {
+
+    private final Snapshot snapshot;
+    private int position = 0;
+
+    public ReplayableResultSet(Snapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public ColumnDefinitions getColumnDefinitions() {
+        return snapshot.columnDefinitions;
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return position >= snapshot.rows.size();
+    }
+
+    @Override
+    public Row one() {
+        return isExhausted() ? null : snapshot.rows.get(position++);
+    }
+
+    @Override
+    public List<Row> all() {
+        final List<Row> remaining = new ArrayList<>(snapshot.rows.subList(position, snapshot.rows.size()));
+        position = snapshot.rows.size();
+        return remaining;
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+        return new Iterator<Row>() {
+            @Override
+            public boolean hasNext() {
+                return !isExhausted();
+            }
+
+            @Override
+            public Row next() {
+                if (isExhausted()) {
+                    throw new NoSuchElementException();
+                }
+                return one();
+            }
+        };
+    }
+
+    @Override
+    public int getAvailableWithoutFetching() {
+        return snapshot.rows.size() - position;
+    }
+
+    @Override
+    public boolean isFullyFetched() {
+        return true;
+    }
+
+    @Override
+    public ListenableFuture<ResultSet> fetchMoreResults() {
+        return Futures.immediateFuture(this);
+    }
+
+    @Override
+    public ExecutionInfo getExecutionInfo() {
+        return snapshot.executionInfos.get(snapshot.executionInfos.size() - 1);
+    }
+
+    @Override
+    public List<ExecutionInfo> getAllExecutionInfo() {
+        return snapshot.executionInfos;
+    }
+
+    @Override
+    public boolean wasApplied() {
+        return snapshot.wasApplied;
+    }
+
+    @Override
+    public String toString() {
+        return "ReplayableResultSet[ exhausted: " + isExhausted() + ", " + snapshot.columnDefinitions + "]";
+    }
+
+    /**
+     * Immutable copy of the rows and metadata of a fully fetched ResultSet
+     */
+    public static class Snapshot {
+        private final ColumnDefinitions columnDefinitions;
+        private final List<Row> rows;
+        private final List<ExecutionInfo> executionInfos;
+        private final boolean wasApplied;
+
+        private Snapshot(ResultSet resultSet) {
+            this.columnDefinitions = resultSet.getColumnDefinitions();
+            this.executionInfos = resultSet.getAllExecutionInfo();
+            this.wasApplied = resultSet.wasApplied();
+            this.rows = resultSet.all();
+        }
+
+        public static Snapshot of(ResultSet fullyFetchedResultSet) {
+            return new Snapshot(fullyFetchedResultSet);
+        }
+
+        public ReplayableResultSet newView() {
+            return new ReplayableResultSet(this);
+        }
+    }
+}
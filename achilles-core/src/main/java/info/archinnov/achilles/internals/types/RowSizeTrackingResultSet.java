@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.types;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.ListenableFuture;
+
+/**
+ * ResultSet wrapper measuring the encoded size of the consumed rows.
+ * <br/>
+ * The row count and total size in bytes of each page are reported
+ * to the listener once the page has been fully consumed
+ */
+public class RowSizeTrackingResultSet implements ResultSet {
+
+    private final ResultSet delegate;
+    private final PageListener listener;
+    private int pageRows = 0;
+    private long pageBytes = 0L;
+
+    public RowSizeTrackingResultSet(ResultSet delegate, PageListener listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+    }
+
+    @Override
+    public ColumnDefinitions getColumnDefinitions() {
+        return delegate.getColumnDefinitions();
+    }
+
+    @Override
+    public boolean isExhausted() {
+        return delegate.isExhausted();
+    }
+
+    @Override
+    public Row one() {
+        final Row row = delegate.one();
+        if (row != null) {
+            pageRows++;
+            pageBytes += RowUtils.encodedSizeInBytes(row);
+            if (delegate.getAvailableWithoutFetching() == 0) {
+                flushPage();
+            }
+        }
+        return row;
+    }
+
+    @Override
+    public List<Row> all() {
+        final List<Row> rows = new ArrayList<>(delegate.getAvailableWithoutFetching());
+        Row row;
+        while ((row = one()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Override
+    public Iterator<Row> iterator() {
+        return new Iterator<Row>() {
+            @Override
+            public boolean hasNext() {
+                return !isExhausted();
+            }
+
+            @Override
+            public Row next() {
+                final Row row = one();
+                if (row == null) {
+                    throw new NoSuchElementException();
+                }
+                return row;
+            }
+        };
+    }
+
+    @Override
+    public int getAvailableWithoutFetching() {
+        return delegate.getAvailableWithoutFetching();
+    }
+
+    @Override
+    public boolean isFullyFetched() {
+        return delegate.isFullyFetched();
+    }
+
+    @Override
+    public ListenableFuture<ResultSet> fetchMoreResults() {
+        return delegate.fetchMoreResults();
+    }
+
+    @Override
+    public ExecutionInfo getExecutionInfo() {
+        return delegate.getExecutionInfo();
+    }
+
+    @Override
+    public List<ExecutionInfo> getAllExecutionInfo() {
+        return delegate.getAllExecutionInfo();
+    }
+
+    @Override
+    public boolean wasApplied() {
+        return delegate.wasApplied();
+    }
+
+    private void flushPage() {
+        listener.onPageConsumed(pageRows, pageBytes);
+        pageRows = 0;
+        pageBytes = 0L;
+    }
+
+    @FunctionalInterface
+    public interface PageListener {
+        void onPageConsumed(int rowCount, long sizeInBytes);
+
+        default PageListener andThen(PageListener other) {
+            return (rowCount, sizeInBytes) -> {
+                onPageConsumed(rowCount, sizeInBytes);
+                other.onPageConsumed(rowCount, sizeInBytes);
+            };
+        }
+    }
+}
@@ -50,7 +50,7 @@ public class TypedMapIteratorWrapper implements Iterator<TypedMap>, AsyncAware {
                         TypedMapIteratorWrapper.this.executionInfo = rs.getExecutionInfo();
                         return rs;
                     })
-                    .thenApply(rs -> rs.iterator()));
+                    .thenApply(rs -> options.isDSESearchDriverPaging() ? new PrefetchingRowIterator(rs) : rs.iterator()));
         } catch (ExecutionException e) {
             throw extractCauseFromExecutionException(e);
         }
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Access to <em>Executors.newVirtualThreadPerTaskExecutor()</em> (JDK 21+)
+ * while still compiling against Java 8. The factory method is looked up once by reflection
+ */
+public abstract class VirtualThreadHelper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadHelper.class);
+
+    private static final Optional<MethodHandle> VIRTUAL_THREAD_PER_TASK_EXECUTOR = lookupFactory();
+
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_PER_TASK_EXECUTOR.isPresent();
+    }
+
+    /**
+     * @return a new virtual-thread-per-task executor or Optional.empty() if the running JVM does not support virtual threads
+     */
+    public static Optional<ExecutorService> newVirtualThreadPerTaskExecutor() {
+        if (!VIRTUAL_THREAD_PER_TASK_EXECUTOR.isPresent()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of((ExecutorService) VIRTUAL_THREAD_PER_TASK_EXECUTOR.get().invoke());
+        } catch (Throwable throwable) {
+            LOGGER.warn("Cannot create virtual thread per task executor", throwable);
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<MethodHandle> lookupFactory() {
+        try {
+            return Optional.of(MethodHandles.publicLookup().findStatic(Executors.class,
+                    "newVirtualThreadPerTaskExecutor", MethodType.methodType(ExecutorService.class)));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.monitoring;
+
+/**
+ * How the bound values of a statement are written in the slow query log
+ */
+public enum BoundValueRedaction {
+    /**
+     * Only the bound column names are written, e.g. <em>id=?</em>
+     */
+    HIDDEN,
+    /**
+     * The size of each encoded value is written, e.g. <em>id=&lt;8 bytes&gt;</em>
+     */
+    SIZE,
+    /**
+     * The values are written in clear, e.g. <em>id=10</em>
+     */
+    CLEAR
+}
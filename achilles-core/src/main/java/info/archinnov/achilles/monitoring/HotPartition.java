@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.monitoring;
+
+import static java.lang.String.format;
+
+import java.beans.ConstructorProperties;
+
+/**
+ * Partition among the most accessed partitions of a table, as estimated by the
+ * hot partition sketch. Counts and rates are extrapolated from the sampled statements
+ */
+public class HotPartition {
+
+    private final String keyspace;
+    private final String table;
+    private final String accessType;
+    private final String routingKey;
+    private final long estimatedCount;
+    private final long maxOverestimation;
+    private final double ratePerSecond;
+
+    @ConstructorProperties({"keyspace", "table", "accessType", "routingKey", "estimatedCount", "maxOverestimation", "ratePerSecond"})
+    public HotPartition(String keyspace, String table, String accessType, String routingKey,
+                        long estimatedCount, long maxOverestimation, double ratePerSecond) {
+        this.keyspace = keyspace;
+        this.table = table;
+        this.accessType = accessType;
+        this.routingKey = routingKey;
+        this.estimatedCount = estimatedCount;
+        this.maxOverestimation = maxOverestimation;
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public String getKeyspace() {
+        return keyspace;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * @return <strong>READ</strong> or <strong>WRITE</strong>
+     */
+    public String getAccessType() {
+        return accessType;
+    }
+
+    /**
+     * @return routing key of the partition, as an hexadecimal string (e.g. <em>0x0000000a</em>)
+     */
+    public String getRoutingKey() {
+        return routingKey;
+    }
+
+    /**
+     * @return estimated number of statements on the partition in the window, never under-estimated
+     */
+    public long getEstimatedCount() {
+        return estimatedCount;
+    }
+
+    /**
+     * @return upper bound of the over-estimation of <em>estimatedCount</em>
+     */
+    public long getMaxOverestimation() {
+        return maxOverestimation;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return format("HotPartition{%s.%s, %s, routingKey=%s, estimatedCount=%s, maxOverestimation=%s, ratePerSecond=%.2f}",
+                keyspace, table, accessType, routingKey, estimatedCount, maxOverestimation, ratePerSecond);
+    }
+}
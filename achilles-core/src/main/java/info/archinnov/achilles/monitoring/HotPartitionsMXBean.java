@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.monitoring;
+
+import java.util.List;
+
+/**
+ * Most accessed partitions per table and access type (READ/WRITE), estimated from
+ * a sample of the executed statements
+ */
+public interface HotPartitionsMXBean {
+
+    /**
+     * @return hot partitions of the last completed window, hottest first
+     */
+    List<HotPartition> getHotPartitions();
+
+    /**
+     * @return hot partitions of the window in progress, hottest first
+     */
+    List<HotPartition> getCurrentHotPartitions();
+
+    double getSamplingRate();
+
+    int getTopK();
+
+    long getWindowInSeconds();
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.monitoring;
+
+/**
+ * What happens to a multi-partition SELECT issued above the configured rate
+ */
+public enum MultiPartitionQueryGuardAction {
+    /**
+     * The query is executed and a warning is logged
+     */
+    LOG,
+    /**
+     * The query is not executed, the returned future fails with
+     * {@link info.archinnov.achilles.exception.AchillesMultiPartitionQueryException}
+     */
+    REJECT
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.monitoring;
+
+import static java.lang.String.format;
+
+/**
+ * Payload sizes of the statements of an entity for one operation type (INSERT, UPDATE, DELETE, SELECT ...)
+ * <ul>
+ *     <li>request: total size of the encoded bound values of each statement</li>
+ *     <li>response: encoded size of each page of rows consumed from the result set</li>
+ * </ul>
+ */
+public class PayloadSizeStats {
+
+    private final String entityClass;
+    private final String operationType;
+    private final SizeHistogramSnapshot request;
+    private final SizeHistogramSnapshot response;
+    private final long largeMutationCount;
+
+    public PayloadSizeStats(String entityClass, String operationType, SizeHistogramSnapshot request,
+                            SizeHistogramSnapshot response, long largeMutationCount) {
+        this.entityClass = entityClass;
+        this.operationType = operationType;
+        this.request = request;
+        this.response = response;
+        this.largeMutationCount = largeMutationCount;
+    }
+
+    public String getEntityClass() {
+        return entityClass;
+    }
+
+    public String getOperationType() {
+        return operationType;
+    }
+
+    public SizeHistogramSnapshot getRequest() {
+        return request;
+    }
+
+    public SizeHistogramSnapshot getResponse() {
+        return response;
+    }
+
+    /**
+     * @return number of mutations whose request size crossed the large mutation warning threshold
+     */
+    public long getLargeMutationCount() {
+        return largeMutationCount;
+    }
+
+    @Override
+    public String toString() {
+        return format("PayloadSizeStats{entityClass=%s, operationType=%s, request=%s, response=%s, largeMutationCount=%s}",
+                entityClass, operationType, request, response, largeMutationCount);
+    }
+}
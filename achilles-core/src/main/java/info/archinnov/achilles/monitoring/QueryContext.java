@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.monitoring;
+
+import static java.lang.String.format;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.datastax.driver.core.Statement;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+
+/**
+ * Execution context of a statement, shared by all the callbacks of the {@link QueryListener}s
+ * for this statement. It is only created when at least one listener is registered
+ */
+public class QueryContext {
+
+    private final Class<?> entityClass;
+    private final OperationType operationType;
+    private final Statement statement;
+    private final String queryString;
+    private final long startNanos;
+    private volatile long endNanos;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>(4);
+
+    public QueryContext(Class<?> entityClass, OperationType operationType, Statement statement, String queryString, long startNanos) {
+        this.entityClass = entityClass;
+        this.operationType = operationType;
+        this.statement = statement;
+        this.queryString = queryString;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * @return the entity class of the statement, or empty for internal statements (large object chunks, batches ...)
+     */
+    public Optional<Class<?>> getEntityClass() {
+        return Optional.ofNullable(entityClass);
+    }
+
+    public OperationType getOperationType() {
+        return operationType;
+    }
+
+    public Statement getStatement() {
+        return statement;
+    }
+
+    /**
+     * @return the query string, or empty for batch statements
+     */
+    public Optional<String> getQueryString() {
+        return Optional.ofNullable(queryString);
+    }
+
+    /**
+     * @return the value of System.nanoTime() when the statement was started
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * @return the value of System.nanoTime() when the statement completed, 0 if still running
+     */
+    public long getEndNanos() {
+        return endNanos;
+    }
+
+    public void setEndNanos(long endNanos) {
+        this.endNanos = endNanos;
+    }
+
+    /**
+     * @return latency of the statement in nanoseconds, or the time elapsed so far if it is still running
+     */
+    public long getElapsedNanos() {
+        final long end = endNanos;
+        return (end == 0L ? System.nanoTime() : end) - startNanos;
+    }
+
+    /**
+     * Attach a value to the context, to be read by the next callbacks
+     */
+    public void setAttribute(String name, Object value) {
+        attributes.put(name, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Optional<T> getAttribute(String name) {
+        return Optional.ofNullable((T) attributes.get(name));
+    }
+
+    @Override
+    public String toString() {
+        return format("QueryContext{entityClass=%s, operationType=%s, queryString=%s, elapsedNanos=%s}",
+                entityClass == null ? null : entityClass.getCanonicalName(), operationType, queryString, getElapsedNanos());
+    }
+}
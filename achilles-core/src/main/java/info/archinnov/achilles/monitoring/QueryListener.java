@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.monitoring;
+
+import com.datastax.driver.core.ResultSet;
+
+/**
+ * Listener notified of the lifecycle of each statement executed by Achilles, to plug an external
+ * tracing or metrics system. Listeners are registered with <em>withQueryListeners()</em> on the ManagerFactoryBuilder
+ * <br/>
+ * <br/>
+ * The same {@link QueryContext} is given to all the callbacks of a statement, listeners can keep their
+ * own state (e.g. a span) in its attributes. Callbacks are invoked synchronously on the thread starting
+ * the statement (onStart), completing it (onSuccess/onFailure) or consuming its rows (onPage),
+ * they should be fast and non-blocking. Exceptions raised by a listener are logged and ignored
+ */
+public interface QueryListener {
+
+    /**
+     * Called before the statement is sent to Cassandra
+     */
+    default void onStart(QueryContext context) {
+    }
+
+    /**
+     * Called when the first page of results has been received
+     */
+    default void onSuccess(QueryContext context, ResultSet resultSet) {
+    }
+
+    /**
+     * Called when the statement fails (timeout, unavailable, invalid query ...), including when
+     * the multi-partition query guard rejects it before it is sent to Cassandra
+     */
+    default void onFailure(QueryContext context, Throwable throwable) {
+    }
+
+    /**
+     * Called each time a page of rows has been consumed from the result set of a SELECT statement,
+     * including when the rows are consumed through an iterator
+     *
+     * @param rowCount    number of rows of the page
+     * @param sizeInBytes encoded size of the rows of the page
+     */
+    default void onPage(QueryContext context, int rowCount, long sizeInBytes) {
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.monitoring;
+
+import static java.lang.String.format;
+
+/**
+ * Snapshot of a histogram of payload sizes in bytes. Sizes are bucketed by powers of 2
+ * so the percentiles are upper bounds, at most twice the actual value
+ */
+public class SizeHistogramSnapshot {
+
+    private final long count;
+    private final long totalBytes;
+    private final long maxBytes;
+    private final long p50Bytes;
+    private final long p95Bytes;
+    private final long p99Bytes;
+
+    public SizeHistogramSnapshot(long count, long totalBytes, long maxBytes, long p50Bytes, long p95Bytes, long p99Bytes) {
+        this.count = count;
+        this.totalBytes = totalBytes;
+        this.maxBytes = maxBytes;
+        this.p50Bytes = p50Bytes;
+        this.p95Bytes = p95Bytes;
+        this.p99Bytes = p99Bytes;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public double getMeanBytes() {
+        return count == 0 ? 0D : (double) totalBytes / count;
+    }
+
+    public long getP50Bytes() {
+        return p50Bytes;
+    }
+
+    public long getP95Bytes() {
+        return p95Bytes;
+    }
+
+    public long getP99Bytes() {
+        return p99Bytes;
+    }
+
+    @Override
+    public String toString() {
+        return format("SizeHistogramSnapshot{count=%s, totalBytes=%s, maxBytes=%s, p50Bytes=%s, p95Bytes=%s, p99Bytes=%s}",
+                count, totalBytes, maxBytes, p50Bytes, p95Bytes, p99Bytes);
+    }
+}
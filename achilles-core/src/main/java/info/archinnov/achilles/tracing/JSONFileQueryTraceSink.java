@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.tracing;
+
+import static java.lang.String.format;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.QueryTrace;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.validation.Validator;
+
+/**
+ * Write each trace as a JSON document named <em>&lt;trace id&gt;.json</em> in the given directory
+ */
+public class JSONFileQueryTraceSink implements QueryTraceSink {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JSONFileQueryTraceSink.class);
+
+    private final Path directory;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public JSONFileQueryTraceSink(Path directory) {
+        Validator.validateNotNull(directory, "The directory for JSON traces should not be null");
+        try {
+            this.directory = Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new AchillesException(format("Cannot create the directory %s for JSON traces", directory), e);
+        }
+    }
+
+    @Override
+    public void accept(TracedQuery tracedQuery) {
+        final Path file = directory.resolve(tracedQuery.getTraceId() + ".json");
+        try {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), toJSON(tracedQuery));
+        } catch (IOException e) {
+            LOGGER.error(format("Cannot write trace %s to file %s : %s", tracedQuery.getTraceId(), file, e.getMessage()), e);
+        }
+    }
+
+    ObjectNode toJSON(TracedQuery tracedQuery) {
+        final ObjectNode root = mapper.createObjectNode();
+        root.put("queryId", String.valueOf(tracedQuery.getQueryId()));
+        root.put("traceId", String.valueOf(tracedQuery.getTraceId()));
+        root.put("queryString", tracedQuery.getQueryString());
+        root.put("entityClass", tracedQuery.getEntityClass().getCanonicalName());
+        root.put("operationType", tracedQuery.getOperationType().name());
+        root.put("queriedHost", String.valueOf(tracedQuery.getQueriedHost()));
+        root.put("achievedConsistencyLevel", String.valueOf(tracedQuery.getAchievedConsistencyLevel()));
+        root.put("requestType", tracedQuery.getRequestType());
+        root.put("coordinator", String.valueOf(tracedQuery.getCoordinator()));
+        root.put("durationMicros", tracedQuery.getDurationMicros());
+        root.put("startedAt", tracedQuery.getStartedAt());
+        final ObjectNode parameters = root.putObject("parameters");
+        tracedQuery.getParameters().forEach(parameters::put);
+        final ArrayNode events = root.putArray("events");
+        for (QueryTrace.Event event : tracedQuery.getEvents()) {
+            events.addObject()
+                    .put("description", event.getDescription())
+                    .put("source", String.valueOf(event.getSource()))
+                    .put("sourceElapsedMicros", event.getSourceElapsedMicros())
+                    .put("timestamp", event.getTimestamp())
+                    .put("threadName", event.getThreadName());
+        }
+        return root;
+    }
+}
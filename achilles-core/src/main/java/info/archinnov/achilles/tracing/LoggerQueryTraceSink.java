@@ -0,0 +1,54 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.tracing;
+
+import static java.lang.String.format;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.datastax.driver.core.QueryTrace;
+
+/**
+ * Default sink, writing the trace events as a table at INFO level in the logger of the traced entity
+ */
+public class LoggerQueryTraceSink implements QueryTraceSink {
+
+    @Override
+    public void accept(TracedQuery tracedQuery) {
+        final Logger logger = LoggerFactory.getLogger(tracedQuery.getEntityClass());
+        if (logger.isInfoEnabled()) {
+            logger.info(format(tracedQuery));
+        }
+    }
+
+    static String format(TracedQuery tracedQuery) {
+        final StringBuilder trace = new StringBuilder();
+        trace.append(String.format("\n\nTracing for Query ID %s at host %s with achieved consistency level %s \n",
+                tracedQuery.getQueryId(), tracedQuery.getQueriedHost(), tracedQuery.getAchievedConsistencyLevel()));
+        trace.append(String.format("Query [%s], trace id %s, duration %s micros\n",
+                tracedQuery.getQueryString(), tracedQuery.getTraceId(), tracedQuery.getDurationMicros()));
+        trace.append("****************************\n");
+        trace.append(String.format("%1$-80s | %2$-16s | %3$-24s | %4$-20s\n", "Description", "Source", "Source elapsed in micros", "Thread name"));
+        for (QueryTrace.Event event : tracedQuery.getEvents()) {
+            trace.append(String.format("%1$-80s | %2$-16s | %3$-24s | %4$-20s\n", event.getDescription(), event.getSource(), event.getSourceElapsedMicros(), event.getThreadName()));
+        }
+        trace.append("****************************\n\n");
+        return trace.toString();
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.tracing;
+
+/**
+ * Destination of the completed query traces. The sink is called on the tracing thread pool,
+ * never on the driver I/O threads nor on the Achilles executor service. It should be thread-safe
+ * <br/>
+ * <br/>
+ * Available implementations: {@link LoggerQueryTraceSink} (default), {@link RingBufferQueryTraceSink}
+ * and {@link JSONFileQueryTraceSink}
+ */
+@FunctionalInterface
+public interface QueryTraceSink {
+
+    void accept(TracedQuery tracedQuery);
+}
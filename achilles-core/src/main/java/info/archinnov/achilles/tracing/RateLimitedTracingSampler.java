@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.tracing;
+
+import static java.lang.String.format;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.validation.Validator;
+
+/**
+ * Token bucket sampler with one bucket for each pair of entity class and operation type.
+ * Each bucket is refilled at <em>maxTracesPerSecond</em> and holds at most one second worth of tokens
+ */
+public class RateLimitedTracingSampler implements TracingSampler {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double maxTracesPerSecond;
+    private final Map<Class<?>, Bucket[]> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitedTracingSampler(double maxTracesPerSecond) {
+        Validator.validateTrue(maxTracesPerSecond > 0, "The maximum number of traces per second '%s' should be strictly positive", maxTracesPerSecond);
+        this.maxTracesPerSecond = maxTracesPerSecond;
+    }
+
+    @Override
+    public boolean sample(Class<?> entityClass, OperationType operationType) {
+        Bucket[] bucketsForEntity = buckets.get(entityClass);
+        if (bucketsForEntity == null) {
+            bucketsForEntity = buckets.computeIfAbsent(entityClass, this::createBuckets);
+        }
+        return bucketsForEntity[operationType.ordinal()].tryAcquire(System.nanoTime());
+    }
+
+    private Bucket[] createBuckets(Class<?> entityClass) {
+        final Bucket[] bucketsForEntity = new Bucket[OperationType.values().length];
+        for (int i = 0; i < bucketsForEntity.length; i++) {
+            bucketsForEntity[i] = new Bucket(maxTracesPerSecond, System.nanoTime());
+        }
+        return bucketsForEntity;
+    }
+
+    @Override
+    public String toString() {
+        return format("RateLimitedTracingSampler{maxTracesPerSecond=%s}", maxTracesPerSecond);
+    }
+
+    /**
+     * Guarded by a ReentrantLock rather than a monitor so that contended virtual threads do not pin their carrier
+     */
+    private static class Bucket {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final double maxTokens;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefillNanos;
+
+        Bucket(double maxTracesPerSecond, long nowNanos) {
+            this.maxTokens = Math.max(1.0d, maxTracesPerSecond);
+            this.tokensPerNano = maxTracesPerSecond / NANOS_PER_SECOND;
+            this.tokens = this.maxTokens;
+            this.lastRefillNanos = nowNanos;
+        }
+
+        boolean tryAcquire(long nowNanos) {
+            lock.lock();
+            try {
+                tokens = Math.min(maxTokens, tokens + (nowNanos - lastRefillNanos) * tokensPerNano);
+                lastRefillNanos = nowNanos;
+                if (tokens >= 1.0d) {
+                    tokens -= 1.0d;
+                    return true;
+                }
+                return false;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
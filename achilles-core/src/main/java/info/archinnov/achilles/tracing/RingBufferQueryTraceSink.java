@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.tracing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import info.archinnov.achilles.validation.Validator;
+
+/**
+ * Keep the last <em>capacity</em> traces in memory, the oldest traces are evicted first.
+ * Useful to expose the recent traces through an admin endpoint or JMX
+ */
+public class RingBufferQueryTraceSink implements QueryTraceSink {
+
+    private final int capacity;
+    private final Deque<TracedQuery> traces;
+
+    public RingBufferQueryTraceSink(int capacity) {
+        Validator.validateTrue(capacity > 0, "The ring buffer capacity '%s' should be strictly positive", capacity);
+        this.capacity = capacity;
+        this.traces = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public synchronized void accept(TracedQuery tracedQuery) {
+        if (traces.size() == capacity) {
+            traces.pollFirst();
+        }
+        traces.addLast(tracedQuery);
+    }
+
+    /**
+     * @return snapshot of the retained traces, oldest first
+     */
+    public synchronized List<TracedQuery> getTraces() {
+        return new ArrayList<>(traces);
+    }
+
+    public synchronized void clear() {
+        traces.clear();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.tracing;
+
+import static java.lang.String.format;
+
+import java.net.InetAddress;
+import java.util.*;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.QueryTrace;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+
+/**
+ * Completed query trace, with the events already fetched from the <em>system_traces</em> keyspace
+ */
+public class TracedQuery {
+
+    private static final Comparator<QueryTrace.Event> EVENT_TRACE_COMPARATOR =
+            Comparator.comparing((QueryTrace.Event event) -> String.valueOf(event.getSource()))
+                    .thenComparingInt(QueryTrace.Event::getSourceElapsedMicros);
+
+    private final UUID queryId;
+    private final String queryString;
+    private final Class<?> entityClass;
+    private final OperationType operationType;
+    private final Host queriedHost;
+    private final ConsistencyLevel achievedConsistencyLevel;
+    private final UUID traceId;
+    private final String requestType;
+    private final InetAddress coordinator;
+    private final int durationMicros;
+    private final long startedAt;
+    private final Map<String, String> parameters;
+    private final List<QueryTrace.Event> events;
+
+    /**
+     * Copy the data of an already fetched trace. Calling this constructor with a trace
+     * which is not yet fetched will block until the trace is available
+     */
+    public TracedQuery(UUID queryId, String queryString, Class<?> entityClass, OperationType operationType,
+                       ExecutionInfo executionInfo, QueryTrace queryTrace) {
+        this.queryId = queryId;
+        this.queryString = queryString;
+        this.entityClass = entityClass;
+        this.operationType = operationType;
+        this.queriedHost = executionInfo.getQueriedHost();
+        this.achievedConsistencyLevel = executionInfo.getAchievedConsistencyLevel();
+        final List<QueryTrace.Event> sortedEvents = new ArrayList<>(queryTrace.getEvents());
+        sortedEvents.sort(EVENT_TRACE_COMPARATOR);
+        this.events = Collections.unmodifiableList(sortedEvents);
+        this.traceId = queryTrace.getTraceId();
+        this.requestType = queryTrace.getRequestType();
+        this.coordinator = queryTrace.getCoordinator();
+        this.durationMicros = queryTrace.getDurationMicros();
+        this.startedAt = queryTrace.getStartedAt();
+        this.parameters = queryTrace.getParameters() == null
+                ? Collections.emptyMap()
+                : Collections.unmodifiableMap(new HashMap<>(queryTrace.getParameters()));
+    }
+
+    /**
+     * @return id of the query, as displayed in the DML logs
+     */
+    public UUID getQueryId() {
+        return queryId;
+    }
+
+    public String getQueryString() {
+        return queryString;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public OperationType getOperationType() {
+        return operationType;
+    }
+
+    public Host getQueriedHost() {
+        return queriedHost;
+    }
+
+    public ConsistencyLevel getAchievedConsistencyLevel() {
+        return achievedConsistencyLevel;
+    }
+
+    /**
+     * @return session id of the trace in the <em>system_traces</em> keyspace
+     */
+    public UUID getTraceId() {
+        return traceId;
+    }
+
+    public String getRequestType() {
+        return requestType;
+    }
+
+    public InetAddress getCoordinator() {
+        return coordinator;
+    }
+
+    public int getDurationMicros() {
+        return durationMicros;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    /**
+     * @return trace events, sorted by source then by elapsed time at the source
+     */
+    public List<QueryTrace.Event> getEvents() {
+        return events;
+    }
+
+    @Override
+    public String toString() {
+        return format("TracedQuery{queryId=%s, traceId=%s, queryString='%s', entityClass=%s, operationType=%s, durationMicros=%s, events=%s}",
+                queryId, traceId, queryString, entityClass.getCanonicalName(), operationType, durationMicros, events.size());
+    }
+}
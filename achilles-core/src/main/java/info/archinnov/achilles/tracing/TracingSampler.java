@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.tracing;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.validation.Validator;
+
+/**
+ * Decide whether a statement should be executed with tracing enabled.
+ * The sampler is called for each statement, before its execution, so it should be cheap and thread-safe
+ * <br/>
+ * <br/>
+ * <pre class="code"><code class="java">
+ * // Trace 1% of all queries
+ * TracingSampler.probabilistic(0.01);
+ *
+ * // Trace at most 2 queries per second for each entity and operation
+ * TracingSampler.rateLimited(2);
+ *
+ * // Only trace SELECT on User entity
+ * (entityClass, operationType) -&gt; entityClass == User.class &amp;&amp; operationType == OperationType.SELECT;
+ * </code></pre>
+ */
+@FunctionalInterface
+public interface TracingSampler {
+
+    /**
+     * @param entityClass   entity class of the statement
+     * @param operationType operation type of the statement
+     * @return true if the statement should be traced
+     */
+    boolean sample(Class<?> entityClass, OperationType operationType);
+
+    /**
+     * Trace all statements
+     */
+    static TracingSampler always() {
+        return (entityClass, operationType) -> true;
+    }
+
+    /**
+     * Trace each statement with the given probability
+     *
+     * @param probability between 0 and 1
+     */
+    static TracingSampler probabilistic(double probability) {
+        Validator.validateTrue(probability >= 0 && probability <= 1, "The tracing probability '%s' should be between 0 and 1", probability);
+        return (entityClass, operationType) -> ThreadLocalRandom.current().nextDouble() < probability;
+    }
+
+    /**
+     * Trace at most <em>maxTracesPerSecond</em> statements per second for each pair of entity class and operation type
+     *
+     * @param maxTracesPerSecond maximum number of traced statements per second, strictly positive
+     */
+    static TracingSampler rateLimited(double maxTracesPerSecond) {
+        return new RateLimitedTracingSampler(maxTracesPerSecond);
+    }
+}
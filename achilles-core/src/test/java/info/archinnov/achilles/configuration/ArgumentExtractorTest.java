@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.configuration;
+
+import static info.archinnov.achilles.configuration.ConfigurationParameters.SPECULATIVE_EXECUTION_STRATEGY_DEFAULT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import info.archinnov.achilles.internals.types.ConfigMap;
+import info.archinnov.achilles.type.strategy.SpeculativeExecutionStrategy;
+
+public class ArgumentExtractorTest {
+
+    @Test
+    public void should_not_infer_idempotence_by_default() throws Exception {
+        //Given
+        final ConfigMap configMap = new ConfigMap();
+
+        //When
+        final SpeculativeExecutionStrategy strategy = ArgumentExtractor.initDefaultSpeculativeExecutionStrategy(configMap);
+
+        //Then
+        assertThat(strategy).isEqualTo(SpeculativeExecutionStrategy.NONE);
+    }
+
+    @Test
+    public void should_init_speculative_execution_strategy() throws Exception {
+        //Given
+        final ConfigMap configMap = new ConfigMap();
+        configMap.put(SPECULATIVE_EXECUTION_STRATEGY_DEFAULT, SpeculativeExecutionStrategy.ALL_IDEMPOTENT);
+
+        //When
+        final SpeculativeExecutionStrategy strategy = ArgumentExtractor.initDefaultSpeculativeExecutionStrategy(configMap);
+
+        //Then
+        assertThat(strategy).isEqualTo(SpeculativeExecutionStrategy.ALL_IDEMPOTENT);
+    }
+}
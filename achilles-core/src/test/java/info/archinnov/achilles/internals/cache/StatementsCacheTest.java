@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.cache;
+
+import static info.archinnov.achilles.internals.cache.CacheKey.Operation.FIND;
+import static info.archinnov.achilles.internals.cache.CacheKey.Operation.INSERT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.PreparedStatement;
+
+public class StatementsCacheTest {
+
+    private final AtomicInteger prepareCount = new AtomicInteger(0);
+
+    private PreparedStatement prepare() {
+        prepareCount.incrementAndGet();
+        return mock(PreparedStatement.class);
+    }
+
+    @Test
+    public void should_prepare_schema_name_statement_once() throws Exception {
+        //Given
+        final StatementsCache cache = new StatementsCache(10, 10);
+
+        //When
+        final PreparedStatement ps1 = cache.getSchemaNameCache(new CacheKey(String.class, FIND, "tenant1", "table"), this::prepare);
+        final PreparedStatement ps2 = cache.getSchemaNameCache(new CacheKey(String.class, FIND, "tenant1", "table"), this::prepare);
+        final PreparedStatement ps3 = cache.getSchemaNameCache(new CacheKey(String.class, INSERT, "tenant1", "table"), this::prepare);
+        final PreparedStatement ps4 = cache.getSchemaNameCache(new CacheKey(String.class, FIND, "tenant2", "table"), this::prepare);
+
+        //Then
+        assertThat(ps1).isSameAs(ps2);
+        assertThat(ps3).isNotSameAs(ps1);
+        assertThat(ps4).isNotSameAs(ps1);
+        assertThat(prepareCount.get()).isEqualTo(3);
+        assertThat(cache.getCachedSchemaNames()).containsOnly("tenant1", "tenant2");
+        assertThat(cache.getSchemaNameCacheStats().hitCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_evict_least_recently_used_schema_name() throws Exception {
+        //Given
+        final StatementsCache cache = new StatementsCache(10, 2);
+        cache.getSchemaNameCache(new CacheKey(String.class, FIND, "tenant1", "table"), this::prepare);
+        cache.getSchemaNameCache(new CacheKey(String.class, FIND, "tenant2", "table"), this::prepare);
+        cache.getSchemaNameCache(new CacheKey(String.class, INSERT, "tenant1", "table"), this::prepare);
+
+        //When
+        cache.getSchemaNameCache(new CacheKey(String.class, FIND, "tenant3", "table"), this::prepare);
+
+        //Then
+        assertThat(cache.getCachedSchemaNames()).containsOnly("tenant1", "tenant3");
+        assertThat(cache.getSchemaNameCacheStats().evictionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_distinguish_cache_keys_by_schema_name() throws Exception {
+        //Given
+        final CacheKey staticKey = new CacheKey(String.class, FIND);
+        final CacheKey tenantKey = new CacheKey(String.class, FIND, "tenant1", "table");
+
+        //When
+        //Then
+        assertThat(staticKey).isEqualTo(new CacheKey(String.class, FIND));
+        assertThat(tenantKey).isEqualTo(new CacheKey(String.class, FIND, "tenant1", "table"));
+        assertThat(tenantKey.hashCode()).isEqualTo(new CacheKey(String.class, FIND, "tenant1", "table").hashCode());
+        assertThat(tenantKey).isNotEqualTo(staticKey);
+        assertThat(tenantKey).isNotEqualTo(new CacheKey(String.class, FIND, "tenant1", "other_table"));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codec;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import info.archinnov.achilles.annotations.Compressed.Algorithm;
+import info.archinnov.achilles.exception.AchillesTranscodingException;
+
+public class CompressedCodecTest {
+
+    private static final String LARGE_TEXT = StringUtils.repeat("Achilles compresses large text columns. ", 200);
+
+    @Test
+    public void should_compress_and_decompress_text_with_all_algorithms() throws Exception {
+        for (Algorithm algorithm : Algorithm.values()) {
+            //Given
+            final CompressedCodec<String, String> codec = CompressedCodec.forText(new FallThroughCodec<>(String.class), algorithm, 1024);
+
+            //When
+            final ByteBuffer encoded = codec.encode(LARGE_TEXT);
+
+            //Then
+            assertThat(encoded.get(0)).isNotEqualTo(CompressedCodec.UNCOMPRESSED);
+            assertThat(encoded.remaining()).isLessThan(LARGE_TEXT.length() / 4);
+            assertThat(codec.decode(encoded)).isEqualTo(LARGE_TEXT);
+        }
+    }
+
+    @Test
+    public void should_not_compress_value_below_min_size() throws Exception {
+        //Given
+        final CompressedCodec<String, String> codec = CompressedCodec.forText(new FallThroughCodec<>(String.class), Algorithm.LZ4, 1024);
+
+        //When
+        final ByteBuffer encoded = codec.encode("small value");
+
+        //Then
+        assertThat(encoded.get(0)).isEqualTo(CompressedCodec.UNCOMPRESSED);
+        assertThat(encoded.remaining()).isEqualTo("small value".length() + 1);
+        assertThat(codec.decode(encoded)).isEqualTo("small value");
+    }
+
+    @Test
+    public void should_decode_value_compressed_with_another_algorithm() throws Exception {
+        //Given
+        final CompressedCodec<String, String> deflate = CompressedCodec.forText(new FallThroughCodec<>(String.class), Algorithm.DEFLATE, 0);
+        final CompressedCodec<String, String> lz4 = CompressedCodec.forText(new FallThroughCodec<>(String.class), Algorithm.LZ4, 0);
+
+        //When
+        final ByteBuffer encoded = deflate.encode(LARGE_TEXT);
+
+        //Then
+        assertThat(encoded.get(0)).isEqualTo(CompressedCodec.DEFLATE);
+        assertThat(lz4.decode(encoded)).isEqualTo(LARGE_TEXT);
+    }
+
+    @Test
+    public void should_decode_blob_from_sliced_and_direct_buffers() throws Exception {
+        //Given
+        final CompressedCodec<ByteBuffer, ByteBuffer> codec = CompressedCodec.forBlob(new FallThroughCodec<>(ByteBuffer.class), Algorithm.LZ4, 0);
+        final ByteBuffer encoded = codec.encode(ByteBuffer.wrap(LARGE_TEXT.getBytes()));
+
+        final ByteBuffer sliced = ByteBuffer.allocate(encoded.remaining() + 10);
+        sliced.position(10);
+        sliced.put(encoded.duplicate());
+        sliced.position(10);
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(encoded.remaining());
+        direct.put(encoded.duplicate());
+        direct.flip();
+
+        //When
+        final ByteBuffer fromSliced = codec.decode(sliced.slice());
+        final ByteBuffer fromDirect = codec.decode(direct);
+
+        //Then
+        assertThat(fromSliced).isEqualTo(ByteBuffer.wrap(LARGE_TEXT.getBytes()));
+        assertThat(fromDirect).isEqualTo(ByteBuffer.wrap(LARGE_TEXT.getBytes()));
+        assertThat(direct.position()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_return_null_for_null_value() throws Exception {
+        //Given
+        final CompressedCodec<String, String> codec = CompressedCodec.forText(new FallThroughCodec<>(String.class), Algorithm.ZSTD, 0);
+
+        //When
+        //Then
+        assertThat(codec.encode(null)).isNull();
+        assertThat(codec.decode(null)).isNull();
+    }
+
+    @Test(expected = AchillesTranscodingException.class)
+    public void should_fail_decoding_unknown_header() throws Exception {
+        //Given
+        final CompressedCodec<String, String> codec = CompressedCodec.forText(new FallThroughCodec<>(String.class), Algorithm.LZ4, 0);
+
+        //When
+        codec.decode(ByteBuffer.wrap(new byte[]{42, 0, 0, 0, 1, 0}));
+    }
+}
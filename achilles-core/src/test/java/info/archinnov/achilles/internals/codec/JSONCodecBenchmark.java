@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codec;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import info.archinnov.achilles.annotations.JSON;
+import info.archinnov.achilles.type.codec.Codec;
+
+/**
+ * Compare payload size and encode/decode CPU time of text JSON vs Smile vs CBOR
+ * for a big nested payload. Run the <em>main</em> method, it is not part of the test suite
+ */
+public class JSONCodecBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 10_000;
+
+    public static void main(String... args) throws Exception {
+        final ObjectMapper mapper = new ObjectMapper();
+        final JavaType exactType = JSONCodec.TYPE_FACTORY_INSTANCE.constructMapType(Map.class, String.class, List.class);
+        final Map<String, List<Map<String, Object>>> payload = buildPayload();
+
+        final JSONCodec<Map> text = new JSONCodec<>(Map.class, exactType);
+        text.setObjectMapper(mapper);
+        final BinaryJSONCodec<Map> smile = new BinaryJSONCodec<>(Map.class, exactType, JSON.Format.SMILE);
+        smile.setObjectMapper(mapper);
+        final BinaryJSONCodec<Map> cbor = new BinaryJSONCodec<>(Map.class, exactType, JSON.Format.CBOR);
+        cbor.setObjectMapper(mapper);
+
+        System.out.println(format("%-6s %12s %16s %16s", "format", "size (bytes)", "encode (us/op)", "decode (us/op)"));
+        run("TEXT", text, payload, encoded -> encoded.getBytes("UTF-8").length);
+        run("SMILE", smile, payload, ByteBuffer::remaining);
+        run("CBOR", cbor, payload, ByteBuffer::remaining);
+    }
+
+    private static <T> void run(String name, Codec<Map, T> codec, Map payload, SizeFunction<T> size) throws Exception {
+        final T encoded = codec.encode(payload);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            codec.decode(codec.encode(payload));
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            codec.encode(payload);
+        }
+        final double encodeMicros = (System.nanoTime() - start) / 1000.0 / MEASURED_ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            codec.decode(encoded);
+        }
+        final double decodeMicros = (System.nanoTime() - start) / 1000.0 / MEASURED_ITERATIONS;
+
+        System.out.println(format("%-6s %12d %16.2f %16.2f", name, size.apply(encoded), encodeMicros, decodeMicros));
+    }
+
+    private static Map<String, List<Map<String, Object>>> buildPayload() {
+        final Map<String, List<Map<String, Object>>> payload = new HashMap<>();
+        for (int i = 0; i < 20; i++) {
+            final List<Map<String, Object>> items = new ArrayList<>();
+            for (int j = 0; j < 20; j++) {
+                final Map<String, Object> item = new HashMap<>();
+                item.put("id", (long) i * 100 + j);
+                item.put("name", "item_" + i + "_" + j);
+                item.put("price", j * 1.25d);
+                item.put("available", j % 2 == 0);
+                item.put("tags", Arrays.asList("tag1", "tag2", "tag3"));
+                items.add(item);
+            }
+            payload.put("category_" + i, items);
+        }
+        return payload;
+    }
+
+    @FunctionalInterface
+    private interface SizeFunction<T> {
+        int apply(T encoded) throws Exception;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.codegen.dsl.select;
+
+import static info.archinnov.achilles.internals.codegen.TypeParsingResultConsumer.getTypeParsingResults;
+import static info.archinnov.achilles.internals.strategy.field_filtering.FieldFilter.EXPLICIT_ENTITY_FIELD_FILTER;
+import static info.archinnov.achilles.internals.strategy.field_filtering.FieldFilter.EXPLICIT_UDT_FIELD_FILTER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.lang.model.element.TypeElement;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.squareup.javapoet.TypeSpec;
+
+import info.archinnov.achilles.internals.apt.AptUtils;
+import info.archinnov.achilles.internals.apt_utils.AbstractTestProcessor;
+import info.archinnov.achilles.internals.cassandra_version.V2_2;
+import info.archinnov.achilles.internals.codegen.TypeParsingResultConsumer;
+import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen;
+import info.archinnov.achilles.internals.codegen.meta.EntityMetaCodeGen.EntityMetaSignature;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty.EntityType;
+import info.archinnov.achilles.internals.parser.FieldParser;
+import info.archinnov.achilles.internals.parser.context.GlobalParsingContext;
+import info.archinnov.achilles.internals.sample_classes.parser.entity.TestEntityForQueryLint;
+import info.archinnov.achilles.internals.strategy.naming.LowerCaseNaming;
+import info.archinnov.achilles.type.QueryLintLevel;
+import info.archinnov.achilles.type.strategy.InsertStrategy;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SelectDSLCodeGenTest extends AbstractTestProcessor
+        implements TypeParsingResultConsumer {
+
+    /**
+     * DSL classes exposing the multi-partition queries: SELECT without WHERE clause, IN on partition key
+     * and SELECT on secondary index, for the regular, typed map and JSON variants
+     */
+    private static final List<String> LINTED_CLASSES = Arrays.asList(
+            "TestEntityForQueryLint_SelectFrom", "TestEntityForQueryLint_SelectFromTypedMap", "TestEntityForQueryLint_SelectFromJSON",
+            "TestEntityForQueryLint_SelectWhere_Id", "TestEntityForQueryLint_SelectWhereTypedMap_Id", "TestEntityForQueryLint_SelectWhereJSON_Id",
+            "TestEntityForQueryLint_IndexSelectFrom", "TestEntityForQueryLint_IndexSelectFromTypedMap", "TestEntityForQueryLint_IndexSelectFromJSON");
+
+    private static final Pattern LINT_LINES = Pattern.compile(
+            "\\s*(@MultiPartitionQuery\\(.*\\)|@Deprecated|import info\\.archinnov\\.achilles\\.annotations\\.MultiPartitionQuery;|import java\\.lang\\.Deprecated;)");
+
+    @Test
+    public void should_not_lint_multi_partition_queries_by_default() throws Exception {
+        setExec(aptUtils -> {
+            final String source = buildLintedClasses(aptUtils, QueryLintLevel.NONE);
+
+            assertThat(source).doesNotContain("@MultiPartitionQuery").doesNotContain("@Deprecated");
+            assertThat(source).isEqualTo(
+                    readCodeBlockFromFile("expected_code/select_dsl/should_not_lint_multi_partition_queries_by_default.txt"));
+        });
+        launchTest(TestEntityForQueryLint.class);
+    }
+
+    @Test
+    public void should_annotate_multi_partition_queries() throws Exception {
+        setExec(aptUtils -> {
+            final String source = buildLintedClasses(aptUtils, QueryLintLevel.ANNOTATE);
+
+            assertThat(source).doesNotContain("@Deprecated");
+            assertThat(removeLintAnnotations(source)).isEqualTo(buildLintedClasses(aptUtils, QueryLintLevel.NONE));
+            assertThat(source).isEqualTo(
+                    readCodeBlockFromFile("expected_code/select_dsl/should_annotate_multi_partition_queries.txt"));
+        });
+        launchTest(TestEntityForQueryLint.class);
+    }
+
+    @Test
+    public void should_deprecate_multi_partition_queries() throws Exception {
+        setExec(aptUtils -> {
+            final String source = buildLintedClasses(aptUtils, QueryLintLevel.DEPRECATE);
+
+            assertThat(removeLintAnnotations(source)).isEqualTo(buildLintedClasses(aptUtils, QueryLintLevel.NONE));
+            assertThat(source).isEqualTo(
+                    readCodeBlockFromFile("expected_code/select_dsl/should_deprecate_multi_partition_queries.txt"));
+        });
+        launchTest(TestEntityForQueryLint.class);
+    }
+
+    private String buildLintedClasses(AptUtils aptUtils, QueryLintLevel queryLintLevel) {
+        final GlobalParsingContext context = new GlobalParsingContext(V2_2.INSTANCE, InsertStrategy.ALL_FIELDS, new LowerCaseNaming(),
+                EXPLICIT_ENTITY_FIELD_FILTER, EXPLICIT_UDT_FIELD_FILTER, Optional.empty(), queryLintLevel);
+        final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(TestEntityForQueryLint.class.getCanonicalName());
+        final List<FieldParser.FieldMetaSignature> parsingResults = getTypeParsingResults(aptUtils, typeElement, context);
+        final EntityMetaSignature signature = new EntityMetaCodeGen(aptUtils).buildEntityMeta(EntityType.TABLE, typeElement, context, parsingResults);
+
+        final TypeSpec select = context.selectDSLCodeGen().buildSelectClass(context, signature);
+        final TypeSpec indexSelect = context.indexSelectDSLCodeGen().buildSelectClass(context, signature);
+
+        return Stream.concat(select.typeSpecs.stream(), indexSelect.typeSpecs.stream())
+                .filter(x -> LINTED_CLASSES.contains(x.name))
+                .sorted((x, y) -> Integer.compare(LINTED_CLASSES.indexOf(x.name), LINTED_CLASSES.indexOf(y.name)))
+                .map(this::buildSource)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String removeLintAnnotations(String source) {
+        return Stream.of(source.split("\n", -1))
+                .filter(line -> !LINT_LINES.matcher(line).matches())
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -194,6 +194,22 @@ public class EntityMetaCodeGenTest extends AbstractTestProcessor
         launchTest(TestEntityWithStaticAnnotations.class);
     }
 
+    @Test
+    public void should_build_entity_with_bulkhead() throws Exception {
+        setExec(aptUtils -> {
+            final String className = TestEntityWithBulkhead.class.getCanonicalName();
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(className);
+
+            final EntityMetaCodeGen builder = new EntityMetaCodeGen(aptUtils);
+            final List<FieldParser.FieldMetaSignature> parsingResults = getTypeParsingResults(aptUtils, typeElement, context);
+            final TypeSpec typeSpec = builder.buildEntityMeta(EntityType.TABLE, typeElement, context, parsingResults).sourceCode;
+
+            assertThat(buildSource(typeSpec)).isEqualTo(
+                    readCodeBlockFromFile("expected_code/entity_meta_builder/should_build_entity_with_bulkhead.txt"));
+        });
+        launchTest(TestEntityWithBulkhead.class);
+    }
+
     @Test
     public void should_build_entity_with_complex_types() throws Exception {
         setExec(aptUtils -> {
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.lob;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.CRC32;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.utils.UUIDs;
+import com.google.common.io.BaseEncoding;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LargeObjectInputStreamTest {
+
+    private static final byte[] CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz".getBytes();
+    private static final int CHUNK_SIZE = 10;
+
+    @Test
+    public void should_read_all_chunks_and_verify_checksum() throws Exception {
+        //Given
+        final List<Integer> fetchedChunks = new ArrayList<>();
+        final InputStream stream = new LargeObjectInputStream(metadata(sha256(CONTENT)), 2, LargeObjectStore.newSha256Digest(),
+                chunkIndex -> {
+                    fetchedChunks.add(chunkIndex);
+                    return chunk(chunkIndex, false);
+                });
+
+        //When
+        final byte[] read = readAll(stream);
+
+        //Then
+        assertThat(read).isEqualTo(CONTENT);
+        assertThat(fetchedChunks).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test
+    public void should_prefetch_chunks_ahead_of_reading() throws Exception {
+        //Given
+        final List<Integer> fetchedChunks = new ArrayList<>();
+
+        //When
+        final InputStream stream = new LargeObjectInputStream(metadata(sha256(CONTENT)), 3, LargeObjectStore.newSha256Digest(),
+                chunkIndex -> {
+                    fetchedChunks.add(chunkIndex);
+                    return chunk(chunkIndex, false);
+                });
+        stream.read();
+
+        //Then
+        assertThat(fetchedChunks).containsExactly(0, 1, 2, 3);
+    }
+
+    @Test(expected = IOException.class)
+    public void should_fail_reading_corrupted_chunk() throws Exception {
+        //Given
+        final InputStream stream = new LargeObjectInputStream(metadata(sha256(CONTENT)), 2, LargeObjectStore.newSha256Digest(),
+                chunkIndex -> chunk(chunkIndex, chunkIndex == 1));
+
+        //When
+        readAll(stream);
+    }
+
+    @Test(expected = IOException.class)
+    public void should_fail_when_checksum_does_not_match() throws Exception {
+        //Given
+        final InputStream stream = new LargeObjectInputStream(metadata(sha256("other content".getBytes())), 2,
+                LargeObjectStore.newSha256Digest(), chunkIndex -> chunk(chunkIndex, false));
+
+        //When
+        readAll(stream);
+    }
+
+    private static LargeObjectMetadata metadata(String sha256) {
+        return new LargeObjectMetadata("id", CONTENT.length, CHUNK_SIZE, (CONTENT.length + CHUNK_SIZE - 1) / CHUNK_SIZE, sha256,
+                UUIDs.timeBased());
+    }
+
+    private static CompletableFuture<ResultSet> chunk(int chunkIndex, boolean corrupted) {
+        final int from = chunkIndex * CHUNK_SIZE;
+        final int length = Math.min(CHUNK_SIZE, CONTENT.length - from);
+        final CRC32 crc32 = new CRC32();
+        crc32.update(CONTENT, from, length);
+
+        final byte[] bytes = new byte[length];
+        System.arraycopy(CONTENT, from, bytes, 0, length);
+        if (corrupted) bytes[0]++;
+
+        final Row row = mock(Row.class);
+        when(row.isNull("chunk")).thenReturn(false);
+        when(row.getBytes("chunk")).thenReturn(ByteBuffer.wrap(bytes));
+        when(row.getInt("chunk_crc32")).thenReturn((int) crc32.getValue());
+        final ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.one()).thenReturn(row);
+        return CompletableFuture.completedFuture(resultSet);
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return BaseEncoding.base16().lowerCase().encode(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[7];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        stream.close();
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.options;
+
+import static com.datastax.driver.core.ConsistencyLevel.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.runtime.QueryTracer;
+import info.archinnov.achilles.internals.statements.OperationType;
+
+public class OptionsTest {
+
+    @Test
+    public void should_generate_solr_query_from_predicates() throws Exception {
+        //Given
+        final Options options = new Options();
+
+        //When
+        options.appendToSolrQuery("name:", "John", "*");
+        options.appendToSolrQuery("age:[", 30, " TO ", 40, "]");
+
+        //Then
+        assertThat(options.generateSolrQuery()).isEqualTo("name:John* AND age:[30 TO 40]");
+    }
+
+    @Test
+    public void should_generate_solr_query_with_driver_paging() throws Exception {
+        //Given
+        final Options options = new Options();
+        options.setDSESearchDriverPaging(true);
+
+        //When
+        options.appendToSolrQuery("date:\"", "2016-01-01T00:00:00.000Z", "\"");
+
+        //Then
+        assertThat(options.generateSolrQuery())
+                .isEqualTo("{\"q\":\"date:\\\"2016-01-01T00:00:00.000Z\\\"\",\"paging\":\"driver\"}");
+    }
+
+    @Test
+    public void should_add_driver_paging_to_raw_json_solr_query() throws Exception {
+        //Given
+        final Options options = new Options();
+        options.setDSESearchDriverPaging(true);
+
+        //When
+        options.rawSolrQuery("{\"q\":\"name:John*\", \"sort\":\"age asc\"}");
+
+        //Then
+        assertThat(options.generateRawSolrQuery())
+                .isEqualTo("{\"paging\":\"driver\",\"q\":\"name:John*\", \"sort\":\"age asc\"}");
+    }
+
+    @Test
+    public void should_expose_primitive_options_as_optional() throws Exception {
+        //Given
+        final Options options = new Options();
+
+        //When
+        options.setTimeToLive(10);
+        options.setTracing(false);
+        options.setIdempotent(true);
+        options.setFetchSize(Optional.of(100));
+        options.setFetchSize(Optional.empty());
+
+        //Then
+        assertThat(options.getTimeToLive()).isEqualTo(Optional.of(10));
+        assertThat(options.getTracing()).isEqualTo(Optional.of(false));
+        assertThat(options.getIdempotent()).isEqualTo(Optional.of(true));
+        assertThat(options.hasFetchSize()).isFalse();
+        assertThat(options.getFetchSize()).isEqualTo(Optional.empty());
+        assertThat(options.getAdaptiveFetchSize()).isEqualTo(Optional.empty());
+        assertThat(options.getDefaultTimestamp()).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    public void should_apply_pre_computed_consistency_levels_when_no_option_set() throws Exception {
+        //Given
+        final Options options = new Options();
+        final AbstractEntityProperty<?> meta = mock(AbstractEntityProperty.class);
+        final QueryTracer queryTracer = mock(QueryTracer.class);
+        final Statement statement = new SimpleStatement("SELECT * FROM table");
+        when(meta.isTable()).thenReturn(true);
+        when(meta.getQueryTracer()).thenReturn(queryTracer);
+        when(meta.readConsistency((ConsistencyLevel) null)).thenReturn(LOCAL_QUORUM);
+        when(meta.serialConsistency((ConsistencyLevel) null)).thenReturn(LOCAL_SERIAL);
+
+        //When
+        options.applyOptions(OperationType.SELECT, meta, statement);
+
+        //Then
+        assertThat(statement.getConsistencyLevel()).isEqualTo(LOCAL_QUORUM);
+        assertThat(statement.getSerialConsistencyLevel()).isEqualTo(LOCAL_SERIAL);
+        assertThat(statement.isTracing()).isFalse();
+        assertThat(statement.getFetchSize()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_apply_runtime_options() throws Exception {
+        //Given
+        final Options options = new Options();
+        final AbstractEntityProperty<?> meta = mock(AbstractEntityProperty.class);
+        final Statement statement = new SimpleStatement("INSERT INTO table(id) VALUES(1)");
+        when(meta.isTable()).thenReturn(true);
+        when(meta.getQueryTracer()).thenReturn(mock(QueryTracer.class));
+        when(meta.writeConsistency(EACH_QUORUM)).thenReturn(EACH_QUORUM);
+        when(meta.serialConsistency((ConsistencyLevel) null)).thenReturn(SERIAL);
+        when(meta.idempotence(false, OperationType.INSERT, statement)).thenReturn(false);
+
+        options.setCl(EACH_QUORUM);
+        options.setDefaultTimestamp(123L);
+        options.setIdempotent(false);
+        options.setTracing(true);
+        options.setReadTimeout(500);
+
+        //When
+        options.applyOptions(OperationType.INSERT, meta, statement);
+
+        //Then
+        assertThat(statement.getConsistencyLevel()).isEqualTo(EACH_QUORUM);
+        assertThat(statement.getSerialConsistencyLevel()).isEqualTo(SERIAL);
+        assertThat(statement.getDefaultTimestamp()).isEqualTo(123L);
+        assertThat(statement.isIdempotent()).isFalse();
+        assertThat(statement.isTracing()).isTrue();
+        assertThat(statement.getReadTimeoutMillis()).isEqualTo(500);
+    }
+}
@@ -195,6 +195,87 @@ public class CodecFactoryTest extends AbstractTestProcessor {
         launchTest();
     }
 
+    @Test
+    public void should_create_codec_for_binary_json() throws Exception {
+        setExec(aptUtils -> {
+            final CodecFactory codecFactory = new CodecFactory(aptUtils);
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(TestEntityForCodecs.class.getCanonicalName());
+            final FieldParsingContext context = getFieldParsingContext(aptUtils, typeElement);
+
+            // @JSON(format = JSON.Format.SMILE) private Map<Integer, List<Integer>> smileMap;
+            final VariableElement elm = findFieldInType(typeElement, "smileMap");
+            final AnnotationTree tree = AnnotationTree.buildFrom(aptUtils, context.entityContext.globalContext, elm);
+            final CodecInfo codecInfo = codecFactory.createCodec(ClassName.get(Map.class), tree, context, Optional.empty());
+
+            assertThat(codecInfo.sourceType.toString()).isEqualTo(Map.class.getCanonicalName());
+            assertThat(codecInfo.targetType.toString()).isEqualTo(ByteBuffer.class.getCanonicalName());
+            assertThat(codecInfo.codecCode.toString()).isEqualTo("new info.archinnov.achilles.internals.codec.BinaryJSONCodec<>(java.util.Map.class, " +
+                    "com.fasterxml.jackson.databind.type.SimpleType.construct(java.util.Map.class), " +
+                    "info.archinnov.achilles.annotations.JSON.Format.SMILE)");
+        });
+        launchTest();
+    }
+
+    @Test
+    public void should_create_compressed_codec_for_text() throws Exception {
+        setExec(aptUtils -> {
+            final CodecFactory codecFactory = new CodecFactory(aptUtils);
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(TestEntityForCodecs.class.getCanonicalName());
+            final FieldParsingContext context = getFieldParsingContext(aptUtils, typeElement);
+
+            // @Compressed private String compressedText;
+            final VariableElement elm = findFieldInType(typeElement, "compressedText");
+            final AnnotationTree tree = AnnotationTree.buildFrom(aptUtils, context.entityContext.globalContext, elm);
+            final CodecInfo codecInfo = codecFactory.createCodec(ClassName.get(String.class), tree, context, Optional.empty());
+
+            assertThat(codecInfo.sourceType.toString()).isEqualTo(String.class.getCanonicalName());
+            assertThat(codecInfo.targetType.toString()).isEqualTo(ByteBuffer.class.getCanonicalName());
+            assertThat(codecInfo.codecCode.toString()).isEqualTo("info.archinnov.achilles.internals.codec.CompressedCodec.forText(" +
+                    "new info.archinnov.achilles.internals.codec.FallThroughCodec<>(java.lang.String.class), " +
+                    "info.archinnov.achilles.annotations.Compressed.Algorithm.LZ4, 1024)");
+        });
+        launchTest();
+    }
+
+    @Test
+    public void should_create_compressed_codec_for_binary_json() throws Exception {
+        setExec(aptUtils -> {
+            final CodecFactory codecFactory = new CodecFactory(aptUtils);
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(TestEntityForCodecs.class.getCanonicalName());
+            final FieldParsingContext context = getFieldParsingContext(aptUtils, typeElement);
+
+            // @Compressed(algorithm = Compressed.Algorithm.DEFLATE, minSize = 64) @JSON(format = JSON.Format.CBOR) private Map<Integer, String> compressedJSON;
+            final VariableElement elm = findFieldInType(typeElement, "compressedJSON");
+            final AnnotationTree tree = AnnotationTree.buildFrom(aptUtils, context.entityContext.globalContext, elm);
+            final CodecInfo codecInfo = codecFactory.createCodec(ClassName.get(Map.class), tree, context, Optional.empty());
+
+            assertThat(codecInfo.sourceType.toString()).isEqualTo(Map.class.getCanonicalName());
+            assertThat(codecInfo.targetType.toString()).isEqualTo(ByteBuffer.class.getCanonicalName());
+            assertThat(codecInfo.codecCode.toString()).isEqualTo("info.archinnov.achilles.internals.codec.CompressedCodec.forBlob(" +
+                    "new info.archinnov.achilles.internals.codec.BinaryJSONCodec<>(java.util.Map.class, " +
+                    "com.fasterxml.jackson.databind.type.SimpleType.construct(java.util.Map.class), " +
+                    "info.archinnov.achilles.annotations.JSON.Format.CBOR), " +
+                    "info.archinnov.achilles.annotations.Compressed.Algorithm.DEFLATE, 64)");
+        });
+        launchTest();
+    }
+
+    @Test
+    public void should_fail_creating_compressed_codec_for_non_text_or_blob_type() throws Exception {
+        setExec(aptUtils -> {
+            final CodecFactory codecFactory = new CodecFactory(aptUtils);
+            final TypeElement typeElement = aptUtils.elementUtils.getTypeElement(TestEntityForCodecs.class.getCanonicalName());
+            final FieldParsingContext context = getFieldParsingContext(aptUtils, typeElement);
+
+            // @Compressed private Long compressedLong;
+            final VariableElement elm = findFieldInType(typeElement, "compressedLong");
+            final AnnotationTree tree = AnnotationTree.buildFrom(aptUtils, context.entityContext.globalContext, elm);
+            codecFactory.createCodec(ClassName.get(Long.class), tree, context, Optional.empty());
+        });
+        failTestWithMessage("@Compressed field 'field' of class '" + TestEntityForCodecs.class.getCanonicalName() +
+                "' should be encoded as String or ByteBuffer but its codec target type is 'java.lang.Long'");
+    }
+
     @Test
     public void should_create_codec_for_json() throws Exception {
         setExec(aptUtils -> {
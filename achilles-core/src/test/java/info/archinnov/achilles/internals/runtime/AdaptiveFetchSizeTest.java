@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AdaptiveFetchSizeTest {
+
+    private static final String QUERY = "SELECT * FROM ks.table WHERE id=:id";
+
+    private final AdaptiveFetchSize adaptiveFetchSize = new AdaptiveFetchSize(10_000L, 10, 1000, 5000, 100);
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private ColumnDefinitions columnDefinitions;
+
+    @Test
+    public void should_use_initial_fetch_size_bounded_when_no_page_observed() throws Exception {
+        //When
+        final int fetchSize = adaptiveFetchSize.fetchSizeFor(QUERY);
+
+        //Then
+        assertThat(fetchSize).isEqualTo(1000);
+        assertThat(adaptiveFetchSize.getAverageRowSizeInBytes(QUERY).isPresent()).isFalse();
+    }
+
+    @Test
+    public void should_compute_fetch_size_from_observed_row_size() throws Exception {
+        //Given
+        final Row row1 = rowOfSize(100);
+        final Row row2 = rowOfSize(100);
+        when(resultSet.one()).thenReturn(row1, row2, null);
+        when(resultSet.getAvailableWithoutFetching()).thenReturn(2, 1, 0);
+
+        //When
+        final List<Row> rows = adaptiveFetchSize.track(QUERY, resultSet).all();
+
+        //Then
+        assertThat(rows).containsExactly(row1, row2);
+        assertThat(adaptiveFetchSize.getAverageRowSizeInBytes(QUERY).get()).isEqualTo(100d);
+        assertThat(adaptiveFetchSize.fetchSizeFor(QUERY)).isEqualTo(100);
+        assertThat(adaptiveFetchSize.getStatistics().get(QUERY).getObservedPageCount()).isEqualTo(1L);
+        assertThat(adaptiveFetchSize.getStatistics().get(QUERY).getObservedRowCount()).isEqualTo(2L);
+    }
+
+    @Test
+    public void should_bound_fetch_size_for_wide_rows() throws Exception {
+        //Given
+        final Row row = rowOfSize(5000);
+        when(resultSet.one()).thenReturn(row, null);
+        when(resultSet.getAvailableWithoutFetching()).thenReturn(0);
+
+        //When
+        adaptiveFetchSize.track(QUERY, resultSet).one();
+
+        //Then
+        assertThat(adaptiveFetchSize.fetchSizeFor(QUERY)).isEqualTo(10);
+    }
+
+    @Test
+    public void should_smooth_row_size_across_pages() throws Exception {
+        //Given
+        final Row smallRow = rowOfSize(100);
+        final Row largeRow = rowOfSize(200);
+        when(resultSet.one()).thenReturn(smallRow, largeRow, null);
+        when(resultSet.getAvailableWithoutFetching()).thenReturn(0);
+
+        //When
+        adaptiveFetchSize.track(QUERY, resultSet).all();
+
+        //Then
+        assertThat(adaptiveFetchSize.getAverageRowSizeInBytes(QUERY).get()).isEqualTo(120d);
+        assertThat(adaptiveFetchSize.getStatistics().get(QUERY).getObservedPageCount()).isEqualTo(2L);
+    }
+
+    @Test(expected = AchillesException.class)
+    public void should_fail_when_bounds_are_inverted() throws Exception {
+        //When
+        new AdaptiveFetchSize(10_000L, 100, 10, 5000, 100);
+    }
+
+    private Row rowOfSize(int sizeInBytes) {
+        final Row row = mock(Row.class);
+        when(row.getColumnDefinitions()).thenReturn(columnDefinitions);
+        when(columnDefinitions.size()).thenReturn(1);
+        when(row.getBytesUnsafe(0)).thenReturn(ByteBuffer.allocate(sizeInBytes));
+        return row;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.datastax.driver.core.PreparedStatement;
+
+import info.archinnov.achilles.async.BulkheadOperation;
+import info.archinnov.achilles.async.BulkheadStats;
+import info.archinnov.achilles.internals.statements.OperationType;
+
+public class BulkheadsTest {
+
+    private final ExecutorService defaultExecutor = Executors.newSingleThreadExecutor();
+    private Bulkheads bulkheads;
+
+    @After
+    public void tearDown() {
+        defaultExecutor.shutdownNow();
+        if (bulkheads != null) bulkheads.shutDown();
+    }
+
+    @Test
+    public void should_select_entity_bulkhead_then_operation_bulkhead() throws Exception {
+        //Given
+        final Map<Class<?>, String> entityBulkheads = new HashMap<>();
+        entityBulkheads.put(Integer.class, "numbers");
+        final Map<BulkheadOperation, String> operationBulkheads = new HashMap<>();
+        operationBulkheads.put(BulkheadOperation.READ, "reads");
+        operationBulkheads.put(BulkheadOperation.WRITE, "writes");
+        bulkheads = new Bulkheads(new HashMap<>(), entityBulkheads, operationBulkheads, 1);
+
+        //When
+        final Executor entity = bulkheads.executorFor(Integer.class, Optional.of("ignored"), OperationType.SELECT, () -> false, defaultExecutor);
+        final Executor annotated = bulkheads.executorFor(Long.class, Optional.of("annotated"), OperationType.SELECT, () -> false, defaultExecutor);
+        final Executor read = bulkheads.executorFor(String.class, Optional.empty(), OperationType.SELECT, () -> false, defaultExecutor);
+        final Executor lwt = bulkheads.executorFor(String.class, Optional.empty(), OperationType.UPDATE, () -> true, defaultExecutor);
+        final Executor other = bulkheads.executorFor(String.class, Optional.empty(), OperationType.OTHER, () -> false, defaultExecutor);
+
+        //Then
+        assertThat(((Bulkhead) entity).name).isEqualTo("numbers");
+        assertThat(((Bulkhead) annotated).name).isEqualTo("annotated");
+        assertThat(((Bulkhead) read).name).isEqualTo("reads");
+        assertThat(((Bulkhead) lwt).name).isEqualTo("writes");
+        assertThat(other).isSameAs(defaultExecutor);
+        assertThat(bulkheads.getStats().keySet()).containsExactly("annotated", "numbers", "reads", "writes");
+    }
+
+    @Test
+    public void should_detect_lwt_only_when_lwt_bulkhead_differs_from_write_bulkhead() throws Exception {
+        //Given
+        final Map<BulkheadOperation, String> operationBulkheads = new HashMap<>();
+        operationBulkheads.put(BulkheadOperation.WRITE, "writes");
+        bulkheads = new Bulkheads(new HashMap<>(), new HashMap<>(), operationBulkheads, 1);
+        final Map<BulkheadOperation, String> lwtOperationBulkheads = new HashMap<>(operationBulkheads);
+        lwtOperationBulkheads.put(BulkheadOperation.LWT, "lwt");
+        final Bulkheads withLWT = new Bulkheads(new HashMap<>(), new HashMap<>(), lwtOperationBulkheads, 1);
+
+        try {
+            //When
+            final Executor write = bulkheads.executorFor(String.class, Optional.empty(), OperationType.INSERT, () -> {
+                throw new IllegalStateException("LWT detection should be skipped");
+            }, defaultExecutor);
+            final Executor lwt = withLWT.executorFor(String.class, Optional.empty(), OperationType.UPDATE, () -> true, defaultExecutor);
+
+            //Then
+            assertThat(((Bulkhead) write).name).isEqualTo("writes");
+            assertThat(((Bulkhead) lwt).name).isEqualTo("lwt");
+        } finally {
+            withLWT.shutDown();
+        }
+    }
+
+    @Test
+    public void should_detect_lwt_once_per_prepared_statement() throws Exception {
+        //Given
+        bulkheads = new Bulkheads(new HashMap<>(), new HashMap<>(), new HashMap<>(), 1);
+        final PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        when(preparedStatement.getQueryString()).thenReturn("UPDATE t SET v=? WHERE id=? IF v=?");
+
+        //When
+        final boolean first = bulkheads.isLWT(preparedStatement);
+        final boolean second = bulkheads.isLWT(preparedStatement);
+
+        //Then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        verify(preparedStatement, times(1)).getQueryString();
+    }
+
+    @Test
+    public void should_count_queued_and_rejected_callbacks() throws Exception {
+        //Given
+        final ThreadPoolExecutor saturated = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1));
+        final Map<String, ExecutorService> executors = new HashMap<>();
+        executors.put("slow", saturated);
+        final Map<BulkheadOperation, String> operationBulkheads = new HashMap<>();
+        operationBulkheads.put(BulkheadOperation.WRITE, "slow");
+        bulkheads = new Bulkheads(executors, new HashMap<>(), operationBulkheads, 1);
+        final Executor executor = bulkheads.executorFor(String.class, Optional.empty(), OperationType.INSERT, () -> false, defaultExecutor);
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        //When
+        executor.execute(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        running.await(5, TimeUnit.SECONDS);
+        executor.execute(() -> {});
+        try {
+            executor.execute(() -> {});
+        } catch (RejectedExecutionException ex) {
+            // expected, the queue is full
+        }
+        final BulkheadStats stats = bulkheads.getStats().get("slow");
+        release.countDown();
+
+        //Then
+        assertThat(stats.getActiveCount()).isEqualTo(1);
+        assertThat(stats.getQueueDepth()).isEqualTo(1);
+        assertThat(stats.getRejectedCount()).isEqualTo(1);
+        saturated.shutdown();
+        assertThat(saturated.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(bulkheads.getStats().get("slow").getCompletedCount()).isEqualTo(2);
+    }
+}
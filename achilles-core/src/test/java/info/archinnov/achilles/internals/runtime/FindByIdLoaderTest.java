@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import org.junit.Test;
+
+import info.archinnov.achilles.exception.AchillesException;
+
+public class FindByIdLoaderTest {
+
+    private final List<List<Object>> fetchedKeys = new CopyOnWriteArrayList<>();
+    private final List<CompletableFuture<String>> lookups = new CopyOnWriteArrayList<>();
+
+    private FindByIdLoader<String> loader(long window, Optional<ScheduledExecutorService> scheduler) {
+        return new FindByIdLoader<>(String.class, 2, window, scheduler, keys -> {
+            fetchedKeys.add(keys);
+            final CompletableFuture<String> lookup = new CompletableFuture<>();
+            lookups.add(lookup);
+            return lookup;
+        });
+    }
+
+    @Test
+    public void should_deduplicate_identical_keys_until_dispatch() throws Exception {
+        //Given
+        final FindByIdLoader<String> loader = loader(0L, Optional.empty());
+
+        //When
+        final CompletableFuture<String> first = loader.load(1L, "a");
+        final CompletableFuture<String> second = loader.load(1L, "a");
+        final CompletableFuture<String> third = loader.load(2L, "a");
+
+        //Then
+        assertThat(first).isSameAs(second);
+        assertThat(loader.pendingCount()).isEqualTo(2);
+        assertThat(fetchedKeys).isEmpty();
+
+        assertThat(loader.dispatch()).isEqualTo(2);
+        assertThat(fetchedKeys).containsExactly(Arrays.<Object>asList(1L, "a"), Arrays.<Object>asList(2L, "a"));
+
+        lookups.get(0).complete("entity1");
+        lookups.get(1).complete("entity2");
+        assertThat(first.get()).isEqualTo("entity1");
+        assertThat(third.get()).isEqualTo("entity2");
+        assertThat(loader.inFlightCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_join_in_flight_lookup() throws Exception {
+        //Given
+        final FindByIdLoader<String> loader = loader(0L, Optional.empty());
+        final CompletableFuture<String> first = loader.load(1L, "a");
+        loader.dispatch();
+
+        //When
+        final CompletableFuture<String> joined = loader.load(1L, "a");
+
+        //Then
+        assertThat(joined).isSameAs(first);
+        assertThat(loader.pendingCount()).isEqualTo(0);
+        assertThat(loader.dispatch()).isEqualTo(0);
+        assertThat(fetchedKeys).hasSize(1);
+    }
+
+    @Test
+    public void should_not_fetch_twice_when_load_interleaves_with_dispatch() throws Exception {
+        //Given
+        final FindByIdLoader<String> loader = loader(0L, Optional.empty());
+        final int loaderThreads = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(loaderThreads + 1);
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch loadersDone = new CountDownLatch(loaderThreads);
+        final Set<CompletableFuture<String>> futures = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+        try {
+            //When
+            for (int i = 0; i < loaderThreads; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < 10_000; j++) {
+                        futures.add(loader.load(1L, "a"));
+                    }
+                    loadersDone.countDown();
+                    return null;
+                });
+            }
+            final Future<?> dispatcher = executor.submit(() -> {
+                start.await();
+                while (loadersDone.getCount() > 0) {
+                    loader.dispatch();
+                }
+                loader.dispatch();
+                return null;
+            });
+            start.countDown();
+            dispatcher.get(30, TimeUnit.SECONDS);
+
+            //Then
+            assertThat(fetchedKeys).containsExactly(Arrays.<Object>asList(1L, "a"));
+            assertThat(futures).hasSize(1);
+            assertThat(loader.pendingCount()).isEqualTo(0);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void should_propagate_failure_to_all_callers() throws Exception {
+        //Given
+        final FindByIdLoader<String> loader = loader(0L, Optional.empty());
+        final CompletableFuture<String> first = loader.load(1L, "a");
+
+        //When
+        loader.dispatch();
+        lookups.get(0).completeExceptionally(new AchillesException("boom"));
+
+        //Then
+        assertThat(first.isCompletedExceptionally()).isTrue();
+        assertThat(loader.inFlightCount()).isEqualTo(0);
+    }
+
+    @Test
+    public void should_dispatch_after_batch_window() throws Exception {
+        //Given
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        final FindByIdLoader<String> loader = loader(10L, Optional.of(scheduler));
+
+        try {
+            //When
+            loader.load(1L, "a");
+            loader.load(1L, "a");
+
+            //Then
+            final long deadline = System.currentTimeMillis() + 5000;
+            while (fetchedKeys.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(fetchedKeys).containsExactly(Arrays.<Object>asList(1L, "a"));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    public void should_share_the_same_entity_instance_between_callers_of_same_key() throws Exception {
+        //Given
+        final FindByIdLoader<StringBuilder> loader = new FindByIdLoader<>(StringBuilder.class, 1, 0L, Optional.empty(),
+                keys -> CompletableFuture.completedFuture(new StringBuilder("entity")));
+        final CompletableFuture<StringBuilder> first = loader.load(1L);
+        final CompletableFuture<StringBuilder> second = loader.load(1L);
+
+        //When
+        loader.dispatch();
+        first.get().append("_modified");
+
+        //Then
+        assertThat(second.get()).isSameAs(first.get());
+        assertThat(second.get().toString()).isEqualTo("entity_modified");
+    }
+
+    @Test(expected = AchillesException.class)
+    public void should_fail_on_incomplete_primary_key() throws Exception {
+        loader(0L, Optional.empty()).load(1L);
+    }
+}
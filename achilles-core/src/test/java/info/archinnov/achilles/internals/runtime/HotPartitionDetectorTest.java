@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import info.archinnov.achilles.internals.runtime.HotPartitionDetector.AccessType;
+import info.archinnov.achilles.monitoring.HotPartition;
+
+public class HotPartitionDetectorTest {
+
+    @Test
+    public void should_keep_heavy_hitters_in_space_saving_sketch() throws Exception {
+        //Given
+        final SpaceSavingSketch sketch = new SpaceSavingSketch(5);
+
+        //When
+        for (int i = 0; i < 1000; i++) {
+            sketch.offer("hot");
+            if (i % 2 == 0) sketch.offer("warm");
+            sketch.offer("cold" + i);
+        }
+
+        //Then
+        final List<SpaceSavingSketch.Counter> top = sketch.top(2);
+        assertThat(sketch.total()).isEqualTo(2500L);
+        assertThat(top).hasSize(2);
+        assertThat(top.get(0).key).isEqualTo("hot");
+        assertThat(top.get(0).count - top.get(0).error).isLessThanOrEqualTo(1000L);
+        assertThat(top.get(0).count).isGreaterThanOrEqualTo(1000L);
+        assertThat(top.get(1).key).isEqualTo("warm");
+        assertThat(top.get(1).count).isGreaterThanOrEqualTo(500L);
+    }
+
+    @Test
+    public void should_report_hot_partitions_per_table_and_access_type() throws Exception {
+        //Given
+        final AtomicLong clock = new AtomicLong(0L);
+        final HotPartitionDetector detector = new HotPartitionDetector(1.0D, 1, 10L, clock::get);
+
+        //When
+        for (int i = 0; i < 10; i++) {
+            detector.record("ks", "users", AccessType.READ, ByteBuffer.wrap(new byte[]{1}));
+        }
+        detector.record("ks", "users", AccessType.READ, ByteBuffer.wrap(new byte[]{2}));
+        detector.record("ks", "users", AccessType.WRITE, ByteBuffer.wrap(new byte[]{3}));
+        clock.set(TimeUnit.SECONDS.toNanos(5L));
+
+        //Then
+        final List<HotPartition> hotPartitions = detector.getCurrentHotPartitions();
+        assertThat(hotPartitions).hasSize(2);
+        assertThat(hotPartitions.get(0).getAccessType()).isEqualTo("READ");
+        assertThat(hotPartitions.get(0).getRoutingKey()).isEqualTo("0x01");
+        assertThat(hotPartitions.get(0).getEstimatedCount()).isEqualTo(10L);
+        assertThat(hotPartitions.get(0).getRatePerSecond()).isEqualTo(2.0D);
+        assertThat(hotPartitions.get(1).getAccessType()).isEqualTo("WRITE");
+        assertThat(hotPartitions.get(1).getRoutingKey()).isEqualTo("0x03");
+        assertThat(detector.getHotPartitions()).isEmpty();
+    }
+
+    @Test
+    public void should_rotate_window_and_extrapolate_sampled_counts() throws Exception {
+        //Given
+        final AtomicLong clock = new AtomicLong(0L);
+        final HotPartitionDetector detector = new HotPartitionDetector(0.5D, 10, 10L, clock::get);
+
+        //When
+        for (int i = 0; i < 20; i++) {
+            detector.record("ks", "events", AccessType.WRITE, ByteBuffer.wrap(new byte[]{7}));
+        }
+        clock.set(TimeUnit.SECONDS.toNanos(10L));
+        detector.record("ks", "events", AccessType.WRITE, ByteBuffer.wrap(new byte[]{8}));
+
+        //Then
+        final List<HotPartition> lastWindow = detector.getHotPartitions();
+        assertThat(lastWindow).hasSize(1);
+        assertThat(lastWindow.get(0).getTable()).isEqualTo("events");
+        assertThat(lastWindow.get(0).getEstimatedCount()).isEqualTo(40L);
+        assertThat(lastWindow.get(0).getRatePerSecond()).isEqualTo(4.0D);
+        assertThat(detector.getCurrentHotPartitions()).extracting("routingKey").containsExactly("0x08");
+    }
+}
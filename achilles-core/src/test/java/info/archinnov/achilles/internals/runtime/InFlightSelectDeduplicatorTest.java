@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+
+@RunWith(MockitoJUnitRunner.class)
+public class InFlightSelectDeduplicatorTest {
+
+    private final InFlightSelectDeduplicator deduplicator = new InFlightSelectDeduplicator();
+    private final AtomicInteger executions = new AtomicInteger(0);
+    private final CompletableFuture<ResultSet> response = new CompletableFuture<>();
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private Row row1;
+
+    @Mock
+    private Row row2;
+
+    private CompletableFuture<ResultSet> execute() {
+        executions.incrementAndGet();
+        return response;
+    }
+
+    @Test
+    public void should_share_fully_fetched_response_with_independent_views() throws Exception {
+        //Given
+        when(resultSet.isFullyFetched()).thenReturn(true);
+        when(resultSet.all()).thenReturn(Arrays.asList(row1, row2));
+
+        //When
+        final CompletableFuture<ResultSet> first = deduplicator.execute("key", this::execute);
+        final CompletableFuture<ResultSet> second = deduplicator.execute("key", this::execute);
+        assertThat(deduplicator.getInFlightCount()).isEqualTo(1);
+        response.complete(resultSet);
+
+        //Then
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(deduplicator.getDeduplicatedCount()).isEqualTo(1L);
+        assertThat(deduplicator.getInFlightCount()).isEqualTo(0);
+
+        final ResultSet firstRs = first.get();
+        final ResultSet secondRs = second.get();
+        assertThat(firstRs).isNotSameAs(secondRs);
+        assertThat(firstRs.all()).containsExactly(row1, row2);
+        assertThat(secondRs.one()).isSameAs(row1);
+        assertThat(secondRs.one()).isSameAs(row2);
+        assertThat(secondRs.isExhausted()).isTrue();
+    }
+
+    @Test
+    public void should_fall_back_to_own_execution_when_more_pages_remain() throws Exception {
+        //Given
+        when(resultSet.isFullyFetched()).thenReturn(false);
+
+        //When
+        final CompletableFuture<ResultSet> first = deduplicator.execute("key", this::execute);
+        final CompletableFuture<ResultSet> second = deduplicator.execute("key", this::execute);
+        response.complete(resultSet);
+
+        //Then
+        assertThat(first.get()).isSameAs(resultSet);
+        assertThat(second.get()).isSameAs(resultSet);
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_not_share_different_keys() throws Exception {
+        //When
+        deduplicator.execute("key1", this::execute);
+        deduplicator.execute("key2", this::execute);
+
+        //Then
+        assertThat(executions.get()).isEqualTo(2);
+        assertThat(deduplicator.getInFlightCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_propagate_failure_to_all_callers() throws Exception {
+        //When
+        final CompletableFuture<ResultSet> first = deduplicator.execute("key", this::execute);
+        final CompletableFuture<ResultSet> second = deduplicator.execute("key", this::execute);
+        response.completeExceptionally(new RuntimeException("timeout"));
+
+        //Then
+        assertThat(first.isCompletedExceptionally()).isTrue();
+        assertThat(second.isCompletedExceptionally()).isTrue();
+        assertThat(deduplicator.getInFlightCount()).isEqualTo(0);
+    }
+}
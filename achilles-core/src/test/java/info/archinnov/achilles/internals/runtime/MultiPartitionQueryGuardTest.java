@@ -0,0 +1,118 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ProtocolVersion;
+
+import info.archinnov.achilles.exception.AchillesMultiPartitionQueryException;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.monitoring.MultiPartitionQueryGuardAction;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MultiPartitionQueryGuardTest {
+
+    private static final ProtocolVersion PROTOCOL_VERSION = ProtocolVersion.V4;
+    private static final CodecRegistry CODEC_REGISTRY = new CodecRegistry();
+
+    @Mock
+    private Logger logger;
+
+    @Mock
+    private BoundStatement multiPartitionSelect;
+
+    @Mock
+    private BoundStatement singlePartitionSelect;
+
+    @Mock
+    private PreparedStatement scanPreparedStatement;
+
+    @Mock
+    private PreparedStatement byIdPreparedStatement;
+
+    @Test
+    public void should_reject_multi_partition_selects_above_limit() throws Exception {
+        //Given
+        when(multiPartitionSelect.preparedStatement()).thenReturn(scanPreparedStatement);
+        when(scanPreparedStatement.getQueryString()).thenReturn("SELECT * FROM ks.entity;");
+        when(multiPartitionSelect.getRoutingKey(PROTOCOL_VERSION, CODEC_REGISTRY)).thenReturn(null);
+        when(singlePartitionSelect.preparedStatement()).thenReturn(byIdPreparedStatement);
+        when(byIdPreparedStatement.getQueryString()).thenReturn("SELECT * FROM ks.entity WHERE id=:id;");
+        when(singlePartitionSelect.getRoutingKey(PROTOCOL_VERSION, CODEC_REGISTRY)).thenReturn(ByteBuffer.allocate(8));
+        final MultiPartitionQueryGuard guard = new MultiPartitionQueryGuard(1D, MultiPartitionQueryGuardAction.REJECT, 10, logger);
+
+        //When
+        final Optional<AchillesMultiPartitionQueryException> first = check(guard, OperationType.SELECT, multiPartitionSelect);
+        final Optional<AchillesMultiPartitionQueryException> second = check(guard, OperationType.SELECT, multiPartitionSelect);
+        final Optional<AchillesMultiPartitionQueryException> otherEntity = guard.check(Long.class, OperationType.SELECT,
+                multiPartitionSelect, PROTOCOL_VERSION, CODEC_REGISTRY);
+        final Optional<AchillesMultiPartitionQueryException> singlePartition1 = check(guard, OperationType.SELECT, singlePartitionSelect);
+        final Optional<AchillesMultiPartitionQueryException> singlePartition2 = check(guard, OperationType.SELECT, singlePartitionSelect);
+        final Optional<AchillesMultiPartitionQueryException> delete = check(guard, OperationType.DELETE, multiPartitionSelect);
+
+        //Then
+        assertThat(first.isPresent()).isFalse();
+        assertThat(second.get().getMessage()).isEqualTo("Multi-partition query above 1.0/s for entity java.lang.String : [SELECT * FROM ks.entity;]");
+        assertThat(otherEntity.isPresent()).isFalse();
+        assertThat(singlePartition1.isPresent()).isFalse();
+        assertThat(singlePartition2.isPresent()).isFalse();
+        assertThat(delete.isPresent()).isFalse();
+        verify(multiPartitionSelect, times(1)).getRoutingKey(PROTOCOL_VERSION, CODEC_REGISTRY);
+        verifyZeroInteractions(logger);
+    }
+
+    @Test
+    public void should_log_allow_filtering_selects_above_limit() throws Exception {
+        //Given
+        when(logger.isWarnEnabled()).thenReturn(true);
+        when(multiPartitionSelect.preparedStatement()).thenReturn(scanPreparedStatement);
+        when(scanPreparedStatement.getQueryString()).thenReturn("SELECT * FROM ks.entity WHERE value=:value ALLOW FILTERING;");
+        final MultiPartitionQueryGuard guard = new MultiPartitionQueryGuard(1D, MultiPartitionQueryGuardAction.LOG, 10, logger);
+
+        //When
+        final Optional<AchillesMultiPartitionQueryException> first = check(guard, OperationType.SELECT, multiPartitionSelect);
+        final Optional<AchillesMultiPartitionQueryException> second = check(guard, OperationType.SELECT, multiPartitionSelect);
+        final Optional<AchillesMultiPartitionQueryException> third = check(guard, OperationType.SELECT, multiPartitionSelect);
+
+        //Then
+        assertThat(first.isPresent()).isFalse();
+        assertThat(second.isPresent()).isFalse();
+        assertThat(third.isPresent()).isFalse();
+        verify(logger, times(1)).warn(anyString());
+        verify(multiPartitionSelect, never()).getRoutingKey(PROTOCOL_VERSION, CODEC_REGISTRY);
+    }
+
+    private Optional<AchillesMultiPartitionQueryException> check(MultiPartitionQueryGuard guard, OperationType operationType,
+                                                                 BoundStatement boundStatement) {
+        return guard.check(String.class, operationType, boundStatement, PROTOCOL_VERSION, CODEC_REGISTRY);
+    }
+}
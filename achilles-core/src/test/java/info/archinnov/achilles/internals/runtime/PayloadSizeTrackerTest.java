@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.monitoring.PayloadSizeStats;
+import info.archinnov.achilles.monitoring.SizeHistogramSnapshot;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PayloadSizeTrackerTest {
+
+    private static final String QUERY = "INSERT INTO ks.table(id, value) VALUES(:id, :value)";
+
+    @Mock
+    private BoundStatement boundStatement;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private ColumnDefinitions variables;
+
+    @Mock
+    private Logger entityLogger;
+
+    @Test
+    public void should_compute_histogram_percentiles_by_power_of_two() throws Exception {
+        //Given
+        final SizeHistogram histogram = new SizeHistogram();
+
+        //When
+        for (int i = 0; i < 98; i++) {
+            histogram.record(100L);
+        }
+        histogram.record(0L);
+        histogram.record(5000L);
+
+        //Then
+        final SizeHistogramSnapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(100L);
+        assertThat(snapshot.getTotalBytes()).isEqualTo(14800L);
+        assertThat(snapshot.getMaxBytes()).isEqualTo(5000L);
+        assertThat(snapshot.getMeanBytes()).isEqualTo(148D);
+        assertThat(snapshot.getP50Bytes()).isEqualTo(127L);
+        assertThat(snapshot.getP99Bytes()).isEqualTo(127L);
+        assertThat(SizeHistogram.bucketOf(0L)).isEqualTo(0);
+        assertThat(SizeHistogram.bucketOf(1L)).isEqualTo(1);
+        assertThat(SizeHistogram.bucketOf(Long.MAX_VALUE)).isEqualTo(63);
+    }
+
+    @Test
+    public void should_compute_request_size_from_encoded_bound_values() throws Exception {
+        //Given
+        when(boundStatement.preparedStatement()).thenReturn(preparedStatement);
+        when(preparedStatement.getVariables()).thenReturn(variables);
+        when(variables.size()).thenReturn(3);
+        when(boundStatement.getBytesUnsafe(0)).thenReturn(ByteBuffer.allocate(8));
+        when(boundStatement.getBytesUnsafe(1)).thenReturn(null);
+        when(boundStatement.getBytesUnsafe(2)).thenReturn(ByteBuffer.allocate(100));
+
+        //When
+        final long sizeInBytes = PayloadSizeTracker.requestSizeInBytes(boundStatement);
+
+        //Then
+        assertThat(sizeInBytes).isEqualTo(108L);
+    }
+
+    @Test
+    public void should_record_sizes_per_entity_and_warn_on_large_mutations() throws Exception {
+        //Given
+        final PayloadSizeTracker tracker = new PayloadSizeTracker(1000L);
+
+        //When
+        tracker.recordRequest(String.class, entityLogger, OperationType.INSERT, 200L, QUERY);
+        tracker.recordRequest(String.class, entityLogger, OperationType.INSERT, 2000L, QUERY);
+        tracker.recordRequest(String.class, entityLogger, OperationType.SELECT, 5000L, "SELECT * FROM ks.table");
+        tracker.responseListener(String.class, OperationType.SELECT).onPageConsumed(10, 300L);
+
+        //Then
+        final List<PayloadSizeStats> stats = tracker.getStats();
+        assertThat(stats).extracting("operationType").containsExactly("INSERT", "SELECT");
+        assertThat(stats.get(0).getEntityClass()).isEqualTo("java.lang.String");
+        assertThat(stats.get(0).getRequest().getCount()).isEqualTo(2L);
+        assertThat(stats.get(0).getRequest().getMaxBytes()).isEqualTo(2000L);
+        assertThat(stats.get(0).getLargeMutationCount()).isEqualTo(1L);
+        assertThat(stats.get(1).getResponse().getTotalBytes()).isEqualTo(300L);
+        assertThat(stats.get(1).getLargeMutationCount()).isEqualTo(0L);
+        verify(entityLogger, times(1)).warn(contains("Large mutation of 2000 bytes"));
+    }
+
+    @Test
+    public void should_sum_bound_statements_sizes_of_batch_and_count_large_mutation() throws Exception {
+        //Given
+        final PayloadSizeTracker tracker = new PayloadSizeTracker(1000L);
+        final BatchStatement batchStatement = mock(BatchStatement.class);
+        final BoundStatement otherBoundStatement = mock(BoundStatement.class);
+        when(boundStatement.preparedStatement()).thenReturn(preparedStatement);
+        when(otherBoundStatement.preparedStatement()).thenReturn(preparedStatement);
+        when(preparedStatement.getVariables()).thenReturn(variables);
+        when(variables.size()).thenReturn(1);
+        when(boundStatement.getBytesUnsafe(0)).thenReturn(ByteBuffer.allocate(600));
+        when(otherBoundStatement.getBytesUnsafe(0)).thenReturn(ByteBuffer.allocate(500));
+        when(batchStatement.getStatements()).thenReturn(Arrays.<Statement>asList(boundStatement,
+                otherBoundStatement, new SimpleStatement("DELETE FROM ks.table WHERE id = 1")));
+        when(batchStatement.size()).thenReturn(3);
+
+        //When
+        final long sizeInBytes = tracker.recordRequest(batchStatement);
+
+        //Then
+        assertThat(sizeInBytes).isEqualTo(1100L);
+        final List<PayloadSizeStats> stats = tracker.getStats();
+        assertThat(stats).hasSize(1);
+        assertThat(stats.get(0).getEntityClass()).isEqualTo(BatchStatement.class.getCanonicalName());
+        assertThat(stats.get(0).getOperationType()).isEqualTo("OTHER");
+        assertThat(stats.get(0).getRequest().getMaxBytes()).isEqualTo(1100L);
+        assertThat(stats.get(0).getLargeMutationCount()).isEqualTo(1L);
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ResultSet;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.monitoring.QueryContext;
+import info.archinnov.achilles.monitoring.QueryListener;
+
+@RunWith(MockitoJUnitRunner.class)
+public class QueryListenersTest {
+
+    @Mock
+    private BoundStatement boundStatement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Test
+    public void should_not_create_context_without_listener() throws Exception {
+        //When
+        final QueryContext context = QueryListeners.NONE.onStart(String.class, OperationType.SELECT, boundStatement, "SELECT * FROM table");
+
+        //Then
+        assertThat(context).isNull();
+        assertThat(QueryListeners.NONE.pageListener(context)).isNull();
+    }
+
+    @Test
+    public void should_notify_listeners_with_shared_context_and_isolate_failures() throws Exception {
+        //Given
+        final List<String> events = new ArrayList<>();
+        final QueryListener failing = new QueryListener() {
+            @Override
+            public void onStart(QueryContext context) {
+                throw new IllegalStateException("failing listener");
+            }
+        };
+        final QueryListener recording = new QueryListener() {
+            @Override
+            public void onStart(QueryContext context) {
+                context.setAttribute("span", "span-1");
+                events.add("start " + context.getOperationType());
+            }
+
+            @Override
+            public void onSuccess(QueryContext context, ResultSet rs) {
+                events.add("success " + context.<String>getAttribute("span").get());
+            }
+
+            @Override
+            public void onFailure(QueryContext context, Throwable throwable) {
+                events.add("failure " + throwable.getMessage());
+            }
+
+            @Override
+            public void onPage(QueryContext context, int rowCount, long sizeInBytes) {
+                events.add("page " + rowCount + " " + sizeInBytes);
+            }
+        };
+        final QueryListeners listeners = new QueryListeners(Arrays.asList(failing, recording));
+        final CompletableFuture<ResultSet> success = new CompletableFuture<>();
+        final CompletableFuture<ResultSet> failure = new CompletableFuture<>();
+
+        //When
+        final QueryContext context = listeners.onStart(String.class, OperationType.SELECT, boundStatement, "SELECT * FROM table");
+        listeners.onCompletion(context, success);
+        success.complete(resultSet);
+        listeners.pageListener(context).onPageConsumed(10, 1000L);
+
+        final QueryContext failedContext = listeners.onStart(String.class, OperationType.INSERT, boundStatement, "INSERT INTO table");
+        listeners.onCompletion(failedContext, failure);
+        failure.completeExceptionally(new RuntimeException("timeout"));
+
+        //Then
+        assertThat(events).containsExactly("start SELECT", "success span-1", "page 10 1000", "start INSERT", "failure timeout");
+        assertThat(context.getEntityClass().get()).isEqualTo(String.class);
+        assertThat(context.getEndNanos()).isGreaterThanOrEqualTo(context.getStartNanos());
+        assertThat(context.getElapsedNanos()).isGreaterThanOrEqualTo(0L);
+    }
+}
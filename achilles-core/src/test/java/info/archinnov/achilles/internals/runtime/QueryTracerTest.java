@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ExecutionInfo;
+import com.datastax.driver.core.QueryTrace;
+import com.datastax.driver.core.ResultSet;
+import com.google.common.util.concurrent.Futures;
+
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.tracing.TracedQuery;
+
+@RunWith(MockitoJUnitRunner.class)
+public class QueryTracerTest {
+
+    @Mock
+    private AbstractEntityProperty<String> meta;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private ExecutionInfo executionInfo;
+
+    @Mock
+    private QueryTrace queryTrace;
+
+    private QueryTracer tracer;
+
+    @After
+    public void tearDown() {
+        if (tracer != null) tracer.shutDown();
+    }
+
+    @Test
+    public void should_sample_with_sampler() throws Exception {
+        //Given
+        tracer = new QueryTracer(Optional.of((entityClass, operationType) -> operationType == OperationType.SELECT),
+                tracedQuery -> {}, 1);
+
+        //When
+        //Then
+        assertThat(tracer.sample(meta, OperationType.SELECT)).isTrue();
+        assertThat(tracer.sample(meta, OperationType.INSERT)).isFalse();
+    }
+
+    @Test
+    public void should_hand_trace_to_sink_on_tracing_thread() throws Exception {
+        //Given
+        final CountDownLatch latch = new CountDownLatch(1);
+        final AtomicReference<TracedQuery> traced = new AtomicReference<>();
+        final AtomicReference<String> threadName = new AtomicReference<>();
+        tracer = new QueryTracer(Optional.empty(), tracedQuery -> {
+            traced.set(tracedQuery);
+            threadName.set(Thread.currentThread().getName());
+            latch.countDown();
+        }, 1);
+
+        final UUID queryId = UUID.randomUUID();
+        final UUID traceId = UUID.randomUUID();
+        final QueryTrace.Event event = mock(QueryTrace.Event.class);
+        when(resultSet.getAllExecutionInfo()).thenReturn(Arrays.asList(executionInfo));
+        when(executionInfo.getQueryTraceAsync()).thenReturn(Futures.immediateFuture(queryTrace));
+        when(executionInfo.getAchievedConsistencyLevel()).thenReturn(ConsistencyLevel.ONE);
+        when(queryTrace.getTraceId()).thenReturn(traceId);
+        when(queryTrace.getEvents()).thenReturn(Arrays.asList(event));
+
+        //When
+        tracer.trace(meta, OperationType.SELECT, queryId, "SELECT * FROM table", resultSet);
+
+        //Then
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(threadName.get()).startsWith("achilles-query-tracing-");
+        final TracedQuery tracedQuery = traced.get();
+        assertThat(tracedQuery.getQueryId()).isEqualTo(queryId);
+        assertThat(tracedQuery.getTraceId()).isEqualTo(traceId);
+        assertThat(tracedQuery.getQueryString()).isEqualTo("SELECT * FROM table");
+        assertThat(tracedQuery.getOperationType()).isEqualTo(OperationType.SELECT);
+        assertThat(tracedQuery.getAchievedConsistencyLevel()).isEqualTo(ConsistencyLevel.ONE);
+        assertThat(tracedQuery.getEvents()).containsExactly(event);
+    }
+}
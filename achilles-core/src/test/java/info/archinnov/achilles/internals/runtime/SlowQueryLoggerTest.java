@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.SimpleStatement;
+
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.monitoring.BoundValueRedaction;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SlowQueryLoggerTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    @Mock
+    private Logger logger;
+
+    @Mock
+    private BoundStatement boundStatement;
+
+    @Mock
+    private PreparedStatement preparedStatement;
+
+    @Mock
+    private ColumnDefinitions variables;
+
+    @Test
+    public void should_apply_entity_threshold_then_global_threshold_and_rate_limit() throws Exception {
+        //Given
+        when(logger.isWarnEnabled()).thenReturn(true);
+        final Map<Class<?>, Long> entityThresholds = new HashMap<>();
+        entityThresholds.put(String.class, 500L);
+        entityThresholds.put(Integer.class, 0L);
+        final SlowQueryLogger slowQueryLogger = new SlowQueryLogger(100L, entityThresholds, 1D, BoundValueRedaction.SIZE, logger);
+
+        //When
+        final boolean belowEntityThreshold = slowQueryLogger.shouldLog(String.class, OperationType.SELECT, 200 * MILLIS);
+        final boolean aboveEntityThreshold = slowQueryLogger.shouldLog(String.class, OperationType.SELECT, 600 * MILLIS);
+        final boolean rateLimited = slowQueryLogger.shouldLog(String.class, OperationType.SELECT, 600 * MILLIS);
+        final boolean disabledForEntity = slowQueryLogger.shouldLog(Integer.class, OperationType.SELECT, 600 * MILLIS);
+        final boolean aboveGlobalThreshold = slowQueryLogger.shouldLog(Long.class, OperationType.INSERT, 200 * MILLIS);
+
+        //Then
+        assertThat(belowEntityThreshold).isFalse();
+        assertThat(aboveEntityThreshold).isTrue();
+        assertThat(rateLimited).isFalse();
+        assertThat(disabledForEntity).isFalse();
+        assertThat(aboveGlobalThreshold).isTrue();
+    }
+
+    @Test
+    public void should_redact_bound_values() throws Exception {
+        //Given
+        when(boundStatement.preparedStatement()).thenReturn(preparedStatement);
+        when(preparedStatement.getVariables()).thenReturn(variables);
+        when(variables.size()).thenReturn(3);
+        when(variables.getName(0)).thenReturn("id");
+        when(variables.getName(1)).thenReturn("value");
+        when(variables.getName(2)).thenReturn("ttl");
+        when(boundStatement.isSet(0)).thenReturn(true);
+        when(boundStatement.isSet(1)).thenReturn(true);
+        when(boundStatement.isSet(2)).thenReturn(false);
+        when(boundStatement.getBytesUnsafe(0)).thenReturn(ByteBuffer.allocate(8));
+        when(boundStatement.getBytesUnsafe(1)).thenReturn(ByteBuffer.allocate(5));
+        when(boundStatement.getObject(0)).thenReturn(10L);
+        when(boundStatement.getObject(1)).thenReturn("value");
+
+        //When
+        final String hidden = SlowQueryLogger.formatBoundValues(boundStatement, BoundValueRedaction.HIDDEN);
+        final String size = SlowQueryLogger.formatBoundValues(boundStatement, BoundValueRedaction.SIZE);
+        final String clear = SlowQueryLogger.formatBoundValues(boundStatement, BoundValueRedaction.CLEAR);
+
+        //Then
+        assertThat(hidden).isEqualTo("id=?, value=?, ttl=<unset>");
+        assertThat(size).isEqualTo("id=<8 bytes>, value=<5 bytes>, ttl=<unset>");
+        assertThat(clear).isEqualTo("id=10, value=value, ttl=<unset>");
+    }
+
+    @Test
+    public void should_report_suppressed_count_of_the_same_entity_and_operation_only() throws Exception {
+        //Given
+        when(logger.isWarnEnabled()).thenReturn(true);
+        final SlowQueryLogger slowQueryLogger = new SlowQueryLogger(100L, Collections.emptyMap(), 1D, BoundValueRedaction.SIZE, logger);
+        slowQueryLogger.shouldLog(String.class, OperationType.SELECT, 200 * MILLIS);
+        slowQueryLogger.shouldLog(String.class, OperationType.SELECT, 200 * MILLIS);
+        slowQueryLogger.shouldLog(String.class, OperationType.SELECT, 200 * MILLIS);
+        slowQueryLogger.shouldLog(String.class, OperationType.INSERT, 200 * MILLIS);
+        slowQueryLogger.shouldLog(String.class, OperationType.INSERT, 200 * MILLIS);
+
+        //When
+        final String otherEntity = slowQueryLogger.buildMessage(Long.class, OperationType.SELECT, 200 * MILLIS, null, null,
+                null, "SELECT * FROM ks.long", "id=<8 bytes>");
+        final String otherOperation = slowQueryLogger.buildMessage(String.class, OperationType.INSERT, 200 * MILLIS, null, null,
+                null, "INSERT INTO ks.string", "id=<8 bytes>");
+        final String sameBucket = slowQueryLogger.buildMessage(String.class, OperationType.SELECT, 200 * MILLIS, null, null,
+                null, "SELECT * FROM ks.string", "id=<8 bytes>");
+        final String sameBucketAgain = slowQueryLogger.buildMessage(String.class, OperationType.SELECT, 200 * MILLIS, null, null,
+                null, "SELECT * FROM ks.string", "id=<8 bytes>");
+
+        //Then
+        assertThat(otherEntity).doesNotContain("not logged");
+        assertThat(otherOperation).endsWith("(1 slow INSERT queries not logged for this entity because of the rate limit)");
+        assertThat(sameBucket).endsWith("(2 slow SELECT queries not logged for this entity because of the rate limit)");
+        assertThat(sameBucketAgain).doesNotContain("not logged");
+    }
+
+    @Test
+    public void should_log_slow_bound_and_batch_statements_with_global_threshold() throws Exception {
+        //Given
+        when(logger.isWarnEnabled()).thenReturn(true);
+        when(boundStatement.preparedStatement()).thenReturn(preparedStatement);
+        when(preparedStatement.getQueryString()).thenReturn("UPDATE ks.table SET value = :value WHERE id = :id");
+        when(preparedStatement.getVariables()).thenReturn(variables);
+        when(variables.size()).thenReturn(1);
+        when(variables.getName(0)).thenReturn("id");
+        when(boundStatement.isSet(0)).thenReturn(true);
+        when(boundStatement.getBytesUnsafe(0)).thenReturn(ByteBuffer.allocate(8));
+        final BatchStatement batchStatement = new BatchStatement();
+        batchStatement.add(boundStatement);
+        batchStatement.add(new SimpleStatement("DELETE FROM ks.table WHERE id = 1"));
+        final SlowQueryLogger slowQueryLogger = new SlowQueryLogger(100L, Collections.emptyMap(), 10D, BoundValueRedaction.SIZE, logger);
+        final ArgumentCaptor<String> messages = ArgumentCaptor.forClass(String.class);
+
+        //When
+        slowQueryLogger.onCompletion(boundStatement, System.nanoTime() - 200 * MILLIS, null, null);
+        slowQueryLogger.onCompletion(batchStatement, System.nanoTime() - 200 * MILLIS, null, null);
+
+        //Then
+        verify(logger, times(2)).warn(messages.capture());
+        assertThat(messages.getAllValues().get(0)).contains("for entity n/a")
+                .endsWith(": [UPDATE ks.table SET value = :value WHERE id = :id] with bound values [id=<8 bytes>]");
+        assertThat(messages.getAllValues().get(1)).contains("for entity n/a")
+                .endsWith(": [BATCH UPDATE ks.table SET value = :value WHERE id = :id; DELETE FROM ks.table WHERE id = 1] with bound values [id=<8 bytes>; ]");
+    }
+
+    @Test
+    public void should_not_log_fast_bound_statement() throws Exception {
+        //Given
+        when(logger.isWarnEnabled()).thenReturn(true);
+        final SlowQueryLogger slowQueryLogger = new SlowQueryLogger(100L, Collections.emptyMap(), 10D, BoundValueRedaction.SIZE, logger);
+
+        //When
+        slowQueryLogger.onCompletion(boundStatement, System.nanoTime(), null, null);
+
+        //Then
+        verify(logger, never()).warn(anyString());
+    }
+}
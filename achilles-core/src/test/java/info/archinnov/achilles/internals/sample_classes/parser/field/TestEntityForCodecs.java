@@ -47,6 +47,19 @@ public class TestEntityForCodecs {
 
     private @JSON Date time;
 
+    @JSON(format = JSON.Format.SMILE)
+    private Map<Integer, List<Integer>> smileMap;
+
+    @Compressed
+    private String compressedText;
+
+    @Compressed(algorithm = Compressed.Algorithm.DEFLATE, minSize = 64)
+    @JSON(format = JSON.Format.CBOR)
+    private Map<Integer, String> compressedJSON;
+
+    @Compressed
+    private Long compressedLong;
+
     private String value;
 
     private boolean primitiveBoolean;
@@ -256,6 +269,38 @@ public class TestEntityForCodecs {
         this.time = time;
     }
 
+    public Map<Integer, List<Integer>> getSmileMap() {
+        return smileMap;
+    }
+
+    public void setSmileMap(Map<Integer, List<Integer>> smileMap) {
+        this.smileMap = smileMap;
+    }
+
+    public String getCompressedText() {
+        return compressedText;
+    }
+
+    public void setCompressedText(String compressedText) {
+        this.compressedText = compressedText;
+    }
+
+    public Map<Integer, String> getCompressedJSON() {
+        return compressedJSON;
+    }
+
+    public void setCompressedJSON(Map<Integer, String> compressedJSON) {
+        this.compressedJSON = compressedJSON;
+    }
+
+    public Long getCompressedLong() {
+        return compressedLong;
+    }
+
+    public void setCompressedLong(Long compressedLong) {
+        this.compressedLong = compressedLong;
+    }
+
     public String getValue() {
         return value;
     }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.schema;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.AbstractTableMetadata;
+import com.datastax.driver.core.ColumnMetadata;
+import com.datastax.driver.core.DataType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.google.common.reflect.TypeToken;
+
+import info.archinnov.achilles.annotations.JSON;
+import info.archinnov.achilles.exception.AchillesBeanMappingException;
+import info.archinnov.achilles.internals.codec.BinaryJSONCodec;
+import info.archinnov.achilles.internals.codec.FallThroughCodec;
+import info.archinnov.achilles.internals.metamodel.AbstractProperty;
+import info.archinnov.achilles.internals.metamodel.SimpleProperty;
+import info.archinnov.achilles.internals.metamodel.columns.FieldInfo;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SchemaValidatorTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Mock
+    private AbstractTableMetadata metadata;
+
+    @Mock
+    private ColumnMetadata columnMetadata;
+
+    @Test
+    public void should_hint_at_migration_for_binary_json_field_on_text_column() throws Exception {
+        //Given
+        final SimpleProperty<Object, Map, ByteBuffer> property = new SimpleProperty<>(FieldInfo.of("value", "value"),
+                DataType.blob(), gettable -> null, (settable, value) -> {}, new TypeToken<Map>() {}, new TypeToken<ByteBuffer>() {},
+                new BinaryJSONCodec<>(Map.class, TypeFactory.defaultInstance().constructType(Map.class), JSON.Format.SMILE));
+        when(metadata.getColumn("value")).thenReturn(columnMetadata);
+        when(columnMetadata.getType()).thenReturn(DataType.text());
+
+        //Then
+        exception.expect(AchillesBeanMappingException.class);
+        exception.expectMessage("A @JSON field using a binary format (SMILE/CBOR) cannot reuse an existing text column");
+
+        //When
+        SchemaValidator.validateColumns(metadata, Arrays.<AbstractProperty<Object, ?, ?>>asList(property), Object.class);
+    }
+
+    @Test
+    public void should_not_hint_at_binary_json_for_plain_blob_field_on_text_column() throws Exception {
+        //Given
+        final SimpleProperty<Object, ByteBuffer, ByteBuffer> property = new SimpleProperty<>(FieldInfo.of("value", "value"),
+                DataType.blob(), gettable -> null, (settable, value) -> {}, new TypeToken<ByteBuffer>() {}, new TypeToken<ByteBuffer>() {},
+                new FallThroughCodec<>(ByteBuffer.class));
+        when(metadata.getColumn("value")).thenReturn(columnMetadata);
+        when(columnMetadata.getType()).thenReturn(DataType.text());
+
+        //When
+        Exception exception = null;
+        try {
+            SchemaValidator.validateColumns(metadata, Arrays.<AbstractProperty<Object, ?, ?>>asList(property), Object.class);
+        } catch (AchillesBeanMappingException e) {
+            exception = e;
+        }
+
+        //Then
+        assertThat(exception).hasMessage("Data type 'blob' for column 'value' of entity 'class java.lang.Object' " +
+                "does not match type in live schema 'text'");
+    }
+}
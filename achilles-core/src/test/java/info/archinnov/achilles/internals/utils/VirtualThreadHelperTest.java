@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.internals.utils;
+
+import static info.archinnov.achilles.configuration.ConfigurationParameters.DEFAULT_EXECUTOR_SERVICE_VIRTUAL_THREADS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.junit.Test;
+
+import info.archinnov.achilles.configuration.ArgumentExtractor;
+import info.archinnov.achilles.internals.types.ConfigMap;
+
+public class VirtualThreadHelperTest {
+
+    @Test
+    public void should_create_virtual_thread_executor_only_when_supported() throws Exception {
+        //Given
+        final boolean supported = isJava21OrLater();
+
+        //When
+        final Optional<ExecutorService> executor = VirtualThreadHelper.newVirtualThreadPerTaskExecutor();
+
+        //Then
+        assertThat(VirtualThreadHelper.isVirtualThreadSupported()).isEqualTo(supported);
+        assertThat(executor.isPresent()).isEqualTo(supported);
+        executor.ifPresent(ExecutorService::shutdown);
+    }
+
+    @Test
+    public void should_fall_back_to_thread_pool_when_virtual_threads_not_supported() throws Exception {
+        //Given
+        final ConfigMap configMap = new ConfigMap();
+        configMap.put(DEFAULT_EXECUTOR_SERVICE_VIRTUAL_THREADS, true);
+
+        //When
+        final ExecutorService executor = ArgumentExtractor.initExecutorService(configMap);
+
+        //Then
+        assertThat(executor instanceof ThreadPoolExecutor).isEqualTo(!isJava21OrLater());
+        executor.shutdown();
+    }
+
+    private static boolean isJava21OrLater() {
+        final String version = System.getProperty("java.specification.version");
+        return !version.startsWith("1.") && Integer.parseInt(version) >= 21;
+    }
+}
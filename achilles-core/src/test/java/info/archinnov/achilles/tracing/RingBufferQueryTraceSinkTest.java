@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+
+public class RingBufferQueryTraceSinkTest {
+
+    @Test
+    public void should_keep_only_last_traces() throws Exception {
+        //Given
+        final RingBufferQueryTraceSink sink = new RingBufferQueryTraceSink(2);
+        final TracedQuery trace1 = mock(TracedQuery.class);
+        final TracedQuery trace2 = mock(TracedQuery.class);
+        final TracedQuery trace3 = mock(TracedQuery.class);
+
+        //When
+        sink.accept(trace1);
+        sink.accept(trace2);
+        sink.accept(trace3);
+
+        //Then
+        assertThat(sink.getTraces()).containsExactly(trace2, trace3);
+        sink.clear();
+        assertThat(sink.getTraces()).isEmpty();
+    }
+}
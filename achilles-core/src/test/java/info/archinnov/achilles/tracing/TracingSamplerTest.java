@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.statements.OperationType;
+
+public class TracingSamplerTest {
+
+    @Test
+    public void should_sample_with_probability() throws Exception {
+        //Given
+        final TracingSampler never = TracingSampler.probabilistic(0);
+        final TracingSampler always = TracingSampler.probabilistic(1);
+        final TracingSampler half = TracingSampler.probabilistic(0.5);
+
+        //When
+        final long sampled = IntStream.range(0, 10_000)
+                .filter(i -> half.sample(String.class, OperationType.SELECT))
+                .count();
+
+        //Then
+        assertThat(never.sample(String.class, OperationType.SELECT)).isFalse();
+        assertThat(always.sample(String.class, OperationType.SELECT)).isTrue();
+        assertThat(sampled).isBetween(4_000L, 6_000L);
+    }
+
+    @Test(expected = AchillesException.class)
+    public void should_fail_for_invalid_probability() throws Exception {
+        TracingSampler.probabilistic(1.5);
+    }
+
+    @Test
+    public void should_rate_limit_per_entity_and_operation() throws Exception {
+        //Given
+        final TracingSampler sampler = TracingSampler.rateLimited(2);
+
+        //When
+        final long selects = IntStream.range(0, 100)
+                .filter(i -> sampler.sample(String.class, OperationType.SELECT))
+                .count();
+
+        //Then
+        assertThat(selects).isBetween(2L, 3L);
+        assertThat(sampler.sample(String.class, OperationType.INSERT)).isTrue();
+        assertThat(sampler.sample(Long.class, OperationType.SELECT)).isTrue();
+    }
+
+    @Test
+    public void should_refill_rate_limited_sampler() throws Exception {
+        //Given
+        final TracingSampler sampler = TracingSampler.rateLimited(100);
+        IntStream.range(0, 1000).forEach(i -> sampler.sample(String.class, OperationType.SELECT));
+
+        //When
+        Thread.sleep(50);
+
+        //Then
+        assertThat(sampler.sample(String.class, OperationType.SELECT)).isTrue();
+    }
+}
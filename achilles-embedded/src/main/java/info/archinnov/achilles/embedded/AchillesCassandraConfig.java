@@ -28,6 +28,7 @@ public class AchillesCassandraConfig implements ConfigurationLoader {
     static final String ACHILLES_EMBEDDED_CASSANDRA_COMMITLOG_FOLDER = "ACHILLES_EMBEDDED_CASSANDRA_COMMITLOG_FOLDER";
     static final String ACHILLES_EMBEDDED_CASSANDRA_SAVED_CACHES_FOLDER = "ACHILLES_EMBEDDED_CASSANDRA_SAVED_CACHES_FOLDER";
     static final String ACHILLES_EMBEDDED_CASSANDRA_HINTS_FOLDER = "ACHILLES_EMBEDDED_CASSANDRA_HINTS_FOLDER";
+    static final String ACHILLES_EMBEDDED_CASSANDRA_TEST_PROFILE = "ACHILLES_EMBEDDED_CASSANDRA_TEST_PROFILE";
 
     @Override
     public Config loadConfig() throws ConfigurationException {
@@ -118,6 +119,42 @@ public class AchillesCassandraConfig implements ConfigurationLoader {
         config.commitlog_directory = System.getProperty(ACHILLES_EMBEDDED_CASSANDRA_COMMITLOG_FOLDER);
         config.saved_caches_directory = System.getProperty(ACHILLES_EMBEDDED_CASSANDRA_SAVED_CACHES_FOLDER);
         config.hints_directory = System.getProperty(ACHILLES_EMBEDDED_CASSANDRA_HINTS_FOLDER);
+
+        if (Boolean.parseBoolean(System.getProperty(ACHILLES_EMBEDDED_CASSANDRA_TEST_PROFILE))) {
+            applyTestProfile(config);
+        }
         return config;
     }
+
+    /**
+     * Low-footprint settings for tests: minimal memtables, caches and thread pools,
+     * a commit log which is never fsync-ed in practice, no hints
+     */
+    private void applyTestProfile(Config config) {
+        config.commitlog_sync = Config.CommitLogSync.periodic;
+        config.commitlog_sync_period_in_ms = 60000;
+        config.commitlog_segment_size_in_mb = 4;
+        config.commitlog_total_space_in_mb = 16;
+        config.hinted_handoff_enabled = false;
+        config.max_hints_delivery_threads = 1;
+
+        config.memtable_heap_space_in_mb = 16;
+        config.memtable_offheap_space_in_mb = 16;
+        config.memtable_flush_writers = 1;
+        config.key_cache_size_in_mb = 0L;
+        config.key_cache_save_period = 0;
+        config.counter_cache_size_in_mb = 0L;
+        config.counter_cache_save_period = 0;
+        config.file_cache_size_in_mb = 16;
+        config.index_summary_capacity_in_mb = 1L;
+        config.prepared_statements_cache_size_mb = 4L;
+        config.thrift_prepared_statements_cache_size_mb = 1L;
+
+        config.concurrent_counter_writes = 2;
+        config.concurrent_materialized_view_writes = 2;
+        config.concurrent_compactors = 1;
+        config.native_transport_max_threads = 16;
+        config.rpc_min_threads = 1;
+        config.rpc_max_threads = 16;
+    }
 }
@@ -146,6 +146,10 @@ public class AchillesInitializer {
     }
 
     private void executeStartupScripts(Session session, TypedMap parameters) {
+        if (parameters.getTypedOr(DATA_SNAPSHOT_RESTORED, false)) {
+            LOGGER.info("Skipping startup scripts, schema and data restored from the data snapshot template");
+            return;
+        }
         ScriptExecutor scriptExecutor = null;
         List<String> scriptLocations = parameters.getTypedOr(SCRIPT_LOCATIONS, new ArrayList<>());
         if (scriptLocations.size() > 0) {
@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.embedded;
+
+import org.apache.cassandra.config.Schema;
+import org.apache.cassandra.db.ColumnFamilyStore;
+import org.apache.cassandra.db.Keyspace;
+import org.apache.cassandra.service.MigrationListener;
+import org.apache.cassandra.service.MigrationManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Disable auto compaction on all user tables, including the ones created after startup.
+ * Used by the test profile, test data should fit in a few memtable flushes
+ */
+class AutoCompactionDisabler extends MigrationListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AutoCompactionDisabler.class);
+
+    static void install() {
+        final AutoCompactionDisabler disabler = new AutoCompactionDisabler();
+        for (String keyspaceName : Schema.instance.getNonSystemKeyspaces()) {
+            disabler.disableForKeyspace(keyspaceName);
+        }
+        MigrationManager.instance.register(disabler);
+    }
+
+    @Override
+    public void onCreateColumnFamily(String ksName, String cfName) {
+        if (!Schema.isSystemKeyspace(ksName)) {
+            disable(Keyspace.open(ksName).getColumnFamilyStore(cfName));
+        }
+    }
+
+    @Override
+    public void onCreateView(String ksName, String viewName) {
+        onCreateColumnFamily(ksName, viewName);
+    }
+
+    private void disableForKeyspace(String keyspaceName) {
+        for (ColumnFamilyStore store : Keyspace.open(keyspaceName).getColumnFamilyStores()) {
+            disable(store);
+        }
+    }
+
+    private void disable(ColumnFamilyStore store) {
+        LOGGER.debug("Disabling auto compaction on {}.{}", store.keyspace.getName(), store.name);
+        for (ColumnFamilyStore cfs : store.concatWithIndexes()) {
+            cfs.disableAutoCompaction();
+        }
+    }
+}
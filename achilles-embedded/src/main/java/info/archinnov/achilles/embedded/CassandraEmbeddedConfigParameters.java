@@ -31,6 +31,8 @@ public class CassandraEmbeddedConfigParameters {
 
     public static final String USE_UNSAFE_CASSANDRA_DAEMON = "useUnsafeCassandraDaemon";
 
+    public static final String TEST_PROFILE = "testProfile";
+
     public static final String CLEAN_CASSANDRA_DATA_FILES = "cleanCassandraDataFiles";
 
     public static final String CLEAN_CASSANDRA_CONFIG_FILE = "cleanCassandraConfigFile";
@@ -83,6 +85,10 @@ public class CassandraEmbeddedConfigParameters {
     public static final String SCRIPT_LOCATIONS = "scriptLocations";
     public static final String SCRIPT_TEMPLATES = "scriptTemplates";
 
+    public static final String DATA_SNAPSHOT_FOLDER = "dataSnapshotFolder";
+    public static final String DATA_SNAPSHOT_FINGERPRINT = "dataSnapshotFingerprint";
+    static final String DATA_SNAPSHOT_RESTORED = "dataSnapshotRestored";
+
     /*
      * Default values
      */
@@ -95,6 +101,7 @@ public class CassandraEmbeddedConfigParameters {
     static final Set<String> DEFAULT_ACHILLES_TEST_FOLDERS = SetUtils.of(DEFAULT_ACHILLES_TEST_DATA_FOLDER,
             DEFAULT_ACHILLES_TEST_COMMIT_LOG_FOLDER, DEFAULT_ACHILLES_TEST_SAVED_CACHES_FOLDER,
             DEFAULT_ACHILLES_TEST_HINTS_FOLDER);
+    static final String TEST_PROFILE_TMPFS_FOLDER = "/dev/shm";
     static final String DEFAULT_CASSANDRA_EMBEDDED_LOGBACK_FILE = "target/cassandra_embedded/logback.xml";
     static final String DEFAULT_CASSANDRA_EMBEDDED_CLUSTER_NAME = "Achilles Embedded Cassandra Cluster";
     static final Boolean DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_DURABLE_WRITE = false;
@@ -116,6 +123,7 @@ public class CassandraEmbeddedConfigParameters {
         defaultParams.put(BROADCAST_RPC_ADDRESS, DEFAULT_CASSANDRA_EMBEDDED_BROADCAST_RPC_ADDRESS);
 
         defaultParams.put(USE_UNSAFE_CASSANDRA_DAEMON, false);
+        defaultParams.put(TEST_PROFILE, false);
         defaultParams.put(CLEAN_CASSANDRA_DATA_FILES, true);
         defaultParams.put(CLEAN_CASSANDRA_CONFIG_FILE, true);
         defaultParams.put(DATA_FILE_FOLDER, DEFAULT_ACHILLES_TEST_DATA_FOLDER);
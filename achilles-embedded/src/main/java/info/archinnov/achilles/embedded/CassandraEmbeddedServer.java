@@ -73,6 +73,15 @@ public class CassandraEmbeddedServer {
         return initializer.getSingletonSession();
     }
 
+    /**
+     * Save the current data folder as the snapshot template for the next starts, see
+     * {@link CassandraEmbeddedServerBuilder#withDataSnapshot(String)}.
+     * Only the call following a start without template does something, other calls are no-op
+     */
+    public void saveDataSnapshot() {
+        ServerStarter.CASSANDRA_EMBEDDED.saveDataSnapshot();
+    }
+
     public void registerSessionForShutdown(Session session) {
         ServerStarter.CASSANDRA_EMBEDDED.getShutdownHook().addSession(session);
     }
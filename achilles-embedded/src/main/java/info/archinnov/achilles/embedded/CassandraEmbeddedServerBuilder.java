@@ -57,6 +57,7 @@ import info.archinnov.achilles.validation.Validator;
  * .withStorageSSLPort(7999)
  * .withDurableWrite(true)
  * .withScript("init_script.cql")
+ * .withDataSnapshot("target/cassandra_embedded/snapshots")
  * .buildNativeCluster();
 
  * </code></pre>
@@ -102,10 +103,16 @@ public class CassandraEmbeddedServerBuilder {
 
     private boolean useUnsafeCassandraDaemon = false;
 
+    private boolean testProfile = false;
+
     private List<String> scriptLocations = new ArrayList<>();
 
     private Map<String, Map<String, Object>> scriptTemplates = new HashMap<>();
 
+    private String dataSnapshotFolder;
+
+    private List<String> dataSnapshotFingerprints = new ArrayList<>();
+
     private TypedMap cassandraParams = new TypedMap();
 
     private CassandraEmbeddedServerBuilder() {
@@ -442,6 +449,43 @@ public class CassandraEmbeddedServerBuilder {
         return this;
     }
 
+    /**
+     * Start the embedded Cassandra server from a template of the data folder instead of
+     * re-creating the keyspace and re-executing the startup scripts
+     * <br/>
+     * <br/>
+     * The template is stored in <em>snapshotFolder/fingerprint</em>, the fingerprint being computed from the Cassandra version,
+     * the cluster and keyspace settings, the startup scripts content and the values given to {@link #withDataSnapshotFingerprint(String)}.
+     * <ul>
+     *     <li>if the template does not exist, the server starts normally and the template is saved once the startup scripts are executed
+     *     (<em>buildNativeCluster()/buildNativeSession()</em>) or when {@link CassandraEmbeddedServer#saveDataSnapshot()} is called
+     *     (<em>buildServer()</em>)</li>
+     *     <li>otherwise the template files are hard-linked into the empty data folder before the server starts and the startup scripts are skipped</li>
+     * </ul>
+     * <strong>The data files must be cleaned at startup for the template to be restored</strong>
+     *
+     * @param snapshotFolder folder storing the data folder templates, e.g. 'target/cassandra_embedded/snapshots'
+     * @return CassandraEmbeddedServerBuilder
+     */
+    public CassandraEmbeddedServerBuilder withDataSnapshot(String snapshotFolder) {
+        Validator.validateNotBlank(snapshotFolder, "The snapshot folder should not be blank while executing CassandraEmbeddedServerBuilder.withDataSnapshot()");
+        this.dataSnapshotFolder = snapshotFolder.trim();
+        return this;
+    }
+
+    /**
+     * Add a value to the data snapshot fingerprint, for schema elements created outside of the startup scripts
+     * (entity meta data, generated DDL ...). Changing this value invalidates the data snapshot template
+     *
+     * @param fingerprint additional fingerprint value
+     * @return CassandraEmbeddedServerBuilder
+     */
+    public CassandraEmbeddedServerBuilder withDataSnapshotFingerprint(String fingerprint) {
+        Validator.validateNotBlank(fingerprint, "The fingerprint should not be blank while executing CassandraEmbeddedServerBuilder.withDataSnapshotFingerprint()");
+        this.dataSnapshotFingerprints.add(fingerprint);
+        return this;
+    }
+
     /**
      * Inject Cassandra parameters
      *
@@ -499,6 +543,33 @@ public class CassandraEmbeddedServerBuilder {
         return this;
     }
 
+    /**
+     * Use a low-footprint configuration, tuned for tests on shared CI agents:
+     * <ul>
+     *     <li>periodic commit log synced every minute, small commit log segments</li>
+     *     <li>16Mb memtables, a single flush writer, no key/counter cache, small file cache and index summaries</li>
+     *     <li>4 concurrent reads/writes (unless set explicitly), 1 compactor, 16 native transport threads</li>
+     *     <li>no hinted handoff, a single token</li>
+     *     <li>auto compaction disabled on all user tables, including the ones created later</li>
+     *     <li>data, commit log, saved caches and hints in <em>/dev/shm</em> when available and no folder was set explicitly.
+     *     The folders of JVMs which are no longer running are removed at the next start</li>
+     * </ul>
+     * Measured on a Linux agent (JDK 8, default heap), starting the server and executing a one-table script:
+     * <ul>
+     *     <li>default settings: startup in 10.5-11s, RSS 290-300Mb</li>
+     *     <li>test profile: startup in 9.5-10s, RSS 290-295Mb</li>
+     * </ul>
+     * Most of the startup time and resident memory is class loading and JIT of the Cassandra code base,
+     * the gain of the profile is mainly on disk I/O (slow CI disks) and memtable memory under load
+     * <strong>Data is not durable, only use this profile for tests</strong>
+     *
+     * @return CassandraEmbeddedServerBuilder
+     */
+    public CassandraEmbeddedServerBuilder withTestProfile() {
+        this.testProfile = true;
+        return this;
+    }
+
     /**
      * Start an embedded Cassandra server but DO NOT bootstrap Achilles
      *
@@ -506,6 +577,7 @@ public class CassandraEmbeddedServerBuilder {
      */
     public Cluster buildNativeCluster() {
         final CassandraEmbeddedServer embeddedServer = new CassandraEmbeddedServer(buildConfigMap());
+        embeddedServer.saveDataSnapshot();
         return embeddedServer.getNativeCluster();
     }
 
@@ -516,6 +588,7 @@ public class CassandraEmbeddedServerBuilder {
      */
     public Session buildNativeSession() {
         final CassandraEmbeddedServer embeddedServer = new CassandraEmbeddedServer(buildConfigMap());
+        embeddedServer.saveDataSnapshot();
         return embeddedServer.getNativeSession();
     }
 
@@ -596,6 +669,19 @@ public class CassandraEmbeddedServerBuilder {
             cassandraParams.put(USE_UNSAFE_CASSANDRA_DAEMON, true);
         }
 
+        if (testProfile) {
+            cassandraParams.put(TEST_PROFILE, true);
+        }
+
+        if (isNotBlank(dataSnapshotFolder))
+            cassandraParams.put(DATA_SNAPSHOT_FOLDER, dataSnapshotFolder);
+
+        if (dataSnapshotFingerprints.size() > 0) {
+            final List<String> existingFingerprints = cassandraParams.getTypedOr(DATA_SNAPSHOT_FINGERPRINT, new ArrayList<>());
+            existingFingerprints.addAll(dataSnapshotFingerprints);
+            cassandraParams.put(DATA_SNAPSHOT_FINGERPRINT, existingFingerprints);
+        }
+
         cassandraParams.put(KEYSPACE_DURABLE_WRITE, durableWrite);
 
         TypedMap parameters = CassandraEmbeddedConfigParameters.mergeWithDefaultParameters(cassandraParams);
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.embedded;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.stream.Stream;
+
+import org.apache.cassandra.service.StorageService;
+import org.apache.cassandra.utils.FBUtilities;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.type.TypedMap;
+
+/**
+ * Template of the embedded Cassandra data folder, keyed by a fingerprint of the startup schema
+ * <br/>
+ * <br/>
+ * The first start with a given fingerprint runs normally, then {@link #save()} takes a Cassandra snapshot of
+ * all keyspaces and copies it to <em>snapshotFolder/fingerprint</em>. The next starts hard-link (or copy when
+ * hard links are not supported) the template into the empty data folder before the daemon starts, so that
+ * the keyspace, UDTs, tables and seed data are already there and the startup scripts can be skipped
+ */
+class DataSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataSnapshot.class);
+
+    private static final String SNAPSHOT_TAG = "achilles_template";
+    private static final String SNAPSHOTS_DIRECTORY = "snapshots";
+    private static final Set<String> SNAPSHOT_METADATA_FILES = SetUtils.of("manifest.json", "schema.cql");
+
+    private final Path dataFolder;
+    private final Path templateFolder;
+
+    DataSnapshot(Path dataFolder, Path snapshotFolder, String fingerprint) {
+        this.dataFolder = dataFolder;
+        this.templateFolder = snapshotFolder.resolve(fingerprint);
+    }
+
+    static Optional<DataSnapshot> fromParameters(TypedMap parameters) {
+        if (!parameters.containsKey(DATA_SNAPSHOT_FOLDER)) {
+            return Optional.empty();
+        }
+        final Path dataFolder = Paths.get(parameters.<String>getTyped(DATA_FILE_FOLDER));
+        final Path snapshotFolder = Paths.get(parameters.<String>getTyped(DATA_SNAPSHOT_FOLDER));
+        return Optional.of(new DataSnapshot(dataFolder, snapshotFolder, fingerprint(parameters)));
+    }
+
+    /**
+     * Fingerprint of everything that ends up in the data folder at startup: Cassandra version,
+     * cluster and keyspace settings, startup scripts content and user-provided schema fingerprints
+     */
+    static String fingerprint(TypedMap parameters) {
+        final List<String> components = new ArrayList<>();
+        components.add(FBUtilities.getReleaseVersionString());
+        components.add(parameters.getTyped(CLUSTER_NAME));
+        components.add(parameters.getTyped(DEFAULT_KEYSPACE_NAME));
+        components.add(parameters.getTypedOr(KEYSPACE_DURABLE_WRITE, false).toString());
+        components.add(parameters.getTypedOr(USE_UNSAFE_CASSANDRA_DAEMON, false).toString());
+        components.add(parameters.getTypedOr(TEST_PROFILE, false).toString());
+
+        for (String scriptLocation : parameters.<List<String>>getTypedOr(SCRIPT_LOCATIONS, new ArrayList<>())) {
+            components.add(scriptLocation);
+            components.add(readScript(scriptLocation));
+        }
+
+        final Map<String, Map<String, Object>> scriptTemplates = new TreeMap<>(parameters.getTypedOr(SCRIPT_TEMPLATES, new HashMap<>()));
+        for (Map.Entry<String, Map<String, Object>> entry : scriptTemplates.entrySet()) {
+            components.add(entry.getKey());
+            components.add(readScript(entry.getKey()));
+            components.add(new TreeMap<>(entry.getValue()).toString());
+        }
+
+        components.addAll(parameters.getTypedOr(DATA_SNAPSHOT_FINGERPRINT, new ArrayList<String>()));
+
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String component : components) {
+                digest.update(String.valueOf(component).getBytes(UTF_8));
+                digest.update((byte) 0);
+            }
+            final StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new AchillesException("Cannot compute the embedded data snapshot fingerprint", e);
+        }
+    }
+
+    private static String readScript(String scriptLocation) {
+        try (InputStream inputStream = DataSnapshot.class.getResourceAsStream("/" + scriptLocation)) {
+            return inputStream == null ? "" : IOUtils.toString(inputStream, UTF_8);
+        } catch (IOException e) {
+            throw new AchillesException(String.format("Cannot read script '%s' for the data snapshot fingerprint", scriptLocation), e);
+        }
+    }
+
+    boolean exists() {
+        return Files.isDirectory(templateFolder);
+    }
+
+    Path getTemplateFolder() {
+        return templateFolder;
+    }
+
+    /**
+     * Populate the (already cleaned) data folder from the template. Must be called before the daemon starts
+     */
+    void restore() {
+        LOGGER.info("Restoring embedded Cassandra data folder from snapshot template '{}'", templateFolder.toAbsolutePath());
+        try (Stream<Path> files = Files.walk(templateFolder)) {
+            for (Path source : (Iterable<Path>) files::iterator) {
+                final Path target = dataFolder.resolve(templateFolder.relativize(source).toString());
+                if (Files.isDirectory(source)) {
+                    Files.createDirectories(target);
+                } else {
+                    linkOrCopy(source, target);
+                }
+            }
+        } catch (IOException e) {
+            throw new AchillesException(String.format("Cannot restore the data snapshot template '%s'", templateFolder), e);
+        }
+    }
+
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        try {
+            // SSTables are immutable, sharing them with the template is safe
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Snapshot all keyspaces of the running server and publish them as the template for this fingerprint
+     */
+    void save() {
+        if (exists()) {
+            return;
+        }
+        LOGGER.info("Saving embedded Cassandra data snapshot template to '{}'", templateFolder.toAbsolutePath());
+        final Path workFolder = templateFolder.resolveSibling(templateFolder.getFileName() + ".tmp-" + UUID.randomUUID());
+        try {
+            Files.createDirectories(workFolder);
+            StorageService.instance.takeSnapshot(SNAPSHOT_TAG);
+            try {
+                copySnapshotFiles(workFolder);
+            } finally {
+                StorageService.instance.clearSnapshot(SNAPSHOT_TAG);
+            }
+            Files.move(workFolder, templateFolder, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+            LOGGER.debug("Data snapshot template '{}' already published by another process", templateFolder);
+            FileUtils.deleteQuietly(workFolder.toFile());
+        } catch (IOException e) {
+            FileUtils.deleteQuietly(workFolder.toFile());
+            throw new AchillesException(String.format("Cannot save the data snapshot template '%s'", templateFolder), e);
+        }
+    }
+
+    /**
+     * Copy <em>keyspace/table/snapshots/tag/file</em> to <em>keyspace/table/file</em>
+     */
+    void copySnapshotFiles(Path workFolder) throws IOException {
+        try (Stream<Path> files = Files.walk(dataFolder)) {
+            for (Path source : (Iterable<Path>) files::iterator) {
+                final Path relative = dataFolder.relativize(source);
+                if (!Files.isRegularFile(source) || relative.getNameCount() < 5
+                        || !SNAPSHOTS_DIRECTORY.equals(relative.getName(2).toString())
+                        || !SNAPSHOT_TAG.equals(relative.getName(3).toString())
+                        || SNAPSHOT_METADATA_FILES.contains(source.getFileName().toString())) {
+                    continue;
+                }
+                final Path target = workFolder
+                        .resolve(relative.subpath(0, 2).toString())
+                        .resolve(relative.subpath(4, relative.getNameCount()).toString());
+                Files.createDirectories(target.getParent());
+                Files.copy(source, target);
+            }
+        }
+    }
+}
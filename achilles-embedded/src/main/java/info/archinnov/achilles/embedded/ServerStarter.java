@@ -55,7 +55,9 @@ public enum ServerStarter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ServerStarter.class);
 
+    private static final String TMPFS_FOLDER_PREFIX = "achilles_embedded_";
     private static final OrderedShutdownHook orderedShutdownHook = new OrderedShutdownHook();
+    private static final AtomicReference<DataSnapshot> dataSnapshotToSave = new AtomicReference<>();
     private static int cqlPort;
 
     private static int thriftPort;
@@ -84,8 +86,10 @@ public enum ServerStarter {
         if (StringUtils.isBlank(cassandraHost)) {
 
             LOGGER.debug("Do start embedded Cassandra server ");
+            maybeUseTmpfsFolders(parameters);
             validateDataFolders(parameters);
             cleanCassandraDataFiles(parameters);
+            maybeRestoreDataSnapshot(parameters);
             randomizePortsIfNeeded(parameters);
 
 
@@ -111,6 +115,16 @@ public enum ServerStarter {
         }
     }
 
+    /**
+     * Save the data snapshot template if this server was started without one. No-op otherwise
+     */
+    public void saveDataSnapshot() {
+        final DataSnapshot dataSnapshot = dataSnapshotToSave.getAndSet(null);
+        if (dataSnapshot != null) {
+            dataSnapshot.save();
+        }
+    }
+
     public OrderedShutdownHook getShutdownHook() {
         return orderedShutdownHook;
     }
@@ -137,13 +151,17 @@ public enum ServerStarter {
         LOGGER.info("Starting Cassandra...");
 
         System.setProperty("cassandra.triggers_dir", triggersDir);
-        System.setProperty("cassandra.embedded.concurrent.reads", parameters.getTypedOr(CASSANDRA_CONCURRENT_READS, 32).toString());
-        System.setProperty("cassandra.embedded.concurrent.writes", parameters.getTypedOr(CASSANDRA_CONCURRENT_WRITES, 32).toString());
+        final boolean testProfile = parameters.getTyped(TEST_PROFILE);
+        final int defaultConcurrency = testProfile ? 4 : 32;
+
+        System.setProperty("cassandra.embedded.concurrent.reads", parameters.getTypedOr(CASSANDRA_CONCURRENT_READS, defaultConcurrency).toString());
+        System.setProperty("cassandra.embedded.concurrent.writes", parameters.getTypedOr(CASSANDRA_CONCURRENT_WRITES, defaultConcurrency).toString());
         System.setProperty("cassandra-foreground", "true");
+        System.setProperty(ACHILLES_EMBEDDED_CASSANDRA_TEST_PROFILE, String.valueOf(testProfile));
 
         final boolean useUnsafeCassandra = parameters.getTyped(USE_UNSAFE_CASSANDRA_DAEMON);
 
-        if (useUnsafeCassandra) {
+        if (useUnsafeCassandra || testProfile) {
             System.setProperty("cassandra-num-tokens", "1");
         }
 
@@ -162,6 +180,9 @@ public enum ServerStarter {
 
             cassandraDaemon.completeSetup();
             cassandraDaemon.activate();
+            if (testProfile) {
+                AutoCompactionDisabler.install();
+            }
             daemonRef.getAndSet(cassandraDaemon);
             startupLatch.countDown();
         });
@@ -199,6 +220,51 @@ public enum ServerStarter {
 
     }
 
+    private void maybeUseTmpfsFolders(TypedMap parameters) {
+        if (!parameters.<Boolean>getTyped(TEST_PROFILE)) {
+            return;
+        }
+        final boolean defaultFolders = ImmutableSet.of(DATA_FILE_FOLDER, COMMIT_LOG_FOLDER, SAVED_CACHES_FOLDER, HINTS_FOLDER)
+                .stream()
+                .allMatch(key -> DEFAULT_ACHILLES_TEST_FOLDERS.contains(parameters.<String>getTyped(key)));
+        final File tmpfs = new File(TEST_PROFILE_TMPFS_FOLDER);
+        if (!defaultFolders || !tmpfs.isDirectory() || !tmpfs.canWrite()) {
+            return;
+        }
+
+        deleteStaleTmpfsFolders(tmpfs);
+        final String processId = ManagementFactory.getRuntimeMXBean().getName().split("@")[0];
+        final File baseFolder = new File(tmpfs, TMPFS_FOLDER_PREFIX + processId);
+        LOGGER.info("Test profile, using tmpfs folder '{}' for embedded Cassandra files", baseFolder.getAbsolutePath());
+        try {
+            for (String key : ImmutableSet.of(DATA_FILE_FOLDER, COMMIT_LOG_FOLDER, SAVED_CACHES_FOLDER, HINTS_FOLDER)) {
+                final File folder = new File(baseFolder, new File(parameters.<String>getTyped(key)).getName());
+                FileUtils.forceMkdir(folder);
+                parameters.put(key, folder.getAbsolutePath());
+            }
+        } catch (IOException e) {
+            throw new AchillesException(String.format("Cannot create tmpfs folder %s", baseFolder.getAbsolutePath()), e);
+        }
+    }
+
+    /**
+     * tmpfs is memory: remove the folders of previous JVMs which are no longer running. They cannot
+     * be removed at shutdown since Cassandra flushes its memtables in its own shutdown hook
+     */
+    private void deleteStaleTmpfsFolders(File tmpfs) {
+        final File[] folders = tmpfs.listFiles((dir, name) -> name.startsWith(TMPFS_FOLDER_PREFIX));
+        if (folders == null || !new File("/proc/self").exists()) {
+            return;
+        }
+        for (File folder : folders) {
+            final String processId = folder.getName().substring(TMPFS_FOLDER_PREFIX.length());
+            if (!new File("/proc", processId).exists()) {
+                LOGGER.info("Deleting stale tmpfs folder '{}'", folder.getAbsolutePath());
+                FileUtils.deleteQuietly(folder);
+            }
+        }
+    }
+
     private void validateDataFolders(Map<String, Object> parameters) {
         final String dataFolder = (String) parameters.get(DATA_FILE_FOLDER);
         final String commitLogFolder = (String) parameters.get(COMMIT_LOG_FOLDER);
@@ -262,6 +328,22 @@ public enum ServerStarter {
         }
     }
 
+    private void maybeRestoreDataSnapshot(TypedMap parameters) {
+        DataSnapshot.fromParameters(parameters).ifPresent(dataSnapshot -> {
+            if (!dataSnapshot.exists()) {
+                LOGGER.info("No data snapshot template '{}' yet, it will be saved once the schema is created",
+                        dataSnapshot.getTemplateFolder().toAbsolutePath());
+                dataSnapshotToSave.set(dataSnapshot);
+            } else if (parameters.<Boolean>getTyped(CLEAN_CASSANDRA_DATA_FILES)) {
+                dataSnapshot.restore();
+                parameters.put(DATA_SNAPSHOT_RESTORED, true);
+            } else {
+                LOGGER.warn("Data snapshot template '{}' ignored because data files are not cleaned at startup",
+                        dataSnapshot.getTemplateFolder().toAbsolutePath());
+            }
+        });
+    }
+
     private void randomizePortsIfNeeded(TypedMap parameters) {
         final Integer thriftPort = extractAndValidatePort(Optional.ofNullable(parameters.get(CASSANDRA_THRIFT_PORT))
                 .orElse(thriftRandomPort()), CASSANDRA_THRIFT_PORT);
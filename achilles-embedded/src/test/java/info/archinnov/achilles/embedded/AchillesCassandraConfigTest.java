@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.embedded;
+
+import static info.archinnov.achilles.embedded.AchillesCassandraConfig.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Properties;
+
+import org.apache.cassandra.config.Config;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class AchillesCassandraConfigTest {
+
+    private Properties systemProperties;
+
+    @Before
+    public void setUp() {
+        systemProperties = (Properties) System.getProperties().clone();
+        System.setProperty(ACHILLES_EMBEDDED_CASSANDRA_THRIFT_PORT, "9160");
+        System.setProperty(ACHILLES_EMBEDDED_CASSANDRA_CQL_PORT, "9042");
+        System.setProperty(ACHILLES_EMBEDDED_CASSANDRA_STORAGE_PORT, "7000");
+        System.setProperty(ACHILLES_EMBEDDED_CASSANDRA_STORAGE_SSL_PORT, "7001");
+        System.setProperty("cassandra.embedded.concurrent.reads", "4");
+        System.setProperty("cassandra.embedded.concurrent.writes", "4");
+    }
+
+    @After
+    public void tearDown() {
+        System.setProperties(systemProperties);
+    }
+
+    @Test
+    public void should_apply_test_profile() throws Exception {
+        //Given
+        System.setProperty(ACHILLES_EMBEDDED_CASSANDRA_TEST_PROFILE, "true");
+
+        //When
+        final Config config = new AchillesCassandraConfig().loadConfig();
+
+        //Then
+        assertThat(config.memtable_heap_space_in_mb).isEqualTo(16);
+        assertThat(config.key_cache_size_in_mb).isEqualTo(0L);
+        assertThat(config.commitlog_sync).isEqualTo(Config.CommitLogSync.periodic);
+        assertThat(config.commitlog_sync_period_in_ms).isEqualTo(60000);
+        assertThat(config.concurrent_compactors).isEqualTo(1);
+        assertThat(config.hinted_handoff_enabled).isFalse();
+    }
+
+    @Test
+    public void should_not_apply_test_profile_by_default() throws Exception {
+        //When
+        final Config config = new AchillesCassandraConfig().loadConfig();
+
+        //Then
+        assertThat(config.memtable_heap_space_in_mb).isEqualTo(64);
+        assertThat(config.key_cache_size_in_mb).isNull();
+        assertThat(config.commitlog_sync_period_in_ms).isEqualTo(10000);
+    }
+}
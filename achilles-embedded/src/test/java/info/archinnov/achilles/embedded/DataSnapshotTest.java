@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.embedded;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import info.archinnov.achilles.type.TypedMap;
+
+public class DataSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void should_change_fingerprint_with_schema_inputs() throws Exception {
+        //Given
+        final TypedMap parameters = CassandraEmbeddedConfigParameters.mergeWithDefaultParameters(new TypedMap());
+        final String defaultFingerprint = DataSnapshot.fingerprint(parameters);
+
+        //When
+        parameters.put(DATA_SNAPSHOT_FINGERPRINT, Arrays.asList("SimpleEntity:123"));
+        final String withEntityFingerprint = DataSnapshot.fingerprint(parameters);
+        parameters.put(DEFAULT_KEYSPACE_NAME, "other_keyspace");
+        final String withOtherKeyspace = DataSnapshot.fingerprint(parameters);
+
+        //Then
+        assertThat(defaultFingerprint).hasSize(64);
+        assertThat(DataSnapshot.fingerprint(CassandraEmbeddedConfigParameters.mergeWithDefaultParameters(new TypedMap())))
+                .isEqualTo(defaultFingerprint);
+        assertThat(withEntityFingerprint).isNotEqualTo(defaultFingerprint);
+        assertThat(withOtherKeyspace).isNotEqualTo(withEntityFingerprint);
+    }
+
+    @Test
+    public void should_copy_snapshot_files_to_template_and_restore_them() throws Exception {
+        //Given
+        final Path dataFolder = folder.newFolder("data").toPath();
+        final Path snapshotFolder = folder.newFolder("snapshots").toPath();
+        final Path tableFolder = dataFolder.resolve("ks").resolve("table-1234");
+        final Path snapshotTableFolder = tableFolder.resolve("snapshots").resolve("achilles_template");
+        Files.createDirectories(snapshotTableFolder.resolve(".table_idx"));
+        Files.write(tableFolder.resolve("mc-1-big-Data.db"), "live".getBytes(UTF_8));
+        Files.write(snapshotTableFolder.resolve("mc-1-big-Data.db"), "data".getBytes(UTF_8));
+        Files.write(snapshotTableFolder.resolve("manifest.json"), "{}".getBytes(UTF_8));
+        Files.write(snapshotTableFolder.resolve(".table_idx").resolve("mc-1-big-Index.db"), "index".getBytes(UTF_8));
+
+        final DataSnapshot dataSnapshot = new DataSnapshot(dataFolder, snapshotFolder, "fingerprint");
+
+        //When
+        dataSnapshot.copySnapshotFiles(dataSnapshot.getTemplateFolder());
+
+        //Then
+        final Path template = snapshotFolder.resolve("fingerprint");
+        assertThat(dataSnapshot.exists()).isTrue();
+        assertThat(new String(Files.readAllBytes(template.resolve("ks/table-1234/mc-1-big-Data.db")), UTF_8)).isEqualTo("data");
+        assertThat(new String(Files.readAllBytes(template.resolve("ks/table-1234/.table_idx/mc-1-big-Index.db")), UTF_8)).isEqualTo("index");
+        assertThat(Files.exists(template.resolve("ks/table-1234/manifest.json"))).isFalse();
+
+        //When
+        final Path restoredDataFolder = folder.newFolder("restored").toPath();
+        new DataSnapshot(restoredDataFolder, snapshotFolder, "fingerprint").restore();
+
+        //Then
+        assertThat(new String(Files.readAllBytes(restoredDataFolder.resolve("ks/table-1234/mc-1-big-Data.db")), UTF_8)).isEqualTo("data");
+        assertThat(Files.exists(restoredDataFolder.resolve("ks/table-1234/.table_idx/mc-1-big-Index.db"))).isTrue();
+    }
+}
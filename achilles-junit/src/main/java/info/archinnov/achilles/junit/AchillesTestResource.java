@@ -20,10 +20,13 @@ import static info.archinnov.achilles.junit.AchillesTestResource.Steps.BOTH;
 import static info.archinnov.achilles.validation.Validator.validateTrue;
 import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 
@@ -33,6 +36,7 @@ import org.slf4j.LoggerFactory;
 
 import com.datastax.driver.core.Cluster;
 import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 
 import info.archinnov.achilles.embedded.CassandraEmbeddedServer;
@@ -96,8 +100,12 @@ public class AchillesTestResource<T extends AbstractManagerFactory> extends Exte
     private static final Logger DML_LOG = LoggerFactory.getLogger(AchillesLoggers.ACHILLES_DML_STATEMENT);
     private static final Map<String, PreparedStatement> TABLES_TO_TRUNCATE = new ConcurrentHashMap<>();
 
+    private static final AtomicLong KEYSPACE_COUNTER = new AtomicLong(0);
+    private static final String KEYSPACE_SUFFIX = UUID.randomUUID().toString().substring(0, 8);
+
     private final TypedMap cassandraParams;
     private final Optional<String> keyspaceName;
+    private final boolean keyspacePerTest;
     private final List<PreparedStatement> truncateStatements;
     private final CassandraEmbeddedServer server;
     private final T managerFactory;
@@ -114,18 +122,44 @@ public class AchillesTestResource<T extends AbstractManagerFactory> extends Exte
                                 Optional<String> keyspaceName, Steps cleanUpSteps, List<String> tablesToTruncate, List<Class<?>> entityClassesToTruncate) {
         this.cassandraParams = cassandraParams;
         this.keyspaceName = keyspaceName;
+        this.keyspacePerTest = false;
         this.steps = cleanUpSteps;
         this.server = buildServer();
         this.session = buildSession(this.server);
         this.scriptExecutor = new ScriptExecutor(this.session);
         this.managerFactory = buildManagerFactory(this.server, managerFactoryBuilder);
+        this.server.saveDataSnapshot();
         this.truncateStatements = determineTableToTruncate(this.managerFactory, this.session, tablesToTruncate, entityClassesToTruncate);
     }
 
+    /**
+     * Test resource with a dedicated keyspace, created for this resource instance and dropped after the test.
+     * The ManagerFactory is built with its own statements cache, tests can run in parallel
+     */
+    public AchillesTestResource(KeyspaceManagerFactoryBuilder<T> managerFactoryBuilder, TypedMap cassandraParams, String keyspacePrefix) {
+        this.cassandraParams = cassandraParams;
+        this.keyspaceName = Optional.of(keyspacePrefix + "_" + KEYSPACE_SUFFIX + "_" + KEYSPACE_COUNTER.incrementAndGet());
+        this.keyspacePerTest = true;
+        this.steps = BOTH;
+        this.server = buildServer();
+        createKeyspace(this.server.getNativeSession(), this.keyspaceName.get());
+        this.session = buildSession(this.server);
+        this.scriptExecutor = new ScriptExecutor(this.session);
+        this.managerFactory = managerFactoryBuilder.build(server.getNativeCluster(), new StatementsCache(1000), keyspaceName.get());
+        this.truncateStatements = new ArrayList<>();
+    }
+
     public Session getNativeSession() {
         return this.session;
     }
 
+    /**
+     * @return keyspace of the native session, the dedicated keyspace in keyspace per test mode
+     */
+    public String getKeyspace() {
+        return this.session.getLoggedKeyspace();
+    }
+
     public ScriptExecutor getScriptExecutor() {
         return this.scriptExecutor;
     }
@@ -141,6 +175,15 @@ public class AchillesTestResource<T extends AbstractManagerFactory> extends Exte
                 .buildServer();
     }
 
+    private void createKeyspace(Session session, String keyspace) {
+        final String query = "CREATE KEYSPACE IF NOT EXISTS " + keyspace
+                + " WITH REPLICATION = {'class':'SimpleStrategy', 'replication_factor':1} AND DURABLE_WRITES=false";
+        if (DML_LOG.isDebugEnabled()) {
+            DML_LOG.debug(query);
+        }
+        session.execute(query);
+    }
+
     private T buildManagerFactory(CassandraEmbeddedServer server, BiFunction<Cluster, StatementsCache, T> managerFactoryBuilder) {
         return managerFactoryBuilder.apply(server.getNativeCluster(), STATEMENTS_CACHE);
     }
@@ -192,18 +235,40 @@ public class AchillesTestResource<T extends AbstractManagerFactory> extends Exte
     }
 
     protected void after() {
-        if (steps.isAfter())
+        if (keyspacePerTest) {
+            dropKeyspace();
+        } else if (steps.isAfter()) {
             truncateTables();
+        }
     }
 
+    /**
+     * Truncate all the tables concurrently and wait for the truncations to complete
+     */
     public void truncateTables() {
-        truncateStatements
-                .forEach(statement -> {
+        final List<ResultSetFuture> futures = truncateStatements
+                .stream()
+                .map(statement -> {
                     if (DML_LOG.isDebugEnabled()) {
                         DML_LOG.debug(statement.getQueryString());
                     }
-                    session.execute(statement.bind());
-                });
+                    return session.executeAsync(statement.bind());
+                })
+                .collect(toList());
+        futures.forEach(ResultSetFuture::getUninterruptibly);
+    }
+
+    private void dropKeyspace() {
+        final String keyspace = keyspaceName.get();
+        if (managerFactory != null) {
+            managerFactory.shutDown();
+        }
+        session.close();
+        final String query = "DROP KEYSPACE IF EXISTS " + keyspace;
+        if (DML_LOG.isDebugEnabled()) {
+            DML_LOG.debug(query);
+        }
+        server.getNativeSession().execute(query);
     }
 
     public enum Steps {
@@ -56,6 +56,8 @@ import info.archinnov.achilles.validation.Validator;
  */
 public class AchillesTestResourceBuilder {
 
+    private static final String KEYSPACE_PER_TEST_PREFIX = "achilles_test";
+
     private Steps cleanupSteps = Steps.BOTH;
     private List<Class<?>> entityClassesToCleanUp = new ArrayList<>();
     private Optional<String> keyspace = Optional.empty();
@@ -63,6 +65,7 @@ public class AchillesTestResourceBuilder {
     private List<String> scriptLocations = new ArrayList<>();
     private Map<String, Map<String, Object>> scriptTemplates = new HashMap<>();
     private List<String> tablesToTruncate = new ArrayList<>();
+    private Optional<String> dataSnapshotFolder = Optional.empty();
 
     private AchillesTestResourceBuilder() {
     }
@@ -175,6 +178,23 @@ public class AchillesTestResourceBuilder {
         return this;
     }
 
+    /**
+     * Start the embedded Cassandra server from a data folder template, see
+     * {@link info.archinnov.achilles.embedded.CassandraEmbeddedServerBuilder#withDataSnapshot(String)}.
+     * <br/>
+     * The template is saved once the ManagerFactory is built, so it also contains the tables created by
+     * <em>doForceSchemaCreation(true)</em>. The DDL scripts of all the entities, views and UDTs
+     * generated on the class path are part of the template fingerprint
+     *
+     * @param snapshotFolder folder storing the data folder templates
+     * @return AchillesTestResourceBuilder
+     */
+    public AchillesTestResourceBuilder withDataSnapshot(String snapshotFolder) {
+        Validator.validateNotBlank(snapshotFolder, "The snapshot folder should not be blank while executing AchillesTestResourceBuilder.withDataSnapshot()");
+        this.dataSnapshotFolder = Optional.of(snapshotFolder.trim());
+        return this;
+    }
+
     /**
      * Truncate tables BEFORE each test
      *
@@ -216,10 +236,49 @@ public class AchillesTestResourceBuilder {
         return new AchillesTestResource<>(managerFactoryBuilder, cassandraParams, keyspace, cleanupSteps, tablesToTruncate, entityClassesToCleanUp);
     }
 
+    /**
+     * Give each test its own keyspace on the shared embedded server, so that tests can run in parallel
+     * <br/>
+     * <br/>
+     * Each AchillesTestResource instance (one per test method with {@literal @}Rule, one per class with {@literal @}ClassRule)
+     * creates a fresh keyspace, builds the ManagerFactory against it with a dedicated statements cache, then shuts
+     * the ManagerFactory down and drops the keyspace after the test(s). The tables and UDTs are created from the entity
+     * meta data by <em>doForceSchemaCreation(true)</em>, no truncation is needed
+     * <pre class="code"><code class="java">
+     * {@literal @}Rule
+     * public AchillesTestResource&lt;ManagerFactory&gt; resource = AchillesTestResourceBuilder
+     * .forJunit()
+     * .buildWithKeyspacePerTest((cluster, statementsCache, keyspace) -> ManagerFactoryBuilder
+     * .builder(cluster)
+     * .doForceSchemaCreation(true)
+     * .withStatementsCache(statementsCache)
+     * .withDefaultKeyspaceName(keyspace)
+     * .build()
+     * );
+     * </code></pre>
+     *
+     * @param managerFactoryBuilder lambda function receiving the dedicated keyspace
+     * @return AchillesTestResource
+     */
+    public <T extends AbstractManagerFactory> AchillesTestResource<T> buildWithKeyspacePerTest(KeyspaceManagerFactoryBuilder<T> managerFactoryBuilder) {
+        final TypedMap cassandraParams = buildCassandraParams();
+        return new AchillesTestResource<>(managerFactoryBuilder, cassandraParams, KEYSPACE_PER_TEST_PREFIX);
+    }
+
     private TypedMap buildCassandraParams() {
         cassandraParams.put(SCRIPT_LOCATIONS, scriptLocations);
         cassandraParams.put(SCRIPT_TEMPLATES, scriptTemplates);
         cassandraParams.put(USE_UNSAFE_CASSANDRA_DAEMON, false);
+        dataSnapshotFolder.ifPresent(folder -> {
+            cassandraParams.put(DATA_SNAPSHOT_FOLDER, folder);
+            cassandraParams.put(DATA_SNAPSHOT_FINGERPRINT, GeneratedSchema.generate(schemaClassLoader(),
+                    keyspace.orElse(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)));
+        });
         return cassandraParams;
     }
+
+    private static ClassLoader schemaClassLoader() {
+        final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+        return contextClassLoader != null ? contextClassLoader : AchillesTestResourceBuilder.class.getClassLoader();
+    }
 }
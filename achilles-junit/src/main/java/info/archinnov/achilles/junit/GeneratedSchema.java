@@ -0,0 +1,135 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.junit;
+
+import static info.archinnov.achilles.internals.parser.TypeUtils.ENTITY_META_PACKAGE;
+import static info.archinnov.achilles.internals.parser.TypeUtils.UDT_META_PACKAGE;
+import static java.lang.String.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ProtocolVersion;
+
+import info.archinnov.achilles.exception.AchillesException;
+import info.archinnov.achilles.internals.factory.TupleTypeFactory;
+import info.archinnov.achilles.internals.factory.UserTypeFactory;
+import info.archinnov.achilles.internals.metamodel.AbstractEntityProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractUDTClassProperty;
+import info.archinnov.achilles.internals.metamodel.AbstractViewProperty;
+import info.archinnov.achilles.internals.schema.SchemaContext;
+
+/**
+ * DDL scripts of all the UDT, entity and view meta classes generated on the class path, sorted by class name.
+ * <br/>
+ * The metas are instantiated without any Cassandra session, like the <em>achilles-schema-generator</em> does,
+ * so the scripts are available before the embedded server starts
+ */
+public final class GeneratedSchema {
+
+    private GeneratedSchema() {
+    }
+
+    public static List<String> generate(ClassLoader classLoader, String keyspace) {
+        final CodecRegistry codecRegistry = new CodecRegistry();
+        final UserTypeFactory userTypeFactory = new UserTypeFactory(ProtocolVersion.NEWEST_SUPPORTED, codecRegistry);
+        final TupleTypeFactory tupleTypeFactory = new TupleTypeFactory(ProtocolVersion.NEWEST_SUPPORTED, codecRegistry);
+        final SchemaContext context = new SchemaContext(keyspace, true, true);
+        final List<String> scripts = new ArrayList<>();
+
+        for (AbstractUDTClassProperty<?> udtMeta : instantiate(classLoader, UDT_META_PACKAGE, AbstractUDTClassProperty.class)) {
+            udtMeta.injectKeyspace(keyspace);
+            udtMeta.inject(userTypeFactory, tupleTypeFactory);
+            scripts.add(udtMeta.generateSchema(context));
+        }
+
+        final List<AbstractEntityProperty> entityMetas = instantiate(classLoader, ENTITY_META_PACKAGE, AbstractEntityProperty.class);
+        final Map<Class<?>, AbstractEntityProperty<?>> tables = new HashMap<>();
+        for (AbstractEntityProperty<?> entityMeta : entityMetas) {
+            entityMeta.injectKeyspace(keyspace);
+            entityMeta.inject(userTypeFactory, tupleTypeFactory);
+            if (entityMeta.isTable()) {
+                tables.put(entityMeta.entityClass, entityMeta);
+            }
+        }
+        for (AbstractEntityProperty<?> entityMeta : entityMetas) {
+            if (entityMeta.isView()) {
+                final AbstractViewProperty<?> viewMeta = (AbstractViewProperty<?>) entityMeta;
+                viewMeta.setBaseClassProperty(tables.get(viewMeta.getBaseEntityClass()));
+            }
+            scripts.add(entityMeta.generateSchema(context));
+        }
+        return scripts;
+    }
+
+    private static <T> List<T> instantiate(ClassLoader classLoader, String packageName, Class<T> metaType) {
+        final List<T> metas = new ArrayList<>();
+        for (String className : findClassNames(classLoader, packageName)) {
+            try {
+                final Class<?> clazz = Class.forName(className, true, classLoader);
+                if (metaType.isAssignableFrom(clazz) && !Modifier.isAbstract(clazz.getModifiers())) {
+                    metas.add(metaType.cast(clazz.newInstance()));
+                }
+            } catch (ClassNotFoundException | InstantiationException | IllegalAccessException e) {
+                throw new AchillesException(format("Cannot instantiate the generated meta class '%s'", className), e);
+            }
+        }
+        return metas;
+    }
+
+    private static SortedSet<String> findClassNames(ClassLoader classLoader, String packageName) {
+        final String path = packageName.replace('.', '/');
+        final SortedSet<String> classNames = new TreeSet<>();
+        try {
+            final Enumeration<URL> urls = classLoader.getResources(path);
+            while (urls.hasMoreElements()) {
+                final URL url = urls.nextElement();
+                if ("file".equals(url.getProtocol())) {
+                    final String[] fileNames = new File(url.toURI()).list();
+                    for (String fileName : fileNames == null ? new String[0] : fileNames) {
+                        addClassName(classNames, packageName, fileName);
+                    }
+                } else if ("jar".equals(url.getProtocol())) {
+                    final JarFile jarFile = ((JarURLConnection) url.openConnection()).getJarFile();
+                    for (JarEntry entry : Collections.list(jarFile.entries())) {
+                        final String entryName = entry.getName();
+                        if (entryName.startsWith(path + "/") && entryName.indexOf('/', path.length() + 1) < 0) {
+                            addClassName(classNames, packageName, entryName.substring(path.length() + 1));
+                        }
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new AchillesException(format("Cannot list the generated meta classes of package '%s'", packageName), e);
+        }
+        return classNames;
+    }
+
+    private static void addClassName(Set<String> classNames, String packageName, String fileName) {
+        if (fileName.endsWith(".class") && !fileName.contains("$")) {
+            classNames.add(packageName + "." + fileName.substring(0, fileName.length() - ".class".length()));
+        }
+    }
+}
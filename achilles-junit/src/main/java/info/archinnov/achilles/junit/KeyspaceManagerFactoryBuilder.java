@@ -0,0 +1,33 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.junit;
+
+import com.datastax.driver.core.Cluster;
+
+import info.archinnov.achilles.internals.cache.StatementsCache;
+import info.archinnov.achilles.internals.runtime.AbstractManagerFactory;
+
+/**
+ * Build a ManagerFactory bound to the keyspace dedicated to the current test
+ *
+ * @see AchillesTestResourceBuilder#buildWithKeyspacePerTest(KeyspaceManagerFactoryBuilder)
+ */
+@FunctionalInterface
+public interface KeyspaceManagerFactoryBuilder<T extends AbstractManagerFactory> {
+
+    T build(Cluster cluster, StatementsCache statementsCache, String keyspace);
+}
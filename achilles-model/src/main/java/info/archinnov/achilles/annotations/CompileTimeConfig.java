@@ -19,6 +19,7 @@ package info.archinnov.achilles.annotations;
 import java.lang.annotation.*;
 
 import info.archinnov.achilles.type.CassandraVersion;
+import info.archinnov.achilles.type.QueryLintLevel;
 import info.archinnov.achilles.type.strategy.ColumnMappingStrategy;
 import info.archinnov.achilles.type.strategy.InsertStrategy;
 import info.archinnov.achilles.type.strategy.NamingStrategy;
@@ -41,6 +42,7 @@ import info.archinnov.achilles.type.strategy.NamingStrategy;
  *     See <a target="_blank" href="https://github.com/doanduyhai/Achilles/wiki/Compile-Time-Config"> for more details</li>
  *     <li><em>projectName()</em>: optionally the name of your project in the context of multi-project support.
  *     See <a target="_blank" href="https://github.com/doanduyhai/Achilles/wiki/Multi-Project-Support"> for more details</li>
+ *     <li><em>queryLint()</em>: how the generated DSL methods producing multi-partition queries are flagged, default = {@link info.archinnov.achilles.type.QueryLintLevel}.NONE</li>
  * </ul>
  * <br/>
  * See <a target="_blank" href="https://github.com/doanduyhai/Achilles/wiki/Compile-Time-Config">Configuring Achilles at compile time</a> for further details
@@ -79,4 +81,11 @@ public @interface CompileTimeConfig {
      * See <a target="_blank" href="https://github.com/doanduyhai/Achilles/wiki/Multi-Project-Support"> for more details
      */
     String projectName() default "";
+
+    /**
+     * Define how the generated DSL methods producing multi-partition queries (SELECT without WHERE clause,
+     * partition key IN, secondary index with ALLOW FILTERING) are flagged, default = {@link info.archinnov.achilles.type.QueryLintLevel}.NONE.
+     * With {@link info.archinnov.achilles.type.QueryLintLevel}.DEPRECATE, each call site triggers a deprecation warning at compile time
+     */
+    QueryLintLevel queryLint() default QueryLintLevel.NONE;
 }
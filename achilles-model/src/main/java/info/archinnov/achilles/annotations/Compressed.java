@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Annotation to makes <strong>Achilles</strong> compress the column value on the client side before sending it to Cassandra.
+ * The value is saved in a <strong>blob</strong> column. Examples:
+ * <pre class="code"><code class="java">
+
+ * {@literal @}Column
+ * <strong>{@literal @}Compressed</strong>
+ * private String largeDocument;
+
+ * {@literal @}Column
+ * <strong>{@literal @}Compressed(algorithm = Algorithm.DEFLATE, minSize = 4096)</strong>
+ * private byte[] largeBinary;
+ * </code></pre>
+
+ * The field should be of type <strong>String</strong>, <strong>byte[]</strong>, <strong>ByteBuffer</strong> or use
+ * a codec (<strong>{@literal @}JSON</strong>, <strong>{@literal @}Codec</strong>, <strong>{@literal @}RuntimeCodec</strong>) whose
+ * target type is <strong>String</strong> or <strong>ByteBuffer</strong>
+ * <br/>
+ * <br/>
+ * Each value is prefixed with a small header recording the algorithm used. Values smaller than <strong>minSize</strong>
+ * bytes or which do not shrink are stored uncompressed. Changing the algorithm later on is safe, existing values can still
+ * be read
+ *
+ * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Entity-Mapping#field-mapping" target="_blank">Field Mapping</a>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD})
+@Documented
+public @interface Compressed {
+
+    /**
+     * (<strong>Optional</strong>) The compression algorithm. Default value is <strong>Algorithm.LZ4</strong>
+     * <br/>
+     * <br/>
+     * <strong>Algorithm.LZ4</strong> requires the <em>net.jpountz.lz4:lz4</em> library on the classpath and
+     * <strong>Algorithm.ZSTD</strong> the <em>com.github.luben:zstd-jni</em> library. <strong>Algorithm.DEFLATE</strong>
+     * only relies on the JDK
+     */
+    Algorithm algorithm() default Algorithm.LZ4;
+
+    /**
+     * (<strong>Optional</strong>) The minimum size in bytes of a value before it gets compressed. Default value is <strong>1024</strong>
+     */
+    int minSize() default 1024;
+
+    enum Algorithm {
+        LZ4, ZSTD, DEFLATE
+    }
+}
@@ -41,4 +41,26 @@ import java.lang.annotation.*;
 @Target({ElementType.FIELD, ElementType.TYPE_USE})
 @Documented
 public @interface JSON {
+
+    /**
+     * (<strong>Optional</strong>) The serialization format. Default value is <strong>Format.TEXT</strong> e.g. the object
+     * is serialized as a JSON string and saved in a <strong>text</strong> column.
+     * <br/>
+     * <br/>
+     * Alternatively it is possible to use the binary JSON formats <strong>Format.SMILE</strong> or <strong>Format.CBOR</strong>.
+     * In this case the object is saved in a <strong>blob</strong> column, which is smaller and faster to parse for big
+     * nested payloads
+
+     * <pre class="code"><code class="java">
+
+     * {@literal @}Column
+     * {@literal @}JSON(format = <strong>Format.SMILE</strong>)
+     * private MyObject myPojo;
+     * </code></pre>
+     */
+    Format format() default Format.TEXT;
+
+    enum Format {
+        TEXT, SMILE, CBOR
+    }
 }
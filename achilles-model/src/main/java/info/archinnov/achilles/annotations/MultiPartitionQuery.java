@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Annotation set by <strong>Achilles</strong> on the generated DSL methods which produce a query
+ * hitting more than one partition, when {@link CompileTimeConfig#queryLint()} is not NONE
+ * <pre class="code"><code class="java">
+
+ * <strong>{@literal @}MultiPartitionQuery("SELECT without WHERE clause scans the whole table")</strong>
+ * public final User_SelectEnd without_WHERE_Clause() {...}
+
+ * </code></pre>
+ *
+ * @see <a href="https://github.com/doanduyhai/Achilles/wiki/Compile-Time-Config" target="_blank">Compile Time Config</a>
+ */
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+@Documented
+public @interface MultiPartitionQuery {
+
+    /**
+     * Why the query hits more than one partition
+     */
+    String value();
+}
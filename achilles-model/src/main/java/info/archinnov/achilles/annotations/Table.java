@@ -60,4 +60,18 @@ public @interface Table {
      * </code></pre>
      */
     String table() default "";
+
+    /**
+     * (<strong>Optional</strong>) The name of the bulkhead whose executor runs the asynchronous callbacks
+     * (interceptors, row listeners ...) of this entity, isolating it from the other entities.
+     * The executor of a bulkhead is provided with <em>withBulkheadExecutorService()</em> at bootstrap,
+     * otherwise <strong>Achilles</strong> creates a work-stealing pool for it
+     * <br/>
+     * <pre class="code"><code class="java">
+
+     * <strong>{@literal @}Table(table = "audit_log", bulkhead = "audit")</strong>
+     * public class AuditLogEntity {...}
+     * </code></pre>
+     */
+    String bulkhead() default "";
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type;
+
+/**
+ * Define how <strong>Achilles</strong> flags the generated DSL methods that produce a multi-partition query:
+ * <br/>
+ * <ul>
+ *     <li>SELECT ... <strong>without</strong> the WHERE clause (full table scan)</li>
+ *     <li>SELECT ... WHERE partition_key <strong>IN</strong> ...</li>
+ *     <li>SELECT ... on secondary index, issued with <strong>ALLOW FILTERING</strong></li>
+ * </ul>
+ */
+public enum QueryLintLevel {
+    /**
+     * The generated methods are not flagged
+     */
+    NONE,
+    /**
+     * The generated methods are annotated with {@link info.archinnov.achilles.annotations.MultiPartitionQuery}
+     */
+    ANNOTATE,
+    /**
+     * The generated methods are annotated with {@link info.archinnov.achilles.annotations.MultiPartitionQuery}
+     * and {@literal @}Deprecated so that the Java compiler emits a warning at each call site
+     */
+    DEPRECATE
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.type.strategy;
+
+/**
+
+ * Define which statements <strong>Achilles</strong> flags as idempotent for the Java driver.
+ * Only idempotent statements are eligible for speculative executions and for safe retries on another host.
+ * <br/>
+ * <br/>
+ * Idempotence is inferred from the meta model: plain SELECT, full-row INSERT and DELETE are idempotent.
+ * Counter increment/decrement, list append/prepend, set/remove at index and all lightweight transactions are not.
+ * An explicit <em>withIdempotent()</em> on the statement options always takes precedence.
+ * <br/>
+ * <br/>
+ * Available values are :
+ * <ul>
+ * <li>{@code info.archinnov.achilles.type.strategy.SpeculativeExecutionStrategy.NONE}: nothing is inferred, the driver default applies</li>
+ * <li>{@code info.archinnov.achilles.type.strategy.SpeculativeExecutionStrategy.READS_ONLY}: only SELECT statements are flagged idempotent, mutations are flagged non idempotent</li>
+ * <li>{@code info.archinnov.achilles.type.strategy.SpeculativeExecutionStrategy.ALL_IDEMPOTENT}: every statement is flagged with its inferred idempotence</li>
+ * </ul>
+ * <br/>
+ * Default value = {@code info.archinnov.achilles.type.strategy.SpeculativeExecutionStrategy.NONE}
+ */
+public enum SpeculativeExecutionStrategy {
+    NONE, READS_ONLY, ALL_IDEMPOTENT;
+}
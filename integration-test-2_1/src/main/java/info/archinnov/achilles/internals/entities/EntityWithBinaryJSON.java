@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.entities;
+
+import java.util.List;
+import java.util.Map;
+
+import info.archinnov.achilles.annotations.*;
+
+@Table(table = EntityWithBinaryJSON.TABLE)
+public class EntityWithBinaryJSON {
+
+    public static final String TABLE = "entity_binary_json";
+
+    @PartitionKey
+    private Long id;
+
+    @JSON(format = JSON.Format.SMILE)
+    @Column
+    private Map<String, List<Integer>> smileMap;
+
+    @Column
+    private List<@JSON(format = JSON.Format.CBOR) Map<String, Integer>> cborList;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Map<String, List<Integer>> getSmileMap() {
+        return smileMap;
+    }
+
+    public void setSmileMap(Map<String, List<Integer>> smileMap) {
+        this.smileMap = smileMap;
+    }
+
+    public List<Map<String, Integer>> getCborList() {
+        return cborList;
+    }
+
+    public void setCborList(List<Map<String, Integer>> cborList) {
+        this.cborList = cborList;
+    }
+}
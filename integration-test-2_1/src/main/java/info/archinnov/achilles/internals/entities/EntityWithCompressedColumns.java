@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.internals.entities;
+
+import java.util.Map;
+
+import info.archinnov.achilles.annotations.*;
+
+@Table(table = EntityWithCompressedColumns.TABLE)
+public class EntityWithCompressedColumns {
+
+    public static final String TABLE = "entity_compressed_columns";
+
+    @PartitionKey
+    private Long id;
+
+    @Compressed
+    @Column
+    private String text;
+
+    @Compressed(algorithm = Compressed.Algorithm.DEFLATE, minSize = 128)
+    @Column
+    private byte[] binary;
+
+    @Compressed(algorithm = Compressed.Algorithm.LZ4, minSize = 0)
+    @JSON(format = JSON.Format.SMILE)
+    @Column
+    private Map<String, String> smileMap;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public byte[] getBinary() {
+        return binary;
+    }
+
+    public void setBinary(byte[] binary) {
+        this.binary = binary;
+    }
+
+    public Map<String, String> getSmileMap() {
+        return smileMap;
+    }
+
+    public void setSmileMap(Map<String, String> smileMap) {
+        this.smileMap = smileMap;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import info.archinnov.achilles.async.BulkheadOperation;
+import info.archinnov.achilles.async.BulkheadStats;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestBulkheads {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withOperationBulkhead(BulkheadOperation.READ, "reads")
+                    .withOperationBulkhead(BulkheadOperation.WRITE, "writes")
+                    .withBulkheadDefaultParallelism(2)
+                    .build());
+
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_complete_reads_and_writes_on_their_bulkhead() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+        final AtomicReference<String> readThread = new AtomicReference<>();
+
+        //When
+        manager.crud().insert(new SimpleEntity(id, date, "value")).execute();
+        final SimpleEntity found = manager.crud().findById(id, date)
+                .withResultSetAsyncListener(rs -> {
+                    readThread.set(Thread.currentThread().getName());
+                    return rs;
+                })
+                .get();
+
+        //Then
+        assertThat(found.getValue()).isEqualTo("value");
+        assertThat(readThread.get()).startsWith("achilles-bulkhead-reads-");
+
+        final BulkheadStats reads = resource.getManagerFactory().bulkheadStats().get("reads");
+        final BulkheadStats writes = resource.getManagerFactory().bulkheadStats().get("writes");
+        assertThat(reads.getCompletedCount()).isGreaterThanOrEqualTo(1L);
+        assertThat(writes.getCompletedCount()).isGreaterThanOrEqualTo(1L);
+        assertThat(reads.getRejectedCount()).isEqualTo(0L);
+    }
+}
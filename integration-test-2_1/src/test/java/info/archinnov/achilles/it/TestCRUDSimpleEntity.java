@@ -46,6 +46,7 @@ import com.google.common.collect.Sets;
 import info.archinnov.achilles.generated.ManagerFactory;
 import info.archinnov.achilles.generated.ManagerFactoryBuilder;
 import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.cache.StatementsCache;
 import info.archinnov.achilles.internals.entities.SimpleEntity;
 import info.archinnov.achilles.internals.dsl.crud.DeleteByPartitionWithOptions;
 import info.archinnov.achilles.internals.dsl.crud.DeleteWithOptions;
@@ -305,6 +306,39 @@ public class TestCRUDSimpleEntity {
         assertThat(row.getString("value")).isEqualTo("value_tenant3");
     }
 
+    @Test
+    public void should_find_with_schema_name_provider_from_schema_name_cache() throws Exception {
+        //Given
+        final String tableName = "simple_find_with_schema_name";
+        scriptExecutor.executeScriptTemplate("SimpleEntity/create_simple_mirror_table.cql", ImmutableMap.of("table", tableName));
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = buildDateKey();
+        final SchemaNameProvider provider = new SchemaNameProvider() {
+            @Override
+            public <T> String keyspaceFor(Class<T> entityClass) {
+                return DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+            }
+
+            @Override
+            public <T> String tableNameFor(Class<T> entityClass) {
+                return tableName;
+            }
+        };
+        manager.crud().insert(new SimpleEntity(id, date, "value_tenant4")).withSchemaNameProvider(provider).execute();
+        final StatementsCache statementsCache = resource.getManagerFactory().statementsCache();
+        final long hitCount = statementsCache.getSchemaNameCacheStats().hitCount();
+
+        //When
+        final SimpleEntity found1 = manager.crud().findById(id, date).withSchemaNameProvider(provider).get();
+        final SimpleEntity found2 = manager.crud().findById(id, date).withSchemaNameProvider(provider).get();
+
+        //Then
+        assertThat(found1.getValue()).isEqualTo("value_tenant4");
+        assertThat(found2.getValue()).isEqualTo("value_tenant4");
+        assertThat(statementsCache.getCachedSchemaNames()).contains(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME);
+        assertThat(statementsCache.getSchemaNameCacheStats().hitCount()).isEqualTo(hitCount + 2);
+    }
+
     @Test
     public void should_find_by_id() throws Exception {
         //Given
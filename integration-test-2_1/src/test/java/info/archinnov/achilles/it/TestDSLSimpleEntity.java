@@ -47,12 +47,14 @@ import info.archinnov.achilles.generated.dsl.SimpleEntity_Update;
 import info.archinnov.achilles.generated.function.SystemFunctions;
 import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
 import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.internals.runtime.AdaptiveFetchSize;
 import info.archinnov.achilles.it.utils.CassandraLogAsserter;
 import info.archinnov.achilles.junit.AchillesTestResource;
 import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
 import info.archinnov.achilles.script.ScriptExecutor;
 import info.archinnov.achilles.type.SchemaNameProvider;
 import info.archinnov.achilles.type.lightweighttransaction.LWTResultListener;
+import info.archinnov.achilles.type.strategy.SpeculativeExecutionStrategy;
 import info.archinnov.achilles.type.tuples.Tuple2;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -70,6 +72,7 @@ public class TestDSLSimpleEntity {
                 .doForceSchemaCreation(true)
                 .withStatementsCache(statementsCache)
                 .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .withDefaultSpeculativeExecutionStrategy(SpeculativeExecutionStrategy.ALL_IDEMPOTENT)
             .build());
 
     private Session session = resource.getNativeSession();
@@ -447,6 +450,51 @@ public class TestDSLSimpleEntity {
         assertThat(iterator.hasNext()).isFalse();
     }
 
+    @Test
+    public void should_dsl_select_with_adaptive_fetch_size() throws Exception {
+        //Given
+        final Map<String, Object> values = new HashMap<>();
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        values.put("id", id);
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss z");
+        dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
+        values.put("date1", "'2015-10-01 00:00:00+0000'");
+        values.put("date2", "'2015-10-02 00:00:00+0000'");
+        values.put("date3", "'2015-10-03 00:00:00+0000'");
+        values.put("date4", "'2015-10-04 00:00:00+0000'");
+        values.put("date5", "'2015-10-05 00:00:00+0000'");
+        values.put("date6", "'2015-10-06 00:00:00+0000'");
+        values.put("date7", "'2015-10-07 00:00:00+0000'");
+        values.put("date8", "'2015-10-08 00:00:00+0000'");
+        values.put("date9", "'2015-10-09 00:00:00+0000'");
+        scriptExecutor.executeScriptTemplate("SimpleEntity/insert_many_rows.cql", values);
+        final AdaptiveFetchSize adaptiveFetchSize = resource.getManagerFactory().adaptiveFetchSize();
+        final Date date1 = dateFormat.parse("2015-10-01 00:00:00 GMT");
+        final Date date9 = dateFormat.parse("2015-10-09 00:00:00 GMT");
+
+        final SimpleEntity_Select.SimpleEntity_SelectEnd dsl = manager
+                .dsl()
+                .select()
+                .allColumns_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .date().Gte_And_Lte(date1, date9)
+                .withAdaptiveFetchSize();
+
+        //When
+        final List<SimpleEntity> firstRun = dsl.getList();
+        final String queryString = dsl.getStatementAsString();
+        final double averageRowSize = adaptiveFetchSize.getAverageRowSizeInBytes(queryString).get();
+        final Iterator<SimpleEntity> secondRun = dsl.iterator();
+        while (secondRun.hasNext()) secondRun.next();
+
+        //Then
+        assertThat(firstRun).hasSize(9);
+        assertThat(averageRowSize).isGreaterThan(0d);
+        assertThat(adaptiveFetchSize.getStatistics().get(queryString).getObservedRowCount()).isEqualTo(18L);
+        assertThat(adaptiveFetchSize.fetchSizeFor(queryString)).isEqualTo(adaptiveFetchSize.getMaxFetchSize());
+    }
+
     @Test
     public void should_dsl_delete() throws Exception {
         //Given
@@ -1272,6 +1320,96 @@ public class TestDSLSimpleEntity {
         assertThat(dsl.generateAndGetBoundStatement().preparedStatement().getQueryString()).isEqualTo(expectedQuery);
     }
 
+    @Test
+    public void should_dsl_infer_idempotence_from_meta_model() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = buildDateKey();
+
+        //When
+        final BoundStatement select = manager
+                .dsl()
+                .select()
+                .value()
+                .fromBaseTable()
+                .where()
+                .id().Eq(id)
+                .date().Eq(date)
+                .generateAndGetBoundStatement();
+
+        final BoundStatement update = manager
+                .dsl()
+                .update()
+                .fromBaseTable()
+                .value().Set("new value")
+                .simpleSet().AddTo(3.0)
+                .where()
+                .id().Eq(id)
+                .date().Eq(date)
+                .generateAndGetBoundStatement();
+
+        final BoundStatement appendUpdate = manager
+                .dsl()
+                .update()
+                .fromBaseTable()
+                .consistencyList().AppendTo(ALL)
+                .where()
+                .id().Eq(id)
+                .date().Eq(date)
+                .generateAndGetBoundStatement();
+
+        final BoundStatement setAtIndexUpdate = manager
+                .dsl()
+                .update()
+                .fromBaseTable()
+                .consistencyList().SetAtIndex(0, ALL)
+                .where()
+                .id().Eq(id)
+                .date().Eq(date)
+                .generateAndGetBoundStatement();
+
+        final BoundStatement lwtUpdate = manager
+                .dsl()
+                .update()
+                .fromBaseTable()
+                .value().Set("new value")
+                .where()
+                .id().Eq(id)
+                .date().Eq(date)
+                .ifExists()
+                .generateAndGetBoundStatement();
+
+        final BoundStatement forcedSelect = manager
+                .dsl()
+                .select()
+                .value()
+                .fromBaseTable()
+                .where()
+                .id().Eq(id)
+                .date().Eq(date)
+                .isIdempotent(false)
+                .generateAndGetBoundStatement();
+
+        final BoundStatement delete = manager
+                .dsl()
+                .delete()
+                .value()
+                .fromBaseTable()
+                .where()
+                .id().Eq(id)
+                .date().Eq(date)
+                .generateAndGetBoundStatement();
+
+        //Then
+        assertThat(select.isIdempotent()).isTrue();
+        assertThat(update.isIdempotent()).isTrue();
+        assertThat(appendUpdate.isIdempotent()).isFalse();
+        assertThat(setAtIndexUpdate.isIdempotent()).isFalse();
+        assertThat(lwtUpdate.isIdempotent()).isFalse();
+        assertThat(forcedSelect.isIdempotent()).isFalse();
+        assertThat(delete.isIdempotent()).isTrue();
+    }
+
     private Date buildDateKey() throws ParseException {
         SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss z");
         dateFormat.setTimeZone(TimeZone.getTimeZone("GMT"));
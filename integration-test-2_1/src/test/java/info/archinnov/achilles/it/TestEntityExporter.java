@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.Session;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import info.archinnov.achilles.bulk.EntityExporter;
+import info.archinnov.achilles.bulk.ExportFormat;
+import info.archinnov.achilles.bulk.ExportStats;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestEntityExporter {
+
+    private static final int PARTITIONS = 50;
+    private static final int ROWS_PER_PARTITION = 3;
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Session session = resource.getNativeSession();
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+    private ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void should_export_all_rows_to_ndjson_and_csv() throws Exception {
+        //Given
+        insertRows();
+        final Path directory = folder.getRoot().toPath();
+
+        //When
+        final ExportStats stats = EntityExporter
+                .builder(session, manager.meta)
+                .withOutputDirectory(directory)
+                .withFormat(ExportFormat.BOTH)
+                .withSplits(8)
+                .withThreads(3)
+                .withFetchSize(7)
+                .withCheckpointInterval(5)
+                .build()
+                .export();
+
+        //Then
+        assertThat(stats.getRows()).isEqualTo(PARTITIONS * ROWS_PER_PARTITION);
+        assertThat(stats.getExportedSplits()).isEqualTo(8);
+        assertThat(stats.getBytes()).isGreaterThan(0L);
+
+        final List<JsonNode> records = readNdjson(directory);
+        assertThat(records).hasSize(PARTITIONS * ROWS_PER_PARTITION);
+        final Set<String> keys = new HashSet<>();
+        for (JsonNode record : records) {
+            final long id = record.get("id").asLong();
+            final long date = record.get("date").asLong();
+            keys.add(id + ":" + date);
+            assertThat(record.get("value").asText()).isEqualTo("value_" + id + "_" + date);
+        }
+        assertThat(keys).hasSize(PARTITIONS * ROWS_PER_PARTITION);
+
+        final List<String> csvLines = readCsvLines(directory);
+        assertThat(csvLines).hasSize(PARTITIONS * ROWS_PER_PARTITION);
+        assertThat(Files.readAllLines(directory.resolve("simple-0000.csv"), UTF_8).get(0))
+                .isEqualTo("id,date,consistencylist,simplemap,simpleset,value");
+    }
+
+    @Test
+    public void should_skip_completed_splits_when_resuming() throws Exception {
+        //Given
+        insertRows();
+        final Path directory = folder.getRoot().toPath();
+        final EntityExporter<SimpleEntity> exporter = EntityExporter
+                .builder(session, manager.meta)
+                .withOutputDirectory(directory)
+                .withSplits(4)
+                .withThreads(2)
+                .resumeFromCheckpoints()
+                .build();
+        exporter.export();
+        Files.delete(directory.resolve("simple-0002.checkpoint"));
+
+        //When
+        final ExportStats stats = exporter.export();
+
+        //Then
+        assertThat(stats.getExportedSplits()).isEqualTo(1);
+        assertThat(stats.getSkippedSplits()).isEqualTo(3);
+        assertThat(readNdjson(directory)).hasSize(PARTITIONS * ROWS_PER_PARTITION);
+    }
+
+    @Test
+    public void should_throttle_export() throws Exception {
+        //Given
+        insertRows();
+
+        //When
+        final ExportStats stats = EntityExporter
+                .builder(session, manager.meta)
+                .withOutputDirectory(folder.getRoot().toPath())
+                .withFormat(ExportFormat.CSV)
+                .withSplits(2)
+                .withMaxRowsPerSecond(300)
+                .build()
+                .export();
+
+        //Then
+        assertThat(stats.getRows()).isEqualTo(PARTITIONS * ROWS_PER_PARTITION);
+        assertThat(stats.rowsPerSecond()).isLessThan(400d);
+    }
+
+    private void insertRows() {
+        for (long id = 1; id <= PARTITIONS; id++) {
+            for (long date = 1; date <= ROWS_PER_PARTITION; date++) {
+                manager.crud().insert(new SimpleEntity(id, new Date(date), "value_" + id + "_" + date)).execute();
+            }
+        }
+    }
+
+    private List<JsonNode> readNdjson(Path directory) throws IOException {
+        final List<JsonNode> records = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(x -> x.toString().endsWith(".ndjson"))::iterator) {
+                for (String line : Files.readAllLines(file, UTF_8)) {
+                    records.add(mapper.readTree(line));
+                }
+            }
+        }
+        return records;
+    }
+
+    private List<String> readCsvLines(Path directory) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(x -> x.toString().endsWith(".csv"))::iterator) {
+                final List<String> fileLines = Files.readAllLines(file, UTF_8);
+                lines.addAll(fileLines.subList(1, fileLines.size()));
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Session;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+
+import info.archinnov.achilles.bulk.EntityExporter;
+import info.archinnov.achilles.bulk.EntityImporter;
+import info.archinnov.achilles.bulk.ExportFormat;
+import info.archinnov.achilles.bulk.ImportStats;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestEntityImporter {
+
+    private static final int PARTITIONS = 40;
+    private static final int ROWS_PER_PARTITION = 5;
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Session session = resource.getNativeSession();
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_reload_ndjson_export() throws Exception {
+        //Given
+        final Path directory = exportThenTruncate(ExportFormat.NDJSON);
+
+        //When
+        final ImportStats stats = EntityImporter
+                .builder(session, manager.meta)
+                .withInputFiles(filesWithExtension(directory, ".ndjson"))
+                .withThreads(3)
+                .withBatchSize(4)
+                .withMaxInFlightRequests(8)
+                .withSegmentSize(1024)
+                .build()
+                .importFiles();
+
+        //Then
+        assertThat(stats.getRecords()).isEqualTo(PARTITIONS * ROWS_PER_PARTITION);
+        assertThat(stats.getWritten()).isEqualTo(PARTITIONS * ROWS_PER_PARTITION);
+        assertThat(stats.getRejected()).isEqualTo(0L);
+        assertThat(stats.getBatches()).isLessThan(PARTITIONS * ROWS_PER_PARTITION);
+        assertReloadedRows();
+    }
+
+    @Test
+    public void should_reload_csv_export() throws Exception {
+        //Given
+        final Path directory = exportThenTruncate(ExportFormat.CSV);
+
+        //When
+        final ImportStats stats = EntityImporter
+                .builder(session, manager.meta)
+                .withInputFiles(filesWithExtension(directory, ".csv"))
+                .withThreads(2)
+                .withMaxRecordsPerSecond(1000)
+                .build()
+                .importFiles();
+
+        //Then
+        assertThat(stats.getWritten()).isEqualTo(PARTITIONS * ROWS_PER_PARTITION);
+        assertReloadedRows();
+    }
+
+    @Test
+    public void should_write_rejected_records_to_error_file() throws Exception {
+        //Given
+        final Path input = folder.newFile("input.ndjson").toPath();
+        final Path errorFile = folder.getRoot().toPath().resolve("errors.ndjson");
+        Files.write(input, Arrays.asList(
+                "{\"id\":1,\"date\":1,\"value\":\"ok\"}",
+                "{\"id\":\"not a number\",\"date\":1,\"value\":\"bad id\"}",
+                "{\"date\":1,\"value\":\"no partition key\"}",
+                "{broken json"), UTF_8);
+
+        //When
+        final ImportStats stats = EntityImporter
+                .builder(session, manager.meta)
+                .withInputFiles(input)
+                .withErrorFile(errorFile)
+                .build()
+                .importFiles();
+
+        //Then
+        assertThat(stats.getRecords()).isEqualTo(4L);
+        assertThat(stats.getWritten()).isEqualTo(1L);
+        assertThat(stats.getRejected()).isEqualTo(3L);
+        assertThat(manager.crud().findById(1L, new Date(1)).get().getValue()).isEqualTo("ok");
+
+        final ObjectMapper mapper = new ObjectMapper();
+        final List<String> errors = Files.readAllLines(errorFile, UTF_8);
+        assertThat(errors).hasSize(3);
+        for (String error : errors) {
+            final JsonNode node = mapper.readTree(error);
+            assertThat(node.get("source").asText()).startsWith("input.ndjson@");
+            assertThat(node.get("error").asText()).isNotEmpty();
+            assertThat(node.has("record")).isTrue();
+        }
+    }
+
+    private Path exportThenTruncate(ExportFormat format) throws Exception {
+        for (long id = 1; id <= PARTITIONS; id++) {
+            for (long date = 1; date <= ROWS_PER_PARTITION; date++) {
+                final SimpleEntity entity = new SimpleEntity(id, new Date(date), "value, \"" + id + "\"\n" + date);
+                entity.setConsistencyList(Arrays.asList(ConsistencyLevel.ONE, ConsistencyLevel.QUORUM));
+                entity.setSimpleSet(Sets.newHashSet(1.5d, (double) date));
+                entity.setSimpleMap(ImmutableMap.of((int) date, "map_" + date));
+                manager.crud().insert(entity).execute();
+            }
+        }
+        final Path directory = folder.newFolder().toPath();
+        EntityExporter.builder(session, manager.meta)
+                .withOutputDirectory(directory)
+                .withFormat(format)
+                .withSplits(4)
+                .build()
+                .export();
+        session.execute("TRUNCATE simple");
+        assertThat(session.execute("SELECT * FROM simple").all()).isEmpty();
+        return directory;
+    }
+
+    private void assertReloadedRows() {
+        assertThat(session.execute("SELECT * FROM simple").all()).hasSize(PARTITIONS * ROWS_PER_PARTITION);
+        final SimpleEntity entity = manager.crud().findById(7L, new Date(3)).get();
+        assertThat(entity.getValue()).isEqualTo("value, \"7\"\n3");
+        assertThat(entity.getConsistencyList()).containsExactly(ConsistencyLevel.ONE, ConsistencyLevel.QUORUM);
+        assertThat(entity.getSimpleSet()).containsOnly(1.5d, 3d);
+        assertThat(entity.getSimpleMap()).isEqualTo(ImmutableMap.of(3, "map_3"));
+    }
+
+    private static List<Path> filesWithExtension(Path directory, String extension) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(x -> x.toString().endsWith(extension)).collect(toList());
+        }
+    }
+}
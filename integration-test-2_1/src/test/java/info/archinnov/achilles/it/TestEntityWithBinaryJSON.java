@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.TableMetadata;
+import com.google.common.collect.ImmutableMap;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithBinaryJSON_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithBinaryJSON;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestEntityWithBinaryJSON {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithBinaryJSON.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithBinaryJSON.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private EntityWithBinaryJSON_Manager manager = resource.getManagerFactory().forEntityWithBinaryJSON();
+
+    @Test
+    public void should_create_blob_columns_for_binary_json() throws Exception {
+        //Given
+        final TableMetadata tableMetadata = session.getCluster().getMetadata()
+                .getKeyspace(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .getTable(EntityWithBinaryJSON.TABLE);
+
+        //When
+        final DataType smileMapType = tableMetadata.getColumn("smilemap").getType();
+        final DataType cborListType = tableMetadata.getColumn("cborlist").getType();
+
+        //Then
+        assertThat(smileMapType).isEqualTo(DataType.blob());
+        assertThat(cborListType).isEqualTo(DataType.list(DataType.blob()));
+    }
+
+    @Test
+    public void should_insert_and_find_binary_json() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final EntityWithBinaryJSON entity = new EntityWithBinaryJSON();
+        entity.setId(id);
+        entity.setSmileMap(ImmutableMap.of("one", asList(1, 2), "two", asList(3)));
+        entity.setCborList(asList(ImmutableMap.of("a", 1), ImmutableMap.of("b", 2)));
+
+        //When
+        manager.crud().insert(entity).execute();
+
+        //Then
+        final Row row = session.execute("SELECT smilemap FROM " + EntityWithBinaryJSON.TABLE + " WHERE id = " + id).one();
+        assertThat(row.getBytes("smilemap").remaining()).isGreaterThan(0);
+
+        final EntityWithBinaryJSON found = manager.crud().findById(id).get();
+        assertThat(found.getSmileMap()).isEqualTo(ImmutableMap.of("one", asList(1, 2), "two", asList(3)));
+        assertThat(found.getCborList()).containsExactly(ImmutableMap.of("a", 1), ImmutableMap.of("b", 2));
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.TableMetadata;
+import com.google.common.collect.ImmutableMap;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.EntityWithCompressedColumns_Manager;
+import info.archinnov.achilles.internals.entities.EntityWithCompressedColumns;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestEntityWithCompressedColumns {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityWithCompressedColumns.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityWithCompressedColumns.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private EntityWithCompressedColumns_Manager manager = resource.getManagerFactory().forEntityWithCompressedColumns();
+
+    @Test
+    public void should_create_blob_columns_for_compressed_fields() throws Exception {
+        //Given
+        final TableMetadata tableMetadata = session.getCluster().getMetadata()
+                .getKeyspace(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .getTable(EntityWithCompressedColumns.TABLE);
+
+        //When
+        //Then
+        assertThat(tableMetadata.getColumn("text").getType()).isEqualTo(DataType.blob());
+        assertThat(tableMetadata.getColumn("binary").getType()).isEqualTo(DataType.blob());
+        assertThat(tableMetadata.getColumn("smilemap").getType()).isEqualTo(DataType.blob());
+    }
+
+    @Test
+    public void should_insert_and_find_compressed_values() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final String text = StringUtils.repeat("large text value ", 1000);
+        final byte[] binary = StringUtils.repeat("large binary value ", 1000).getBytes();
+        final EntityWithCompressedColumns entity = new EntityWithCompressedColumns();
+        entity.setId(id);
+        entity.setText(text);
+        entity.setBinary(binary);
+        entity.setSmileMap(ImmutableMap.of("key", "value"));
+
+        //When
+        manager.crud().insert(entity).execute();
+
+        //Then
+        final Row row = session.execute("SELECT text, binary FROM " + EntityWithCompressedColumns.TABLE + " WHERE id = " + id).one();
+        assertThat(row.getBytes("text").remaining()).isLessThan(text.length() / 10);
+        assertThat(row.getBytes("binary").remaining()).isLessThan(binary.length / 10);
+
+        final EntityWithCompressedColumns found = manager.crud().findById(id).get();
+        assertThat(found.getText()).isEqualTo(text);
+        assertThat(found.getBinary()).isEqualTo(binary);
+        assertThat(found.getSmileMap()).isEqualTo(ImmutableMap.of("key", "value"));
+    }
+
+    @Test
+    public void should_store_small_values_uncompressed() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final EntityWithCompressedColumns entity = new EntityWithCompressedColumns();
+        entity.setId(id);
+        entity.setText("small");
+
+        //When
+        manager.crud().insert(entity).execute();
+
+        //Then
+        final Row row = session.execute("SELECT text FROM " + EntityWithCompressedColumns.TABLE + " WHERE id = " + id).one();
+        final ByteBuffer stored = row.getBytes("text");
+        assertThat(stored.remaining()).isEqualTo("small".length() + 1);
+        assertThat(stored.get(stored.position())).isEqualTo((byte) 0);
+
+        assertThat(manager.crud().findById(id).get().getText()).isEqualTo("small");
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import info.archinnov.achilles.junit.GeneratedSchema;
+
+public class TestGeneratedSchema {
+
+    @Test
+    public void should_generate_schema_of_all_generated_metas_on_class_path() throws Exception {
+        //Given
+        final ClassLoader classLoader = TestGeneratedSchema.class.getClassLoader();
+
+        //When
+        final List<String> scripts = GeneratedSchema.generate(classLoader, "fingerprint_ks");
+
+        //Then
+        assertThat(scripts).isEqualTo(GeneratedSchema.generate(classLoader, "fingerprint_ks"));
+        assertThat(scripts).isNotEqualTo(GeneratedSchema.generate(classLoader, "other_ks"));
+        assertThat(scripts.stream().filter(script -> script.contains("CREATE TABLE IF NOT EXISTS fingerprint_ks.simple(")).count())
+                .isEqualTo(1L);
+        assertThat(scripts.stream().filter(script -> script.contains("CREATE TYPE IF NOT EXISTS fingerprint_ks.my_type")).count())
+                .isEqualTo(1L);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.management.ManagementFactory;
+import java.util.Date;
+import java.util.List;
+import javax.management.ObjectName;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.TypeCodec;
+import com.datastax.driver.core.utils.Bytes;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.monitoring.HotPartition;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestHotPartitions {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withHotPartitionDetection(1.0D)
+                    .withHotPartitionsTopK(1)
+                    .withHotPartitionsJMX(true)
+                    .build());
+
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_detect_hot_partitions_by_routing_key() throws Exception {
+        //Given
+        final long hotId = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final long coldId = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+
+        //When
+        for (int i = 0; i < 5; i++) {
+            manager.crud().insert(new SimpleEntity(hotId, date, "value" + i)).execute();
+            manager.crud().findById(hotId, date).get();
+        }
+        manager.crud().insert(new SimpleEntity(coldId, date, "cold")).execute();
+        manager.crud().findById(coldId, date).get();
+
+        //Then
+        final String hotRoutingKey = Bytes.toHexString(TypeCodec.bigint().serialize(hotId, ProtocolVersion.NEWEST_SUPPORTED));
+        final List<HotPartition> hotPartitions = resource.getManagerFactory().hotPartitions().getCurrentHotPartitions();
+        assertThat(hotPartitions).extracting("table").containsOnly("simple");
+        assertThat(hotPartitions).extracting("accessType").containsExactly("READ", "WRITE");
+        assertThat(hotPartitions).extracting("routingKey").containsOnly(hotRoutingKey);
+        assertThat(hotPartitions).extracting("estimatedCount").containsOnly(5L);
+
+        assertThat(ManagementFactory.getPlatformMBeanServer()
+                .queryNames(new ObjectName("info.archinnov.achilles:type=HotPartitions,*"), null))
+                .isNotEmpty();
+    }
+}
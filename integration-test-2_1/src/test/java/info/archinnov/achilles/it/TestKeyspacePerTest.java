@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.internals.entities.EntityWithNestedUDT;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.internals.entities.UDTWithNestedUDT;
+import info.archinnov.achilles.internals.entities.UDTWithNoKeyspace;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.type.tuples.Tuple2;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestKeyspacePerTest {
+
+    private static final Long ID = 10L;
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .buildWithKeyspacePerTest((cluster, statementsCache, keyspace) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class, EntityWithNestedUDT.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(keyspace)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+
+    @Test
+    public void should_insert_simple_entity_in_dedicated_keyspace() throws Exception {
+        //Given
+        final String keyspace = resource.getKeyspace();
+        assertThat(keyspace).startsWith("achilles_test_");
+
+        //When
+        resource.getManagerFactory().forSimpleEntity().crud()
+                .insert(new SimpleEntity(ID, new Date(), "value"))
+                .execute();
+
+        //Then
+        final long count = session.execute("SELECT count(*) FROM " + keyspace + ".simple").one().getLong(0);
+        assertThat(count).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_insert_same_simple_entity_without_seeing_other_test_data() throws Exception {
+        //Given
+        final String keyspace = resource.getKeyspace();
+        assertThat(session.execute("SELECT count(*) FROM " + keyspace + ".simple").one().getLong(0)).isEqualTo(0L);
+
+        //When
+        resource.getManagerFactory().forSimpleEntity().crud()
+                .insert(new SimpleEntity(ID, new Date(), "other_value"))
+                .execute();
+
+        //Then
+        assertThat(session.execute("SELECT count(*) FROM " + keyspace + ".simple").one().getLong(0)).isEqualTo(1L);
+    }
+
+    @Test
+    public void should_create_udt_in_dedicated_keyspace() throws Exception {
+        //Given
+        final String keyspace = resource.getKeyspace();
+        final UDTWithNoKeyspace udt = new UDTWithNoKeyspace(ID, "udt_value");
+        final UDTWithNestedUDT complexUDT = new UDTWithNestedUDT();
+        complexUDT.setValue("value");
+        complexUDT.setNestedUDT(udt);
+        complexUDT.setUdtList(Arrays.asList(udt));
+        complexUDT.setTupleWithUDT(new Tuple2<>(1, udt));
+        final EntityWithNestedUDT entity = new EntityWithNestedUDT();
+        entity.setId(ID);
+        entity.setUdt(udt);
+        entity.setComplexUDT(complexUDT);
+
+        //When
+        resource.getManagerFactory().forEntityWithNestedUDT().crud().insert(entity).execute();
+
+        //Then
+        assertThat(session.getCluster().getMetadata().getKeyspace(keyspace).getUserType("no_ks")).isNotNull();
+        final EntityWithNestedUDT found = resource.getManagerFactory().forEntityWithNestedUDT().crud().findById(ID).get();
+        assertThat(found.getComplexUDT()).isEqualTo(complexUDT);
+    }
+}
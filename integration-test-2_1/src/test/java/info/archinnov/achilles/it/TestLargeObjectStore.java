@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Optional;
+import java.util.Random;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.internals.lob.LargeObjectMetadata;
+import info.archinnov.achilles.internals.lob.LargeObjectStore;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestLargeObjectStore {
+
+    private static final String LARGE_OBJECTS_TABLE = "large_objects";
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .tablesToTruncate(LARGE_OBJECTS_TABLE)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withLargeObjectTable(LARGE_OBJECTS_TABLE)
+                    .withLargeObjectChunkSize(64 * 1024)
+                    .withLargeObjectConcurrency(3, 2)
+                    .build());
+
+    private Session session = resource.getNativeSession();
+    private LargeObjectStore largeObjects = resource.getManagerFactory().largeObjects();
+
+    @Test
+    public void should_write_and_read_large_object_in_chunks() throws Exception {
+        //Given
+        final String objectId = RandomStringUtils.randomAlphabetic(10);
+        final byte[] content = new byte[1024 * 1024 + 123];
+        new Random().nextBytes(content);
+
+        //When
+        final LargeObjectMetadata metadata = largeObjects.write(objectId, new ByteArrayInputStream(content));
+
+        //Then
+        assertThat(metadata.getTotalSize()).isEqualTo(content.length);
+        assertThat(metadata.getChunkCount()).isEqualTo(17);
+        assertThat(largeObjects.metadata(objectId).get()).isEqualTo(metadata);
+
+        final long chunkRows = session.execute("SELECT count(*) FROM " + LARGE_OBJECTS_TABLE + " WHERE object_id = ?", objectId)
+                .one().getLong(0);
+        assertThat(chunkRows).isEqualTo(17L);
+
+        final Optional<InputStream> stream = largeObjects.read(objectId);
+        assertThat(stream.isPresent()).isTrue();
+        try (InputStream inputStream = stream.get()) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void should_write_from_channel_and_replace_existing_object() throws Exception {
+        //Given
+        final String objectId = RandomStringUtils.randomAlphabetic(10);
+        largeObjects.write(objectId, new ByteArrayInputStream(new byte[200 * 1024]));
+        final byte[] content = "small content".getBytes();
+
+        //When
+        final LargeObjectMetadata metadata = largeObjects.write(objectId, Channels.newChannel(new ByteArrayInputStream(content)));
+
+        //Then
+        assertThat(metadata.getChunkCount()).isEqualTo(1);
+        final long chunkRows = session.execute("SELECT count(*) FROM " + LARGE_OBJECTS_TABLE + " WHERE object_id = ?", objectId)
+                .one().getLong(0);
+        assertThat(chunkRows).isEqualTo(1L);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        IOUtils.copy(largeObjects.read(objectId).get(), out);
+        assertThat(out.toByteArray()).isEqualTo(content);
+    }
+
+    @Test
+    public void should_keep_existing_object_readable_when_replacing_write_fails() throws Exception {
+        //Given
+        final String objectId = RandomStringUtils.randomAlphabetic(10);
+        final byte[] content = new byte[100 * 1024];
+        new Random().nextBytes(content);
+        final LargeObjectMetadata metadata = largeObjects.write(objectId, new ByteArrayInputStream(content));
+        final InputStream failingStream = new InputStream() {
+            private int bytesRead = 0;
+
+            @Override
+            public int read() throws IOException {
+                final byte[] singleByte = new byte[1];
+                return read(singleByte, 0, 1) < 0 ? -1 : singleByte[0];
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                if (bytesRead >= 200 * 1024) {
+                    throw new IOException("Stream failure");
+                }
+                bytesRead += length;
+                return length;
+            }
+        };
+
+        //When
+        Exception exception = null;
+        try {
+            largeObjects.write(objectId, failingStream);
+        } catch (Exception e) {
+            exception = e;
+        }
+
+        //Then
+        assertThat(exception).hasMessageContaining("Cannot write large object '" + objectId + "'");
+        assertThat(largeObjects.metadata(objectId).get()).isEqualTo(metadata);
+        final long chunkRows = session.execute("SELECT count(*) FROM " + LARGE_OBJECTS_TABLE + " WHERE object_id = ?", objectId)
+                .one().getLong(0);
+        assertThat(chunkRows).isEqualTo(2L);
+        try (InputStream inputStream = largeObjects.read(objectId).get()) {
+            assertThat(IOUtils.toByteArray(inputStream)).isEqualTo(content);
+        }
+    }
+
+    @Test
+    public void should_detect_corrupted_chunk() throws Exception {
+        //Given
+        final String objectId = RandomStringUtils.randomAlphabetic(10);
+        final LargeObjectMetadata metadata = largeObjects.write(objectId, new ByteArrayInputStream(new byte[100 * 1024]));
+        session.execute("UPDATE " + LARGE_OBJECTS_TABLE + " SET chunk = ? WHERE object_id = ? AND generation = ? AND chunk_index = 1",
+                ByteBuffer.wrap(new byte[]{1, 2, 3}), objectId, metadata.getGeneration());
+
+        //When
+        Exception exception = null;
+        try (InputStream inputStream = largeObjects.read(objectId).get()) {
+            IOUtils.toByteArray(inputStream);
+        } catch (Exception e) {
+            exception = e;
+        }
+
+        //Then
+        assertThat(exception).hasMessageContaining("Chunk 1 of large object '" + objectId + "' is corrupted");
+    }
+
+    @Test
+    public void should_delete_large_object() throws Exception {
+        //Given
+        final String objectId = RandomStringUtils.randomAlphabetic(10);
+        largeObjects.write(objectId, new ByteArrayInputStream("content".getBytes()));
+
+        //When
+        largeObjects.delete(objectId);
+
+        //Then
+        assertThat(largeObjects.metadata(objectId).isPresent()).isFalse();
+        assertThat(largeObjects.read(objectId).isPresent()).isFalse();
+    }
+}
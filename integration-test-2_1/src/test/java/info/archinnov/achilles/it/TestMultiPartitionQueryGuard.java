@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.google.common.collect.ImmutableList;
+
+import info.archinnov.achilles.exception.AchillesMultiPartitionQueryException;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.monitoring.MultiPartitionQueryGuardAction;
+import info.archinnov.achilles.monitoring.QueryContext;
+import info.archinnov.achilles.monitoring.QueryListener;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestMultiPartitionQueryGuard {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private final List<QueryContext> started = new CopyOnWriteArrayList<>();
+    private final List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+    private final QueryListener listener = new QueryListener() {
+        @Override
+        public void onStart(QueryContext context) {
+            started.add(context);
+        }
+
+        @Override
+        public void onFailure(QueryContext context, Throwable throwable) {
+            failures.add(throwable);
+        }
+    };
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withMultiPartitionQueryMaxPerSecond(0.01D)
+                    .withMultiPartitionQueryGuardAction(MultiPartitionQueryGuardAction.REJECT)
+                    .withQueryListeners(ImmutableList.of(listener))
+                    .build());
+
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_reject_select_without_where_clause_above_limit() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new SimpleEntity(id, new Date(), "value")).execute();
+        assertThat(manager.dsl().select().value().fromBaseTable().without_WHERE_Clause().getList()).hasSize(1);
+
+        //When
+        exception.expect(AchillesMultiPartitionQueryException.class);
+        exception.expectMessage("Multi-partition query above 0.01/s for entity " + SimpleEntity.class.getCanonicalName());
+
+        manager.dsl().select().value().fromBaseTable().without_WHERE_Clause().getList();
+    }
+
+    @Test
+    public void should_reject_select_with_partition_key_IN_above_limit() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        manager.crud().insert(new SimpleEntity(id, new Date(), "value")).execute();
+        for (int i = 0; i < 3; i++) {
+            assertThat(manager.dsl().select().value().fromBaseTable().where().id().Eq(id).getList()).hasSize(1);
+        }
+        assertThat(manager.dsl().select().value().fromBaseTable().where().id().IN(id, id + 1).getList()).hasSize(1);
+
+        //When
+        exception.expect(AchillesMultiPartitionQueryException.class);
+
+        manager.dsl().select().value().fromBaseTable().where().id().IN(id, id + 1).getList();
+    }
+
+    @Test
+    public void should_notify_query_listeners_of_rejected_select() throws Exception {
+        //Given
+        manager.dsl().select().value().fromBaseTable().without_WHERE_Clause().getList();
+        started.clear();
+
+        //When
+        AchillesMultiPartitionQueryException rejection = null;
+        try {
+            manager.dsl().select().value().fromBaseTable().without_WHERE_Clause().getList();
+        } catch (AchillesMultiPartitionQueryException ex) {
+            rejection = ex;
+        }
+
+        //Then
+        assertThat(rejection).isNotNull();
+        assertThat(started).hasSize(1);
+        assertThat(started.get(0).getEntityClass().get()).isEqualTo(SimpleEntity.class);
+        assertThat(started.get(0).getEndNanos()).isNotEqualTo(0L);
+        assertThat(failures).hasSize(1);
+        assertThat(failures.get(0)).isSameAs(rejection);
+    }
+}
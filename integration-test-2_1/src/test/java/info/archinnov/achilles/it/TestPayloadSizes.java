@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.monitoring.PayloadSizeStats;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestPayloadSizes {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withPayloadSizeTracking(true)
+                    .withLargeMutationWarningThreshold(16L)
+                    .build());
+
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_record_payload_sizes_per_entity_and_operation() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+
+        //When
+        manager.crud().insert(new SimpleEntity(id, date, "value")).execute();
+        manager.crud().findById(id, date).get();
+
+        //Then
+        final List<PayloadSizeStats> payloadSizes = resource.getManagerFactory().payloadSizes();
+        assertThat(payloadSizes).extracting("entityClass").containsOnly(SimpleEntity.class.getCanonicalName());
+        assertThat(payloadSizes).extracting("operationType").containsExactly("INSERT", "SELECT");
+
+        final PayloadSizeStats insert = payloadSizes.get(0);
+        assertThat(insert.getRequest().getCount()).isEqualTo(1L);
+        assertThat(insert.getRequest().getTotalBytes()).isGreaterThanOrEqualTo(8L + 8L + 5L);
+        assertThat(insert.getLargeMutationCount()).isEqualTo(1L);
+
+        final PayloadSizeStats select = payloadSizes.get(1);
+        assertThat(select.getRequest().getTotalBytes()).isEqualTo(16L);
+        assertThat(select.getResponse().getCount()).isEqualTo(1L);
+        assertThat(select.getResponse().getTotalBytes()).isGreaterThan(0L);
+    }
+}
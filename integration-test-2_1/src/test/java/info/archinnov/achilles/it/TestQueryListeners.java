@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ResultSet;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.monitoring.QueryContext;
+import info.archinnov.achilles.monitoring.QueryListener;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestQueryListeners {
+
+    private static final List<String> EVENTS = new CopyOnWriteArrayList<>();
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withQueryListeners(Arrays.asList(new RecordingQueryListener()))
+                    .build());
+
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_notify_query_listeners_for_mutations_and_iterators() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+        EVENTS.clear();
+
+        //When
+        manager.crud().insert(new SimpleEntity(id, date, "value")).execute();
+        final Iterator<SimpleEntity> iterator = manager.dsl().select().allColumns_FromBaseTable().where().id().Eq(id).iterator();
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+
+        //Then
+        assertThat(EVENTS).hasSize(5);
+        assertThat(EVENTS.subList(0, 2)).containsExactly("onStart INSERT", "onSuccess INSERT");
+        assertThat(EVENTS.subList(2, 5)).contains("onStart SELECT", "onSuccess SELECT", "onPage SELECT 1");
+        assertThat(EVENTS.get(2)).isEqualTo("onStart SELECT");
+    }
+
+    private static class RecordingQueryListener implements QueryListener {
+        @Override
+        public void onStart(QueryContext context) {
+            if (context.getEntityClass().isPresent()) EVENTS.add("onStart " + context.getOperationType());
+        }
+
+        @Override
+        public void onSuccess(QueryContext context, ResultSet resultSet) {
+            if (context.getEntityClass().isPresent()) EVENTS.add("onSuccess " + context.getOperationType());
+        }
+
+        @Override
+        public void onFailure(QueryContext context, Throwable throwable) {
+            EVENTS.add("onFailure " + context.getOperationType());
+        }
+
+        @Override
+        public void onPage(QueryContext context, int rowCount, long sizeInBytes) {
+            EVENTS.add("onPage " + context.getOperationType() + " " + rowCount);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.internals.statements.OperationType;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.tracing.RingBufferQueryTraceSink;
+import info.archinnov.achilles.tracing.TracedQuery;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestQueryTracing {
+
+    private final RingBufferQueryTraceSink sink = new RingBufferQueryTraceSink(10);
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .withTracingSampler((entityClass, operationType) -> operationType == OperationType.INSERT)
+                    .withQueryTraceSink(sink)
+                    .build());
+
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+
+    @Test
+    public void should_trace_sampled_statements_asynchronously() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        final Date date = new Date();
+
+        //When
+        manager.crud().insert(new SimpleEntity(id, date, "value")).execute();
+        manager.crud().findById(id, date).get();
+
+        //Then
+        final List<TracedQuery> traces = awaitTraces(1);
+        final TracedQuery trace = traces.get(0);
+        assertThat(trace.getOperationType()).isEqualTo(OperationType.INSERT);
+        assertThat(trace.getEntityClass()).isEqualTo(SimpleEntity.class);
+        assertThat(trace.getQueryString()).startsWith("INSERT INTO");
+        assertThat(trace.getQueryId()).isNotNull();
+        assertThat(trace.getTraceId()).isNotNull();
+        assertThat(trace.getEvents()).isNotEmpty();
+
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(sink.getTraces()).hasSize(1);
+    }
+
+    @Test
+    public void should_trace_statement_with_explicit_tracing_option() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+
+        //When
+        manager.crud().findById(id, new Date()).withTracing().get();
+
+        //Then
+        final TracedQuery trace = awaitTraces(1).get(0);
+        assertThat(trace.getOperationType()).isEqualTo(OperationType.SELECT);
+        assertThat(trace.getEvents()).isNotEmpty();
+    }
+
+    private List<TracedQuery> awaitTraces(int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10_000L;
+        while (sink.getTraces().size() < count && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        final List<TracedQuery> traces = sink.getTraces();
+        assertThat(traces).hasSize(count);
+        return traces;
+    }
+}
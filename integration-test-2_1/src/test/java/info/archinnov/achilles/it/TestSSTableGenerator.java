@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import org.apache.cassandra.config.Config;
+import org.apache.cassandra.db.ColumnFamilyStore;
+import org.apache.cassandra.db.Keyspace;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import info.archinnov.achilles.bulk.SSTableGenerator;
+import info.archinnov.achilles.generated.ManagerFactory;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder;
+import info.archinnov.achilles.generated.manager.SimpleEntity_Manager;
+import info.archinnov.achilles.internals.entities.SimpleEntity;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestSSTableGenerator {
+
+    private static final int PARTITIONS = 200;
+    private static final int ROWS_PER_PARTITION = 2;
+
+    @Rule
+    public AchillesTestResource<ManagerFactory> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(SimpleEntity.class)
+            .truncateBeforeAndAfterTest()
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder
+                    .builder(cluster)
+                    .withManagedEntityClasses(SimpleEntity.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private SimpleEntity_Manager manager = resource.getManagerFactory().forSimpleEntity();
+    private boolean clientMode;
+
+    @Before
+    public void saveClientMode() {
+        clientMode = Config.isClientMode();
+    }
+
+    @After
+    public void restoreClientMode() {
+        // CQLSSTableWriter switches the JVM to client mode, which must not leak to the embedded server
+        Config.setClientMode(clientMode);
+    }
+
+    @Test
+    public void should_generate_sstables_and_load_them() throws Exception {
+        //Given
+        final SSTableGenerator<SimpleEntity> generator = SSTableGenerator
+                .builder(manager.meta)
+                .withOutputDirectory(folder.getRoot().toPath())
+                .withKeyspace(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .withWriters(4)
+                .withBufferSizeInMB(1)
+                .build();
+
+        //When
+        final long rows = generator.write(entities().parallel());
+        Config.setClientMode(clientMode);
+
+        //Then
+        assertThat(rows).isEqualTo(PARTITIONS * ROWS_PER_PARTITION);
+        assertThat(generator.getTableDirectory().toString()).isEqualTo(folder.getRoot().toPath()
+                .resolve(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME).resolve("simple").toString());
+        final List<Path> dataFiles = listDataFiles(generator.getTableDirectory());
+        assertThat(dataFiles).hasSize(4);
+
+        final ColumnFamilyStore store = Keyspace.open(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME).getColumnFamilyStore("simple");
+        final Path liveDirectory = store.getDirectories().getDirectoryForNewSSTables().toPath();
+        try (Stream<Path> files = Files.list(generator.getTableDirectory())) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.copy(file, liveDirectory.resolve(file.getFileName()));
+            }
+        }
+        store.loadNewSSTables();
+
+        final long count = resource.getNativeSession().execute("SELECT count(*) FROM simple").one().getLong(0);
+        assertThat(count).isEqualTo(PARTITIONS * ROWS_PER_PARTITION);
+        final SimpleEntity entity = manager.crud().findById(17L, new Date(2L)).get();
+        assertThat(entity.getValue()).isEqualTo("value_17_2");
+        assertThat(entity.getSimpleSet()).isNull();
+    }
+
+    @Test
+    public void should_generate_sstables_from_iterator() throws Exception {
+        //Given
+        final SSTableGenerator<SimpleEntity> generator = SSTableGenerator
+                .builder(manager.meta)
+                .withOutputDirectory(folder.getRoot().toPath())
+                .withKeyspace(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                .withWriters(1)
+                .build();
+
+        //When
+        final long rows = generator.write(entities().iterator());
+
+        //Then
+        assertThat(rows).isEqualTo(PARTITIONS * ROWS_PER_PARTITION);
+        assertThat(listDataFiles(generator.getTableDirectory())).hasSize(1);
+    }
+
+    private Stream<SimpleEntity> entities() {
+        return LongStream.rangeClosed(1, PARTITIONS).boxed()
+                .flatMap(id -> LongStream.rangeClosed(1, ROWS_PER_PARTITION)
+                        .mapToObj(date -> new SimpleEntity(id, new Date(date), "value_" + id + "_" + date)));
+    }
+
+    private List<Path> listDataFiles(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(x -> x.toString().endsWith("-Data.db")).collect(Collectors.toList());
+        }
+    }
+}
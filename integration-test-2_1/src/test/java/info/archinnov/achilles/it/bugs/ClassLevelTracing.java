@@ -73,7 +73,8 @@ public class ClassLevelTracing {
                 .execute();
 
 
-        //Then
+        //Then traces are fetched asynchronously
+        logAsserter.awaitContains("Tracing for Query ID", 5000);
         logAsserter.assertContains("Tracing for Query ID");
     }
 
@@ -86,6 +86,17 @@ public class CassandraLogAsserter {
         asssertPatternToBe(text, true);
     }
 
+    /**
+     * Poll the captured logs until the text shows up or the timeout expires,
+     * for messages logged asynchronously by another thread
+     */
+    public void awaitContains(String text, long timeoutInMillis) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + timeoutInMillis;
+        while (!logStream.toString().contains(text) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
     public void assertNotContains(String text) {
         asssertPatternToBe(text, false);
     }
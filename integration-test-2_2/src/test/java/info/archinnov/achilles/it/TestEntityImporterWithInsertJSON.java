@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2012-2016 DuyHai DOAN
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package info.archinnov.achilles.it;
+
+import static info.archinnov.achilles.embedded.CassandraEmbeddedConfigParameters.DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+
+import info.archinnov.achilles.annotations.Enumerated;
+import info.archinnov.achilles.bulk.EntityImporter;
+import info.archinnov.achilles.bulk.ImportStats;
+import info.archinnov.achilles.generated.ManagerFactoryBuilder_For_IT_2_2;
+import info.archinnov.achilles.generated.ManagerFactory_For_IT_2_2;
+import info.archinnov.achilles.generated.manager.EntityForJSONCall_Manager;
+import info.archinnov.achilles.internals.codecs.EncodingOrdinalCodec;
+import info.archinnov.achilles.internals.codecs.ProtocolVersionCodec;
+import info.archinnov.achilles.internals.entities.EntityForJSONCall;
+import info.archinnov.achilles.junit.AchillesTestResource;
+import info.archinnov.achilles.junit.AchillesTestResourceBuilder;
+import info.archinnov.achilles.type.codec.CodecSignature;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TestEntityImporterWithInsertJSON {
+
+    @Rule
+    public AchillesTestResource<ManagerFactory_For_IT_2_2> resource = AchillesTestResourceBuilder
+            .forJunit()
+            .entityClassesToTruncate(EntityForJSONCall.class)
+            .truncateBeforeAndAfterTest()
+            .withScript("functions/createFunctions.cql")
+            .build((cluster, statementsCache) -> ManagerFactoryBuilder_For_IT_2_2
+                    .builder(cluster)
+                    .withManagedEntityClasses(EntityForJSONCall.class)
+                    .doForceSchemaCreation(true)
+                    .withStatementsCache(statementsCache)
+                    .withRuntimeCodec(new CodecSignature<>(ProtocolVersion.class, String.class),
+                            new ProtocolVersionCodec())
+                    .withRuntimeCodec(new CodecSignature<>(Enumerated.Encoding.class, Integer.class, "encoding_codec"),
+                            new EncodingOrdinalCodec())
+                    .withDefaultKeyspaceName(DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME)
+                    .build());
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private EntityForJSONCall_Manager manager = resource.getManagerFactory().forEntityForJSONCall();
+    private Session session = resource.getNativeSession();
+
+    @Test
+    public void should_import_records_with_insert_json() throws Exception {
+        //Given
+        final Path input = folder.newFile("input.jsonl").toPath();
+        final List<String> lines = new ArrayList<>();
+        for (int id = 1; id <= 10; id++) {
+            for (int clust = 1; clust <= 3; clust++) {
+                lines.add("{\"id\": " + id + ", \"clust\": " + clust + ", \"value\": \"val" + clust + "\", " +
+                        "\"liststring\": [\"one\"], \"setstring\": [\"two\"], \"mapstring\": {\"3\": \"three\"}}");
+            }
+        }
+        lines.add("{\"id\": 11, \"clust\": 1, \"unknown_column\": 1}");
+        Files.write(input, lines, UTF_8);
+
+        //When
+        final ImportStats stats = EntityImporter
+                .builder(session, manager.meta)
+                .withInputFiles(input)
+                .withInsertJSON(json -> manager.crud().insertJSON(json))
+                .withThreads(2)
+                .withBatchSize(3)
+                .build()
+                .importFiles();
+
+        //Then
+        assertThat(stats.getWritten()).isEqualTo(30L);
+        assertThat(stats.getRejected()).isEqualTo(1L);
+        assertThat(stats.getBatches()).isEqualTo(11L);
+        final Row row = session.execute("SELECT * FROM achilles_embedded.entity_for_json_function_call WHERE id = 7 AND clust = 2").one();
+        assertThat(row.getString("value")).isEqualTo("val2");
+        assertThat(row.getList("liststring", String.class)).containsExactly("one");
+        assertThat(row.getMap("mapstring", Integer.class, String.class)).containsEntry(3, "three");
+    }
+}
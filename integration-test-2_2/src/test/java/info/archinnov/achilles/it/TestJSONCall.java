@@ -21,10 +21,13 @@ import static info.archinnov.achilles.generated.function.SystemFunctions.*;
 import static java.lang.String.format;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 import java.util.TimeZone;
 import java.util.concurrent.CountDownLatch;
@@ -166,6 +169,41 @@ public class TestJSONCall {
 
     }
 
+    @Test
+    public void should_stream_allJSON_to_output_stream() throws Exception {
+        //Given
+        final long id = RandomUtils.nextLong(0L, Long.MAX_VALUE);
+        scriptExecutor.executeScriptTemplate("EntityForJSONCall/insertRow.cql", ImmutableMap.of("id", id));
+        for (long clust = 2; clust <= 5; clust++) {
+            session.execute(format("INSERT INTO %s.entity_for_json_function_call(id,clust,value) VALUES(%s,%s,'val%s')",
+                    DEFAULT_CASSANDRA_EMBEDDED_KEYSPACE_NAME, id, clust, clust));
+        }
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //When
+        final long rowCount = manager
+                .dsl()
+                .select()
+                .allColumnsAsJSON_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .withFetchSize(2)
+                .writeJSONTo(outputStream);
+
+        //Then
+        final List<String> rows = manager
+                .dsl()
+                .select()
+                .allColumnsAsJSON_FromBaseTable()
+                .where()
+                .id().Eq(id)
+                .getListJSON();
+
+        assertThat(rowCount).isEqualTo(5L);
+        assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8))
+                .isEqualTo("[" + String.join(",", rows) + "]");
+    }
+
     @Test
     public void should_update_using_fromJson() throws Exception {
         //Given
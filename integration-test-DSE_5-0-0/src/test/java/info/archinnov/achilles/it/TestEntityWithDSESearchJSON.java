@@ -18,12 +18,16 @@ package info.archinnov.achilles.it;
 
 
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.TimeZone;
 
 import org.junit.Test;
@@ -136,6 +140,32 @@ public class TestEntityWithDSESearchJSON {
         assertThat(actual.get(0).getNumeric()).isEqualTo(87.39f);
     }
 
+    @Test
+    public void should_stream_search_results_with_driver_paging() throws Exception {
+        //Given
+        final List<EntityWithDSESearchJSON> actual = new ArrayList<>();
+
+        //When
+        final Iterator<EntityWithDSESearchJSON> iterator = manager
+                .indexed()
+                .select()
+                .allColumns_FromBaseTable()
+                .where()
+                .numeric().Gte_And_Lte(80.0f, 150.0f)
+                .withDSESearchDriverPaging()
+                .withFetchSize(1)
+                .iterator();
+
+        while (iterator.hasNext()) {
+            actual.add(iterator.next());
+        }
+
+        //Then
+        assertThat(actual).hasSize(3);
+        final Set<String> strings = actual.stream().map(EntityWithDSESearchJSON::getString).collect(toSet());
+        assertThat(strings).containsOnly("speedster", "speedrun", "long run");
+    }
+
     private String toString(Date date) {
         final SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
         dateFormat.setTimeZone(TimeZone.getTimeZone("UTC"));